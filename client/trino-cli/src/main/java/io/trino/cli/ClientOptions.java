@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.trino.client.ClientSession;
 import io.trino.client.auth.external.ExternalRedirectStrategy;
@@ -68,6 +69,7 @@ import static io.trino.client.uri.PropertyName.KERBEROS_USE_CANONICAL_HOSTNAME;
 import static io.trino.client.uri.PropertyName.PASSWORD;
 import static io.trino.client.uri.PropertyName.RESOURCE_ESTIMATES;
 import static io.trino.client.uri.PropertyName.SCHEMA;
+import static io.trino.client.uri.PropertyName.SEGMENT_PREFETCH_BUFFER_SIZE;
 import static io.trino.client.uri.PropertyName.SESSION_PROPERTIES;
 import static io.trino.client.uri.PropertyName.SESSION_USER;
 import static io.trino.client.uri.PropertyName.SOCKS_PROXY;
@@ -291,6 +293,10 @@ public class ClientOptions
     @Option(names = "--encoding", paramLabel = "<encoding>", description = "Spooled encoding [available: ${ENCODINGS}] " + DEFAULT_VALUE, defaultValue = "${PREFERRED_ENCODINGS}")
     public Optional<String> encoding = Optional.empty();
 
+    @PropertyMapping(SEGMENT_PREFETCH_BUFFER_SIZE)
+    @Option(names = "--segment-prefetch-buffer-size", paramLabel = "<size>", defaultValue = "32MB", description = "Maximum size of spooled segments downloaded ahead of the displayed rows, 0B disables prefetching " + DEFAULT_VALUE)
+    public DataSize segmentPrefetchBufferSize;
+
     @Option(names = "--editing-mode", paramLabel = "<editing-mode>", defaultValue = "EMACS", description = "Editing mode [${COMPLETION-CANDIDATES}] " + DEFAULT_VALUE)
     public EditingMode editingMode;
 
@@ -437,6 +443,7 @@ public class ClientOptions
         httpProxy.ifPresent(builder::setHttpProxy);
         builder.setTimeZone(timeZone);
         builder.setDisableCompression(disableCompression);
+        builder.setSegmentPrefetchBufferSize(segmentPrefetchBufferSize);
         builder.setTimeout(clientRequestTimeout);
         networkLogging.ifPresent(builder::setHttpLoggingLevel);
         if (!resourceEstimates.isEmpty()) {
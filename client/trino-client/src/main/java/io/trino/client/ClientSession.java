@@ -16,6 +16,7 @@ package io.trino.client;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 
 import java.net.URI;
@@ -30,6 +31,7 @@ import java.util.Set;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -59,6 +61,7 @@ public class ClientSession
     private final Duration clientRequestTimeout;
     private final boolean compressionDisabled;
     private final Optional<String> encoding;
+    private final DataSize segmentPrefetchBufferSize;
     private final Duration heartbeatInterval;
 
     public static Builder builder()
@@ -102,6 +105,7 @@ public class ClientSession
             Duration clientRequestTimeout,
             boolean compressionDisabled,
             Optional<String> encoding,
+            DataSize segmentPrefetchBufferSize,
             Duration heartbeatInterval)
     {
         this.server = requireNonNull(server, "server is null");
@@ -127,6 +131,7 @@ public class ClientSession
         this.clientRequestTimeout = clientRequestTimeout;
         this.compressionDisabled = compressionDisabled;
         this.encoding = requireNonNull(encoding, "encoding is null");
+        this.segmentPrefetchBufferSize = requireNonNull(segmentPrefetchBufferSize, "segmentPrefetchBufferSize is null");
         this.heartbeatInterval = requireNonNull(heartbeatInterval, "heartbeatInterval is null");
 
         for (String clientTag : clientTags) {
@@ -281,6 +286,14 @@ public class ClientSession
         return encoding;
     }
 
+    /**
+     * Maximum size of spooled segments which are downloaded ahead of the rows being consumed. Zero disables prefetching.
+     */
+    public DataSize getSegmentPrefetchBufferSize()
+    {
+        return segmentPrefetchBufferSize;
+    }
+
     public Duration getHeartbeatInterval()
     {
         return heartbeatInterval;
@@ -309,6 +322,7 @@ public class ClientSession
                 .add("clientRequestTimeout", clientRequestTimeout)
                 .add("compressionDisabled", compressionDisabled)
                 .add("encoding", encoding)
+                .add("segmentPrefetchBufferSize", segmentPrefetchBufferSize)
                 .add("heartbeatInterval", heartbeatInterval)
                 .omitNullValues()
                 .toString();
@@ -339,6 +353,7 @@ public class ClientSession
         private Duration clientRequestTimeout;
         private boolean compressionDisabled;
         private Optional<String> encoding = Optional.empty();
+        private DataSize segmentPrefetchBufferSize = DataSize.of(32, MEGABYTE);
         private Duration heartbeatInterval = new Duration(30, SECONDS);
 
         private Builder() {}
@@ -369,6 +384,7 @@ public class ClientSession
             clientRequestTimeout = clientSession.getClientRequestTimeout();
             compressionDisabled = clientSession.isCompressionDisabled();
             encoding = clientSession.getEncoding();
+            segmentPrefetchBufferSize = clientSession.getSegmentPrefetchBufferSize();
         }
 
         public Builder server(URI server)
@@ -509,6 +525,12 @@ public class ClientSession
             return this;
         }
 
+        public Builder segmentPrefetchBufferSize(DataSize segmentPrefetchBufferSize)
+        {
+            this.segmentPrefetchBufferSize = segmentPrefetchBufferSize;
+            return this;
+        }
+
         public Builder heartbeatInterval(Duration heartbeatInterval)
         {
             this.heartbeatInterval = heartbeatInterval;
@@ -541,6 +563,7 @@ public class ClientSession
                     clientRequestTimeout,
                     compressionDisabled,
                     encoding,
+                    segmentPrefetchBufferSize,
                     heartbeatInterval);
         }
     }
@@ -151,7 +151,7 @@ public final class JsonIterators
     }
 
     @SuppressModernizer // There is no JsonFactory in the client module
-    static JsonFactory createJsonFactory()
+    public static JsonFactory createJsonFactory()
     {
         return new JsonFactory()
                 .setCodec(new ObjectMapper())
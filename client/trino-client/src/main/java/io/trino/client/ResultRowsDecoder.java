@@ -17,6 +17,7 @@ import io.trino.client.spooling.DataAttributes;
 import io.trino.client.spooling.EncodedQueryData;
 import io.trino.client.spooling.SegmentLoader;
 import io.trino.client.spooling.SegmentsIterator;
+import io.trino.client.spooling.SpooledSegment;
 import io.trino.client.spooling.encoding.QueryDataDecoders;
 
 import java.io.IOException;
@@ -26,6 +27,7 @@ import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.trino.client.CloseableIterator.closeable;
 import static io.trino.client.ResultRows.NULL_ROWS;
 import static io.trino.client.ResultRows.wrapIterator;
@@ -98,6 +100,10 @@ public class ResultRowsDecoder
         if (data instanceof EncodedQueryData) {
             EncodedQueryData encodedData = (EncodedQueryData) data;
             setEncoding(columns, encodedData.getEncoding());
+            loader.prefetch(encodedData.getSegments().stream()
+                    .filter(SpooledSegment.class::isInstance)
+                    .map(SpooledSegment.class::cast)
+                    .collect(toImmutableList()));
             return wrapIterator(new SegmentsIterator(loader, decoder, encodedData.getSegments()), encodedData.getRowsCount());
         }
 
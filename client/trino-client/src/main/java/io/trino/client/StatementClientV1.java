@@ -23,6 +23,8 @@ import com.google.common.collect.Sets;
 import com.google.common.io.Closeables;
 import com.google.errorprone.annotations.ThreadSafe;
 import io.airlift.units.Duration;
+import io.trino.client.spooling.PrefetchingSegmentLoader;
+import io.trino.client.spooling.SegmentLoader;
 import jakarta.annotation.Nullable;
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -137,7 +139,11 @@ class StatementClientV1
         this.compressionDisabled = session.isCompressionDisabled();
         this.heartbeatInterval = session.getHeartbeatInterval().toMillis() * 1_000_000;
 
-        this.resultRowsDecoder = new ResultRowsDecoder(new OkHttpSegmentLoader(requireNonNull(segmentHttpCallFactory, "segmentHttpCallFactory is null")));
+        SegmentLoader segmentLoader = new OkHttpSegmentLoader(requireNonNull(segmentHttpCallFactory, "segmentHttpCallFactory is null"));
+        if (session.getSegmentPrefetchBufferSize().toBytes() > 0) {
+            segmentLoader = new PrefetchingSegmentLoader(segmentLoader, session.getSegmentPrefetchBufferSize());
+        }
+        this.resultRowsDecoder = new ResultRowsDecoder(segmentLoader);
 
         Request request = buildQueryRequest(session, query, session.getEncoding());
         // Pass empty as materializedJsonSizeLimit to always materialize the first response
@@ -0,0 +1,329 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.client.spooling;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.airlift.units.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.trino.client.spooling.DataAttribute.SEGMENT_SIZE;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+/**
+ * Downloads spooled segments in the background, ahead of the rows being consumed.
+ * <p>
+ * The total size of segments which are downloading or downloaded, but not yet loaded, is limited
+ * by the buffer size, but the next segment is always downloaded. The number of concurrent
+ * downloads starts at one, and is adjusted while the segments are downloading: it is increased as
+ * long as it increases the observed download throughput, and decreased when the throughput drops.
+ * Segments are acknowledged in the background as well.
+ */
+@ThreadSafe
+public class PrefetchingSegmentLoader
+        implements SegmentLoader
+{
+    private static final Logger logger = Logger.getLogger(SegmentLoader.class.getPackage().getName());
+
+    private static final Executor EXECUTOR = newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("Trino segment loader-%s").setDaemon(true).build());
+
+    @VisibleForTesting
+    static final int MAX_CONCURRENCY = 8;
+    // minimal relative change of throughput, which is not considered noise
+    private static final double THROUGHPUT_CHANGE_THRESHOLD = 0.1;
+
+    private final SegmentLoader delegate;
+    private final long maxBufferedBytes;
+    private final Executor executor;
+
+    @GuardedBy("this")
+    private final Deque<SpooledSegment> pendingSegments = new ArrayDeque<>();
+    @GuardedBy("this")
+    private final Map<SpooledSegment, Download> downloads = new HashMap<>();
+    @GuardedBy("this")
+    private long bufferedBytes;
+    @GuardedBy("this")
+    private int runningDownloads;
+    @GuardedBy("this")
+    private int concurrency = 1;
+    @GuardedBy("this")
+    private boolean closed;
+
+    // throughput of downloads since the concurrency was last adjusted
+    @GuardedBy("this")
+    private long windowBytes;
+    @GuardedBy("this")
+    private int windowDownloads;
+    @GuardedBy("this")
+    private long windowBusyNanos;
+    @GuardedBy("this")
+    private long busyStartNanos;
+    @GuardedBy("this")
+    private boolean windowLimitedByConcurrency;
+    @GuardedBy("this")
+    private double previousThroughput;
+
+    public PrefetchingSegmentLoader(SegmentLoader delegate, DataSize maxBufferSize)
+    {
+        this(delegate, maxBufferSize, EXECUTOR);
+    }
+
+    @VisibleForTesting
+    PrefetchingSegmentLoader(SegmentLoader delegate, DataSize maxBufferSize, Executor executor)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        this.maxBufferedBytes = maxBufferSize.toBytes();
+        checkArgument(maxBufferedBytes > 0, "maxBufferSize must be positive");
+        this.executor = requireNonNull(executor, "executor is null");
+    }
+
+    @Override
+    public synchronized void prefetch(List<SpooledSegment> segments)
+    {
+        if (closed) {
+            return;
+        }
+        pendingSegments.addAll(segments);
+        startDownloads();
+    }
+
+    @Override
+    public InputStream load(SpooledSegment segment)
+            throws IOException
+    {
+        Download download;
+        synchronized (this) {
+            download = downloads.remove(segment);
+            if (download == null) {
+                // not prefetched, or the consumer caught up with the downloads
+                pendingSegments.remove(segment);
+            }
+        }
+        if (download == null) {
+            return delegate.load(segment);
+        }
+
+        try {
+            return new ByteArrayInputStream(download.data().get());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading segment");
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throwIfInstanceOf(cause, IOException.class);
+            throwIfUnchecked(cause);
+            throw new IOException("Could not load segment", cause);
+        }
+        finally {
+            release(download);
+        }
+    }
+
+    @Override
+    public void acknowledge(SpooledSegment segment)
+    {
+        Download download;
+        synchronized (this) {
+            // segment is skipped, without being loaded
+            pendingSegments.remove(segment);
+            download = downloads.remove(segment);
+        }
+        if (download != null) {
+            abandon(download);
+        }
+
+        executor.execute(() -> {
+            try {
+                delegate.acknowledge(segment);
+            }
+            catch (Exception e) {
+                logger.log(Level.WARNING, "Could not acknowledge spooled segment", e);
+            }
+        });
+    }
+
+    @VisibleForTesting
+    synchronized int getConcurrency()
+    {
+        return concurrency;
+    }
+
+    @GuardedBy("this")
+    private void startDownloads()
+    {
+        while (!closed && !pendingSegments.isEmpty()) {
+            SpooledSegment segment = pendingSegments.peekFirst();
+            long size = segment.getAttribute(SEGMENT_SIZE, Integer.class).orElse(0);
+            if (runningDownloads >= concurrency) {
+                windowLimitedByConcurrency = true;
+                return;
+            }
+            if (bufferedBytes > 0 && bufferedBytes + size > maxBufferedBytes) {
+                return;
+            }
+            pendingSegments.removeFirst();
+
+            if (runningDownloads == 0) {
+                busyStartNanos = System.nanoTime();
+            }
+            runningDownloads++;
+            bufferedBytes += size;
+            AtomicBoolean abandoned = new AtomicBoolean();
+            CompletableFuture<byte[]> data = supplyAsync(() -> abandoned.get() ? new byte[0] : download(segment), executor);
+            downloads.put(segment, new Download(size, data, abandoned));
+            data.whenComplete((value, failure) -> downloadFinished(value == null ? 0 : value.length));
+        }
+    }
+
+    private byte[] download(SpooledSegment segment)
+    {
+        try (InputStream input = delegate.load(segment)) {
+            return input.readAllBytes();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void downloadFinished(long bytes)
+    {
+        runningDownloads--;
+        long now = System.nanoTime();
+        windowBytes += bytes;
+        windowDownloads++;
+        if (runningDownloads == 0) {
+            windowBusyNanos += now - busyStartNanos;
+        }
+        if (windowDownloads >= 2 * concurrency) {
+            long busyNanos = windowBusyNanos;
+            if (runningDownloads > 0) {
+                busyNanos += now - busyStartNanos;
+                busyStartNanos = now;
+            }
+            adjustConcurrency((double) windowBytes / max(busyNanos, 1));
+            windowBytes = 0;
+            windowDownloads = 0;
+            windowBusyNanos = 0;
+            windowLimitedByConcurrency = false;
+        }
+        startDownloads();
+    }
+
+    @GuardedBy("this")
+    private void adjustConcurrency(double throughput)
+    {
+        if (previousThroughput > 0 && throughput < previousThroughput * (1 - THROUGHPUT_CHANGE_THRESHOLD)) {
+            // more concurrent downloads made things worse
+            concurrency = max(concurrency - 1, 1);
+        }
+        else if (windowLimitedByConcurrency && (previousThroughput == 0 || throughput > previousThroughput * (1 + THROUGHPUT_CHANGE_THRESHOLD))) {
+            concurrency = min(concurrency + 1, MAX_CONCURRENCY);
+        }
+        previousThroughput = throughput;
+    }
+
+    private void abandon(Download download)
+    {
+        // a running download can't be stopped, so its buffer space is released only once it completes
+        download.abandon();
+        download.data().whenComplete((value, failure) -> release(download));
+    }
+
+    private synchronized void release(Download download)
+    {
+        bufferedBytes -= download.size();
+        startDownloads();
+    }
+
+    @Override
+    public void close()
+            throws Exception
+    {
+        List<Download> remaining;
+        synchronized (this) {
+            closed = true;
+            pendingSegments.clear();
+            remaining = new ArrayList<>(downloads.values());
+            downloads.clear();
+        }
+        for (Download download : remaining) {
+            abandon(download);
+        }
+        delegate.close();
+    }
+
+    private static class Download
+    {
+        private final long size;
+        private final CompletableFuture<byte[]> data;
+        private final AtomicBoolean abandoned;
+
+        private Download(long size, CompletableFuture<byte[]> data, AtomicBoolean abandoned)
+        {
+            this.size = size;
+            this.data = requireNonNull(data, "data is null");
+            this.abandoned = requireNonNull(abandoned, "abandoned is null");
+        }
+
+        public long size()
+        {
+            return size;
+        }
+
+        public CompletableFuture<byte[]> data()
+        {
+            return data;
+        }
+
+        /**
+         * Skips the download if it has not started yet.
+         */
+        public void abandon()
+        {
+            abandoned.set(true);
+        }
+    }
+}
@@ -15,6 +15,7 @@ package io.trino.client.spooling;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 
 public interface SegmentLoader
         extends AutoCloseable
@@ -24,4 +25,10 @@ public interface SegmentLoader
 
     void acknowledge(SpooledSegment segment)
             throws IOException;
+
+    /**
+     * Called with the spooled segments of the next results, in the order in which they are going to be loaded,
+     * before any of them is loaded. Loaders may use it to start fetching the segments ahead of time.
+     */
+    default void prefetch(List<SpooledSegment> segments) {}
 }
@@ -0,0 +1,464 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.client.spooling.encoding;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.LittleEndianDataInputStream;
+import io.trino.client.CloseableIterator;
+import io.trino.client.Column;
+import io.trino.client.JsonDecodingUtils.TypeDecoder;
+import io.trino.client.JsonIterators;
+import io.trino.client.QueryDataDecoder;
+import io.trino.client.spooling.DataAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Verify.verify;
+import static io.trino.client.ClientStandardTypes.BIGINT;
+import static io.trino.client.ClientStandardTypes.BOOLEAN;
+import static io.trino.client.ClientStandardTypes.CHAR;
+import static io.trino.client.ClientStandardTypes.DOUBLE;
+import static io.trino.client.ClientStandardTypes.INTEGER;
+import static io.trino.client.ClientStandardTypes.REAL;
+import static io.trino.client.ClientStandardTypes.SMALLINT;
+import static io.trino.client.ClientStandardTypes.TINYINT;
+import static io.trino.client.ClientStandardTypes.VARBINARY;
+import static io.trino.client.ClientStandardTypes.VARCHAR;
+import static io.trino.client.JsonDecodingUtils.createTypeDecoders;
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decodes segments encoded as Arrow IPC streams by the server. Columns of types without
+ * a native Arrow representation are Utf8 columns holding JSON values, which are decoded
+ * in the same way as in the {@link JsonQueryDataDecoder}.
+ */
+public class ArrowQueryDataDecoder
+        implements QueryDataDecoder
+{
+    private static final String ENCODING = "arrow";
+    private static final JsonFactory JSON_FACTORY = JsonIterators.createJsonFactory();
+
+    private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+    // MessageHeader union
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    // Type union
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_FLOATING_POINT = 3;
+    private static final byte TYPE_BINARY = 4;
+    private static final byte TYPE_UTF8 = 5;
+    private static final byte TYPE_BOOL = 6;
+
+    // FieldNode and Buffer structs consist of two longs
+    private static final int STRUCT_SIZE = 2 * Long.BYTES;
+
+    private final ColumnReader[] columnReaders;
+
+    ArrowQueryDataDecoder(ColumnReader[] columnReaders)
+    {
+        this.columnReaders = requireNonNull(columnReaders, "columnReaders is null");
+    }
+
+    @Override
+    public CloseableIterator<List<Object>> decode(InputStream stream, DataAttributes queryAttributes)
+            throws IOException
+    {
+        return new ArrowIterator(stream, columnReaders);
+    }
+
+    @Override
+    public String encoding()
+    {
+        return ENCODING;
+    }
+
+    private static class ArrowIterator
+            extends AbstractIterator<List<Object>>
+            implements CloseableIterator<List<Object>>
+    {
+        private final LittleEndianDataInputStream input;
+        private final ColumnReader[] columnReaders;
+        private Object[][] columns;
+        private int batchRows;
+        private int position;
+        private boolean closed;
+
+        private ArrowIterator(InputStream stream, ColumnReader[] columnReaders)
+                throws IOException
+        {
+            this.input = new LittleEndianDataInputStream(requireNonNull(stream, "stream is null"));
+            this.columnReaders = columnReaders;
+
+            Message schema = readMessage();
+            verify(schema != null && schema.headerType() == HEADER_SCHEMA, "Expected schema message");
+            FlatBufferTable fields = schema.header();
+            verify(fields.getVectorLength(1) == columnReaders.length, "Expected %s fields, but got %s", columnReaders.length, fields.getVectorLength(1));
+            for (int i = 0; i < columnReaders.length; i++) {
+                byte typeId = fields.getTableElement(1, i).getByte(2, (byte) 0);
+                verify(typeId == columnReaders[i].typeId(), "Expected type %s for field %s, but got %s", columnReaders[i].typeId(), i, typeId);
+            }
+        }
+
+        @Override
+        protected List<Object> computeNext()
+        {
+            try {
+                while (position == batchRows) {
+                    if (closed || !readRecordBatch()) {
+                        close();
+                        return endOfData();
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<Object> row = new ArrayList<>(columns.length);
+            for (Object[] column : columns) {
+                row.add(column[position]);
+            }
+            position++;
+            return unmodifiableList(row);
+        }
+
+        private boolean readRecordBatch()
+                throws IOException
+        {
+            Message message = readMessage();
+            if (message == null) {
+                return false;
+            }
+            verify(message.headerType() == HEADER_RECORD_BATCH, "Expected record batch message, but got %s", message.headerType());
+            FlatBufferTable recordBatch = message.header();
+            ByteBuffer body = ByteBuffer.wrap(message.body()).order(LITTLE_ENDIAN);
+
+            int rows = toIntExact(recordBatch.getLong(0, 0));
+            Object[][] batchColumns = new Object[columnReaders.length][];
+            int buffer = 0;
+            for (int column = 0; column < columnReaders.length; column++) {
+                verify(recordBatch.getStructLong(1, column, STRUCT_SIZE, 0) == rows, "Unexpected length of field %s", column);
+                ColumnReader reader = columnReaders[column];
+                ByteBuffer[] buffers = new ByteBuffer[reader.bufferCount()];
+                for (int i = 0; i < buffers.length; i++) {
+                    int offset = toIntExact(recordBatch.getStructLong(2, buffer, STRUCT_SIZE, 0));
+                    int length = toIntExact(recordBatch.getStructLong(2, buffer, STRUCT_SIZE, Long.BYTES));
+                    buffers[i] = body.duplicate().limit(offset + length).position(offset).slice().order(LITTLE_ENDIAN);
+                    buffer++;
+                }
+                batchColumns[column] = reader.read(rows, buffers);
+            }
+
+            this.columns = batchColumns;
+            this.batchRows = rows;
+            this.position = 0;
+            return true;
+        }
+
+        private Message readMessage()
+                throws IOException
+        {
+            int marker = input.readInt();
+            verify(marker == CONTINUATION_MARKER, "Expected continuation marker, but got %s", marker);
+            int metadataLength = input.readInt();
+            if (metadataLength == 0) {
+                // end of stream
+                return null;
+            }
+            byte[] metadata = new byte[metadataLength];
+            input.readFully(metadata);
+            FlatBufferTable message = FlatBufferTable.root(metadata);
+            byte[] body = new byte[toIntExact(message.getLong(3, 0))];
+            input.readFully(body);
+            return new Message(message, body);
+        }
+
+        @Override
+        public void close()
+                throws IOException
+        {
+            closed = true;
+            columns = null;
+            input.close();
+        }
+    }
+
+    private static class Message
+    {
+        private final FlatBufferTable message;
+        private final byte[] body;
+
+        private Message(FlatBufferTable message, byte[] body)
+        {
+            this.message = message;
+            this.body = body;
+        }
+
+        public byte headerType()
+        {
+            return message.getByte(1, (byte) 0);
+        }
+
+        public FlatBufferTable header()
+        {
+            return message.getTable(2);
+        }
+
+        public byte[] body()
+        {
+            return body;
+        }
+    }
+
+    private static ColumnReader createColumnReader(Column column, TypeDecoder typeDecoder)
+    {
+        switch (column.getTypeSignature().getRawType()) {
+            case BOOLEAN:
+                return new BooleanColumnReader();
+            case TINYINT:
+                return new FixedWidthColumnReader(TYPE_INT, (data, position) -> data.get(position));
+            case SMALLINT:
+                return new FixedWidthColumnReader(TYPE_INT, (data, position) -> data.getShort(position * Short.BYTES));
+            case INTEGER:
+                return new FixedWidthColumnReader(TYPE_INT, (data, position) -> data.getInt(position * Integer.BYTES));
+            case BIGINT:
+                return new FixedWidthColumnReader(TYPE_INT, (data, position) -> data.getLong(position * Long.BYTES));
+            case REAL:
+                return new FixedWidthColumnReader(TYPE_FLOATING_POINT, (data, position) -> data.getFloat(position * Float.BYTES));
+            case DOUBLE:
+                return new FixedWidthColumnReader(TYPE_FLOATING_POINT, (data, position) -> data.getDouble(position * Double.BYTES));
+            case VARCHAR:
+            case CHAR:
+                return new VariableWidthColumnReader(TYPE_UTF8, (data, offset, length) -> new String(data, offset, length, UTF_8));
+            case VARBINARY:
+                return new VariableWidthColumnReader(TYPE_BINARY, (data, offset, length) -> Arrays.copyOfRange(data, offset, offset + length));
+            default:
+                return new VariableWidthColumnReader(TYPE_UTF8, (data, offset, length) -> decodeJson(typeDecoder, data, offset, length));
+        }
+    }
+
+    private static Object decodeJson(TypeDecoder typeDecoder, byte[] data, int offset, int length)
+    {
+        try (JsonParser parser = JSON_FACTORY.createParser(data, offset, length)) {
+            parser.nextToken();
+            return typeDecoder.decode(parser);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isValid(ByteBuffer validity, int position)
+    {
+        // an empty validity buffer means that there are no nulls
+        return validity.limit() == 0 || (validity.get(position >>> 3) & (1 << (position & 7))) != 0;
+    }
+
+    private interface ColumnReader
+    {
+        byte typeId();
+
+        /**
+         * Number of buffers of the column, including the validity buffer.
+         */
+        int bufferCount();
+
+        Object[] read(int rows, ByteBuffer[] buffers);
+    }
+
+    private static class BooleanColumnReader
+            implements ColumnReader
+    {
+        @Override
+        public byte typeId()
+        {
+            return TYPE_BOOL;
+        }
+
+        @Override
+        public int bufferCount()
+        {
+            return 2;
+        }
+
+        @Override
+        public Object[] read(int rows, ByteBuffer[] buffers)
+        {
+            Object[] values = new Object[rows];
+            for (int position = 0; position < rows; position++) {
+                if (isValid(buffers[0], position)) {
+                    values[position] = (buffers[1].get(position >>> 3) & (1 << (position & 7))) != 0;
+                }
+            }
+            return values;
+        }
+    }
+
+    private interface ValueReader
+    {
+        Object read(ByteBuffer data, int position);
+    }
+
+    private static class FixedWidthColumnReader
+            implements ColumnReader
+    {
+        private final byte typeId;
+        private final ValueReader valueReader;
+
+        private FixedWidthColumnReader(byte typeId, ValueReader valueReader)
+        {
+            this.typeId = typeId;
+            this.valueReader = requireNonNull(valueReader, "valueReader is null");
+        }
+
+        @Override
+        public byte typeId()
+        {
+            return typeId;
+        }
+
+        @Override
+        public int bufferCount()
+        {
+            return 2;
+        }
+
+        @Override
+        public Object[] read(int rows, ByteBuffer[] buffers)
+        {
+            Object[] values = new Object[rows];
+            for (int position = 0; position < rows; position++) {
+                if (isValid(buffers[0], position)) {
+                    values[position] = valueReader.read(buffers[1], position);
+                }
+            }
+            return values;
+        }
+    }
+
+    private interface BytesReader
+    {
+        Object read(byte[] data, int offset, int length);
+    }
+
+    private static class VariableWidthColumnReader
+            implements ColumnReader
+    {
+        private final byte typeId;
+        private final BytesReader bytesReader;
+
+        private VariableWidthColumnReader(byte typeId, BytesReader bytesReader)
+        {
+            this.typeId = typeId;
+            this.bytesReader = requireNonNull(bytesReader, "bytesReader is null");
+        }
+
+        @Override
+        public byte typeId()
+        {
+            return typeId;
+        }
+
+        @Override
+        public int bufferCount()
+        {
+            return 3;
+        }
+
+        @Override
+        public Object[] read(int rows, ByteBuffer[] buffers)
+        {
+            ByteBuffer offsets = buffers[1];
+            byte[] data = new byte[buffers[2].remaining()];
+            buffers[2].get(data);
+
+            Object[] values = new Object[rows];
+            for (int position = 0; position < rows; position++) {
+                if (isValid(buffers[0], position)) {
+                    int start = offsets.getInt(position * Integer.BYTES);
+                    int end = offsets.getInt((position + 1) * Integer.BYTES);
+                    values[position] = bytesReader.read(data, start, end - start);
+                }
+            }
+            return values;
+        }
+    }
+
+    public static class Factory
+            implements QueryDataDecoder.Factory
+    {
+        @Override
+        public QueryDataDecoder create(List<Column> columns, DataAttributes queryAttributes)
+        {
+            TypeDecoder[] typeDecoders = createTypeDecoders(columns);
+            ColumnReader[] columnReaders = new ColumnReader[columns.size()];
+            for (int i = 0; i < columnReaders.length; i++) {
+                columnReaders[i] = createColumnReader(columns.get(i), typeDecoders[i]);
+            }
+            return new ArrowQueryDataDecoder(columnReaders);
+        }
+
+        @Override
+        public String encoding()
+        {
+            return ENCODING;
+        }
+    }
+
+    public static class ZstdFactory
+            extends Factory
+    {
+        @Override
+        public QueryDataDecoder create(List<Column> columns, DataAttributes queryAttributes)
+        {
+            return new ZstdQueryDataDecoder(super.create(columns, queryAttributes));
+        }
+
+        @Override
+        public String encoding()
+        {
+            return super.encoding() + "+zstd";
+        }
+    }
+
+    public static class Lz4Factory
+            extends Factory
+    {
+        @Override
+        public QueryDataDecoder create(List<Column> columns, DataAttributes queryAttributes)
+        {
+            return new Lz4QueryDataDecoder(super.create(columns, queryAttributes));
+        }
+
+        @Override
+        public String encoding()
+        {
+            return super.encoding() + "+lz4";
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.client.spooling.encoding;
+
+import java.nio.ByteBuffer;
+
+import static java.lang.String.format;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Minimal reader of FlatBuffers tables, used for the metadata of Arrow IPC messages.
+ */
+final class FlatBufferTable
+{
+    private final ByteBuffer buffer;
+    private final int position;
+    private final int vtable;
+    private final int vtableSize;
+
+    private FlatBufferTable(ByteBuffer buffer, int position)
+    {
+        this.buffer = buffer;
+        this.position = position;
+        this.vtable = position - buffer.getInt(position);
+        this.vtableSize = buffer.getShort(vtable);
+    }
+
+    public static FlatBufferTable root(byte[] data)
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(LITTLE_ENDIAN);
+        return new FlatBufferTable(buffer, buffer.getInt(0));
+    }
+
+    public byte getByte(int field, byte defaultValue)
+    {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.get(position + offset);
+    }
+
+    public boolean getBoolean(int field, boolean defaultValue)
+    {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.get(position + offset) != 0;
+    }
+
+    public short getShort(int field, short defaultValue)
+    {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.getShort(position + offset);
+    }
+
+    public int getInt(int field, int defaultValue)
+    {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.getInt(position + offset);
+    }
+
+    public long getLong(int field, long defaultValue)
+    {
+        int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.getLong(position + offset);
+    }
+
+    /**
+     * Returns the table referenced by the field, or null if the field is not set.
+     */
+    public FlatBufferTable getTable(int field)
+    {
+        int target = target(field);
+        return target == -1 ? null : new FlatBufferTable(buffer, target);
+    }
+
+    public String getString(int field)
+    {
+        int target = target(field);
+        if (target == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.getInt(target)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(target + Integer.BYTES + i);
+        }
+        return new String(bytes, UTF_8);
+    }
+
+    public int getVectorLength(int field)
+    {
+        int target = target(field);
+        return target == -1 ? 0 : buffer.getInt(target);
+    }
+
+    public FlatBufferTable getTableElement(int field, int index)
+    {
+        int element = vectorElement(field, index, Integer.BYTES);
+        return new FlatBufferTable(buffer, element + buffer.getInt(element));
+    }
+
+    /**
+     * Returns a long field of a struct element of a vector.
+     */
+    public long getStructLong(int field, int index, int structSize, int structOffset)
+    {
+        return buffer.getLong(vectorElement(field, index, structSize) + structOffset);
+    }
+
+    private int vectorElement(int field, int index, int elementSize)
+    {
+        int target = target(field);
+        if (target == -1 || index < 0 || index >= buffer.getInt(target)) {
+            throw new IndexOutOfBoundsException(format("Invalid index %s of vector field %s", index, field));
+        }
+        return target + Integer.BYTES + index * elementSize;
+    }
+
+    private int target(int field)
+    {
+        int offset = fieldOffset(field);
+        if (offset == 0) {
+            return -1;
+        }
+        int reference = position + offset;
+        return reference + buffer.getInt(reference);
+    }
+
+    private int fieldOffset(int field)
+    {
+        int vtableOffset = (field + 2) * Short.BYTES;
+        return vtableOffset < vtableSize ? buffer.getShort(vtable + vtableOffset) : 0;
+    }
+}
@@ -31,7 +31,10 @@ public class QueryDataDecoders
     private static final List<Factory> decoders = ImmutableList.of(
             new JsonQueryDataDecoder.ZstdFactory(),
             new JsonQueryDataDecoder.Lz4Factory(),
-            new JsonQueryDataDecoder.Factory());
+            new JsonQueryDataDecoder.Factory(),
+            new ArrowQueryDataDecoder.ZstdFactory(),
+            new ArrowQueryDataDecoder.Lz4Factory(),
+            new ArrowQueryDataDecoder.Factory());
 
     private static final Map<String, Factory> encodingMap = factoriesMap();
 
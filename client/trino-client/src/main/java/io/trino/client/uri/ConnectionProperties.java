@@ -18,6 +18,7 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.trino.client.ClientSelectedRole;
 import io.trino.client.DnsResolver;
@@ -70,6 +71,7 @@ final class ConnectionProperties
     public static final ConnectionProperty<String, String> APPLICATION_NAME_PREFIX = new ApplicationNamePrefix();
     public static final ConnectionProperty<String, Boolean> DISABLE_COMPRESSION = new DisableCompression();
     public static final ConnectionProperty<String, String> ENCODING = new Encoding();
+    public static final ConnectionProperty<String, DataSize> SEGMENT_PREFETCH_BUFFER_SIZE = new SegmentPrefetchBufferSize();
     public static final ConnectionProperty<String, Boolean> ASSUME_LITERAL_NAMES_IN_METADATA_CALLS_FOR_NON_CONFORMING_CLIENTS = new AssumeLiteralNamesInMetadataCallsForNonConformingClients();
     public static final ConnectionProperty<String, Boolean> ASSUME_LITERAL_UNDERSCORE_IN_METADATA_CALLS_FOR_NON_CONFORMING_CLIENTS = new AssumeLiteralUnderscoreInMetadataCallsForNonConformingClients();
     public static final ConnectionProperty<String, Boolean> SSL = new Ssl();
@@ -154,6 +156,7 @@ final class ConnectionProperties
             .add(RESOURCE_ESTIMATES)
             .add(ROLES)
             .add(SCHEMA)
+            .add(SEGMENT_PREFETCH_BUFFER_SIZE)
             .add(SESSION_PROPERTIES)
             .add(SESSION_USER)
             .add(SOCKS_PROXY)
@@ -404,6 +407,15 @@ final class ConnectionProperties
         }
     }
 
+    private static class SegmentPrefetchBufferSize
+            extends AbstractConnectionProperty<String, DataSize>
+    {
+        public SegmentPrefetchBufferSize()
+        {
+            super(PropertyName.SEGMENT_PREFETCH_BUFFER_SIZE, NOT_REQUIRED, ALLOWED, converter(DataSize::valueOf, DataSize::toString));
+        }
+    }
+
     /**
      * @deprecated use {@link AssumeLiteralUnderscoreInMetadataCallsForNonConformingClients}
      */
@@ -58,6 +58,7 @@ public enum PropertyName
     RESOURCE_ESTIMATES("resourceEstimates"),
     ROLES("roles"),
     SCHEMA("schema"), // this is not actual property but part of the path
+    SEGMENT_PREFETCH_BUFFER_SIZE("segmentPrefetchBufferSize"),
     SESSION_PROPERTIES("sessionProperties"),
     SESSION_USER("sessionUser"),
     SOCKS_PROXY("socksProxy"),
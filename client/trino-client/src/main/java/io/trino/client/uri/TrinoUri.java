@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.trino.client.ClientSelectedRole;
 import io.trino.client.ClientSession;
@@ -77,6 +78,7 @@ import static io.trino.client.uri.ConnectionProperties.PASSWORD;
 import static io.trino.client.uri.ConnectionProperties.RESOURCE_ESTIMATES;
 import static io.trino.client.uri.ConnectionProperties.ROLES;
 import static io.trino.client.uri.ConnectionProperties.SCHEMA;
+import static io.trino.client.uri.ConnectionProperties.SEGMENT_PREFETCH_BUFFER_SIZE;
 import static io.trino.client.uri.ConnectionProperties.SESSION_PROPERTIES;
 import static io.trino.client.uri.ConnectionProperties.SESSION_USER;
 import static io.trino.client.uri.ConnectionProperties.SOCKS_PROXY;
@@ -432,6 +434,11 @@ public class TrinoUri
         return Optional.of(getPreferredEncodings());
     }
 
+    public DataSize getSegmentPrefetchBufferSize()
+    {
+        return resolveWithDefault(SEGMENT_PREFETCH_BUFFER_SIZE, DataSize.valueOf("32MB"));
+    }
+
     public boolean isAssumeLiteralNamesInMetadataCallsForNonConformingClients()
     {
         return resolveWithDefault(ASSUME_LITERAL_NAMES_IN_METADATA_CALLS_FOR_NON_CONFORMING_CLIENTS, false);
@@ -519,7 +526,8 @@ public class TrinoUri
                 .transactionId(null)
                 .resourceEstimates(getResourceEstimates())
                 .compressionDisabled(isCompressionDisabled())
-                .encoding(getEncoding());
+                .encoding(getEncoding())
+                .segmentPrefetchBufferSize(getSegmentPrefetchBufferSize());
     }
 
     protected static Set<ConnectionProperty<?, ?>> allProperties()
@@ -818,6 +826,11 @@ public class TrinoUri
             return setProperty(ENCODING, requireNonNull(encoding, "encoding is null"));
         }
 
+        public Builder setSegmentPrefetchBufferSize(DataSize segmentPrefetchBufferSize)
+        {
+            return setProperty(SEGMENT_PREFETCH_BUFFER_SIZE, requireNonNull(segmentPrefetchBufferSize, "segmentPrefetchBufferSize is null"));
+        }
+
         public Builder setAssumeLiteralNamesInMetadataCallsForNonConformingClients(boolean value)
         {
             return setProperty(ASSUME_LITERAL_NAMES_IN_METADATA_CALLS_FOR_NON_CONFORMING_CLIENTS, value);
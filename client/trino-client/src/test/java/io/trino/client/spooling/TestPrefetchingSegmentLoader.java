@@ -0,0 +1,264 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.client.spooling;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.trino.client.spooling.DataAttribute.ROWS_COUNT;
+import static io.trino.client.spooling.DataAttribute.ROW_OFFSET;
+import static io.trino.client.spooling.DataAttribute.SEGMENT_SIZE;
+import static io.trino.client.spooling.PrefetchingSegmentLoader.MAX_CONCURRENCY;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+class TestPrefetchingSegmentLoader
+{
+    private static final int SEGMENT_SIZE_BYTES = 1000;
+
+    private final ExecutorService executor = newCachedThreadPool();
+
+    @AfterAll
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLoadsPrefetchedSegments()
+            throws Exception
+    {
+        DelayingLoader delegate = new DelayingLoader(10);
+        List<SpooledSegment> segments = segments(100);
+        try (PrefetchingSegmentLoader loader = new PrefetchingSegmentLoader(delegate, DataSize.of(1, MEGABYTE), executor)) {
+            loader.prefetch(segments);
+            for (SpooledSegment segment : segments) {
+                assertThat(loader.load(segment).readAllBytes()).isEqualTo(data(segment));
+                loader.acknowledge(segment);
+            }
+            // segments are downloaded concurrently once it increases the throughput
+            assertThat(loader.getConcurrency()).isGreaterThan(1).isLessThanOrEqualTo(MAX_CONCURRENCY);
+        }
+        assertThat(delegate.maxRunningLoads.get()).isGreaterThan(1).isLessThanOrEqualTo(MAX_CONCURRENCY);
+        assertThat(delegate.loads.get()).isEqualTo(segments.size());
+        assertEventually(() -> delegate.acknowledged.get() == segments.size());
+    }
+
+    @Test
+    public void testBufferSizeLimit()
+            throws Exception
+    {
+        DelayingLoader delegate = new DelayingLoader(0);
+        List<SpooledSegment> segments = segments(10);
+        try (PrefetchingSegmentLoader loader = new PrefetchingSegmentLoader(delegate, DataSize.of(2 * SEGMENT_SIZE_BYTES + 500, BYTE), executor)) {
+            loader.prefetch(segments);
+            assertEventually(() -> delegate.loads.get() == 2);
+            MILLISECONDS.sleep(100);
+            assertThat(delegate.loads.get()).isEqualTo(2);
+
+            // loading a segment releases its buffer space
+            assertThat(loader.load(segments.get(0)).readAllBytes()).isEqualTo(data(segments.get(0)));
+            assertEventually(() -> delegate.loads.get() == 3);
+        }
+    }
+
+    @Test
+    public void testSkippedSegments()
+            throws Exception
+    {
+        DelayingLoader delegate = new DelayingLoader(0);
+        List<SpooledSegment> segments = segments(10);
+        try (PrefetchingSegmentLoader loader = new PrefetchingSegmentLoader(delegate, DataSize.of(2 * SEGMENT_SIZE_BYTES, BYTE), executor)) {
+            loader.prefetch(segments);
+            // acknowledging segments without loading them releases their buffer space and skips the pending ones
+            for (SpooledSegment segment : segments.subList(0, 9)) {
+                loader.acknowledge(segment);
+            }
+            assertThat(loader.load(segments.get(9)).readAllBytes()).isEqualTo(data(segments.get(9)));
+        }
+        assertEventually(() -> delegate.acknowledged.get() == 9);
+    }
+
+    @Test
+    public void testSkippedRunningDownload()
+            throws Exception
+    {
+        CountDownLatch finishLoads = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        SegmentLoader delegate = new SegmentLoader()
+        {
+            @Override
+            public InputStream load(SpooledSegment segment)
+                    throws IOException
+            {
+                loads.incrementAndGet();
+                try {
+                    finishLoads.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                return new ByteArrayInputStream(data(segment));
+            }
+
+            @Override
+            public void acknowledge(SpooledSegment segment) {}
+
+            @Override
+            public void close() {}
+        };
+
+        List<SpooledSegment> segments = segments(3);
+        try (PrefetchingSegmentLoader loader = new PrefetchingSegmentLoader(delegate, DataSize.of(SEGMENT_SIZE_BYTES, BYTE), executor)) {
+            loader.prefetch(segments);
+            assertEventually(() -> loads.get() == 1);
+
+            // the skipped download keeps running, so its buffer space is not released yet
+            loader.acknowledge(segments.get(0));
+            MILLISECONDS.sleep(100);
+            assertThat(loads.get()).isEqualTo(1);
+
+            finishLoads.countDown();
+            assertEventually(() -> loads.get() == 2);
+            assertThat(loader.load(segments.get(1)).readAllBytes()).isEqualTo(data(segments.get(1)));
+        }
+    }
+
+    @Test
+    public void testLoadFailure()
+            throws Exception
+    {
+        SegmentLoader delegate = new SegmentLoader()
+        {
+            @Override
+            public InputStream load(SpooledSegment segment)
+                    throws IOException
+            {
+                throw new IOException("Could not load segment " + segment.getOffset());
+            }
+
+            @Override
+            public void acknowledge(SpooledSegment segment) {}
+
+            @Override
+            public void close() {}
+        };
+
+        List<SpooledSegment> segments = segments(2);
+        try (PrefetchingSegmentLoader loader = new PrefetchingSegmentLoader(delegate, DataSize.of(1, MEGABYTE), executor)) {
+            loader.prefetch(segments);
+            assertThatThrownBy(() -> loader.load(segments.get(1)))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Could not load segment 1");
+        }
+    }
+
+    private static List<SpooledSegment> segments(int count)
+    {
+        return IntStream.range(0, count)
+                .mapToObj(i -> (SpooledSegment) Segment.spooled(
+                        URI.create("http://localhost/" + i),
+                        URI.create("http://localhost/ack/" + i),
+                        DataAttributes.builder()
+                                .set(ROW_OFFSET, (long) i)
+                                .set(ROWS_COUNT, 1L)
+                                .set(SEGMENT_SIZE, SEGMENT_SIZE_BYTES)
+                                .build(),
+                        ImmutableMap.of()))
+                .collect(toImmutableList());
+    }
+
+    private static byte[] data(SpooledSegment segment)
+    {
+        byte[] data = new byte[segment.getSegmentSize()];
+        Arrays.fill(data, (byte) segment.getOffset());
+        return data;
+    }
+
+    private static void assertEventually(BooleanSupplier condition)
+            throws InterruptedException
+    {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            MILLISECONDS.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static class DelayingLoader
+            implements SegmentLoader
+    {
+        private final long delayMillis;
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger runningLoads = new AtomicInteger();
+        private final AtomicInteger maxRunningLoads = new AtomicInteger();
+        private final AtomicInteger acknowledged = new AtomicInteger();
+
+        private DelayingLoader(long delayMillis)
+        {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public InputStream load(SpooledSegment segment)
+                throws IOException
+        {
+            loads.incrementAndGet();
+            maxRunningLoads.accumulateAndGet(runningLoads.incrementAndGet(), Math::max);
+            try {
+                MILLISECONDS.sleep(delayMillis);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            finally {
+                runningLoads.decrementAndGet();
+            }
+            return new ByteArrayInputStream(data(segment));
+        }
+
+        @Override
+        public void acknowledge(SpooledSegment segment)
+        {
+            acknowledged.incrementAndGet();
+        }
+
+        @Override
+        public void close() {}
+    }
+}
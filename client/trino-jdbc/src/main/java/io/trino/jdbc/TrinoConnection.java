@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.Ints;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.trino.client.ClientSelectedRole;
 import io.trino.client.ClientSession;
@@ -120,6 +121,7 @@ public class TrinoConnection
     private final Optional<String> user;
     private final boolean compressionDisabled;
     private final Optional<String> encoding;
+    private final DataSize segmentPrefetchBufferSize;
     private final boolean assumeLiteralNamesInMetadataCallsForNonConformingClients;
     private final boolean assumeLiteralUnderscoreInMetadataCallsForNonConformingClients;
     private final Map<String, String> extraCredentials;
@@ -152,6 +154,7 @@ public class TrinoConnection
         this.extraCredentials = uri.getExtraCredentials();
         this.compressionDisabled = uri.isCompressionDisabled();
         this.encoding = uri.getEncoding();
+        this.segmentPrefetchBufferSize = uri.getSegmentPrefetchBufferSize();
         this.assumeLiteralNamesInMetadataCallsForNonConformingClients = uri.isAssumeLiteralNamesInMetadataCallsForNonConformingClients();
 
         if (this.assumeLiteralNamesInMetadataCallsForNonConformingClients) {
@@ -875,6 +878,7 @@ public class TrinoConnection
                 .clientRequestTimeout(timeout)
                 .compressionDisabled(compressionDisabled)
                 .encoding(encoding)
+                .segmentPrefetchBufferSize(segmentPrefetchBufferSize)
                 .build();
 
         return newStatementClient(httpCallFactory, segmentHttpCallFactory, session, sql);
@@ -94,6 +94,8 @@ public class FeaturesConfig
      * default value is overwritten for fault tolerant execution in {@link #applyFaultTolerantExecutionDefaults()}}
      */
     private CompressionCodec exchangeCompressionCodec = NONE;
+    private boolean exchangeAdaptiveEncodingEnabled;
+    private boolean exchangeSkewDetectionEnabled;
     private boolean pagesIndexEagerCompactionEnabled;
     private boolean omitDateTimeTypePrecision;
     private int maxRecursionDepth = 10;
@@ -120,6 +122,7 @@ public class FeaturesConfig
     private boolean forceSpillingJoin;
 
     private boolean columnarFilterEvaluationEnabled = true;
+    private boolean offHeapGroupByHashEnabled;
 
     private boolean faultTolerantExecutionExchangeEncryptionEnabled = true;
 
@@ -364,6 +367,32 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isExchangeAdaptiveEncodingEnabled()
+    {
+        return exchangeAdaptiveEncodingEnabled;
+    }
+
+    @Config("exchange.adaptive-encoding-enabled")
+    @ConfigDescription("Bit pack integer columns in exchanges using frame of reference or delta encoding chosen per block")
+    public FeaturesConfig setExchangeAdaptiveEncodingEnabled(boolean exchangeAdaptiveEncodingEnabled)
+    {
+        this.exchangeAdaptiveEncodingEnabled = exchangeAdaptiveEncodingEnabled;
+        return this;
+    }
+
+    public boolean isExchangeSkewDetectionEnabled()
+    {
+        return exchangeSkewDetectionEnabled;
+    }
+
+    @Config("exchange.skew-detection-enabled")
+    @ConfigDescription("Report rows per partition and hot partitioning keys of hash partitioned exchanges in operator metrics")
+    public FeaturesConfig setExchangeSkewDetectionEnabled(boolean exchangeSkewDetectionEnabled)
+    {
+        this.exchangeSkewDetectionEnabled = exchangeSkewDetectionEnabled;
+        return this;
+    }
+
     public DataIntegrityVerification getExchangeDataIntegrityVerification()
     {
         return exchangeDataIntegrityVerification;
@@ -506,6 +535,19 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isOffHeapGroupByHashEnabled()
+    {
+        return offHeapGroupByHashEnabled;
+    }
+
+    @Config("experimental.off-heap-group-by-hash.enabled")
+    @ConfigDescription("Allocate the hash tables of hash aggregations outside of the Java heap")
+    public FeaturesConfig setOffHeapGroupByHashEnabled(boolean offHeapGroupByHashEnabled)
+    {
+        this.offHeapGroupByHashEnabled = offHeapGroupByHashEnabled;
+        return this;
+    }
+
     public boolean isFaultTolerantExecutionExchangeEncryptionEnabled()
     {
         return faultTolerantExecutionExchangeEncryptionEnabled;
@@ -109,6 +109,8 @@ public final class SystemSessionProperties
     public static final String ITERATIVE_OPTIMIZER_TIMEOUT = "iterative_optimizer_timeout";
     public static final String ENABLE_FORCED_EXCHANGE_BELOW_GROUP_ID = "enable_forced_exchange_below_group_id";
     public static final String EXCHANGE_COMPRESSION_CODEC = "exchange_compression_codec";
+    public static final String EXCHANGE_ADAPTIVE_ENCODING_ENABLED = "exchange_adaptive_encoding_enabled";
+    public static final String EXCHANGE_SKEW_DETECTION_ENABLED = "exchange_skew_detection_enabled";
     public static final String ENABLE_INTERMEDIATE_AGGREGATIONS = "enable_intermediate_aggregations";
     public static final String PUSH_AGGREGATION_THROUGH_OUTER_JOIN = "push_aggregation_through_outer_join";
     public static final String PUSH_PARTIAL_AGGREGATION_THROUGH_JOIN = "push_partial_aggregation_through_join";
@@ -143,6 +145,7 @@ public final class SystemSessionProperties
     public static final String ENABLE_LARGE_DYNAMIC_FILTERS = "enable_large_dynamic_filters";
     public static final String ENABLE_DYNAMIC_ROW_FILTERING = "enable_dynamic_row_filtering";
     public static final String DYNAMIC_ROW_FILTERING_SELECTIVITY_THRESHOLD = "dynamic_row_filtering_selectivity_threshold";
+    public static final String DYNAMIC_ROW_FILTERING_BLOOM_FILTER_ENABLED = "dynamic_row_filtering_bloom_filter_enabled";
     public static final String QUERY_MAX_MEMORY_PER_NODE = "query_max_memory_per_node";
     public static final String IGNORE_DOWNSTREAM_PREFERENCES = "ignore_downstream_preferences";
     public static final String FILTERING_SEMI_JOIN_TO_INNER = "rewrite_filtering_semi_join_to_inner_join";
@@ -221,6 +224,8 @@ public final class SystemSessionProperties
     public static final String COLUMNAR_FILTER_EVALUATION_ENABLED = "columnar_filter_evaluation_enabled";
     public static final String SPOOLING_ENABLED = "spooling_enabled";
     public static final String DEBUG_ADAPTIVE_PLANNER = "debug_adaptive_planner";
+    public static final String SPLIT_RESULT_CACHE_ENABLED = "split_result_cache_enabled";
+    public static final String OFF_HEAP_GROUP_BY_HASH_ENABLED = "off_heap_group_by_hash_enabled";
 
     private final List<PropertyMetadata<?>> sessionProperties;
 
@@ -517,6 +522,16 @@ public final class SystemSessionProperties
                         CompressionCodec.class,
                         featuresConfig.getExchangeCompressionCodec(),
                         false),
+                booleanProperty(
+                        EXCHANGE_ADAPTIVE_ENCODING_ENABLED,
+                        "Bit pack integer columns in exchanges using frame of reference or delta encoding chosen per block",
+                        featuresConfig.isExchangeAdaptiveEncodingEnabled(),
+                        false),
+                booleanProperty(
+                        EXCHANGE_SKEW_DETECTION_ENABLED,
+                        "Report rows per partition and hot partitioning keys of hash partitioned exchanges in operator metrics",
+                        featuresConfig.isExchangeSkewDetectionEnabled(),
+                        false),
                 booleanProperty(
                         ENABLE_INTERMEDIATE_AGGREGATIONS,
                         "Enable the use of intermediate aggregations",
@@ -704,6 +719,11 @@ public final class SystemSessionProperties
                             }
                         },
                         false),
+                booleanProperty(
+                        DYNAMIC_ROW_FILTERING_BLOOM_FILTER_ENABLED,
+                        "Collect Bloom filters of join build side values for row filtering when there are too many distinct values for a dynamic filter domain",
+                        dynamicFilterConfig.isEnableDynamicRowFilteringBloomFilters(),
+                        false),
                 dataSizeProperty(
                         QUERY_MAX_MEMORY_PER_NODE,
                         "Maximum amount of memory a query can use per node",
@@ -1140,7 +1160,17 @@ public final class SystemSessionProperties
                         DEBUG_ADAPTIVE_PLANNER,
                         "Enable debug information for the adaptive planner",
                         false,
-                        true));
+                        true),
+                booleanProperty(
+                        SPLIT_RESULT_CACHE_ENABLED,
+                        "Reuse pages of cacheable splits read by previous queries, when the split result cache is enabled on workers",
+                        true,
+                        false),
+                booleanProperty(
+                        OFF_HEAP_GROUP_BY_HASH_ENABLED,
+                        "Allocate the hash tables of hash aggregations outside of the Java heap",
+                        featuresConfig.isOffHeapGroupByHashEnabled(),
+                        false));
     }
 
     @Override
@@ -1398,6 +1428,16 @@ public final class SystemSessionProperties
         return session.getSystemProperty(EXCHANGE_COMPRESSION_CODEC, CompressionCodec.class);
     }
 
+    public static boolean isExchangeAdaptiveEncodingEnabled(Session session)
+    {
+        return session.getSystemProperty(EXCHANGE_ADAPTIVE_ENCODING_ENABLED, Boolean.class);
+    }
+
+    public static boolean isExchangeSkewDetectionEnabled(Session session)
+    {
+        return session.getSystemProperty(EXCHANGE_SKEW_DETECTION_ENABLED, Boolean.class);
+    }
+
     public static boolean isEnableIntermediateAggregations(Session session)
     {
         return session.getSystemProperty(ENABLE_INTERMEDIATE_AGGREGATIONS, Boolean.class);
@@ -1650,6 +1690,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(DYNAMIC_ROW_FILTERING_SELECTIVITY_THRESHOLD, Double.class);
     }
 
+    public static boolean isDynamicRowFilteringBloomFilterEnabled(Session session)
+    {
+        return session.getSystemProperty(DYNAMIC_ROW_FILTERING_BLOOM_FILTER_ENABLED, Boolean.class);
+    }
+
     public static DataSize getQueryMaxMemoryPerNode(Session session)
     {
         return session.getSystemProperty(QUERY_MAX_MEMORY_PER_NODE, DataSize.class);
@@ -2044,4 +2089,14 @@ public final class SystemSessionProperties
     {
         return session.getSystemProperty(DEBUG_ADAPTIVE_PLANNER, Boolean.class);
     }
+
+    public static boolean isSplitResultCacheEnabled(Session session)
+    {
+        return session.getSystemProperty(SPLIT_RESULT_CACHE_ENABLED, Boolean.class);
+    }
+
+    public static boolean isOffHeapGroupByHashEnabled(Session session)
+    {
+        return session.getSystemProperty(OFF_HEAP_GROUP_BY_HASH_ENABLED, Boolean.class);
+    }
 }
@@ -44,6 +44,7 @@ public class DynamicFilterConfig
     private boolean enableLargeDynamicFilters = true;
     private boolean enableDynamicRowFiltering = true;
     private double dynamicRowFilterSelectivityThreshold = 0.7;
+    private boolean enableDynamicRowFilteringBloomFilters = true;
 
     /*
      * dynamic-filtering.small.* and dynamic-filtering.large.* limits are applied when
@@ -129,6 +130,19 @@ public class DynamicFilterConfig
         return this;
     }
 
+    public boolean isEnableDynamicRowFilteringBloomFilters()
+    {
+        return enableDynamicRowFilteringBloomFilters;
+    }
+
+    @Config("dynamic-row-filtering.bloom-filter-enabled")
+    @ConfigDescription("Collect Bloom filters of join build side values for row filtering when there are too many distinct values for a dynamic filter domain")
+    public DynamicFilterConfig setEnableDynamicRowFilteringBloomFilters(boolean enableDynamicRowFilteringBloomFilters)
+    {
+        this.enableDynamicRowFilteringBloomFilters = enableDynamicRowFilteringBloomFilters;
+        return this;
+    }
+
     @Min(0)
     public int getSmallMaxDistinctValuesPerDriver()
     {
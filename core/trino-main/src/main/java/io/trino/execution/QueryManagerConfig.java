@@ -77,6 +77,7 @@ public class QueryManagerConfig
     private Duration minQueryExpireAge = new Duration(15, TimeUnit.MINUTES);
     private int maxQueryHistory = 100;
     private int maxQueryLength = 1_000_000;
+    private int preparedStatementCacheMaxEntries = 1000;
     private int maxStageCount = 150;
     private int stageCountWarningThreshold = 50;
 
@@ -332,6 +333,20 @@ public class QueryManagerConfig
         return this;
     }
 
+    @Min(0)
+    public int getPreparedStatementCacheMaxEntries()
+    {
+        return preparedStatementCacheMaxEntries;
+    }
+
+    @Config("query.prepared-statement-cache.max-entries")
+    @ConfigDescription("Maximum number of parsed prepared statements to cache")
+    public QueryManagerConfig setPreparedStatementCacheMaxEntries(int preparedStatementCacheMaxEntries)
+    {
+        this.preparedStatementCacheMaxEntries = preparedStatementCacheMaxEntries;
+        return this;
+    }
+
     @Min(1)
     public int getMaxStageCount()
     {
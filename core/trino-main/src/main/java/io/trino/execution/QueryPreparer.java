@@ -13,9 +13,13 @@
  */
 package io.trino.execution;
 
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
 import io.trino.Session;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.NonEvictableCache;
 import io.trino.spi.TrinoException;
 import io.trino.spi.resourcegroups.QueryType;
 import io.trino.sql.parser.ParsingException;
@@ -24,11 +28,17 @@ import io.trino.sql.tree.Execute;
 import io.trino.sql.tree.ExecuteImmediate;
 import io.trino.sql.tree.ExplainAnalyze;
 import io.trino.sql.tree.Expression;
+import io.trino.sql.tree.NodeLocation;
 import io.trino.sql.tree.Statement;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import java.util.List;
 import java.util.Optional;
 
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.trino.cache.CacheUtils.uncheckedCacheGet;
+import static io.trino.cache.SafeCaches.buildNonEvictableCache;
 import static io.trino.execution.ParameterExtractor.getParameterCount;
 import static io.trino.spi.StandardErrorCode.INVALID_PARAMETER_USAGE;
 import static io.trino.spi.StandardErrorCode.NOT_SUPPORTED;
@@ -41,11 +51,25 @@ import static java.util.Objects.requireNonNull;
 public class QueryPreparer
 {
     private final SqlParser sqlParser;
+    // statements do not depend on the session, and are immutable, so queries executing the same prepared statement can share them
+    private final NonEvictableCache<PreparedStatementKey, Statement> preparedStatements;
+    private final CacheStatsMBean preparedStatementsStats;
 
     @Inject
-    public QueryPreparer(SqlParser sqlParser)
+    public QueryPreparer(SqlParser sqlParser, QueryManagerConfig queryManagerConfig)
     {
         this.sqlParser = requireNonNull(sqlParser, "sqlParser is null");
+        this.preparedStatements = buildNonEvictableCache(CacheBuilder.newBuilder()
+                .maximumSize(queryManagerConfig.getPreparedStatementCacheMaxEntries())
+                .recordStats());
+        this.preparedStatementsStats = new CacheStatsMBean(preparedStatements);
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getPreparedStatementCache()
+    {
+        return preparedStatementsStats;
     }
 
     public PreparedQuery prepareQuery(Session session, String query)
@@ -62,12 +86,12 @@ public class QueryPreparer
         Optional<String> prepareSql = Optional.empty();
         if (statement instanceof Execute executeStatement) {
             prepareSql = Optional.of(session.getPreparedStatementFromExecute(executeStatement));
-            statement = sqlParser.createStatement(prepareSql.get());
+            statement = parsePreparedStatement(new PreparedStatementKey(prepareSql.get(), Optional.empty()));
         }
         else if (statement instanceof ExecuteImmediate executeImmediateStatement) {
-            statement = sqlParser.createStatement(
+            statement = parsePreparedStatement(new PreparedStatementKey(
                     executeImmediateStatement.getStatement().getValue(),
-                    executeImmediateStatement.getStatement().getLocation().orElseThrow());
+                    Optional.of(executeImmediateStatement.getStatement().getLocation().orElseThrow())));
         }
         else if (statement instanceof ExplainAnalyze explainAnalyzeStatement) {
             Statement innerStatement = explainAnalyzeStatement.getStatement();
@@ -89,6 +113,19 @@ public class QueryPreparer
         return new PreparedQuery(statement, parameters, prepareSql);
     }
 
+    private Statement parsePreparedStatement(PreparedStatementKey key)
+    {
+        try {
+            return uncheckedCacheGet(preparedStatements, key, () -> key.location()
+                    .map(location -> sqlParser.createStatement(key.sql(), location))
+                    .orElseGet(() -> sqlParser.createStatement(key.sql())));
+        }
+        catch (UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
     private static void validateParameters(Statement node, List<Expression> parameterValues)
     {
         int parameterCount = getParameterCount(node);
@@ -100,6 +137,16 @@ public class QueryPreparer
         }
     }
 
+    // location of the statement text in the query, which is used by EXECUTE IMMEDIATE to report errors at the right position
+    private record PreparedStatementKey(String sql, Optional<NodeLocation> location)
+    {
+        private PreparedStatementKey
+        {
+            requireNonNull(sql, "sql is null");
+            requireNonNull(location, "location is null");
+        }
+    }
+
     public static class PreparedQuery
     {
         private final Statement statement;
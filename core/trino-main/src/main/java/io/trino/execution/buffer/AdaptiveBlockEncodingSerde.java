@@ -0,0 +1,379 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution.buffer;
+
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockEncodingSerde;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.type.Type;
+
+import java.util.Optional;
+
+import static com.google.common.base.Verify.verify;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Block serde for exchanges which bit packs top level {@link LongArrayBlock} and {@link IntArrayBlock}
+ * values, either relative to the minimum value (frame of reference) or as differences between
+ * consecutive values (delta, which wins for sorted or clustered columns). The encoding is chosen
+ * per block: a sample of the values is used to rule out blocks which can't be packed without a
+ * full pass, and otherwise the exact value and delta ranges decide. Nulls are not stored as values.
+ * All other blocks, and blocks which would not become meaningfully smaller, use the delegate encoding.
+ */
+final class AdaptiveBlockEncodingSerde
+        implements BlockEncodingSerde
+{
+    private static final byte DELEGATE = 0;
+    private static final byte PACKED_LONG_ARRAY = 1;
+    private static final byte PACKED_INT_ARRAY = 2;
+
+    private static final byte FRAME_OF_REFERENCE = 0;
+    private static final byte DELTA = 1;
+
+    private static final int SAMPLE_SIZE = 64;
+
+    private final BlockEncodingSerde delegate;
+
+    AdaptiveBlockEncodingSerde(BlockEncodingSerde delegate)
+    {
+        this.delegate = requireNonNull(delegate, "delegate is null");
+    }
+
+    @Override
+    public Block readBlock(SliceInput input)
+    {
+        byte encoding = input.readByte();
+        return switch (encoding) {
+            case DELEGATE -> delegate.readBlock(input);
+            case PACKED_LONG_ARRAY -> readPackedLongArray(input);
+            case PACKED_INT_ARRAY -> readPackedIntArray(input);
+            default -> throw new IllegalArgumentException("Unknown adaptive block encoding: " + encoding);
+        };
+    }
+
+    @Override
+    public void writeBlock(SliceOutput output, Block block)
+    {
+        if (block instanceof LongArrayBlock longArrayBlock && tryWritePacked(output, PACKED_LONG_ARRAY, longArrayBlock, nonNullValues(longArrayBlock), Long.SIZE)) {
+            return;
+        }
+        if (block instanceof IntArrayBlock intArrayBlock && tryWritePacked(output, PACKED_INT_ARRAY, intArrayBlock, nonNullValues(intArrayBlock), Integer.SIZE)) {
+            return;
+        }
+        output.writeByte(DELEGATE);
+        delegate.writeBlock(output, block);
+    }
+
+    @Override
+    public long estimatedWriteSize(Block block)
+    {
+        return Byte.BYTES + delegate.estimatedWriteSize(block);
+    }
+
+    @Override
+    public Type readType(SliceInput sliceInput)
+    {
+        return delegate.readType(sliceInput);
+    }
+
+    @Override
+    public void writeType(SliceOutput sliceOutput, Type type)
+    {
+        delegate.writeType(sliceOutput, type);
+    }
+
+    private static boolean tryWritePacked(SliceOutput output, byte encoding, Block block, long[] values, int valueSize)
+    {
+        int count = values.length;
+        // packing must save at least a quarter of the plain value size to be worth the extra work on both sides
+        int maxBitWidth = valueSize * 3 / 4;
+        if (count == 0 || sampledBitWidth(values) > maxBitWidth) {
+            return false;
+        }
+
+        long minValue = values[0];
+        long maxValue = values[0];
+        long minDelta = Long.MAX_VALUE;
+        long maxDelta = Long.MIN_VALUE;
+        for (int i = 1; i < count; i++) {
+            long value = values[i];
+            minValue = min(minValue, value);
+            maxValue = max(maxValue, value);
+            long delta = value - values[i - 1];
+            minDelta = min(minDelta, delta);
+            maxDelta = max(maxDelta, delta);
+        }
+        int frameOfReferenceBitWidth = bitWidth(maxValue - minValue);
+        int deltaBitWidth = count == 1 ? 0 : bitWidth(maxDelta - minDelta);
+
+        int bitWidth = min(frameOfReferenceBitWidth, deltaBitWidth);
+        if (bitWidth > maxBitWidth) {
+            return false;
+        }
+
+        byte mode;
+        long base;
+        if (deltaBitWidth < frameOfReferenceBitWidth) {
+            mode = DELTA;
+            base = values[0];
+            // convert in place from the back, as each delta depends on the preceding original value
+            for (int i = count - 1; i > 0; i--) {
+                values[i] = values[i] - values[i - 1] - minDelta;
+            }
+            values[0] = 0;
+        }
+        else {
+            mode = FRAME_OF_REFERENCE;
+            base = minValue;
+            for (int i = 0; i < count; i++) {
+                values[i] -= minValue;
+            }
+            minDelta = 0;
+        }
+
+        output.writeByte(encoding);
+        int positionCount = block.getPositionCount();
+        output.writeInt(positionCount);
+        writeNulls(output, block);
+        output.writeInt(count);
+        output.writeByte(mode);
+        output.writeByte(bitWidth);
+        output.writeLong(base);
+        output.writeLong(minDelta);
+        long[] packed = pack(values, bitWidth);
+        output.writeLongs(packed, 0, packed.length);
+        return true;
+    }
+
+    /**
+     * Returns a lower bound of the bit width needed by either encoding, based on evenly spread samples
+     * of values and of deltas between adjacent values.
+     */
+    private static int sampledBitWidth(long[] values)
+    {
+        int step = max(1, values.length / SAMPLE_SIZE);
+        long minValue = values[0];
+        long maxValue = values[0];
+        long minDelta = Long.MAX_VALUE;
+        long maxDelta = Long.MIN_VALUE;
+        for (int i = step; i < values.length; i += step) {
+            long value = values[i];
+            minValue = min(minValue, value);
+            maxValue = max(maxValue, value);
+            long delta = value - values[i - 1];
+            minDelta = min(minDelta, delta);
+            maxDelta = max(maxDelta, delta);
+        }
+        if (minDelta > maxDelta) {
+            return bitWidth(maxValue - minValue);
+        }
+        return min(bitWidth(maxValue - minValue), bitWidth(maxDelta - minDelta));
+    }
+
+    private static Block readPackedLongArray(SliceInput input)
+    {
+        int positionCount = input.readInt();
+        Optional<boolean[]> valueIsNull = readNulls(input, positionCount);
+        long[] values = readPackedValues(input, positionCount);
+        return new LongArrayBlock(positionCount, valueIsNull, spreadNonNullValues(values, valueIsNull));
+    }
+
+    private static Block readPackedIntArray(SliceInput input)
+    {
+        int positionCount = input.readInt();
+        Optional<boolean[]> valueIsNull = readNulls(input, positionCount);
+        long[] values = spreadNonNullValues(readPackedValues(input, positionCount), valueIsNull);
+        int[] intValues = new int[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            intValues[i] = (int) values[i];
+        }
+        return new IntArrayBlock(positionCount, valueIsNull, intValues);
+    }
+
+    private static long[] readPackedValues(SliceInput input, int positionCount)
+    {
+        int count = input.readInt();
+        byte mode = input.readByte();
+        int bitWidth = input.readByte();
+        long base = input.readLong();
+        long minDelta = input.readLong();
+        verify(count <= positionCount, "Value count %s is greater than position count %s", count, positionCount);
+        verify(bitWidth >= 0 && bitWidth <= Long.SIZE, "Invalid bit width: %s", bitWidth);
+
+        long[] packed = new long[packedLength(count, bitWidth)];
+        input.readLongs(packed);
+        // allocated for all positions, so the values can be spread over the nulls in place
+        long[] values = new long[positionCount];
+        unpack(packed, bitWidth, values, count);
+        switch (mode) {
+            case FRAME_OF_REFERENCE -> {
+                for (int i = 0; i < count; i++) {
+                    values[i] += base;
+                }
+            }
+            case DELTA -> {
+                long value = base;
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        value += values[i] + minDelta;
+                    }
+                    values[i] = value;
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown packing mode: " + mode);
+        }
+        return values;
+    }
+
+    private static long[] nonNullValues(LongArrayBlock block)
+    {
+        int positionCount = block.getPositionCount();
+        if (!block.mayHaveNull()) {
+            long[] values = new long[positionCount];
+            arraycopy(block.getRawValues(), block.getRawValuesOffset(), values, 0, positionCount);
+            return values;
+        }
+        long[] values = new long[positionCount];
+        int count = 0;
+        for (int position = 0; position < positionCount; position++) {
+            if (!block.isNull(position)) {
+                values[count++] = block.getLong(position);
+            }
+        }
+        return count == positionCount ? values : copyOf(values, count);
+    }
+
+    private static long[] nonNullValues(IntArrayBlock block)
+    {
+        int positionCount = block.getPositionCount();
+        long[] values = new long[positionCount];
+        int count = 0;
+        for (int position = 0; position < positionCount; position++) {
+            if (!block.isNull(position)) {
+                values[count++] = block.getInt(position);
+            }
+        }
+        return count == positionCount ? values : copyOf(values, count);
+    }
+
+    private static long[] spreadNonNullValues(long[] values, Optional<boolean[]> valueIsNull)
+    {
+        if (valueIsNull.isEmpty()) {
+            return values;
+        }
+        boolean[] isNull = valueIsNull.get();
+        // values are packed at the front, so walk backwards to move each one to its position
+        int count = 0;
+        for (boolean positionIsNull : isNull) {
+            count += positionIsNull ? 0 : 1;
+        }
+        int index = count - 1;
+        for (int position = isNull.length - 1; position >= 0; position--) {
+            if (isNull[position]) {
+                values[position] = 0;
+            }
+            else {
+                values[position] = values[index--];
+            }
+        }
+        return values;
+    }
+
+    private static void writeNulls(SliceOutput output, Block block)
+    {
+        boolean mayHaveNull = block.mayHaveNull();
+        output.writeBoolean(mayHaveNull);
+        if (!mayHaveNull) {
+            return;
+        }
+        int positionCount = block.getPositionCount();
+        byte[] packedIsNull = new byte[(positionCount + 7) / 8];
+        for (int position = 0; position < positionCount; position++) {
+            if (block.isNull(position)) {
+                packedIsNull[position >>> 3] |= (byte) (0b1000_0000 >>> (position & 0b111));
+            }
+        }
+        output.writeBytes(packedIsNull);
+    }
+
+    private static Optional<boolean[]> readNulls(SliceInput input, int positionCount)
+    {
+        if (!input.readBoolean()) {
+            return Optional.empty();
+        }
+        byte[] packedIsNull = new byte[(positionCount + 7) / 8];
+        input.readBytes(packedIsNull);
+        boolean[] valueIsNull = new boolean[positionCount];
+        for (int position = 0; position < positionCount; position++) {
+            valueIsNull[position] = (packedIsNull[position >>> 3] & (0b1000_0000 >>> (position & 0b111))) != 0;
+        }
+        return Optional.of(valueIsNull);
+    }
+
+    private static int bitWidth(long unsignedRange)
+    {
+        return Long.SIZE - Long.numberOfLeadingZeros(unsignedRange);
+    }
+
+    private static int packedLength(int count, int bitWidth)
+    {
+        return toIntExact(((long) count * bitWidth + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    private static long[] pack(long[] values, int bitWidth)
+    {
+        long[] packed = new long[packedLength(values.length, bitWidth)];
+        if (bitWidth == 0) {
+            return packed;
+        }
+        long bitOffset = 0;
+        for (long value : values) {
+            int index = (int) (bitOffset >>> 6);
+            int shift = (int) (bitOffset & 63);
+            packed[index] |= value << shift;
+            if (shift + bitWidth > Long.SIZE) {
+                packed[index + 1] |= value >>> (Long.SIZE - shift);
+            }
+            bitOffset += bitWidth;
+        }
+        return packed;
+    }
+
+    private static void unpack(long[] packed, int bitWidth, long[] values, int count)
+    {
+        if (bitWidth == 0) {
+            return;
+        }
+        long mask = bitWidth == Long.SIZE ? -1L : (1L << bitWidth) - 1;
+        long bitOffset = 0;
+        for (int i = 0; i < count; i++) {
+            int index = (int) (bitOffset >>> 6);
+            int shift = (int) (bitOffset & 63);
+            long value = packed[index] >>> shift;
+            if (shift + bitWidth > Long.SIZE) {
+                value |= packed[index + 1] << (Long.SIZE - shift);
+            }
+            values[i] = value & mask;
+            bitOffset += bitWidth;
+        }
+    }
+}
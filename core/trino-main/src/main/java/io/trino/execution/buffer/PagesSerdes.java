@@ -17,6 +17,7 @@ import io.trino.Session;
 import io.trino.spi.block.BlockEncodingSerde;
 
 import static io.trino.SystemSessionProperties.getExchangeCompressionCodec;
+import static io.trino.SystemSessionProperties.isExchangeAdaptiveEncodingEnabled;
 
 public final class PagesSerdes
 {
@@ -24,6 +25,9 @@ public final class PagesSerdes
 
     public static PagesSerdeFactory createExchangePagesSerdeFactory(BlockEncodingSerde blockEncodingSerde, Session session)
     {
+        if (isExchangeAdaptiveEncodingEnabled(session)) {
+            blockEncodingSerde = new AdaptiveBlockEncodingSerde(blockEncodingSerde);
+        }
         return new PagesSerdeFactory(blockEncodingSerde, getExchangeCompressionCodec(session));
     }
 
@@ -172,6 +172,7 @@ import static io.trino.spi.StandardErrorCode.SYNTAX_ERROR;
 import static io.trino.spi.StandardErrorCode.TABLE_NOT_FOUND;
 import static io.trino.spi.StandardErrorCode.TABLE_REDIRECTION_ERROR;
 import static io.trino.spi.StandardErrorCode.UNSUPPORTED_TABLE_TYPE;
+import static io.trino.spi.connector.ConnectorCapabilities.CACHEABLE_TABLE_STATISTICS;
 import static io.trino.spi.connector.MaterializedViewFreshness.Freshness.STALE;
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
@@ -196,6 +197,7 @@ public final class MetadataManager
     private final TableFunctionRegistry tableFunctionRegistry;
     private final TypeManager typeManager;
     private final TypeCoercion typeCoercion;
+    private final TableStatisticsCache tableStatisticsCache;
 
     private final ConcurrentMap<QueryId, QueryCatalogs> catalogsByQueryId = new ConcurrentHashMap<>();
 
@@ -207,7 +209,8 @@ public final class MetadataManager
             GlobalFunctionCatalog globalFunctionCatalog,
             LanguageFunctionManager languageFunctionManager,
             TableFunctionRegistry tableFunctionRegistry,
-            TypeManager typeManager)
+            TypeManager typeManager,
+            TableStatisticsCache tableStatisticsCache)
     {
         this.accessControl = requireNonNull(accessControl, "accessControl is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
@@ -219,6 +222,7 @@ public final class MetadataManager
         this.transactionManager = requireNonNull(transactionManager, "transactionManager is null");
         this.languageFunctionManager = requireNonNull(languageFunctionManager, "languageFunctionManager is null");
         this.tableFunctionRegistry = requireNonNull(tableFunctionRegistry, "tableFunctionRegistry is null");
+        this.tableStatisticsCache = requireNonNull(tableStatisticsCache, "tableStatisticsCache is null");
     }
 
     @Override
@@ -359,6 +363,7 @@ public final class MetadataManager
         CatalogHandle catalogHandle = tableExecuteHandle.catalogHandle();
         ConnectorMetadata metadata = getMetadata(session, catalogHandle);
         metadata.finishTableExecute(session.toConnectorSession(catalogHandle), tableExecuteHandle.connectorHandle(), fragments, tableExecuteState);
+        tableStatisticsCache.invalidate(catalogHandle);
     }
 
     @Override
@@ -367,6 +372,7 @@ public final class MetadataManager
         CatalogHandle catalogHandle = tableExecuteHandle.catalogHandle();
         ConnectorMetadata metadata = getMetadata(session, catalogHandle);
         metadata.executeTableExecute(session.toConnectorSession(catalogHandle), tableExecuteHandle.connectorHandle());
+        tableStatisticsCache.invalidate(catalogHandle);
     }
 
     @Override
@@ -488,7 +494,19 @@ public final class MetadataManager
     public TableStatistics getTableStatistics(Session session, TableHandle tableHandle)
     {
         CatalogHandle catalogHandle = tableHandle.catalogHandle();
-        ConnectorMetadata metadata = getMetadata(session, catalogHandle);
+        CatalogMetadata catalogMetadata = getCatalogMetadata(session, catalogHandle);
+        ConnectorMetadata metadata = catalogMetadata.getMetadataFor(session, catalogHandle);
+        if (tableStatisticsCache.isEnabled() &&
+                !catalogHandle.getType().isInternal() &&
+                catalogMetadata.getConnectorCapabilities().contains(CACHEABLE_TABLE_STATISTICS)) {
+            return tableStatisticsCache.get(session, tableHandle, () -> loadTableStatistics(session, metadata, tableHandle));
+        }
+        return loadTableStatistics(session, metadata, tableHandle);
+    }
+
+    private static TableStatistics loadTableStatistics(Session session, ConnectorMetadata metadata, TableHandle tableHandle)
+    {
+        CatalogHandle catalogHandle = tableHandle.catalogHandle();
         TableStatistics tableStatistics = metadata.getTableStatistics(session.toConnectorSession(catalogHandle), tableHandle.connectorHandle());
         verifyNotNull(tableStatistics, "%s returned null tableStatistics for %s", metadata, tableHandle);
         return tableStatistics;
@@ -1072,6 +1090,7 @@ public final class MetadataManager
         CatalogHandle catalogHandle = tableHandle.catalogHandle();
         CatalogMetadata catalogMetadata = getCatalogMetadataForWrite(session, catalogHandle);
         catalogMetadata.getMetadata(session).finishStatisticsCollection(session.toConnectorSession(catalogHandle), tableHandle.connectorHandle(), computedStatistics);
+        tableStatisticsCache.invalidate(catalogHandle);
     }
 
     @Override
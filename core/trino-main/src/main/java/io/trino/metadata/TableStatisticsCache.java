@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.metadata;
+
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+import io.trino.Session;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.spi.connector.CatalogHandle;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.spi.statistics.TableStatistics;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.trino.cache.CacheUtils.invalidateAllIf;
+import static io.trino.cache.CacheUtils.uncheckedCacheGet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Coordinator-wide cache of table statistics, shared by all queries. Statistics are cached only for
+ * connectors declaring {@link io.trino.spi.connector.ConnectorCapabilities#CACHEABLE_TABLE_STATISTICS},
+ * whose table handles identify the version of the table data. The catalog handle carries the catalog
+ * version, so statistics are not shared across a catalog being dropped and created again. Concurrent
+ * loads of the same statistics, as done by queries planned at the same time, are coalesced.
+ */
+public class TableStatisticsCache
+{
+    private final boolean enabled;
+    private final Cache<CacheKey, TableStatistics> cache;
+    private final CacheStatsMBean cacheStats;
+
+    @Inject
+    public TableStatisticsCache(TableStatisticsCacheConfig config)
+    {
+        this.enabled = config.isEnabled();
+        this.cache = EvictableCacheBuilder.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl().toJavaTime())
+                .recordStats()
+                .build();
+        this.cacheStats = new CacheStatsMBean(cache);
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public TableStatistics get(Session session, TableHandle tableHandle, Supplier<TableStatistics> loader)
+    {
+        CatalogHandle catalogHandle = tableHandle.catalogHandle();
+        CacheKey key = new CacheKey(
+                catalogHandle,
+                tableHandle.connectorHandle(),
+                session.getCatalogProperties(catalogHandle.getCatalogName().toString()));
+        try {
+            return uncheckedCacheGet(cache, key, loader);
+        }
+        catch (UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * Drops statistics of all tables of the catalog, after the engine changed statistics
+     * without necessarily changing the version of the table data, e.g. with {@code ANALYZE}.
+     */
+    public void invalidate(CatalogHandle catalogHandle)
+    {
+        CatalogHandle rootCatalogHandle = catalogHandle.getRootCatalogHandle();
+        invalidateAllIf(cache, key -> key.catalogHandle().getRootCatalogHandle().equals(rootCatalogHandle));
+    }
+
+    @Managed
+    public void invalidateAll()
+    {
+        cache.invalidateAll();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return cacheStats;
+    }
+
+    private record CacheKey(CatalogHandle catalogHandle, ConnectorTableHandle tableHandle, Map<String, String> catalogProperties)
+    {
+        private CacheKey
+        {
+            requireNonNull(catalogHandle, "catalogHandle is null");
+            requireNonNull(tableHandle, "tableHandle is null");
+            catalogProperties = ImmutableMap.copyOf(catalogProperties);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.metadata;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.Duration;
+import io.airlift.units.MinDuration;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+public class TableStatisticsCacheConfig
+{
+    private boolean enabled;
+    private long maxSize = 10_000;
+    private Duration ttl = new Duration(1, MINUTES);
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Config("metadata.table-statistics-cache.enabled")
+    @ConfigDescription("Share table statistics between queries for connectors which declare them cacheable")
+    public TableStatisticsCacheConfig setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+        return this;
+    }
+
+    @Min(0)
+    public long getMaxSize()
+    {
+        return maxSize;
+    }
+
+    @Config("metadata.table-statistics-cache.max-size")
+    @ConfigDescription("Maximum number of cached table statistics")
+    public TableStatisticsCacheConfig setMaxSize(long maxSize)
+    {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("0s")
+    public Duration getTtl()
+    {
+        return ttl;
+    }
+
+    @Config("metadata.table-statistics-cache.ttl")
+    @ConfigDescription("Time after which cached table statistics are loaded again")
+    public TableStatisticsCacheConfig setTtl(Duration ttl)
+    {
+        this.ttl = ttl;
+        return this;
+    }
+}
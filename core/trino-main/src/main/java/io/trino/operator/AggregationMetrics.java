@@ -29,12 +29,18 @@ public class AggregationMetrics
     static final String INPUT_ROWS_WITH_PARTIAL_AGGREGATION_DISABLED_METRIC_NAME = "Input rows processed without partial aggregation enabled";
     private static final String ACCUMULATOR_TIME_METRIC_NAME = "Accumulator update CPU time";
     private static final String GROUP_BY_HASH_TIME_METRIC_NAME = "Group by hash update CPU time";
+    @VisibleForTesting
+    static final String PARTIAL_AGGREGATION_DISABLED_METRIC_NAME = "Partial aggregation switched to passing input through";
+    @VisibleForTesting
+    static final String PARTIAL_AGGREGATION_ENABLED_METRIC_NAME = "Partial aggregation switched to aggregating input";
 
     private final SpillMetrics spillMetrics = new SpillMetrics();
 
     private long accumulatorTimeNanos;
     private long groupByHashTimeNanos;
     private long inputRowsProcessedWithPartialAggregationDisabled;
+    private long partialAggregationDisabledCount;
+    private long partialAggregationEnabledCount;
 
     public void recordAccumulatorUpdateTimeSince(long startNanos)
     {
@@ -51,6 +57,16 @@ public class AggregationMetrics
         inputRowsProcessedWithPartialAggregationDisabled += rows;
     }
 
+    public void recordPartialAggregationDisabled()
+    {
+        partialAggregationDisabledCount++;
+    }
+
+    public void recordPartialAggregationEnabled()
+    {
+        partialAggregationEnabledCount++;
+    }
+
     public void recordSpillSince(long startNanos, long spillBytes)
     {
         spillMetrics.recordSpillSince(startNanos, spillBytes);
@@ -65,6 +81,8 @@ public class AggregationMetrics
     {
         return new Metrics(ImmutableMap.<String, Metric<?>>builder()
                 .put(INPUT_ROWS_WITH_PARTIAL_AGGREGATION_DISABLED_METRIC_NAME, new LongCount(inputRowsProcessedWithPartialAggregationDisabled))
+                .put(PARTIAL_AGGREGATION_DISABLED_METRIC_NAME, new LongCount(partialAggregationDisabledCount))
+                .put(PARTIAL_AGGREGATION_ENABLED_METRIC_NAME, new LongCount(partialAggregationEnabledCount))
                 .put(ACCUMULATOR_TIME_METRIC_NAME, new DurationTiming(new Duration(accumulatorTimeNanos, NANOSECONDS)))
                 .put(GROUP_BY_HASH_TIME_METRIC_NAME, new DurationTiming(new Duration(groupByHashTimeNanos, NANOSECONDS)))
                 .putAll(spillMetrics.getMetrics().getMetrics())
@@ -126,6 +126,9 @@ public class BigintGroupByHash
         currentPageSizeInBytes = 0;
     }
 
+    @Override
+    public void close() {}
+
     @Override
     public void appendValuesTo(int groupId, PageBuilder pageBuilder)
     {
@@ -64,6 +64,7 @@ public class DirectExchangeClient
     private final int concurrentRequestMultiplier;
     private final Duration maxErrorDuration;
     private final boolean acknowledgePages;
+    private final boolean continuousRequestsEnabled;
     private final HttpClient httpClient;
     private final ScheduledExecutorService scheduledExecutor;
 
@@ -108,6 +109,7 @@ public class DirectExchangeClient
             int concurrentRequestMultiplier,
             Duration maxErrorDuration,
             boolean acknowledgePages,
+            boolean continuousRequestsEnabled,
             HttpClient httpClient,
             ScheduledExecutorService scheduledExecutor,
             LocalMemoryContext memoryContext,
@@ -121,6 +123,7 @@ public class DirectExchangeClient
         this.concurrentRequestMultiplier = concurrentRequestMultiplier;
         this.maxErrorDuration = maxErrorDuration;
         this.acknowledgePages = acknowledgePages;
+        this.continuousRequestsEnabled = continuousRequestsEnabled;
         this.httpClient = httpClient;
         this.scheduledExecutor = scheduledExecutor;
         this.memoryContext = memoryContext;
@@ -174,6 +177,7 @@ public class DirectExchangeClient
                 maxResponseSize,
                 maxErrorDuration,
                 acknowledgePages,
+                continuousRequestsEnabled,
                 taskId,
                 location,
                 new ExchangeClientCallback(),
@@ -398,6 +402,20 @@ public class DirectExchangeClient
         scheduleRequestIfNecessary();
     }
 
+    private synchronized long getContinuousRequestCredit(HttpPageBufferClient client)
+    {
+        if (closed || buffer.isFinished() || buffer.isFailed() || !runningClients.contains(client)) {
+            return 0;
+        }
+        // running clients share the remaining buffer capacity, so a full buffer stops all streams
+        long credit = buffer.getRemainingCapacityInBytes() * concurrentRequestMultiplier / runningClients.size();
+        if (credit > 0) {
+            // the client keeps running, so record the request as if it completed and was scheduled again
+            requestDuration.add(client.getLastRequestDurationMillis());
+        }
+        return credit;
+    }
+
     private synchronized void clientFinished(HttpPageBufferClient client)
     {
         requireNonNull(client, "client is null");
@@ -438,6 +456,13 @@ public class DirectExchangeClient
             DirectExchangeClient.this.requestComplete(client);
         }
 
+        @Override
+        public long getContinuousRequestCredit(HttpPageBufferClient client)
+        {
+            requireNonNull(client, "client is null");
+            return DirectExchangeClient.this.getContinuousRequestCredit(client);
+        }
+
         @Override
         public void clientFinished(HttpPageBufferClient client)
         {
@@ -14,6 +14,7 @@
 package io.trino.operator;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.configuration.DefunctConfig;
 import io.airlift.http.client.HttpClientConfig;
 import io.airlift.units.DataSize;
@@ -37,6 +38,7 @@ public class DirectExchangeClientConfig
     private int clientThreads = 25;
     private int pageBufferClientMaxCallbackThreads = 25;
     private boolean acknowledgePages = true;
+    private boolean continuousRequestsEnabled;
     private DataSize deduplicationBufferSize = DataSize.of(32, Unit.MEGABYTE);
 
     @NotNull
@@ -131,6 +133,19 @@ public class DirectExchangeClientConfig
         return this;
     }
 
+    public boolean isContinuousRequestsEnabled()
+    {
+        return continuousRequestsEnabled;
+    }
+
+    @Config("exchange.continuous-requests-enabled")
+    @ConfigDescription("Request the next pages from a remote task as soon as a response is received, as long as the exchange buffer has capacity")
+    public DirectExchangeClientConfig setContinuousRequestsEnabled(boolean continuousRequestsEnabled)
+    {
+        this.continuousRequestsEnabled = continuousRequestsEnabled;
+        return this;
+    }
+
     @NotNull
     public DataSize getDeduplicationBufferSize()
     {
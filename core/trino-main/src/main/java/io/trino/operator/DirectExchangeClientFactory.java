@@ -53,6 +53,7 @@ public class DirectExchangeClientFactory
     private final HttpClient httpClient;
     private final DataSize maxResponseSize;
     private final boolean acknowledgePages;
+    private final boolean continuousRequestsEnabled;
     private final ScheduledExecutorService scheduler;
     private final ThreadPoolExecutorMBean executorMBean;
     private final ExecutorService pageBufferClientCallbackExecutor;
@@ -78,6 +79,7 @@ public class DirectExchangeClientFactory
                 config.getConcurrentRequestMultiplier(),
                 config.getMaxErrorDuration(),
                 config.isAcknowledgePages(),
+                config.isContinuousRequestsEnabled(),
                 config.getPageBufferClientMaxCallbackThreads(),
                 httpClient,
                 scheduler,
@@ -94,6 +96,7 @@ public class DirectExchangeClientFactory
             int concurrentRequestMultiplier,
             Duration maxErrorDuration,
             boolean acknowledgePages,
+            boolean continuousRequestsEnabled,
             int pageBufferClientMaxCallbackThreads,
             HttpClient httpClient,
             ScheduledExecutorService scheduler,
@@ -106,6 +109,7 @@ public class DirectExchangeClientFactory
         this.concurrentRequestMultiplier = concurrentRequestMultiplier;
         this.maxErrorDuration = requireNonNull(maxErrorDuration, "maxErrorDuration is null");
         this.acknowledgePages = acknowledgePages;
+        this.continuousRequestsEnabled = continuousRequestsEnabled;
         this.httpClient = requireNonNull(httpClient, "httpClient is null");
 
         // Use only 0.75 of the maxResponseSize to leave room for additional bytes from the encoding
@@ -162,6 +166,7 @@ public class DirectExchangeClientFactory
                 concurrentRequestMultiplier,
                 maxErrorDuration,
                 acknowledgePages,
+                continuousRequestsEnabled,
                 httpClient,
                 scheduler,
                 memoryContext,
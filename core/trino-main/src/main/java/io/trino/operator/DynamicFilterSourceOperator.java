@@ -39,7 +39,8 @@ import static java.util.stream.Collectors.toSet;
  * This operator acts as a simple "pass-through" pipe, while saving a summary of input pages.
  * The collected values are used for creating a run-time filtering constraint (for probe-side table scan in an inner join).
  * We record all values for the run-time filter only for small build-side pages (which should be the case when using "broadcast" join).
- * For large inputs on the build side, we can optionally record the min and max values per channel for orderable types (except Double and Real).
+ * For large inputs on the build side, we can optionally record the min and max values per channel for orderable types (except Double and Real),
+ * and a Bloom filter of the values, which is used for row filtering of probe-side table scans in the same task.
  */
 public class DynamicFilterSourceOperator
         implements Operator
@@ -56,6 +57,7 @@ public class DynamicFilterSourceOperator
         private final int maxDistinctValues;
         private final DataSize maxFilterSize;
         private final int minMaxCollectionLimit;
+        private final boolean bloomFilterEnabled;
         private final TypeOperators typeOperators;
 
         private boolean closed;
@@ -70,6 +72,20 @@ public class DynamicFilterSourceOperator
                 DataSize maxFilterSize,
                 int minMaxCollectionLimit,
                 TypeOperators typeOperators)
+        {
+            this(operatorId, planNodeId, dynamicPredicateConsumer, channels, maxDistinctValues, maxFilterSize, minMaxCollectionLimit, false, typeOperators);
+        }
+
+        public DynamicFilterSourceOperatorFactory(
+                int operatorId,
+                PlanNodeId planNodeId,
+                DynamicFilterSourceConsumer dynamicPredicateConsumer,
+                List<Channel> channels,
+                int maxDistinctValues,
+                DataSize maxFilterSize,
+                int minMaxCollectionLimit,
+                boolean bloomFilterEnabled,
+                TypeOperators typeOperators)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -82,6 +98,7 @@ public class DynamicFilterSourceOperator
             this.maxDistinctValues = maxDistinctValues;
             this.maxFilterSize = maxFilterSize;
             this.minMaxCollectionLimit = minMaxCollectionLimit;
+            this.bloomFilterEnabled = bloomFilterEnabled;
             this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
         }
 
@@ -99,6 +116,7 @@ public class DynamicFilterSourceOperator
                         maxDistinctValues,
                         maxFilterSize,
                         minMaxCollectionLimit,
+                        bloomFilterEnabled,
                         typeOperators);
             }
             // Return a pass-through operator which adds little overhead
@@ -167,6 +185,7 @@ public class DynamicFilterSourceOperator
             int maxDistinctValues,
             DataSize maxFilterSize,
             int minMaxCollectionLimit,
+            boolean bloomFilterEnabled,
             TypeOperators typeOperators)
     {
         this.context = requireNonNull(context, "context is null");
@@ -182,6 +201,7 @@ public class DynamicFilterSourceOperator
                         maxDistinctValues,
                         maxFilterSize,
                         minMaxCollectionLimit > 0,
+                        bloomFilterEnabled,
                         this::finishDomainCollectionIfNecessary,
                         typeOperators))
                 .toArray(JoinDomainBuilder[]::new);
@@ -258,11 +278,14 @@ public class DynamicFilterSourceOperator
         }
 
         ImmutableMap.Builder<DynamicFilterId, Domain> domainsBuilder = ImmutableMap.builder();
+        ImmutableMap.Builder<DynamicFilterId, BlockedBloomFilter> bloomFiltersBuilder = ImmutableMap.builder();
         for (int channelIndex = 0; channelIndex < channels.size(); ++channelIndex) {
             DynamicFilterId filterId = channels.get(channelIndex).filterId();
             domainsBuilder.put(filterId, joinDomainBuilders[channelIndex].build());
+            joinDomainBuilders[channelIndex].buildBloomFilter()
+                    .ifPresent(bloomFilter -> bloomFiltersBuilder.put(filterId, bloomFilter));
         }
-        dynamicPredicateConsumer.addPartition(TupleDomain.withColumnDomains(domainsBuilder.buildOrThrow()));
+        dynamicPredicateConsumer.addPartition(TupleDomain.withColumnDomains(domainsBuilder.buildOrThrow()), bloomFiltersBuilder.buildOrThrow());
         userMemoryContext.setBytes(0);
         Arrays.fill(joinDomainBuilders, null);
     }
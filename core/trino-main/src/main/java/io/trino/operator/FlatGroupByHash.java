@@ -69,9 +69,21 @@ public class FlatGroupByHash
             boolean processDictionary,
             FlatHashStrategyCompiler hashStrategyCompiler,
             UpdateMemory checkMemoryReservation)
+    {
+        this(hashTypes, hashMode, expectedSize, processDictionary, false, hashStrategyCompiler, checkMemoryReservation);
+    }
+
+    public FlatGroupByHash(
+            List<Type> hashTypes,
+            GroupByHashMode hashMode,
+            int expectedSize,
+            boolean processDictionary,
+            boolean offHeap,
+            FlatHashStrategyCompiler hashStrategyCompiler,
+            UpdateMemory checkMemoryReservation)
     {
         this.hashMode = requireNonNull(hashMode, "hashMode is null");
-        this.flatHash = new FlatHash(hashStrategyCompiler.getFlatHashStrategy(hashTypes), hashMode, expectedSize, checkMemoryReservation);
+        this.flatHash = new FlatHash(hashStrategyCompiler.getFlatHashStrategy(hashTypes), hashMode, expectedSize, offHeap, checkMemoryReservation);
         this.groupByChannelCount = hashTypes.size();
 
         checkArgument(expectedSize > 0, "expectedSize must be greater than zero");
@@ -139,6 +151,12 @@ public class FlatGroupByHash
         flatHash.startReleasingOutput();
     }
 
+    @Override
+    public void close()
+    {
+        flatHash.close();
+    }
+
     @Override
     public void appendValuesTo(int groupId, PageBuilder pageBuilder)
     {
@@ -363,9 +381,7 @@ public class FlatGroupByHash
                 }
 
                 flatHash.computeHashes(blocks, hashes, lastPosition, batchSize);
-                for (int i = 0; i < batchSize; i++) {
-                    flatHash.putIfAbsent(blocks, lastPosition + i, hashes[i]);
-                }
+                flatHash.putIfAbsentBatch(blocks, lastPosition, batchSize, hashes);
 
                 lastPosition += batchSize;
                 remainingPositions -= batchSize;
@@ -529,9 +545,7 @@ public class FlatGroupByHash
                 }
 
                 flatHash.computeHashes(blocks, hashes, lastPosition, batchSize);
-                for (int i = 0, position = lastPosition; i < batchSize; i++, position++) {
-                    groupIds[position] = flatHash.putIfAbsent(blocks, position, hashes[i]);
-                }
+                flatHash.putIfAbsentBatch(blocks, lastPosition, batchSize, hashes, groupIds, lastPosition);
 
                 lastPosition += batchSize;
                 remainingPositions -= batchSize;
@@ -16,7 +16,11 @@ package io.trino.operator;
 import io.trino.spi.TrinoException;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.BlockBuilder;
+import jakarta.annotation.Nullable;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.Arrays;
@@ -32,6 +36,9 @@ import static java.lang.Math.addExact;
 import static java.lang.Math.max;
 import static java.lang.Math.multiplyExact;
 import static java.lang.Math.toIntExact;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Objects.requireNonNull;
 
@@ -58,6 +65,7 @@ public final class FlatHash
 
     private static final int VECTOR_LENGTH = Long.BYTES;
     private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(long[].class, LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong CONTROL_VECTOR = JAVA_LONG_UNALIGNED.withOrder(LITTLE_ENDIAN);
 
     private final FlatHashStrategy flatHashStrategy;
     private final AppendOnlyVariableWidthData variableWidthData;
@@ -67,9 +75,16 @@ public final class FlatHash
     private final int fixedRecordSize;
     private final int variableWidthOffset;
     private final int fixedValueOffset;
+    private final boolean offHeap;
 
     private byte[] control;
     private int[] groupIdsByHash;
+    // the hash table when it is allocated off heap, in an arena owned by this hash
+    @Nullable
+    private Arena hashTableArena;
+    private MemorySegment controlSegment;
+    private MemorySegment groupIdsByHashSegment;
+    private long hashTableArenaSize;
     private byte[][] fixedSizeRecords;
 
     private long fixedRecordGroupsRetainedSize;
@@ -80,6 +95,18 @@ public final class FlatHash
     private int maxFill;
 
     public FlatHash(FlatHashStrategy flatHashStrategy, GroupByHashMode hashMode, int expectedSize, UpdateMemory checkMemoryReservation)
+    {
+        this(flatHashStrategy, hashMode, expectedSize, false, checkMemoryReservation);
+    }
+
+    /**
+     * @param offHeap allocate the control bytes and the group ids of the hash table outside the Java heap. These
+     * arrays grow with the number of groups and for large aggregations are allocated as humongous objects. The
+     * memory is freed by {@link #startReleasingOutput()} or {@link #close()}, so the owner must call one of them.
+     * Closing a shared arena is expensive, so the hash uses a single arena, and the tables replaced by a rehash
+     * are only freed with it. As the capacity doubles on every rehash, they take less memory than the current table.
+     */
+    public FlatHash(FlatHashStrategy flatHashStrategy, GroupByHashMode hashMode, int expectedSize, boolean offHeap, UpdateMemory checkMemoryReservation)
     {
         this.flatHashStrategy = requireNonNull(flatHashStrategy, "flatHashStrategy is null");
         this.checkMemoryReservation = requireNonNull(checkMemoryReservation, "checkMemoryReservation is null");
@@ -87,6 +114,7 @@ public final class FlatHash
         this.variableWidthData = hasVariableData ? new AppendOnlyVariableWidthData() : null;
         requireNonNull(hashMode, "hashMode is null");
         this.cacheHashValue = hashMode.isHashCached();
+        this.offHeap = offHeap;
 
         // the record is laid out as follows:
         // 1. optional raw hash (long)
@@ -101,9 +129,7 @@ public final class FlatHash
         this.maxFill = calculateMaxFill(capacity);
 
         int groupsRequired = recordGroupsRequiredForCapacity(capacity);
-        this.control = new byte[capacity + VECTOR_LENGTH];
-        this.groupIdsByHash = new int[capacity];
-        Arrays.fill(groupIdsByHash, -1);
+        allocateHashTable();
         this.fixedSizeRecords = new byte[groupsRequired][];
     }
 
@@ -116,13 +142,23 @@ public final class FlatHash
         this.fixedRecordSize = other.fixedRecordSize;
         this.variableWidthOffset = other.variableWidthOffset;
         this.fixedValueOffset = other.fixedValueOffset;
+        this.offHeap = other.offHeap;
         this.fixedRecordGroupsRetainedSize = other.fixedRecordGroupsRetainedSize;
         this.capacity = other.capacity;
         this.mask = other.mask;
         this.nextGroupId = other.nextGroupId;
         this.maxFill = other.maxFill;
-        this.control = other.control == null ? null : Arrays.copyOf(other.control, other.control.length);
-        this.groupIdsByHash = other.groupIdsByHash == null ? null : Arrays.copyOf(other.groupIdsByHash, other.groupIdsByHash.length);
+        if (!other.isReleasingOutput()) {
+            if (offHeap) {
+                allocateHashTable();
+                this.controlSegment.copyFrom(other.controlSegment);
+                this.groupIdsByHashSegment.copyFrom(other.groupIdsByHashSegment);
+            }
+            else {
+                this.control = Arrays.copyOf(other.control, other.control.length);
+                this.groupIdsByHash = Arrays.copyOf(other.groupIdsByHash, other.groupIdsByHash.length);
+            }
+        }
         this.fixedSizeRecords = Arrays.stream(other.fixedSizeRecords)
                 .map(fixedSizeRecords -> fixedSizeRecords == null ? null : Arrays.copyOf(fixedSizeRecords, fixedSizeRecords.length))
                 .toArray(byte[][]::new);
@@ -136,6 +172,7 @@ public final class FlatHash
                 temporaryRehashRetainedSize,
                 sizeOf(control),
                 sizeOf(groupIdsByHash),
+                hashTableArenaSize,
                 sizeOf(fixedSizeRecords),
                 variableWidthData == null ? 0 : variableWidthData.getRetainedSizeBytes());
     }
@@ -159,13 +196,23 @@ public final class FlatHash
     public void startReleasingOutput()
     {
         checkState(!isReleasingOutput(), "already releasing output");
-        control = null;
-        groupIdsByHash = null;
+        releaseHashTable();
+    }
+
+    /**
+     * Frees the hash table if it is still allocated. Groups can still be output after this call, but no new
+     * elements can be inserted.
+     */
+    public void close()
+    {
+        if (!isReleasingOutput()) {
+            releaseHashTable();
+        }
     }
 
     private boolean isReleasingOutput()
     {
-        return control == null;
+        return control == null && controlSegment == null;
     }
 
     public long hashPosition(int groupId)
@@ -245,7 +292,7 @@ public final class FlatHash
     {
         int index = getIndex(blocks, position, hash);
         if (index >= 0) {
-            int groupId = groupIdsByHash[index];
+            int groupId = getGroupIdByHash(index);
             if (groupId < 0) {
                 throw new IllegalStateException("groupId out of range");
             }
@@ -260,6 +307,47 @@ public final class FlatHash
         return groupId;
     }
 
+    /**
+     * Batched version of {@link #putIfAbsent(Block[], int, long)} for the positions {@code [offset, offset + length)}
+     * with precomputed {@code hashes}.
+     * <p>
+     * The table is not rehashed while the batch is processed, so the caller must reserve capacity for the whole
+     * batch with {@link #ensureAvailableCapacity(int)}.
+     */
+    public void putIfAbsentBatch(Block[] blocks, int offset, int length, long[] hashes)
+    {
+        putIfAbsentBatch(blocks, offset, length, hashes, null, 0);
+    }
+
+    /**
+     * Same as {@link #putIfAbsentBatch(Block[], int, int, long[])}, also storing the group id of each position
+     * in {@code groupIds} starting at {@code groupIdsOffset}.
+     */
+    public void putIfAbsentBatch(Block[] blocks, int offset, int length, long[] hashes, @Nullable int[] groupIds, int groupIdsOffset)
+    {
+        checkState(!isReleasingOutput(), "already releasing output");
+        checkArgument(nextGroupId + length < maxFill, "capacity for the batch is not reserved");
+
+        for (int i = 0; i < length; i++) {
+            int position = offset + i;
+            long hash = hashes[i];
+            int index = getIndex(blocks, position, hash);
+            int groupId;
+            if (index >= 0) {
+                groupId = getGroupIdByHash(index);
+                if (groupId < 0) {
+                    throw new IllegalStateException("groupId out of range");
+                }
+            }
+            else {
+                groupId = addNewGroup(-index - 1, blocks, position, hash);
+            }
+            if (groupIds != null) {
+                groupIds[groupIdsOffset + i] = groupId;
+            }
+        }
+    }
+
     private int getIndex(Block[] blocks, int position, long hash)
     {
         checkState(!isReleasingOutput(), "already releasing output");
@@ -270,7 +358,7 @@ public final class FlatHash
         long repeated = repeat(hashPrefix);
 
         while (true) {
-            final long controlVector = (long) LONG_HANDLE.get(control, bucket);
+            final long controlVector = getControlVector(bucket);
 
             int matchIndex = matchInVector(blocks, position, hash, bucket, repeated, controlVector);
             if (matchIndex >= 0) {
@@ -292,7 +380,7 @@ public final class FlatHash
         long controlMatches = match(controlVector, repeated);
         while (controlMatches != 0) {
             int index = bucket(vectorStartBucket + (Long.numberOfTrailingZeros(controlMatches) >>> 3));
-            int groupId = groupIdsByHash[index];
+            int groupId = getGroupIdByHash(index);
             if (valueIdentical(groupId, blocks, position, hash)) {
                 return index;
             }
@@ -316,7 +404,7 @@ public final class FlatHash
     {
         setControl(index, (byte) (hash & 0x7F | 0x80));
         int groupId = nextGroupId++;
-        groupIdsByHash[index] = groupId;
+        setGroupIdByHash(index, groupId);
         int recordGroupIndex = recordGroupIndexForGroupId(groupId);
         int fixedRecordOffset = getFixedRecordOffset(groupId);
         byte[] fixedSizeRecords = this.fixedSizeRecords[recordGroupIndex];
@@ -353,14 +441,78 @@ public final class FlatHash
         return groupId;
     }
 
+    private long getControlVector(int bucket)
+    {
+        if (offHeap) {
+            return controlSegment.get(CONTROL_VECTOR, bucket);
+        }
+        return (long) LONG_HANDLE.get(control, bucket);
+    }
+
     private void setControl(int index, byte hashPrefix)
     {
+        if (offHeap) {
+            controlSegment.set(JAVA_BYTE, index, hashPrefix);
+            if (index < VECTOR_LENGTH) {
+                controlSegment.set(JAVA_BYTE, index + capacity, hashPrefix);
+            }
+            return;
+        }
         control[index] = hashPrefix;
         if (index < VECTOR_LENGTH) {
             control[index + capacity] = hashPrefix;
         }
     }
 
+    private int getGroupIdByHash(int index)
+    {
+        if (offHeap) {
+            return groupIdsByHashSegment.getAtIndex(JAVA_INT, index);
+        }
+        return groupIdsByHash[index];
+    }
+
+    private void setGroupIdByHash(int index, int groupId)
+    {
+        if (offHeap) {
+            groupIdsByHashSegment.setAtIndex(JAVA_INT, index, groupId);
+            return;
+        }
+        groupIdsByHash[index] = groupId;
+    }
+
+    private void allocateHashTable()
+    {
+        if (!offHeap) {
+            control = new byte[capacity + VECTOR_LENGTH];
+            groupIdsByHash = new int[capacity];
+            Arrays.fill(groupIdsByHash, -1);
+            return;
+        }
+        if (hashTableArena == null) {
+            // drivers are not bound to a thread, so the memory must be accessible from any thread
+            hashTableArena = Arena.ofShared();
+        }
+        // allocated memory is zeroed, which marks all control bytes as empty
+        controlSegment = hashTableArena.allocate(capacity + VECTOR_LENGTH);
+        groupIdsByHashSegment = hashTableArena.allocate(JAVA_INT, capacity);
+        groupIdsByHashSegment.fill((byte) -1);
+        hashTableArenaSize += controlSegment.byteSize() + groupIdsByHashSegment.byteSize();
+    }
+
+    private void releaseHashTable()
+    {
+        control = null;
+        groupIdsByHash = null;
+        controlSegment = null;
+        groupIdsByHashSegment = null;
+        if (hashTableArena != null) {
+            hashTableArena.close();
+            hashTableArena = null;
+            hashTableArenaSize = 0;
+        }
+    }
+
     public boolean ensureAvailableCapacity(int batchSize)
     {
         checkState(!isReleasingOutput(), "already releasing output");
@@ -393,10 +545,8 @@ public final class FlatHash
         // Resize the record groups top level array to accommodate the new record groups
         fixedSizeRecords = Arrays.copyOf(fixedSizeRecords, recordGroupsRequiredForCapacity(capacity));
 
-        // Construct the new hash table
-        control = new byte[capacity + VECTOR_LENGTH];
-        groupIdsByHash = new int[capacity];
-        Arrays.fill(groupIdsByHash, -1);
+        // Construct the new hash table, the records are used to compute the hashes so the old table is not needed
+        allocateHashTable();
 
         for (int groupId = 0; groupId < nextGroupId; groupId++) {
             long hash = hashPosition(groupId);
@@ -407,15 +557,15 @@ public final class FlatHash
             // getIndex is not used here because values in a rehash are always distinct
             int step = 1;
             while (true) {
-                final long controlVector = (long) LONG_HANDLE.get(control, bucket);
+                final long controlVector = getControlVector(bucket);
                 // values are already distinct, so just find the first empty slot
                 int emptyIndex = findEmptyInVector(controlVector, bucket);
                 if (emptyIndex >= 0) {
                     setControl(emptyIndex, hashPrefix);
-                    if (groupIdsByHash[emptyIndex] != -1) {
+                    if (getGroupIdByHash(emptyIndex) != -1) {
                         throw new IllegalStateException("groupId mapping already exists at index");
                     }
-                    groupIdsByHash[emptyIndex] = groupId;
+                    setGroupIdByHash(emptyIndex, groupId);
                     break;
                 }
                 bucket = bucket(bucket + step);
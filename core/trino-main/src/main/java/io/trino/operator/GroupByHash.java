@@ -86,6 +86,22 @@ public interface GroupByHash
             boolean dictionaryAggregationEnabled,
             FlatHashStrategyCompiler hashStrategyCompiler,
             UpdateMemory updateMemory)
+    {
+        return createGroupByHash(types, hashMode, expectedSize, dictionaryAggregationEnabled, false, hashStrategyCompiler, updateMemory);
+    }
+
+    /**
+     * @param offHeap allocate the hash table outside the Java heap, when supported by the implementation.
+     * {@link #close()} must be called once the hash is no longer used.
+     */
+    static GroupByHash createGroupByHash(
+            List<Type> types,
+            GroupByHashMode hashMode,
+            int expectedSize,
+            boolean dictionaryAggregationEnabled,
+            boolean offHeap,
+            FlatHashStrategyCompiler hashStrategyCompiler,
+            UpdateMemory updateMemory)
     {
         if (types.size() == 1 && types.get(0).equals(BIGINT)) {
             return new BigintGroupByHash(expectedSize, updateMemory);
@@ -95,6 +111,7 @@ public interface GroupByHash
                 hashMode,
                 expectedSize,
                 dictionaryAggregationEnabled,
+                offHeap,
                 hashStrategyCompiler,
                 updateMemory);
     }
@@ -113,6 +130,12 @@ public interface GroupByHash
      */
     void startReleasingOutput();
 
+    /**
+     * Frees memory that is not managed by the Java heap. Values of existing groups can still be appended
+     * after this call.
+     */
+    void close();
+
     Work<?> addPage(Page page);
 
     /**
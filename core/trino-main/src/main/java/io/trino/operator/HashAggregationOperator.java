@@ -23,6 +23,7 @@ import io.trino.operator.aggregation.builder.HashAggregationBuilder;
 import io.trino.operator.aggregation.builder.InMemoryHashAggregationBuilder;
 import io.trino.operator.aggregation.builder.SpillableHashAggregationBuilder;
 import io.trino.operator.aggregation.partial.PartialAggregationController;
+import io.trino.operator.aggregation.partial.PartialAggregationSketch;
 import io.trino.operator.aggregation.partial.SkipAggregationBuilder;
 import io.trino.spi.Page;
 import io.trino.spi.PageBuilder;
@@ -30,10 +31,10 @@ import io.trino.spi.type.Type;
 import io.trino.spiller.SpillerFactory;
 import io.trino.sql.planner.plan.AggregationNode.Step;
 import io.trino.sql.planner.plan.PlanNodeId;
+import jakarta.annotation.Nullable;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.OptionalLong;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
@@ -271,6 +272,13 @@ public class HashAggregationOperator
     private long aggregationInputRowsProcessed;
     private long aggregationUniqueRowsProduced;
 
+    // estimates how well the input passed through while partial aggregation is disabled could be aggregated
+    @Nullable
+    private PartialAggregationSketch partialAggregationSketch;
+    @Nullable
+    private LocalMemoryContext partialAggregationSketchMemoryContext;
+    private boolean passingThroughInput;
+
     private HashAggregationOperator(
             OperatorContext operatorContext,
             List<Type> groupByTypes,
@@ -368,6 +376,7 @@ public class HashAggregationOperator
             boolean partialAggregationDisabled = partialAggregationController
                     .map(PartialAggregationController::isPartialAggregationDisabled)
                     .orElse(false);
+            updatePartialAggregationMode(partialAggregationDisabled);
             if (step.isOutputPartial() && partialAggregationDisabled) {
                 aggregationBuilder = new SkipAggregationBuilder(groupByChannels, aggregatorFactories, memoryContext, aggregationMetrics);
             }
@@ -420,10 +429,53 @@ public class HashAggregationOperator
             unfinishedWork = null;
         }
         aggregationBuilder.updateMemory();
+        if (passingThroughInput) {
+            sketchPassedThroughInput(page);
+        }
         aggregationInputBytesProcessed += page.getSizeInBytes();
         aggregationInputRowsProcessed += page.getPositionCount();
     }
 
+    private void updatePartialAggregationMode(boolean partialAggregationDisabled)
+    {
+        if (partialAggregationDisabled == passingThroughInput) {
+            return;
+        }
+        passingThroughInput = partialAggregationDisabled;
+        if (partialAggregationDisabled) {
+            aggregationMetrics.recordPartialAggregationDisabled();
+        }
+        else {
+            aggregationMetrics.recordPartialAggregationEnabled();
+            if (partialAggregationSketch != null) {
+                partialAggregationSketch.reset();
+            }
+        }
+    }
+
+    private void sketchPassedThroughInput(Page page)
+    {
+        if (partialAggregationSketch == null) {
+            partialAggregationSketch = new PartialAggregationSketch(flatHashStrategyCompiler.getFlatHashStrategy(groupByTypes), groupByChannels);
+            partialAggregationSketchMemoryContext = operatorContext.newLocalUserMemoryContext(PartialAggregationSketch.class.getSimpleName());
+        }
+        partialAggregationSketch.add(page);
+        partialAggregationSketchMemoryContext.setBytes(partialAggregationSketch.getRetainedSizeInBytes());
+    }
+
+    private void reportPartialAggregationSketch(PartialAggregationController controller)
+    {
+        // the estimate is reported for about as much input as fits the partial aggregation buffer, which is
+        // the input that one flush of partial aggregation would reduce
+        if (partialAggregationSketch != null && partialAggregationSketch.getBytesProcessed() >= maxPartialMemory.orElseThrow().toBytes()) {
+            controller.onSketch(
+                    partialAggregationSketch.getBytesProcessed(),
+                    partialAggregationSketch.getRowsProcessed(),
+                    partialAggregationSketch.getEstimatedUniqueRows());
+            partialAggregationSketch.reset();
+        }
+    }
+
     private boolean isSpillable()
     {
         return aggregatorFactories.stream().allMatch(AggregatorFactory::isSpillable);
@@ -503,6 +555,9 @@ public class HashAggregationOperator
     public void close()
     {
         closeAggregationBuilder();
+        if (partialAggregationSketchMemoryContext != null) {
+            partialAggregationSketchMemoryContext.close();
+        }
     }
 
     @VisibleForTesting
@@ -515,10 +570,10 @@ public class HashAggregationOperator
     {
         if (aggregationBuilder instanceof SkipAggregationBuilder) {
             aggregationMetrics.recordInputRowsProcessedWithPartialAggregationDisabled(aggregationInputRowsProcessed);
-            partialAggregationController.ifPresent(controller -> controller.onFlush(aggregationInputBytesProcessed, aggregationInputRowsProcessed, OptionalLong.empty()));
+            partialAggregationController.ifPresent(this::reportPartialAggregationSketch);
         }
         else {
-            partialAggregationController.ifPresent(controller -> controller.onFlush(aggregationInputBytesProcessed, aggregationInputRowsProcessed, OptionalLong.of(aggregationUniqueRowsProduced)));
+            partialAggregationController.ifPresent(controller -> controller.onFlush(aggregationInputBytesProcessed, aggregationInputRowsProcessed, aggregationUniqueRowsProduced));
         }
         aggregationInputBytesProcessed = 0;
         aggregationInputRowsProcessed = 0;
@@ -88,6 +88,7 @@ import static io.trino.spi.StandardErrorCode.REMOTE_TASK_FAILED;
 import static io.trino.spi.StandardErrorCode.REMOTE_TASK_MISMATCH;
 import static io.trino.util.Failures.REMOTE_TASK_MISMATCH_ERROR;
 import static io.trino.util.Failures.WORKER_NODE_ERROR;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
@@ -117,6 +118,15 @@ public final class HttpPageBufferClient
         void clientFinished(HttpPageBufferClient client);
 
         void clientFailed(HttpPageBufferClient client, Throwable cause);
+
+        /**
+         * Returns the number of bytes a client with continuous requests may request right after a request completes,
+         * without being scheduled again, or zero if the client must wait to be scheduled.
+         */
+        default long getContinuousRequestCredit(HttpPageBufferClient client)
+        {
+            return 0;
+        }
     }
 
     private final String selfAddress;
@@ -124,6 +134,7 @@ public final class HttpPageBufferClient
     private final DataIntegrityVerification dataIntegrityVerification;
     private final DataSize maxResponseSize;
     private final boolean acknowledgePages;
+    private final boolean continuousRequestsEnabled;
     private final TaskId remoteTaskId;
     private final URI location;
     private final ClientCallback clientCallback;
@@ -170,6 +181,7 @@ public final class HttpPageBufferClient
             DataSize maxResponseSize,
             Duration maxErrorDuration,
             boolean acknowledgePages,
+            boolean continuousRequestsEnabled,
             TaskId remoteTaskId,
             URI location,
             ClientCallback clientCallback,
@@ -183,6 +195,7 @@ public final class HttpPageBufferClient
                 maxResponseSize,
                 maxErrorDuration,
                 acknowledgePages,
+                continuousRequestsEnabled,
                 remoteTaskId,
                 location,
                 clientCallback,
@@ -198,6 +211,7 @@ public final class HttpPageBufferClient
             DataSize maxResponseSize,
             Duration maxErrorDuration,
             boolean acknowledgePages,
+            boolean continuousRequestsEnabled,
             TaskId remoteTaskId,
             URI location,
             ClientCallback clientCallback,
@@ -210,6 +224,7 @@ public final class HttpPageBufferClient
         this.dataIntegrityVerification = requireNonNull(dataIntegrityVerification, "dataIntegrityVerification is null");
         this.maxResponseSize = requireNonNull(maxResponseSize, "maxResponseSize is null");
         this.acknowledgePages = acknowledgePages;
+        this.continuousRequestsEnabled = continuousRequestsEnabled;
         this.remoteTaskId = requireNonNull(remoteTaskId, "remoteTaskId is null");
         this.location = requireNonNull(location, "location is null");
         this.clientCallback = requireNonNull(clientCallback, "clientCallback is null");
@@ -346,19 +361,19 @@ public final class HttpPageBufferClient
             destroyTaskResults();
         }
         else {
-            sendGetResults();
+            sendGetResults(maxResponseSize);
         }
 
         lastUpdate = Instant.now();
     }
 
-    private synchronized void sendGetResults()
+    private synchronized void sendGetResults(DataSize maxSize)
     {
         URI uri = HttpUriBuilder.uriBuilderFrom(location).appendPath(String.valueOf(token)).build();
         lastRequestStartNanos = ticker.read();
         HttpResponseFuture<PagesResponse> resultFuture = httpClient.executeAsync(
                 prepareGet()
-                        .setHeader(TRINO_MAX_SIZE, maxResponseSize.toString())
+                        .setHeader(TRINO_MAX_SIZE, maxSize.toString())
                         .setUri(uri).build(),
                 new PageResponseHandler(dataIntegrityVerification != DataIntegrityVerification.NONE));
 
@@ -374,6 +389,7 @@ public final class HttpPageBufferClient
 
                 List<Slice> pages;
                 boolean pagesAccepted;
+                boolean acknowledgeIfNotContinued;
                 try {
                     if (result.isTaskFailed()) {
                         throw new TrinoException(REMOTE_TASK_FAILED, format("Remote task failed: %s", remoteTaskId));
@@ -403,29 +419,11 @@ public final class HttpPageBufferClient
                         }
                     }
 
-                    if (shouldAcknowledge && acknowledgePages) {
+                    if (shouldAcknowledge && acknowledgePages && !continuousRequestsEnabled) {
                         // Acknowledge token without handling the response.
                         // The next request will also make sure the token is acknowledged.
                         // This is to fast release the pages on the buffer side.
-                        URI uri = HttpUriBuilder.uriBuilderFrom(location).appendPath(String.valueOf(result.getNextToken())).appendPath("acknowledge").build();
-                        httpClient.executeAsync(prepareGet().setUri(uri).build(), new ResponseHandler<Void, RuntimeException>()
-                        {
-                            @Override
-                            public Void handleException(Request request, Exception exception)
-                            {
-                                log.debug(exception, "Acknowledge request failed: %s", uri);
-                                return null;
-                            }
-
-                            @Override
-                            public Void handle(Request request, Response response)
-                            {
-                                if (familyForStatusCode(response.getStatusCode()) != HttpStatus.Family.SUCCESSFUL) {
-                                    log.debug("Unexpected acknowledge response code: %s", response.getStatusCode());
-                                }
-                                return null;
-                            }
-                        });
+                        acknowledge(result.getNextToken());
                     }
 
                     // add pages:
@@ -434,6 +432,7 @@ public final class HttpPageBufferClient
                     // keep track of how often a client returns empty response and adjust request
                     // frequency or buffer size.
                     pagesAccepted = clientCallback.addPages(HttpPageBufferClient.this, pages);
+                    acknowledgeIfNotContinued = shouldAcknowledge && acknowledgePages && continuousRequestsEnabled;
                 }
                 catch (TrinoException e) {
                     handleFailure(e, resultFuture);
@@ -457,6 +456,9 @@ public final class HttpPageBufferClient
                 long responseSize = pages.stream().mapToLong(Slice::length).sum();
                 requestSucceeded(responseSize);
 
+                // with continuous requests the client requests the next pages right away, which also acknowledges the received pages
+                long continuousRequestCredit = continuousRequestsEnabled && !result.isClientComplete() ? clientCallback.getContinuousRequestCredit(HttpPageBufferClient.this) : 0;
+                boolean continued = false;
                 synchronized (HttpPageBufferClient.this) {
                     // client is complete, acknowledge it by sending it a delete in the next request
                     if (result.isClientComplete()) {
@@ -464,9 +466,21 @@ public final class HttpPageBufferClient
                     }
                     if (future == resultFuture) {
                         future = null;
+                        if (continuousRequestCredit > 0 && !closed) {
+                            backoff.startRequest();
+                            requestsScheduled.incrementAndGet();
+                            sendGetResults(DataSize.ofBytes(min(continuousRequestCredit, maxResponseSize.toBytes())));
+                            continued = true;
+                        }
                     }
                     lastUpdate = Instant.now();
                 }
+                if (continued) {
+                    return;
+                }
+                if (acknowledgeIfNotContinued) {
+                    acknowledge(result.getNextToken());
+                }
                 clientCallback.requestComplete(HttpPageBufferClient.this);
             }
 
@@ -509,6 +523,29 @@ public final class HttpPageBufferClient
         }, pageBufferClientCallbackExecutor);
     }
 
+    private void acknowledge(long nextToken)
+    {
+        URI uri = HttpUriBuilder.uriBuilderFrom(location).appendPath(String.valueOf(nextToken)).appendPath("acknowledge").build();
+        httpClient.executeAsync(prepareGet().setUri(uri).build(), new ResponseHandler<Void, RuntimeException>()
+        {
+            @Override
+            public Void handleException(Request request, Exception exception)
+            {
+                log.debug(exception, "Acknowledge request failed: %s", uri);
+                return null;
+            }
+
+            @Override
+            public Void handle(Request request, Response response)
+            {
+                if (familyForStatusCode(response.getStatusCode()) != HttpStatus.Family.SUCCESSFUL) {
+                    log.debug("Unexpected acknowledge response code: %s", response.getStatusCode());
+                }
+                return null;
+            }
+        });
+    }
+
     @VisibleForTesting
     synchronized void requestSucceeded(long responseSize)
     {
@@ -29,6 +29,7 @@ import io.trino.spi.type.TypeOperators;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.Optional;
 
 import static io.airlift.slice.SizeOf.instanceSize;
 import static io.airlift.slice.SizeOf.sizeOf;
@@ -96,6 +97,9 @@ public class JoinDomainBuilder
 
     private boolean collectDistinctValues = true;
     private boolean collectMinMax;
+    private final boolean bloomFilterEnabled;
+    // Bloom filter of values, collected after there are too many distinct values
+    private BlockedBloomFilter bloomFilter;
 
     private long retainedSizeInBytes = INSTANCE_SIZE;
 
@@ -104,6 +108,7 @@ public class JoinDomainBuilder
             int maxDistinctValues,
             DataSize maxFilterSize,
             boolean minMaxEnabled,
+            boolean bloomFilterEnabled,
             Runnable notifyStateChange,
             TypeOperators typeOperators)
     {
@@ -115,6 +120,7 @@ public class JoinDomainBuilder
 
         // Skipping DOUBLE and REAL in collectMinMaxValues to avoid dealing with NaN values
         this.collectMinMax = minMaxEnabled && type.isOrderable() && type != DOUBLE && type != REAL;
+        this.bloomFilterEnabled = bloomFilterEnabled;
 
         MethodHandle readOperator = typeOperators.getReadValueOperator(type, simpleConvention(NULLABLE_RETURN, FLAT));
         readOperator = readOperator.asType(readOperator.type().changeReturnType(Object.class));
@@ -155,7 +161,7 @@ public class JoinDomainBuilder
 
     public boolean isCollecting()
     {
-        return collectMinMax || collectDistinctValues;
+        return collectMinMax || collectDistinctValues || bloomFilter != null;
     }
 
     public void add(Block block)
@@ -176,7 +182,7 @@ public class JoinDomainBuilder
                 }
             }
 
-            // if the distinct size is too large, fall back to min max, and drop the distinct values
+            // if the distinct size is too large, fall back to min max and Bloom filter, and drop the distinct values
             if (distinctSize > maxDistinctValues || getRetainedSizeInBytes() > maxFilterSizeInBytes) {
                 retainedSizeInBytes = INSTANCE_SIZE;
                 if (collectMinMax) {
@@ -204,8 +210,14 @@ public class JoinDomainBuilder
                         retainedSizeInBytes += minValue.getRetainedSizeInBytes() + maxValue.getRetainedSizeInBytes();
                     }
                 }
-                else {
-                    notifyStateChange.run();
+                if (bloomFilterEnabled) {
+                    bloomFilter = BlockedBloomFilter.withMaxSize(maxFilterSizeInBytes);
+                    for (int index = 0; index < distinctCapacity; index++) {
+                        if (distinctControl[index] != 0) {
+                            bloomFilter.add(valueHashCode(distinctRecords, index));
+                        }
+                    }
+                    retainedSizeInBytes += bloomFilter.getRetainedSizeInBytes();
                 }
 
                 collectDistinctValues = false;
@@ -215,53 +227,94 @@ public class JoinDomainBuilder
                 distinctVariableWidthData = null;
                 distinctSize = 0;
                 distinctMaxFill = 0;
+
+                if (!isCollecting()) {
+                    notifyStateChange.run();
+                }
             }
         }
-        else if (collectMinMax) {
-            int minValuePosition = -1;
-            int maxValuePosition = -1;
+        else {
+            if (bloomFilter != null) {
+                addToBloomFilter(block);
+            }
+            if (collectMinMax) {
+                addToMinMax(block);
+            }
+        }
+    }
 
-            ValueBlock valueBlock = block.getUnderlyingValueBlock();
-            for (int i = 0; i < block.getPositionCount(); i++) {
-                int position = block.getUnderlyingValuePosition(i);
-                if (valueBlock.isNull(position)) {
-                    continue;
-                }
-                if (minValuePosition == -1) {
-                    // First non-null value
-                    minValuePosition = position;
-                    maxValuePosition = position;
-                    continue;
+    private void addToBloomFilter(Block block)
+    {
+        switch (block) {
+            case ValueBlock valueBlock -> {
+                for (int position = 0; position < block.getPositionCount(); position++) {
+                    if (!valueBlock.isNull(position)) {
+                        bloomFilter.add(valueHashCode(valueBlock, position));
+                    }
                 }
-                if (valueCompare(valueBlock, position, valueBlock, minValuePosition) < 0) {
-                    minValuePosition = position;
+            }
+            case RunLengthEncodedBlock rleBlock -> {
+                if (!rleBlock.getValue().isNull(0)) {
+                    bloomFilter.add(valueHashCode(rleBlock.getValue(), 0));
                 }
-                else if (valueCompare(valueBlock, position, valueBlock, maxValuePosition) > 0) {
-                    maxValuePosition = position;
+            }
+            case DictionaryBlock dictionaryBlock -> {
+                ValueBlock dictionary = dictionaryBlock.getDictionary();
+                for (int i = 0; i < dictionaryBlock.getPositionCount(); i++) {
+                    int position = dictionaryBlock.getId(i);
+                    if (!dictionary.isNull(position)) {
+                        bloomFilter.add(valueHashCode(dictionary, position));
+                    }
                 }
             }
+        }
+    }
 
-            if (minValuePosition == -1) {
-                // all block values are nulls
-                return;
+    private void addToMinMax(Block block)
+    {
+        int minValuePosition = -1;
+        int maxValuePosition = -1;
+
+        ValueBlock valueBlock = block.getUnderlyingValueBlock();
+        for (int i = 0; i < block.getPositionCount(); i++) {
+            int position = block.getUnderlyingValuePosition(i);
+            if (valueBlock.isNull(position)) {
+                continue;
             }
-
-            if (minValue == null) {
-                minValue = valueBlock.getSingleValueBlock(minValuePosition);
-                maxValue = valueBlock.getSingleValueBlock(maxValuePosition);
-                return;
+            if (minValuePosition == -1) {
+                // First non-null value
+                minValuePosition = position;
+                maxValuePosition = position;
+                continue;
             }
-            if (valueCompare(valueBlock, minValuePosition, minValue, 0) < 0) {
-                retainedSizeInBytes -= minValue.getRetainedSizeInBytes();
-                minValue = valueBlock.getSingleValueBlock(minValuePosition);
-                retainedSizeInBytes += minValue.getRetainedSizeInBytes();
+            if (valueCompare(valueBlock, position, valueBlock, minValuePosition) < 0) {
+                minValuePosition = position;
             }
-            if (valueCompare(valueBlock, maxValuePosition, maxValue, 0) > 0) {
-                retainedSizeInBytes -= maxValue.getRetainedSizeInBytes();
-                maxValue = valueBlock.getSingleValueBlock(maxValuePosition);
-                retainedSizeInBytes += maxValue.getRetainedSizeInBytes();
+            else if (valueCompare(valueBlock, position, valueBlock, maxValuePosition) > 0) {
+                maxValuePosition = position;
             }
         }
+
+        if (minValuePosition == -1) {
+            // all block values are nulls
+            return;
+        }
+
+        if (minValue == null) {
+            minValue = valueBlock.getSingleValueBlock(minValuePosition);
+            maxValue = valueBlock.getSingleValueBlock(maxValuePosition);
+            return;
+        }
+        if (valueCompare(valueBlock, minValuePosition, minValue, 0) < 0) {
+            retainedSizeInBytes -= minValue.getRetainedSizeInBytes();
+            minValue = valueBlock.getSingleValueBlock(minValuePosition);
+            retainedSizeInBytes += minValue.getRetainedSizeInBytes();
+        }
+        if (valueCompare(valueBlock, maxValuePosition, maxValue, 0) > 0) {
+            retainedSizeInBytes -= maxValue.getRetainedSizeInBytes();
+            maxValue = valueBlock.getSingleValueBlock(maxValuePosition);
+            retainedSizeInBytes += maxValue.getRetainedSizeInBytes();
+        }
     }
 
     public void disableMinMax()
@@ -305,6 +358,14 @@ public class JoinDomainBuilder
         return Domain.all(type);
     }
 
+    /**
+     * Bloom filter is only built when there were too many distinct values to build a discrete domain.
+     */
+    public Optional<BlockedBloomFilter> buildBloomFilter()
+    {
+        return Optional.ofNullable(bloomFilter);
+    }
+
     private void add(ValueBlock block, int position)
     {
         // Inner and right join doesn't match rows with null key column values.
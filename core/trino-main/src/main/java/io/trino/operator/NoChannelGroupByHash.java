@@ -56,6 +56,9 @@ public class NoChannelGroupByHash
         throw new UnsupportedOperationException("NoChannelGroupByHash does not support startReleasingOutput");
     }
 
+    @Override
+    public void close() {}
+
     @Override
     public Work<?> addPage(Page page)
     {
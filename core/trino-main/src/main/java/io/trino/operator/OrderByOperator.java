@@ -33,13 +33,12 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.base.Verify.verifyNotNull;
-import static com.google.common.collect.ImmutableList.toImmutableList;
-import static com.google.common.collect.Iterators.transform;
 import static com.google.common.util.concurrent.Futures.immediateVoidFuture;
 import static io.airlift.concurrent.MoreFutures.asVoid;
 import static io.airlift.concurrent.MoreFutures.checkSuccess;
 import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.trino.util.MergeSortedPages.mergeSortedPages;
+import static io.trino.util.MergeSortedPages.sortedPagesMerger;
 import static java.util.Objects.requireNonNull;
 
 public class OrderByOperator
@@ -159,7 +158,7 @@ public class OrderByOperator
     private ListenableFuture<Void> spillInProgress = immediateVoidFuture();
     private Optional<Runnable> finishMemoryRevoke = Optional.empty();
 
-    private Iterator<Optional<Page>> sortedPages;
+    private WorkProcessor<Page> sortedPages;
 
     private State state = State.NEEDS_INPUT;
 
@@ -233,10 +232,10 @@ public class OrderByOperator
 
             List<WorkProcessor<Page>> spilledPages = getSpilledPages();
             if (spilledPages.isEmpty()) {
-                sortedPages = transform(sortedPagesIndex, Optional::of);
+                sortedPages = WorkProcessor.fromIterator(sortedPagesIndex);
             }
             else {
-                sortedPages = mergeSpilledAndMemoryPages(spilledPages, sortedPagesIndex).yieldingIterator();
+                sortedPages = mergeSpilledAndMemoryPages(spilledPages, sortedPagesIndex);
             }
         }
     }
@@ -276,17 +275,26 @@ public class OrderByOperator
         }
 
         verifyNotNull(sortedPages, "sortedPages is null");
-        if (!sortedPages.hasNext()) {
-            state = State.FINISHED;
+        if (!sortedPages.process()) {
             return null;
         }
 
-        Optional<Page> next = sortedPages.next();
-        if (next.isEmpty()) {
+        if (sortedPages.isFinished()) {
+            state = State.FINISHED;
             return null;
         }
-        Page nextPage = next.get();
-        return nextPage.getColumns(outputChannels);
+
+        return sortedPages.getResult().getColumns(outputChannels);
+    }
+
+    @Override
+    public ListenableFuture<Void> isBlocked()
+    {
+        if (sortedPages != null && sortedPages.isBlocked()) {
+            // spilled pages are being read
+            return sortedPages.getBlockedFuture();
+        }
+        return NOT_BLOCKED;
     }
 
     @Override
@@ -316,7 +324,9 @@ public class OrderByOperator
         }
 
         pageIndex.sort(sortChannels, sortOrder);
-        spillInProgress = asVoid(spiller.get().spill(pageIndex.getSortedPages()));
+        spillInProgress = asVoid(spiller.get().spillSorted(
+                pageIndex.getSortedPages(),
+                sortedPagesMerger(getPageWithPositionComparator(), sourceTypes)));
         finishMemoryRevoke = Optional.of(() -> {
             pageIndex.clear();
             updateMemoryUsage();
@@ -338,9 +348,7 @@ public class OrderByOperator
             return ImmutableList.of();
         }
 
-        return spiller.get().getSpills().stream()
-                .map(WorkProcessor::fromIterator)
-                .collect(toImmutableList());
+        return spiller.get().getSpillsWithReadAhead();
     }
 
     private WorkProcessor<Page> mergeSpilledAndMemoryPages(List<WorkProcessor<Page>> spilledPages, Iterator<Page> sortedPagesIndex)
@@ -350,18 +358,22 @@ public class OrderByOperator
                 .add(WorkProcessor.fromIterator(sortedPagesIndex))
                 .build();
 
-        List<Type> sortTypes = sortChannels.stream()
-                .map(sourceTypes::get)
-                .collect(toImmutableList());
-
         return mergeSortedPages(
                 sortedStreams,
-                orderingCompiler.compilePageWithPositionComparator(sortTypes, sortChannels, sortOrder),
+                getPageWithPositionComparator(),
                 sourceTypes,
                 operatorContext.aggregateUserMemoryContext(),
                 operatorContext.getDriverContext().getYieldSignal());
     }
 
+    private PageWithPositionComparator getPageWithPositionComparator()
+    {
+        List<Type> sortTypes = sortChannels.stream()
+                .map(sourceTypes::get)
+                .collect(toImmutableList());
+        return orderingCompiler.compilePageWithPositionComparator(sortTypes, sortChannels, sortOrder);
+    }
+
     private void updateMemoryUsage()
     {
         if (spillEnabled && state == State.NEEDS_INPUT) {
@@ -670,6 +670,11 @@ public class TaskContext
         localDynamicFiltersCollector.collectDynamicFilterDomains(dynamicFilterDomains);
     }
 
+    public void addDynamicFilterBloomFilters(Map<DynamicFilterId, BlockedBloomFilter> dynamicFilterBloomFilters)
+    {
+        localDynamicFiltersCollector.collectBloomFilters(dynamicFilterBloomFilters);
+    }
+
     public void sourceTaskFailed(TaskId taskId, Throwable failure)
     {
         taskStateMachine.sourceTaskFailed(taskId, failure);
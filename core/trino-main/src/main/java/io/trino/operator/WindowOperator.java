@@ -63,6 +63,7 @@ import static io.trino.sql.planner.plan.FrameBoundType.FOLLOWING;
 import static io.trino.sql.planner.plan.FrameBoundType.PRECEDING;
 import static io.trino.sql.planner.plan.WindowFrameType.RANGE;
 import static io.trino.util.MergeSortedPages.mergeSortedPages;
+import static io.trino.util.MergeSortedPages.sortedPagesMerger;
 import static java.util.Collections.nCopies;
 import static java.util.Objects.requireNonNull;
 
@@ -801,7 +802,9 @@ public class WindowOperator
             Page anyPage = sortedPages.peek();
             verify(anyPage.getPositionCount() != 0, "PagesIndex.getSortedPages returned an empty page");
             currentSpillGroupRowPage = Optional.of(anyPage.getSingleValuePage(/* any */0));
-            spillInProgress = Optional.of(asVoid(spiller.get().spill(sortedPages)));
+            spillInProgress = Optional.of(asVoid(spiller.get().spillSorted(
+                    sortedPages,
+                    sortedPagesMerger(pageWithPositionComparator, sourceTypes))));
 
             return spillInProgress.get();
         }
@@ -832,9 +835,7 @@ public class WindowOperator
             }
 
             List<WorkProcessor<Page>> sortedStreams = ImmutableList.<WorkProcessor<Page>>builder()
-                    .addAll(spiller.get().getSpills().stream()
-                            .map(WorkProcessor::fromIterator)
-                            .collect(toImmutableList()))
+                    .addAll(spiller.get().getSpillsWithReadAhead())
                     .add(WorkProcessor.fromIterator(inMemoryPagesIndexWithHashStrategies.pagesIndex.getSortedPages()))
                     .build();
 
@@ -45,7 +45,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
 
+import static io.trino.SystemSessionProperties.isDictionaryAggregationEnabled;
+import static io.trino.SystemSessionProperties.isOffHeapGroupByHashEnabled;
 import static io.trino.operator.GroupByHash.createGroupByHash;
+import static io.trino.operator.GroupByHash.selectGroupByHashMode;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static java.util.Objects.requireNonNull;
 
@@ -108,10 +111,11 @@ public class InMemoryHashAggregationBuilder
         this.groupByChannels = Ints.toArray(groupByChannels);
 
         this.groupByHash = createGroupByHash(
-                operatorContext.getSession(),
                 groupByTypes,
-                spillable,
+                selectGroupByHashMode(spillable, groupByTypes),
                 expectedGroups,
+                isDictionaryAggregationEnabled(operatorContext.getSession()),
+                isOffHeapGroupByHashEnabled(operatorContext.getSession()),
                 hashStrategyCompiler,
                 updateMemory);
         this.partial = step.isOutputPartial();
@@ -135,7 +139,10 @@ public class InMemoryHashAggregationBuilder
     }
 
     @Override
-    public void close() {}
+    public void close()
+    {
+        groupByHash.close();
+    }
 
     @Override
     public Work<?> processPage(Page page)
@@ -141,6 +141,10 @@ public class MergingHashAggregationBuilder
 
     private void rebuildHashAggregationBuilder()
     {
+        if (hashAggregationBuilder != null) {
+            hashAggregationBuilder.close();
+        }
+
         this.hashAggregationBuilder = new InMemoryHashAggregationBuilder(
                 aggregatorFactories,
                 step,
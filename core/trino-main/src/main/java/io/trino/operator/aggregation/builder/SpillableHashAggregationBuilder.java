@@ -292,8 +292,7 @@ public class SpillableHashAggregationBuilder
         WorkProcessor<Page> mergedSpilledPages = mergeHashSort.get().merge(
                 spillTypes,
                 ImmutableList.<WorkProcessor<Page>>builder()
-                        .addAll(spiller.get().getSpills().stream()
-                                .map(WorkProcessor::fromIterator)
+                        .addAll(spiller.get().getSpillsWithReadAhead().stream()
                                 .map(processor -> processor.withProcessStateMonitor(state -> {
                                     if (state.getType() == RESULT) {
                                         unspillBytes.addAndGet(state.getResult().getSizeInBytes());
@@ -16,8 +16,6 @@ package io.trino.operator.aggregation.partial;
 import io.airlift.units.DataSize;
 import io.trino.operator.HashAggregationOperator;
 
-import java.util.OptionalLong;
-
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -25,23 +23,22 @@ import static java.util.Objects.requireNonNull;
  * for a particular plan node on a single node.
  * Partial aggregation is disabled after sampling sufficient amount of input
  * and the ratio between output(unique) and input rows is too high (> {@link #uniqueRowsRatioThreshold}).
+ * While it is disabled, operators estimate the number of unique rows of the input they pass through with
+ * a {@link PartialAggregationSketch}, and partial aggregation is enabled again once the estimated ratio
+ * drops to the threshold.
  * <p>
  * The class is thread safe and objects of this class are used potentially by multiple threads/drivers simultaneously.
  * Different threads either:
- * - modify fields via synchronized {@link #onFlush}.
+ * - modify fields via synchronized {@link #onFlush} and {@link #onSketch}.
  * - read volatile {@link #partialAggregationDisabled} (volatile here gives visibility).
  */
 public class PartialAggregationController
 {
     /**
      * Process enough pages to fill up partial-aggregation buffer before
-     * considering partial-aggregation to be turned off.
+     * considering partial-aggregation to be turned off or on again.
      */
     private static final double DISABLE_AGGREGATION_BUFFER_SIZE_TO_INPUT_BYTES_FACTOR = 1.5;
-    /**
-     * Re-enable partial aggregation periodically in case aggregation efficiency improved.
-     */
-    private static final double ENABLE_AGGREGATION_BUFFER_SIZE_TO_INPUT_BYTES_FACTOR = DISABLE_AGGREGATION_BUFFER_SIZE_TO_INPUT_BYTES_FACTOR * 200;
 
     private final DataSize maxPartialMemory;
     private final double uniqueRowsRatioThreshold;
@@ -50,6 +47,9 @@ public class PartialAggregationController
     private long totalBytesProcessed;
     private long totalRowProcessed;
     private long totalUniqueRowsProduced;
+    private long totalSketchedBytesProcessed;
+    private long totalSketchedRowsProcessed;
+    private long totalEstimatedUniqueRows;
 
     public PartialAggregationController(DataSize maxPartialMemory, double uniqueRowsRatioThreshold)
     {
@@ -62,34 +62,60 @@ public class PartialAggregationController
         return partialAggregationDisabled;
     }
 
-    public synchronized void onFlush(long bytesProcessed, long rowsProcessed, OptionalLong uniqueRowsProduced)
+    /**
+     * Records a flush of aggregated input.
+     */
+    public synchronized void onFlush(long bytesProcessed, long rowsProcessed, long uniqueRowsProduced)
     {
-        if (!partialAggregationDisabled && uniqueRowsProduced.isEmpty()) {
-            // when PA is re-enabled, ignore stats from disabled flushes
+        if (partialAggregationDisabled) {
+            // ignore flushes of operators that started aggregating before partial aggregation was disabled
             return;
         }
 
         totalBytesProcessed += bytesProcessed;
         totalRowProcessed += rowsProcessed;
-        uniqueRowsProduced.ifPresent(value -> totalUniqueRowsProduced += value);
+        totalUniqueRowsProduced += uniqueRowsProduced;
 
-        if (!partialAggregationDisabled && shouldDisablePartialAggregation()) {
+        if (hasEnoughInput(totalBytesProcessed) && ((double) totalUniqueRowsProduced / totalRowProcessed) > uniqueRowsRatioThreshold) {
+            totalSketchedBytesProcessed = 0;
+            totalSketchedRowsProcessed = 0;
+            totalEstimatedUniqueRows = 0;
             partialAggregationDisabled = true;
         }
+    }
+
+    /**
+     * Records the estimated number of unique rows of input that was passed through without aggregation. The input
+     * should be about the size of the partial aggregation buffer, so that the estimate matches the number of rows
+     * a flush of partial aggregation would produce.
+     */
+    public synchronized void onSketch(long bytesProcessed, long rowsProcessed, long estimatedUniqueRows)
+    {
+        if (!partialAggregationDisabled) {
+            // ignore estimates of operators that passed input through before partial aggregation was enabled again
+            return;
+        }
+
+        totalSketchedBytesProcessed += bytesProcessed;
+        totalSketchedRowsProcessed += rowsProcessed;
+        totalEstimatedUniqueRows += estimatedUniqueRows;
 
-        if (partialAggregationDisabled
-                && totalBytesProcessed >= maxPartialMemory.toBytes() * ENABLE_AGGREGATION_BUFFER_SIZE_TO_INPUT_BYTES_FACTOR) {
-            totalBytesProcessed = 0;
-            totalRowProcessed = 0;
-            totalUniqueRowsProduced = 0;
-            partialAggregationDisabled = false;
+        if (hasEnoughInput(totalSketchedBytesProcessed)) {
+            if (((double) totalEstimatedUniqueRows / totalSketchedRowsProcessed) <= uniqueRowsRatioThreshold) {
+                totalBytesProcessed = 0;
+                totalRowProcessed = 0;
+                totalUniqueRowsProduced = 0;
+                partialAggregationDisabled = false;
+            }
+            totalSketchedBytesProcessed = 0;
+            totalSketchedRowsProcessed = 0;
+            totalEstimatedUniqueRows = 0;
         }
     }
 
-    private boolean shouldDisablePartialAggregation()
+    private boolean hasEnoughInput(long bytesProcessed)
     {
-        return totalBytesProcessed >= maxPartialMemory.toBytes() * DISABLE_AGGREGATION_BUFFER_SIZE_TO_INPUT_BYTES_FACTOR
-                && ((double) totalUniqueRowsProduced / totalRowProcessed) > uniqueRowsRatioThreshold;
+        return bytesProcessed >= maxPartialMemory.toBytes() * DISABLE_AGGREGATION_BUFFER_SIZE_TO_INPUT_BYTES_FACTOR;
     }
 
     public PartialAggregationController duplicate()
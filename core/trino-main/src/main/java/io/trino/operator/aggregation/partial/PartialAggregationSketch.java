@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.aggregation.partial;
+
+import com.google.common.primitives.Ints;
+import io.airlift.stats.cardinality.HyperLogLog;
+import io.trino.operator.FlatHashStrategy;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Estimates the number of unique group keys of the input that a partial aggregation passes through without
+ * aggregating it. This tells {@link PartialAggregationController} whether aggregating the input would reduce
+ * it enough, without paying for inserting the rows to a hash table.
+ */
+public class PartialAggregationSketch
+{
+    private static final int INSTANCE_SIZE = instanceSize(PartialAggregationSketch.class);
+    // standard error of about 1.6%
+    private static final int NUMBER_OF_BUCKETS = 4096;
+
+    private final FlatHashStrategy hashStrategy;
+    private final int[] groupByChannels;
+    private final Block[] groupByBlocks;
+    private long[] hashes = new long[0];
+
+    private HyperLogLog hyperLogLog = HyperLogLog.newInstance(NUMBER_OF_BUCKETS);
+    private long bytesProcessed;
+    private long rowsProcessed;
+
+    public PartialAggregationSketch(FlatHashStrategy hashStrategy, List<Integer> groupByChannels)
+    {
+        this.hashStrategy = requireNonNull(hashStrategy, "hashStrategy is null");
+        this.groupByChannels = Ints.toArray(requireNonNull(groupByChannels, "groupByChannels is null"));
+        this.groupByBlocks = new Block[this.groupByChannels.length];
+    }
+
+    public void add(Page page)
+    {
+        int positionCount = page.getPositionCount();
+        if (positionCount == 0) {
+            return;
+        }
+        if (hashes.length < positionCount) {
+            hashes = new long[positionCount];
+        }
+
+        for (int i = 0; i < groupByChannels.length; i++) {
+            groupByBlocks[i] = page.getBlock(groupByChannels[i]);
+        }
+        hashStrategy.hashBlocksBatched(groupByBlocks, hashes, 0, positionCount);
+        Arrays.fill(groupByBlocks, null);
+
+        for (int position = 0; position < positionCount; position++) {
+            // the hashes of multiple columns are combined with a multiplication, so they are mixed again
+            hyperLogLog.add(hashes[position]);
+        }
+        bytesProcessed += page.getSizeInBytes();
+        rowsProcessed += positionCount;
+    }
+
+    public long getBytesProcessed()
+    {
+        return bytesProcessed;
+    }
+
+    public long getRowsProcessed()
+    {
+        return rowsProcessed;
+    }
+
+    public long getEstimatedUniqueRows()
+    {
+        return hyperLogLog.cardinality();
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE + sizeOf(groupByChannels) + sizeOf(groupByBlocks) + sizeOf(hashes) + hyperLogLog.estimatedInMemorySize();
+    }
+
+    public void reset()
+    {
+        hyperLogLog = HyperLogLog.newInstance(NUMBER_OF_BUCKETS);
+        bytesProcessed = 0;
+        rowsProcessed = 0;
+    }
+}
@@ -20,6 +20,7 @@ import io.trino.operator.PagesHashStrategy;
 import io.trino.spi.Page;
 import io.trino.spi.PageBuilder;
 import io.trino.spi.block.Block;
+import io.trino.spi.block.LongArrayBlock;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 
@@ -261,8 +262,22 @@ public final class BigintPagesHash
 
     private void extractAndHashValues(int[] positions, Page hashChannelsPage, int positionCount, long[] incomingValues, int[] hashPositions)
     {
+        Block block = hashChannelsPage.getBlock(0);
+        if (block instanceof LongArrayBlock longArrayBlock) {
+            // Read the values directly from the flat array, and hash them in a separate loop
+            // which does not depend on the block and can be unrolled by the compiler
+            long[] rawValues = longArrayBlock.getRawValues();
+            int rawValuesOffset = longArrayBlock.getRawValuesOffset();
+            for (int i = 0; i < positionCount; i++) {
+                incomingValues[i] = rawValues[rawValuesOffset + positions[i]];
+            }
+        }
+        else {
+            for (int i = 0; i < positionCount; i++) {
+                incomingValues[i] = BIGINT.getLong(block, positions[i]);
+            }
+        }
         for (int i = 0; i < positionCount; i++) {
-            incomingValues[i] = BIGINT.getLong(hashChannelsPage.getBlock(0), positions[i]);
             hashPositions[i] = getHashPosition(incomingValues[i], mask);
         }
     }
@@ -21,6 +21,7 @@ import io.trino.execution.buffer.PageSerializer;
 import io.trino.execution.buffer.PagesSerdeFactory;
 import io.trino.memory.context.AggregatedMemoryContext;
 import io.trino.memory.context.LocalMemoryContext;
+import io.trino.operator.HashGenerator;
 import io.trino.operator.OperatorContext;
 import io.trino.operator.PartitionFunction;
 import io.trino.spi.Page;
@@ -67,6 +68,8 @@ public class PagePartitioner
     private final boolean replicatesAnyRow;
     private final boolean partitionProcessRleAndDictionaryBlocks;
     private final int nullChannel; // when >= 0, send the position to every partition if this channel is null
+    @Nullable
+    private final PartitionSkewDetector skewDetector;
 
     private boolean hasAnyRowBeenReplicated;
     // outputSizeInBytes that has already been reported to the operator stats during release and should be subtracted
@@ -86,7 +89,8 @@ public class PagePartitioner
             PositionsAppenderFactory positionsAppenderFactory,
             Optional<Slice> exchangeEncryptionKey,
             AggregatedMemoryContext aggregatedMemoryContext,
-            boolean partitionProcessRleAndDictionaryBlocks)
+            boolean partitionProcessRleAndDictionaryBlocks,
+            Optional<HashGenerator> skewDetectionKeyHashGenerator)
     {
         this.partitionFunction = requireNonNull(partitionFunction, "partitionFunction is null");
         this.partitionChannels = Ints.toArray(requireNonNull(partitionChannels, "partitionChannels is null"));
@@ -122,6 +126,9 @@ public class PagePartitioner
         for (int i = 0; i < partitionCount; i++) {
             positionsAppenders[i] = PositionsAppenderPageBuilder.withMaxPageSize(pageSize, requireNonNull(sourceTypes, "sourceTypes is null"), positionsAppenderFactory);
         }
+        this.skewDetector = requireNonNull(skewDetectionKeyHashGenerator, "skewDetectionKeyHashGenerator is null")
+                .map(keyHashGenerator -> new PartitionSkewDetector(keyHashGenerator, partitionCount))
+                .orElse(null);
         this.memoryContext = aggregatedMemoryContext.newLocalMemoryContext(PagePartitioner.class.getSimpleName());
         updateMemoryUsage();
     }
@@ -148,6 +155,9 @@ public class PagePartitioner
         else {
             partitionPageByColumn(page);
         }
+        if (skewDetector != null) {
+            skewDetector.sampleKeys(getPartitionFunctionArguments(page));
+        }
         long outputSizeInBytes = flushPositionsAppenders(false);
         updateMemoryUsage();
         operatorContext.recordOutput(outputSizeInBytes, outputPositionCount);
@@ -215,7 +225,11 @@ public class PagePartitioner
         outputSizeInBytes = adjustFlushedOutputSizeWithEagerlyReportedBytes(outputSizeInBytes);
         bufferedSizeInBytes = adjustEagerlyReportedBytesWithBufferedBytesOnRelease(bufferedSizeInBytes);
         operatorContext.recordOutput(outputSizeInBytes + bufferedSizeInBytes, 0 /* no new positions */);
-        return serializer.getAndResetMetrics();
+        Metrics metrics = serializer.getAndResetMetrics();
+        if (skewDetector != null) {
+            metrics = metrics.mergeWith(skewDetector.getAndResetMetrics());
+        }
+        return metrics;
     }
 
     public void partitionPageByRow(Page page)
@@ -228,8 +242,9 @@ public class PagePartitioner
         int position;
         // Handle "any row" replication outside of the inner loop processing
         if (replicatesAnyRow && !hasAnyRowBeenReplicated) {
-            for (PositionsAppenderPageBuilder pageBuilder : positionsAppenders) {
-                pageBuilder.appendToOutputPartition(page, 0);
+            for (int partition = 0; partition < positionsAppenders.length; partition++) {
+                positionsAppenders[partition].appendToOutputPartition(page, 0);
+                recordPartitionRows(partition, 1);
             }
             hasAnyRowBeenReplicated = true;
             position = 1;
@@ -244,13 +259,15 @@ public class PagePartitioner
             Block nullsBlock = page.getBlock(nullChannel);
             for (; position < page.getPositionCount(); position++) {
                 if (nullsBlock.isNull(position)) {
-                    for (PositionsAppenderPageBuilder pageBuilder : positionsAppenders) {
-                        pageBuilder.appendToOutputPartition(page, position);
+                    for (int partition = 0; partition < positionsAppenders.length; partition++) {
+                        positionsAppenders[partition].appendToOutputPartition(page, position);
+                        recordPartitionRows(partition, 1);
                     }
                 }
                 else {
                     int partition = partitionFunction.getPartition(partitionFunctionArgs, position);
                     positionsAppenders[partition].appendToOutputPartition(page, position);
+                    recordPartitionRows(partition, 1);
                 }
             }
         }
@@ -258,6 +275,7 @@ public class PagePartitioner
             for (; position < page.getPositionCount(); position++) {
                 int partition = partitionFunction.getPartition(partitionFunctionArgs, position);
                 positionsAppenders[partition].appendToOutputPartition(page, position);
+                recordPartitionRows(partition, 1);
             }
         }
     }
@@ -270,11 +288,19 @@ public class PagePartitioner
             IntArrayList partitionPositions = partitionedPositions[i];
             if (!partitionPositions.isEmpty()) {
                 positionsAppenders[i].appendToOutputPartition(page, partitionPositions);
+                recordPartitionRows(i, partitionPositions.size());
                 partitionPositions.clear();
             }
         }
     }
 
+    private void recordPartitionRows(int partition, int rowCount)
+    {
+        if (skewDetector != null) {
+            skewDetector.recordPartitionRows(partition, rowCount);
+        }
+    }
+
     private IntArrayList[] partitionPositions(Page page)
     {
         verify(page.getPositionCount() > 0, "position count is 0");
@@ -516,11 +542,17 @@ public class PagePartitioner
             retainedSizeInBytes += pageBuilder.getRetainedSizeInBytes();
         }
         retainedSizeInBytes += serializer.getRetainedSizeInBytes();
+        if (skewDetector != null) {
+            retainedSizeInBytes += skewDetector.getRetainedSizeInBytes();
+        }
         memoryContext.setBytes(retainedSizeInBytes);
     }
 
     public Metrics getMetrics()
     {
+        if (skewDetector != null) {
+            return serializer.getMetrics().mergeWith(skewDetector.getMetrics());
+        }
         return serializer.getMetrics();
     }
 }
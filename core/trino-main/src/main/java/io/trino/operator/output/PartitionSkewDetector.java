@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.output;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.stats.TDigest;
+import io.trino.operator.HashGenerator;
+import io.trino.plugin.base.metrics.LongCount;
+import io.trino.plugin.base.metrics.TDigestHistogram;
+import io.trino.spi.Page;
+import io.trino.spi.metrics.Metrics;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tracks how many rows are sent to each output partition and finds the partitioning keys which
+ * make some partitions larger than the others.
+ * <p>
+ * Keys are found with a space-saving sketch over the key hashes of every {@link #SAMPLE_INTERVAL}-th row.
+ * A key is hot when it alone accounts for more rows than an evenly distributed partition would receive,
+ * since no assignment of keys to partitions could then balance the partitions.
+ */
+class PartitionSkewDetector
+{
+    @VisibleForTesting
+    static final String PARTITION_ROWS_METRIC_NAME = "Output rows per partition";
+    @VisibleForTesting
+    static final String HOT_KEYS_METRIC_NAME = "Hot partitioning keys per partitioner";
+    @VisibleForTesting
+    static final String HOT_KEY_ROWS_METRIC_NAME = "Estimated rows of hot partitioning keys";
+
+    private static final int INSTANCE_SIZE = instanceSize(PartitionSkewDetector.class);
+    @VisibleForTesting
+    static final int SAMPLE_INTERVAL = 16;
+    @VisibleForTesting
+    static final int SKETCH_CAPACITY = 64;
+    // minimum number of samples of a key, so that a few rows don't make a key hot
+    private static final int MIN_HOT_KEY_SAMPLES = 16;
+    // metrics are rebuilt once the row count has grown by this fraction since they were last built
+    private static final double METRICS_REFRESH_GROWTH = 0.1;
+
+    private final HashGenerator keyHashGenerator;
+    private final long[] partitionRowCounts;
+
+    private final long[] keyHashes = new long[SKETCH_CAPACITY];
+    private final long[] keyCounts = new long[SKETCH_CAPACITY];
+    private final long[] keyErrors = new long[SKETCH_CAPACITY];
+    private int keyCount;
+    private long sampledRows;
+    // position of the next sampled row in the next page, so that small pages are sampled too
+    private int nextSamplePosition;
+
+    private long rows;
+    private long rowsAtLastMetrics;
+    private Metrics metrics = Metrics.EMPTY;
+
+    PartitionSkewDetector(HashGenerator keyHashGenerator, int partitionCount)
+    {
+        this.keyHashGenerator = requireNonNull(keyHashGenerator, "keyHashGenerator is null");
+        checkArgument(partitionCount > 0, "partitionCount must be positive");
+        this.partitionRowCounts = new long[partitionCount];
+    }
+
+    public void recordPartitionRows(int partition, int rowCount)
+    {
+        partitionRowCounts[partition] += rowCount;
+        rows += rowCount;
+    }
+
+    /**
+     * Samples the keys of the rows of the page. The page must only contain the partitioning key channels.
+     */
+    public void sampleKeys(Page keys)
+    {
+        int position = nextSamplePosition;
+        for (; position < keys.getPositionCount(); position += SAMPLE_INTERVAL) {
+            addKey(keyHashGenerator.hashPosition(position, keys));
+        }
+        nextSamplePosition = position - keys.getPositionCount();
+    }
+
+    private void addKey(long hash)
+    {
+        sampledRows++;
+        int minIndex = 0;
+        for (int i = 0; i < keyCount; i++) {
+            if (keyHashes[i] == hash) {
+                keyCounts[i]++;
+                return;
+            }
+            if (keyCounts[i] < keyCounts[minIndex]) {
+                minIndex = i;
+            }
+        }
+        if (keyCount < SKETCH_CAPACITY) {
+            keyHashes[keyCount] = hash;
+            keyCounts[keyCount] = 1;
+            keyErrors[keyCount] = 0;
+            keyCount++;
+            return;
+        }
+        // replace the least frequent key, which may have been the new key all along
+        keyHashes[minIndex] = hash;
+        keyErrors[minIndex] = keyCounts[minIndex];
+        keyCounts[minIndex]++;
+    }
+
+    /**
+     * Returns the metrics of the rows recorded so far. The metrics are only rebuilt when enough rows
+     * were recorded since they were last built.
+     */
+    public Metrics getMetrics()
+    {
+        if (rows - rowsAtLastMetrics > rowsAtLastMetrics * METRICS_REFRESH_GROWTH) {
+            metrics = buildMetrics();
+            rowsAtLastMetrics = rows;
+        }
+        return metrics;
+    }
+
+    public Metrics getAndResetMetrics()
+    {
+        Metrics finalMetrics = buildMetrics();
+        Arrays.fill(partitionRowCounts, 0);
+        keyCount = 0;
+        sampledRows = 0;
+        nextSamplePosition = 0;
+        rows = 0;
+        rowsAtLastMetrics = 0;
+        metrics = Metrics.EMPTY;
+        return finalMetrics;
+    }
+
+    private Metrics buildMetrics()
+    {
+        if (rows == 0) {
+            return Metrics.EMPTY;
+        }
+        TDigest partitionRows = new TDigest();
+        for (long partitionRowCount : partitionRowCounts) {
+            partitionRows.add(partitionRowCount);
+        }
+
+        long hotKeys = 0;
+        long hotKeyRows = 0;
+        double evenPartitionSamples = (double) sampledRows / partitionRowCounts.length;
+        for (int i = 0; i < keyCount; i++) {
+            // samples of a key are at least its count minus the count of the key it replaced
+            long minKeySamples = keyCounts[i] - keyErrors[i];
+            if (partitionRowCounts.length > 1 && minKeySamples >= MIN_HOT_KEY_SAMPLES && minKeySamples > evenPartitionSamples) {
+                hotKeys++;
+                hotKeyRows += minKeySamples * SAMPLE_INTERVAL;
+            }
+        }
+
+        return new Metrics(ImmutableMap.of(
+                PARTITION_ROWS_METRIC_NAME, new TDigestHistogram(partitionRows),
+                // partitioners of the same exchange see the same hot keys, so their counts must not be added up
+                HOT_KEYS_METRIC_NAME, TDigestHistogram.fromValue(hotKeys),
+                HOT_KEY_ROWS_METRIC_NAME, new LongCount(hotKeyRows)));
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE + sizeOf(partitionRowCounts) + sizeOf(keyHashes) + sizeOf(keyCounts) + sizeOf(keyErrors);
+    }
+}
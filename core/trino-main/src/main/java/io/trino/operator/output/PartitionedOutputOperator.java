@@ -22,6 +22,7 @@ import io.trino.execution.buffer.OutputBuffer;
 import io.trino.execution.buffer.PagesSerdeFactory;
 import io.trino.memory.context.AggregatedMemoryContext;
 import io.trino.operator.DriverContext;
+import io.trino.operator.HashGenerator;
 import io.trino.operator.Operator;
 import io.trino.operator.OperatorContext;
 import io.trino.operator.OperatorFactory;
@@ -63,6 +64,7 @@ public class PartitionedOutputOperator
         private final AggregatedMemoryContext memoryContext;
         private final int pagePartitionerPoolSize;
         private final Optional<SkewedPartitionRebalancer> skewedPartitionRebalancer;
+        private final Optional<HashGenerator> skewDetectionKeyHashGenerator;
 
         public PartitionedOutputFactory(
                 PartitionFunction partitionFunction,
@@ -76,7 +78,8 @@ public class PartitionedOutputOperator
                 Optional<Slice> exchangeEncryptionKey,
                 AggregatedMemoryContext memoryContext,
                 int pagePartitionerPoolSize,
-                Optional<SkewedPartitionRebalancer> skewedPartitionRebalancer)
+                Optional<SkewedPartitionRebalancer> skewedPartitionRebalancer,
+                Optional<HashGenerator> skewDetectionKeyHashGenerator)
         {
             this.partitionFunction = requireNonNull(partitionFunction, "partitionFunction is null");
             this.partitionChannels = requireNonNull(partitionChannels, "partitionChannels is null");
@@ -90,6 +93,7 @@ public class PartitionedOutputOperator
             this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
             this.pagePartitionerPoolSize = pagePartitionerPoolSize;
             this.skewedPartitionRebalancer = requireNonNull(skewedPartitionRebalancer, "skewedPartitionRebalancer is null");
+            this.skewDetectionKeyHashGenerator = requireNonNull(skewDetectionKeyHashGenerator, "skewDetectionKeyHashGenerator is null");
         }
 
         @Override
@@ -117,7 +121,8 @@ public class PartitionedOutputOperator
                     exchangeEncryptionKey,
                     memoryContext,
                     pagePartitionerPoolSize,
-                    skewedPartitionRebalancer);
+                    skewedPartitionRebalancer,
+                    skewDetectionKeyHashGenerator);
         }
     }
 
@@ -141,6 +146,7 @@ public class PartitionedOutputOperator
         private final AggregatedMemoryContext memoryContext;
         private final int pagePartitionerPoolSize;
         private final Optional<SkewedPartitionRebalancer> skewedPartitionRebalancer;
+        private final Optional<HashGenerator> skewDetectionKeyHashGenerator;
         private final PagePartitionerPool pagePartitionerPool;
 
         public PartitionedOutputOperatorFactory(
@@ -160,7 +166,8 @@ public class PartitionedOutputOperator
                 Optional<Slice> exchangeEncryptionKey,
                 AggregatedMemoryContext memoryContext,
                 int pagePartitionerPoolSize,
-                Optional<SkewedPartitionRebalancer> skewedPartitionRebalancer)
+                Optional<SkewedPartitionRebalancer> skewedPartitionRebalancer,
+                Optional<HashGenerator> skewDetectionKeyHashGenerator)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -179,6 +186,7 @@ public class PartitionedOutputOperator
             this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
             this.pagePartitionerPoolSize = pagePartitionerPoolSize;
             this.skewedPartitionRebalancer = requireNonNull(skewedPartitionRebalancer, "skewedPartitionRebalancer is null");
+            this.skewDetectionKeyHashGenerator = requireNonNull(skewDetectionKeyHashGenerator, "skewDetectionKeyHashGenerator is null");
             this.pagePartitionerPool = new PagePartitionerPool(
                     pagePartitionerPoolSize,
                     () -> {
@@ -203,7 +211,8 @@ public class PartitionedOutputOperator
                                 positionsAppenderFactory,
                                 exchangeEncryptionKey,
                                 memoryContext,
-                                partitionProcessRleAndDictionaryBlocks);
+                                partitionProcessRleAndDictionaryBlocks,
+                                skewDetectionKeyHashGenerator);
                     });
         }
 
@@ -245,7 +254,8 @@ public class PartitionedOutputOperator
                     exchangeEncryptionKey,
                     memoryContext,
                     pagePartitionerPoolSize,
-                    skewedPartitionRebalancer);
+                    skewedPartitionRebalancer,
+                    skewDetectionKeyHashGenerator);
         }
     }
 
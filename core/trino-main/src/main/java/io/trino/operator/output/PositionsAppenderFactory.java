@@ -19,6 +19,7 @@ import io.trino.spi.block.VariableWidthBlockBuilder;
 import io.trino.spi.type.RowType;
 import io.trino.spi.type.Type;
 import io.trino.type.BlockTypeOperators;
+import io.trino.type.BlockTypeOperators.BlockPositionHashCode;
 import io.trino.type.BlockTypeOperators.BlockPositionIsIdentical;
 
 import java.util.Optional;
@@ -40,10 +41,16 @@ public class PositionsAppenderFactory
     public UnnestingPositionsAppender create(Type type, int expectedPositions, long maxPageSizeInBytes)
     {
         Optional<BlockPositionIsIdentical> distinctFromOperator = Optional.empty();
+        Optional<BlockPositionHashCode> hashCodeOperator = Optional.empty();
         if (type.isComparable()) {
             distinctFromOperator = Optional.of(blockTypeOperators.getIdenticalOperator(type));
+            // identical values of some types, like -0.0 and 0.0, have different representations, so dictionaries
+            // are only merged for variable width types where the bytes are compared
+            if (type.getValueBlockType() == VariableWidthBlock.class) {
+                hashCodeOperator = Optional.of(blockTypeOperators.getHashCodeOperator(type));
+            }
         }
-        return new UnnestingPositionsAppender(createPrimitiveAppender(type, expectedPositions, maxPageSizeInBytes), distinctFromOperator);
+        return new UnnestingPositionsAppender(createPrimitiveAppender(type, expectedPositions, maxPageSizeInBytes), distinctFromOperator, hashCodeOperator);
     }
 
     private PositionsAppender createPrimitiveAppender(Type type, int expectedPositions, long maxPageSizeInBytes)
@@ -13,16 +13,20 @@
  */
 package io.trino.operator.output;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.DictionaryBlock;
 import io.trino.spi.block.RunLengthEncodedBlock;
 import io.trino.spi.block.ValueBlock;
+import io.trino.type.BlockTypeOperators.BlockPositionHashCode;
 import io.trino.type.BlockTypeOperators.BlockPositionIsIdentical;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import jakarta.annotation.Nullable;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -36,20 +40,30 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Dispatches the {@link #append} and {@link #appendRle} methods to the {@link #delegate} depending on the input {@link Block} class.
+ * Dictionary and RLE inputs with different dictionaries or values are merged into a dictionary owned by the appender, which is
+ * bounded in size and flattened when it stops paying off, so low cardinality columns stay dictionary encoded in the output.
  */
 public class UnnestingPositionsAppender
 {
     private static final int INSTANCE_SIZE = instanceSize(UnnestingPositionsAppender.class);
 
-    // The initial state will transition to either the DICTIONARY or RLE state, and from there to the DIRECT state if necessary.
+    @VisibleForTesting
+    static final int MAX_MERGED_DICTIONARY_SIZE = 1024;
+    // a merged dictionary with more entries than this must be referenced by at least two positions per entry on average
+    private static final int MIN_MERGED_DICTIONARY_SIZE_TO_FLATTEN = 64;
+
+    // The initial state will transition to either the DICTIONARY or RLE state, and from there to the MERGED_DICTIONARY or DIRECT state if necessary.
+    // The MERGED_DICTIONARY state will transition to the DIRECT state if the merged dictionary grows too large.
     private enum State
     {
-        UNINITIALIZED, DICTIONARY, RLE, DIRECT
+        UNINITIALIZED, DICTIONARY, RLE, MERGED_DICTIONARY, DIRECT
     }
 
     private final PositionsAppender delegate;
     @Nullable
     private final BlockPositionIsIdentical identicalOperator;
+    @Nullable
+    private final BlockPositionHashCode hashCodeOperator;
 
     private State state = State.UNINITIALIZED;
 
@@ -57,15 +71,20 @@ public class UnnestingPositionsAppender
     private ValueBlock dictionary;
     private DictionaryIdsBuilder dictionaryIdsBuilder;
 
+    // in the MERGED_DICTIONARY state the values of the dictionary are appended to the delegate
+    @Nullable
+    private MergedDictionary mergedDictionary;
+
     @Nullable
     private ValueBlock rleValue;
     private int rlePositionCount;
 
-    public UnnestingPositionsAppender(PositionsAppender delegate, Optional<BlockPositionIsIdentical> identicalOperator)
+    public UnnestingPositionsAppender(PositionsAppender delegate, Optional<BlockPositionIsIdentical> identicalOperator, Optional<BlockPositionHashCode> hashCodeOperator)
     {
         this.delegate = requireNonNull(delegate, "delegate is null");
         this.dictionaryIdsBuilder = new DictionaryIdsBuilder(1024);
         this.identicalOperator = identicalOperator.orElse(null);
+        this.hashCodeOperator = hashCodeOperator.orElse(null);
     }
 
     public void append(IntArrayList positions, Block source)
@@ -88,6 +107,12 @@ public class UnnestingPositionsAppender
                 else if (state == State.DICTIONARY && this.dictionary == dictionary) {
                     dictionaryIdsBuilder.appendPositions(positions, dictionaryBlock);
                 }
+                else if (transitionToMergedDictionary()) {
+                    int fromIndex = dictionaryIdsBuilder.size();
+                    dictionaryIdsBuilder.appendPositions(positions, dictionaryBlock);
+                    mapToMergedDictionary(dictionary, fromIndex);
+                    flattenMergedDictionaryIfNecessary();
+                }
                 else {
                     transitionToDirect();
 
@@ -111,7 +136,12 @@ public class UnnestingPositionsAppender
             return;
         }
 
-        if (state == State.DICTIONARY) {
+        if (state == State.DICTIONARY || state == State.MERGED_DICTIONARY) {
+            if (transitionToMergedDictionary()) {
+                dictionaryIdsBuilder.appendRle(mergedDictionary.add(value, 0), positionCount);
+                flattenMergedDictionaryIfNecessary();
+                return;
+            }
             transitionToDirect();
         }
         if (identicalOperator == null) {
@@ -130,6 +160,12 @@ public class UnnestingPositionsAppender
                 rlePositionCount += positionCount;
                 return;
             }
+            // an RLE block is a single entry dictionary, so different values can share a merged dictionary
+            if (transitionToMergedDictionary()) {
+                dictionaryIdsBuilder.appendRle(mergedDictionary.add(value, 0), positionCount);
+                flattenMergedDictionaryIfNecessary();
+                return;
+            }
             transitionToDirect();
         }
 
@@ -150,9 +186,87 @@ public class UnnestingPositionsAppender
         }
     }
 
-    private void transitionToDirect()
+    /**
+     * Transitions from the DICTIONARY or RLE state to the MERGED_DICTIONARY state, if the type supports it.
+     *
+     * @return whether the appender is in the MERGED_DICTIONARY state
+     */
+    private boolean transitionToMergedDictionary()
     {
+        if (state == State.MERGED_DICTIONARY) {
+            return true;
+        }
+        if ((state != State.DICTIONARY && state != State.RLE) || identicalOperator == null || hashCodeOperator == null) {
+            return false;
+        }
+
+        mergedDictionary = new MergedDictionary(delegate, identicalOperator, hashCodeOperator);
         if (state == State.DICTIONARY) {
+            mapToMergedDictionary(dictionary, 0);
+            dictionary = null;
+        }
+        else {
+            dictionaryIdsBuilder.appendRle(mergedDictionary.add(rleValue, 0), rlePositionCount);
+            rleValue = null;
+            rlePositionCount = 0;
+        }
+        state = State.MERGED_DICTIONARY;
+        return true;
+    }
+
+    /**
+     * Replaces the ids of the source dictionary from {@code fromIndex} on with ids of the merged dictionary.
+     */
+    private void mapToMergedDictionary(ValueBlock sourceDictionary, int fromIndex)
+    {
+        int[] ids = dictionaryIdsBuilder.getDictionaryIds();
+        int toIndex = dictionaryIdsBuilder.size();
+        if (sourceDictionary.getPositionCount() <= toIndex - fromIndex) {
+            // look up each source dictionary entry once
+            int[] mergedIds = new int[sourceDictionary.getPositionCount()];
+            Arrays.fill(mergedIds, -1);
+            for (int i = fromIndex; i < toIndex; i++) {
+                int mergedId = mergedIds[ids[i]];
+                if (mergedId < 0) {
+                    mergedId = mergedDictionary.add(sourceDictionary, ids[i]);
+                    mergedIds[ids[i]] = mergedId;
+                }
+                ids[i] = mergedId;
+            }
+        }
+        else {
+            for (int i = fromIndex; i < toIndex; i++) {
+                ids[i] = mergedDictionary.add(sourceDictionary, ids[i]);
+            }
+        }
+    }
+
+    private void flattenMergedDictionaryIfNecessary()
+    {
+        int dictionarySize = mergedDictionary.size();
+        if (dictionarySize > MAX_MERGED_DICTIONARY_SIZE ||
+                (dictionarySize > MIN_MERGED_DICTIONARY_SIZE_TO_FLATTEN && dictionarySize * 2L > dictionaryIdsBuilder.size())) {
+            transitionToDirect();
+        }
+    }
+
+    private void transitionToDirect()
+    {
+        if (state == State.MERGED_DICTIONARY) {
+            // the delegate holds the dictionary values, so replace them with the values of all positions
+            Block dictionaryValues = delegate.build();
+            ValueBlock valueBlock = dictionaryValues.getUnderlyingValueBlock();
+            int[] dictionaryIds = dictionaryIdsBuilder.getDictionaryIds();
+            if (dictionaryValues != valueBlock) {
+                for (int i = 0; i < dictionaryIdsBuilder.size(); i++) {
+                    dictionaryIds[i] = dictionaryValues.getUnderlyingValuePosition(dictionaryIds[i]);
+                }
+            }
+            delegate.append(IntArrayList.wrap(dictionaryIds, dictionaryIdsBuilder.size()), valueBlock);
+            mergedDictionary = null;
+            dictionaryIdsBuilder = dictionaryIdsBuilder.newBuilderLike();
+        }
+        else if (state == State.DICTIONARY) {
             int[] dictionaryIds = dictionaryIdsBuilder.getDictionaryIds();
             delegate.append(IntArrayList.wrap(dictionaryIds, dictionaryIdsBuilder.size()), dictionary);
             dictionary = null;
@@ -171,6 +285,7 @@ public class UnnestingPositionsAppender
         Block result = switch (state) {
             case DICTIONARY -> DictionaryBlock.create(dictionaryIdsBuilder.size(), dictionary, dictionaryIdsBuilder.getDictionaryIds());
             case RLE -> RunLengthEncodedBlock.create(rleValue, rlePositionCount);
+            case MERGED_DICTIONARY -> DictionaryBlock.create(dictionaryIdsBuilder.size(), delegate.build(), dictionaryIdsBuilder.getDictionaryIds());
             case UNINITIALIZED, DIRECT -> delegate.build();
         };
 
@@ -184,6 +299,7 @@ public class UnnestingPositionsAppender
         state = State.UNINITIALIZED;
         dictionary = null;
         dictionaryIdsBuilder = dictionaryIdsBuilder.newBuilderLike();
+        mergedDictionary = null;
         rleValue = null;
         rlePositionCount = 0;
         delegate.reset();
@@ -194,6 +310,7 @@ public class UnnestingPositionsAppender
         return INSTANCE_SIZE +
                 delegate.getRetainedSizeInBytes() +
                 dictionaryIdsBuilder.getRetainedSizeInBytes() +
+                (mergedDictionary != null ? mergedDictionary.getRetainedSizeInBytes() : 0) +
                 (rleValue != null ? rleValue.getRetainedSizeInBytes() : 0);
     }
 
@@ -209,7 +326,14 @@ public class UnnestingPositionsAppender
     {
         long sizeInBytes = getSizeInBytes();
         // dictionary size is not included due to the expense of the calculation, so this will under-report for dictionaries
-        long directSizeInBytes = (rleValue == null) ? sizeInBytes : (rleValue.getSizeInBytes() * rlePositionCount);
+        long directSizeInBytes = sizeInBytes;
+        if (rleValue != null) {
+            directSizeInBytes = rleValue.getSizeInBytes() * rlePositionCount;
+        }
+        else if (mergedDictionary != null && mergedDictionary.size() > 0) {
+            // the delegate holds each merged dictionary value once, so assume all values are of the average size
+            directSizeInBytes = delegate.getSizeInBytes() * dictionaryIdsBuilder.size() / mergedDictionary.size();
+        }
         accumulator.accumulate(sizeInBytes, directSizeInBytes);
     }
 
@@ -275,6 +399,13 @@ public class UnnestingPositionsAppender
             size += positions.size();
         }
 
+        public void appendRle(int id, int count)
+        {
+            ensureCapacity(size + count);
+            Arrays.fill(dictionaryIds, size, size + count, id);
+            size += count;
+        }
+
         public DictionaryIdsBuilder newBuilderLike()
         {
             if (size == 0) {
@@ -301,4 +432,101 @@ public class UnnestingPositionsAppender
             dictionaryIds = IntArrays.ensureCapacity(dictionaryIds, newSize, size);
         }
     }
+
+    /**
+     * Hash set of the distinct values of a merged dictionary, assigning each value its position in the dictionary.
+     * New values are appended to the dictionary values appender, and a single value copy is kept for comparisons,
+     * so the source blocks are not retained.
+     */
+    private static class MergedDictionary
+    {
+        private static final int INSTANCE_SIZE = instanceSize(MergedDictionary.class);
+        private static final int INITIAL_CAPACITY = 16;
+        private static final int EMPTY_SLOT = -1;
+
+        private final PositionsAppender values;
+        private final BlockPositionIsIdentical identicalOperator;
+        private final BlockPositionHashCode hashCodeOperator;
+
+        private ValueBlock[] entries = new ValueBlock[INITIAL_CAPACITY];
+        private long[] entryHashes = new long[INITIAL_CAPACITY];
+        private long entriesRetainedSizeInBytes;
+        private int size;
+
+        // twice the entries capacity, so the fill ratio is at most 0.5
+        private int[] slots = newSlots(INITIAL_CAPACITY * 2);
+        private int mask = INITIAL_CAPACITY * 2 - 1;
+
+        public MergedDictionary(PositionsAppender values, BlockPositionIsIdentical identicalOperator, BlockPositionHashCode hashCodeOperator)
+        {
+            this.values = requireNonNull(values, "values is null");
+            this.identicalOperator = requireNonNull(identicalOperator, "identicalOperator is null");
+            this.hashCodeOperator = requireNonNull(hashCodeOperator, "hashCodeOperator is null");
+        }
+
+        public int size()
+        {
+            return size;
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE + sizeOf(entries) + sizeOf(entryHashes) + sizeOf(slots) + entriesRetainedSizeInBytes;
+        }
+
+        /**
+         * Returns the id of the value in the merged dictionary, adding it if necessary.
+         */
+        public int add(ValueBlock block, int position)
+        {
+            if (size == entries.length) {
+                grow();
+            }
+            long hash = hashCodeOperator.hashCodeNullSafe(block, position);
+            int slot = (int) (HashCommon.mix(hash) & mask);
+            while (true) {
+                int id = slots[slot];
+                if (id == EMPTY_SLOT) {
+                    break;
+                }
+                if (entryHashes[id] == hash && identicalOperator.isIdentical(entries[id], 0, block, position)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int id = size;
+            ValueBlock entry = block.getSingleValueBlock(position);
+            entries[id] = entry;
+            entryHashes[id] = hash;
+            entriesRetainedSizeInBytes += entry.getRetainedSizeInBytes();
+            slots[slot] = id;
+            size++;
+            values.append(position, block);
+            return id;
+        }
+
+        private void grow()
+        {
+            int capacity = entries.length * 2;
+            entries = Arrays.copyOf(entries, capacity);
+            entryHashes = Arrays.copyOf(entryHashes, capacity);
+            slots = newSlots(capacity * 2);
+            mask = capacity * 2 - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = (int) (HashCommon.mix(entryHashes[id]) & mask);
+                while (slots[slot] != EMPTY_SLOT) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id;
+            }
+        }
+
+        private static int[] newSlots(int capacity)
+        {
+            int[] slots = new int[capacity];
+            Arrays.fill(slots, EMPTY_SLOT);
+            return slots;
+        }
+    }
 }
@@ -207,6 +207,7 @@ public class CoordinatorModule
         newExporter(binder).export(SqlQueryManager.class).withGeneratedName();
         binder.bind(QueryManager.class).to(SqlQueryManager.class);
         binder.bind(QueryPreparer.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(QueryPreparer.class).withGeneratedName();
         OptionalBinder.newOptionalBinder(binder, SessionSupplier.class).setDefault().to(QuerySessionSupplier.class).in(Scopes.SINGLETON);
         binder.bind(ResourceGroupInfoProvider.class).to(ResourceGroupManager.class).in(Scopes.SINGLETON);
         binder.bind(InternalResourceGroupManager.class).in(Scopes.SINGLETON);
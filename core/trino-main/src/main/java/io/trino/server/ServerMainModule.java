@@ -79,6 +79,8 @@ import io.trino.metadata.SystemFunctionBundle;
 import io.trino.metadata.SystemSecurityMetadata;
 import io.trino.metadata.TableFunctionRegistry;
 import io.trino.metadata.TableProceduresRegistry;
+import io.trino.metadata.TableStatisticsCache;
+import io.trino.metadata.TableStatisticsCacheConfig;
 import io.trino.metadata.TypeRegistry;
 import io.trino.node.InternalNode;
 import io.trino.operator.DirectExchangeClientConfig;
@@ -124,6 +126,8 @@ import io.trino.split.PageSinkProvider;
 import io.trino.split.PageSourceManager;
 import io.trino.split.PageSourceProviderFactory;
 import io.trino.split.SplitManager;
+import io.trino.split.SplitResultCache;
+import io.trino.split.SplitResultCacheConfig;
 import io.trino.sql.PlannerContext;
 import io.trino.sql.SqlEnvironmentConfig;
 import io.trino.sql.analyzer.SessionTimeProvider;
@@ -354,6 +358,9 @@ public class ServerMainModule
         // data stream provider
         binder.bind(PageSourceManager.class).in(Scopes.SINGLETON);
         binder.bind(PageSourceProviderFactory.class).to(PageSourceManager.class).in(Scopes.SINGLETON);
+        configBinder(binder).bindConfig(SplitResultCacheConfig.class);
+        binder.bind(SplitResultCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(SplitResultCache.class).withGeneratedName();
 
         // page sink provider
         binder.bind(PageSinkManager.class).in(Scopes.SINGLETON);
@@ -361,6 +368,9 @@ public class ServerMainModule
 
         // metadata
         binder.bind(MetadataManager.class).in(Scopes.SINGLETON);
+        configBinder(binder).bindConfig(TableStatisticsCacheConfig.class);
+        binder.bind(TableStatisticsCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(TableStatisticsCache.class).withGeneratedName();
         binder.bind(Metadata.class).annotatedWith(ForTracing.class).to(MetadataManager.class).in(Scopes.SINGLETON);
         binder.bind(Metadata.class).to(TracingMetadata.class).in(Scopes.SINGLETON);
         newOptionalBinder(binder, SystemSecurityMetadata.class)
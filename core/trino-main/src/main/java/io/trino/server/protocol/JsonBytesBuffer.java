@@ -0,0 +1,342 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.server.protocol;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.NumberOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Long.numberOfTrailingZeros;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Buffer of JSON encoded values, which are written directly as UTF-8 bytes instead of through
+ * a {@link JsonGenerator}. Values are encoded the same way as by the {@link JsonGenerator} with
+ * default features: strings are not validated, and only control characters, quotes and backslashes
+ * are escaped.
+ */
+public final class JsonBytesBuffer
+{
+    private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(long[].class, LITTLE_ENDIAN);
+
+    private static final byte[] NULL = "null".getBytes(US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(US_ASCII);
+    private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(US_ASCII);
+    private static final long ONES = 0x0101_0101_0101_0101L;
+    private static final long HIGH_BITS = 0x8080_8080_8080_8080L;
+
+    // character written after a backslash to escape an ASCII character, or 0 if the character is not escaped
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            ESCAPES[i] = 'u';
+        }
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+    }
+
+    private final RawValue rawValue = new RawValue();
+    private byte[] buffer;
+    private int size;
+
+    public JsonBytesBuffer(int initialCapacity)
+    {
+        checkArgument(initialCapacity > 0, "initialCapacity must be positive");
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Writes a structural character, like {@code [} or {@code ,}.
+     */
+    public void writeChar(char value)
+    {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeNull()
+    {
+        writeBytes(NULL, 0, NULL.length);
+    }
+
+    public void writeBoolean(boolean value)
+    {
+        byte[] bytes = value ? TRUE : FALSE;
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeLong(long value)
+    {
+        ensureCapacity(20);
+        size = NumberOutput.outputLong(value, buffer, size);
+    }
+
+    public void writeDouble(double value)
+    {
+        // same as the JsonGenerator, which quotes NaN and infinity
+        writeAscii(Double.toString(value), !Double.isFinite(value));
+    }
+
+    public void writeFloat(float value)
+    {
+        writeAscii(Float.toString(value), !Float.isFinite(value));
+    }
+
+    /**
+     * Writes a string value from its UTF-8 bytes, escaping the characters which are not allowed in a JSON string.
+     */
+    public void writeUtf8String(byte[] bytes, int offset, int length)
+    {
+        writeChar('"');
+        int end = offset + length;
+        int position = offset;
+        while (true) {
+            int escapePosition = findEscapedByte(bytes, position, end);
+            writeBytes(bytes, position, escapePosition - position);
+            if (escapePosition == end) {
+                break;
+            }
+            writeEscaped(bytes[escapePosition]);
+            position = escapePosition + 1;
+        }
+        writeChar('"');
+    }
+
+    /**
+     * Writes the buffered bytes as a single raw value of the generator, and clears the buffer.
+     * Buffered bytes can hold multiple values separated by commas, when the generator is in an array.
+     */
+    public void writeRawValueTo(JsonGenerator generator)
+            throws IOException
+    {
+        generator.writeRawValue(rawValue);
+        size = 0;
+    }
+
+    private void writeAscii(String value, boolean quoted)
+    {
+        int length = value.length();
+        ensureCapacity(length + 2);
+        if (quoted) {
+            buffer[size++] = '"';
+        }
+        for (int i = 0; i < length; i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+        if (quoted) {
+            buffer[size++] = '"';
+        }
+    }
+
+    private void writeEscaped(byte value)
+    {
+        ensureCapacity(6);
+        byte escape = ESCAPES[value];
+        buffer[size++] = '\\';
+        buffer[size++] = escape;
+        if (escape == 'u') {
+            buffer[size++] = '0';
+            buffer[size++] = '0';
+            buffer[size++] = HEX_DIGITS[value >>> 4];
+            buffer[size++] = HEX_DIGITS[value & 0xF];
+        }
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length)
+    {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    private void ensureCapacity(int length)
+    {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(size + length, buffer.length * 2));
+        }
+    }
+
+    /**
+     * Returns the position of the first byte, which must be escaped, or {@code end} if there is none.
+     * Eight bytes are checked at a time, using SWAR (SIMD within a register) comparisons.
+     */
+    private static int findEscapedByte(byte[] bytes, int position, int end)
+    {
+        for (; position + Long.BYTES <= end; position += Long.BYTES) {
+            long escapedBytes = escapedBytes((long) LONG_HANDLE.get(bytes, position));
+            if (escapedBytes != 0) {
+                return position + (numberOfTrailingZeros(escapedBytes) >>> 3);
+            }
+        }
+        for (; position < end; position++) {
+            byte value = bytes[position];
+            if (value >= 0 && ESCAPES[value] != 0) {
+                return position;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns a word with the highest bit set in the bytes, which are a control character, a quote or a backslash.
+     * Bytes above the lowest such byte can be falsely marked, due to borrows. Non-ASCII bytes are never marked.
+     */
+    private static long escapedBytes(long word)
+    {
+        long controls = word - 0x20 * ONES;
+        long quotes = (word ^ ('"' * ONES)) - ONES;
+        long backslashes = (word ^ ('\\' * ONES)) - ONES;
+        return (controls | quotes | backslashes) & ~word & HIGH_BITS;
+    }
+
+    private static int appendChars(char[] chars, char[] output, int offset)
+    {
+        if (offset + chars.length > output.length) {
+            return -1;
+        }
+        System.arraycopy(chars, 0, output, offset, chars.length);
+        return chars.length;
+    }
+
+    private class RawValue
+            implements SerializableString
+    {
+        @Override
+        public String getValue()
+        {
+            return new String(buffer, 0, size, UTF_8);
+        }
+
+        @Override
+        public int charLength()
+        {
+            return getValue().length();
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] output, int offset)
+        {
+            if (offset + size > output.length) {
+                return -1;
+            }
+            System.arraycopy(buffer, 0, output, offset, size);
+            return size;
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8()
+        {
+            // only used when the bytes do not fit in the remaining space of the generator buffer
+            return Arrays.copyOf(buffer, size);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream output)
+                throws IOException
+        {
+            output.write(buffer, 0, size);
+            return size;
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer output)
+        {
+            if (size > output.remaining()) {
+                return -1;
+            }
+            output.put(buffer, 0, size);
+            return size;
+        }
+
+        @Override
+        public int appendUnquoted(char[] output, int offset)
+        {
+            return appendChars(getValue().toCharArray(), output, offset);
+        }
+
+        // quoted variants return the value escaped as the content of a JSON string, like SerializedString
+
+        @Override
+        public char[] asQuotedChars()
+        {
+            return JsonStringEncoder.getInstance().quoteAsString(getValue());
+        }
+
+        @Override
+        public byte[] asQuotedUTF8()
+        {
+            return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] output, int offset)
+        {
+            byte[] quoted = asQuotedUTF8();
+            if (offset + quoted.length > output.length) {
+                return -1;
+            }
+            System.arraycopy(quoted, 0, output, offset, quoted.length);
+            return quoted.length;
+        }
+
+        @Override
+        public int appendQuoted(char[] output, int offset)
+        {
+            return appendChars(asQuotedChars(), output, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream output)
+                throws IOException
+        {
+            byte[] quoted = asQuotedUTF8();
+            output.write(quoted);
+            return quoted.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer output)
+        {
+            byte[] quoted = asQuotedUTF8();
+            if (quoted.length > output.remaining()) {
+                return -1;
+            }
+            output.put(quoted);
+            return quoted.length;
+        }
+    }
+}
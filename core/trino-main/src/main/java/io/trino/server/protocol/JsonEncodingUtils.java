@@ -14,6 +14,7 @@
 package io.trino.server.protocol;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.annotations.VisibleForTesting;
 import io.airlift.slice.Slice;
 import io.trino.Session;
 import io.trino.client.ClientCapabilities;
@@ -22,6 +23,7 @@ import io.trino.spi.TrinoException;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.SqlMap;
 import io.trino.spi.block.SqlRow;
+import io.trino.spi.block.VariableWidthBlock;
 import io.trino.spi.type.ArrayType;
 import io.trino.spi.type.BigintType;
 import io.trino.spi.type.BooleanType;
@@ -48,6 +50,7 @@ import io.trino.type.SqlIntervalYearMonth;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -69,6 +72,9 @@ public final class JsonEncodingUtils
 {
     private JsonEncodingUtils() {}
 
+    // rows written directly are passed to the generator in chunks, which usually fit in its buffer
+    private static final int DIRECT_CHUNK_SIZE = 1024;
+
     private static final BigintEncoder BIGINT_ENCODER = new BigintEncoder();
     private static final BooleanEncoder BOOLEAN_ENCODER = new BooleanEncoder();
     private static final IntegerEncoder INTEGER_ENCODER = new IntegerEncoder();
@@ -117,30 +123,86 @@ public final class JsonEncodingUtils
     }
 
     public static void writePagesToJsonGenerator(Consumer<TrinoException> throwableConsumer, JsonGenerator generator, TypeEncoder[] typeEncoders, int[] sourcePageChannels, List<Page> pages)
+    {
+        writePagesToJsonGenerator(throwableConsumer, generator, typeEncoders, sourcePageChannels, pages, true);
+    }
+
+    @VisibleForTesting
+    static void writePagesToJsonGenerator(Consumer<TrinoException> throwableConsumer, JsonGenerator generator, TypeEncoder[] typeEncoders, int[] sourcePageChannels, List<Page> pages, boolean directEncodingEnabled)
     {
         verify(typeEncoders.length == sourcePageChannels.length, "Source page channels and type encoders must have the same length");
         try {
-            generator.writeStartArray();
+            if (directEncodingEnabled && Arrays.stream(typeEncoders).allMatch(DirectTypeEncoder.class::isInstance)) {
+                writeRowsDirectly(generator, Arrays.copyOf(typeEncoders, typeEncoders.length, DirectTypeEncoder[].class), sourcePageChannels, pages);
+            }
+            else {
+                writeRows(generator, typeEncoders, sourcePageChannels, pages);
+            }
+            generator.flush(); // final flush to have the data written to the output stream
+        }
+        catch (Exception e) {
+            throwableConsumer.accept(new TrinoException(SERIALIZATION_ERROR, "Could not serialize data to JSON", e));
+        }
+    }
+
+    private static void writeRows(JsonGenerator generator, TypeEncoder[] typeEncoders, int[] sourcePageChannels, List<Page> pages)
+            throws IOException
+    {
+        generator.writeStartArray();
+        for (Page page : pages) {
+            Block[] blocks = getBlocks(page, sourcePageChannels);
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                generator.writeStartArray();
+                for (int column = 0; column < typeEncoders.length; column++) {
+                    typeEncoders[column].encode(generator, blocks[column], position);
+                }
+                generator.writeEndArray();
+            }
+        }
+        generator.writeEndArray();
+    }
 
-            for (Page page : pages) {
-                Block[] blocks = new Block[sourcePageChannels.length];
-                for (int i = 0; i < sourcePageChannels.length; i++) {
-                    blocks[i] = page.getBlock(sourcePageChannels[i]);
+    /**
+     * Writes the rows as UTF-8 bytes, without calling the generator for every value. The rows are
+     * passed to the generator as raw values, so it still takes care of the separators between them.
+     */
+    private static void writeRowsDirectly(JsonGenerator generator, DirectTypeEncoder[] typeEncoders, int[] sourcePageChannels, List<Page> pages)
+            throws IOException
+    {
+        JsonBytesBuffer buffer = new JsonBytesBuffer(2 * DIRECT_CHUNK_SIZE);
+        generator.writeStartArray();
+        for (Page page : pages) {
+            Block[] blocks = getBlocks(page, sourcePageChannels);
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                if (buffer.size() > 0) {
+                    buffer.writeChar(',');
                 }
-                for (int position = 0; position < page.getPositionCount(); position++) {
-                    generator.writeStartArray();
-                    for (int column = 0; column < typeEncoders.length; column++) {
-                        typeEncoders[column].encode(generator, blocks[column], position);
+                buffer.writeChar('[');
+                for (int column = 0; column < typeEncoders.length; column++) {
+                    if (column > 0) {
+                        buffer.writeChar(',');
                     }
-                    generator.writeEndArray();
+                    typeEncoders[column].encode(buffer, blocks[column], position);
+                }
+                buffer.writeChar(']');
+                if (buffer.size() >= DIRECT_CHUNK_SIZE) {
+                    buffer.writeRawValueTo(generator);
                 }
             }
-            generator.writeEndArray();
-            generator.flush(); // final flush to have the data written to the output stream
         }
-        catch (Exception e) {
-            throwableConsumer.accept(new TrinoException(SERIALIZATION_ERROR, "Could not serialize data to JSON", e));
+        if (buffer.size() > 0) {
+            buffer.writeRawValueTo(generator);
+        }
+        generator.writeEndArray();
+    }
+
+    private static Block[] getBlocks(Page page, int[] sourcePageChannels)
+    {
+        Block[] blocks = new Block[sourcePageChannels.length];
+        for (int i = 0; i < sourcePageChannels.length; i++) {
+            blocks[i] = page.getBlock(sourcePageChannels[i]);
         }
+        return blocks;
     }
 
     public interface TypeEncoder
@@ -149,8 +211,17 @@ public final class JsonEncodingUtils
                 throws IOException;
     }
 
+    /**
+     * Encoder, which can also write the values directly to a {@link JsonBytesBuffer}, producing the same JSON.
+     */
+    public interface DirectTypeEncoder
+            extends TypeEncoder
+    {
+        void encode(JsonBytesBuffer buffer, Block block, int position);
+    }
+
     private static class BigintEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -162,10 +233,20 @@ public final class JsonEncodingUtils
             }
             generator.writeNumber(BIGINT.getLong(block, position));
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            buffer.writeLong(BIGINT.getLong(block, position));
+        }
     }
 
     private static class IntegerEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -177,10 +258,20 @@ public final class JsonEncodingUtils
             }
             generator.writeNumber(INTEGER.getInt(block, position));
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            buffer.writeLong(INTEGER.getInt(block, position));
+        }
     }
 
     private static class BooleanEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -192,10 +283,20 @@ public final class JsonEncodingUtils
             }
             generator.writeBoolean(BOOLEAN.getBoolean(block, position));
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            buffer.writeBoolean(BOOLEAN.getBoolean(block, position));
+        }
     }
 
     private static class SmallintEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -207,10 +308,20 @@ public final class JsonEncodingUtils
             }
             generator.writeNumber(SMALLINT.getShort(block, position));
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            buffer.writeLong(SMALLINT.getShort(block, position));
+        }
     }
 
     private static class TinyintEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -222,10 +333,20 @@ public final class JsonEncodingUtils
             }
             generator.writeNumber(TINYINT.getByte(block, position));
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            buffer.writeLong(TINYINT.getByte(block, position));
+        }
     }
 
     private static class DoubleEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -237,10 +358,20 @@ public final class JsonEncodingUtils
             }
             generator.writeNumber(DOUBLE.getDouble(block, position));
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            buffer.writeDouble(DOUBLE.getDouble(block, position));
+        }
     }
 
     private static class RealEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -252,10 +383,20 @@ public final class JsonEncodingUtils
             }
             generator.writeNumber(REAL.getFloat(block, position));
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            buffer.writeFloat(REAL.getFloat(block, position));
+        }
     }
 
     private static class VarcharEncoder
-            implements TypeEncoder
+            implements DirectTypeEncoder
     {
         @Override
         public void encode(JsonGenerator generator, Block block, int position)
@@ -268,6 +409,23 @@ public final class JsonEncodingUtils
             Slice slice = VARCHAR.getSlice(block, position);
             generator.writeUTF8String(slice.byteArray(), slice.byteArrayOffset(), slice.length());
         }
+
+        @Override
+        public void encode(JsonBytesBuffer buffer, Block block, int position)
+        {
+            if (block.isNull(position)) {
+                buffer.writeNull();
+                return;
+            }
+            // Optimization: write the bytes straight from the block, without creating a Slice
+            VariableWidthBlock valueBlock = (VariableWidthBlock) block.getUnderlyingValueBlock();
+            int valuePosition = block.getUnderlyingValuePosition(position);
+            Slice rawSlice = valueBlock.getRawSlice();
+            buffer.writeUtf8String(
+                    rawSlice.byteArray(),
+                    rawSlice.byteArrayOffset() + valueBlock.getRawSliceOffset(valuePosition),
+                    valueBlock.getSliceLength(valuePosition));
+        }
     }
 
     private static class CharEncoder
@@ -26,6 +26,9 @@ public class QueryDataEncodingConfig
     private boolean jsonEnabled = true;
     private boolean jsonZstdEnabled = true;
     private boolean jsonLz4Enabled = true;
+    private boolean arrowEnabled;
+    private boolean arrowZstdEnabled;
+    private boolean arrowLz4Enabled;
     private DataSize compressionThreshold = DataSize.of(8, KILOBYTE);
 
     public boolean isJsonEnabled()
@@ -67,6 +70,45 @@ public class QueryDataEncodingConfig
         return this;
     }
 
+    public boolean isArrowEnabled()
+    {
+        return arrowEnabled;
+    }
+
+    @Config("protocol.spooling.encoding.arrow.enabled")
+    @ConfigDescription("Enable uncompressed Arrow spooled encoding")
+    public QueryDataEncodingConfig setArrowEnabled(boolean arrowEnabled)
+    {
+        this.arrowEnabled = arrowEnabled;
+        return this;
+    }
+
+    public boolean isArrowZstdEnabled()
+    {
+        return arrowZstdEnabled;
+    }
+
+    @Config("protocol.spooling.encoding.arrow+zstd.enabled")
+    @ConfigDescription("Enable Zstd compressed Arrow spooled encoding")
+    public QueryDataEncodingConfig setArrowZstdEnabled(boolean arrowZstdEnabled)
+    {
+        this.arrowZstdEnabled = arrowZstdEnabled;
+        return this;
+    }
+
+    public boolean isArrowLz4Enabled()
+    {
+        return arrowLz4Enabled;
+    }
+
+    @Config("protocol.spooling.encoding.arrow+lz4.enabled")
+    @ConfigDescription("Enable LZ4 compressed Arrow spooled encoding")
+    public QueryDataEncodingConfig setArrowLz4Enabled(boolean arrowLz4Enabled)
+    {
+        this.arrowLz4Enabled = arrowLz4Enabled;
+        return this;
+    }
+
     @MinDataSize("1kB")
     @MaxDataSize("4MB")
     public DataSize getCompressionThreshold()
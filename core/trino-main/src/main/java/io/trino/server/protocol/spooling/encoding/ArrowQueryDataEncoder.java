@@ -0,0 +1,533 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.server.protocol.spooling.encoding;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.inject.Inject;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+import io.trino.Session;
+import io.trino.client.spooling.DataAttributes;
+import io.trino.server.protocol.JsonEncodingUtils.TypeEncoder;
+import io.trino.server.protocol.OutputColumn;
+import io.trino.server.protocol.spooling.QueryDataEncoder;
+import io.trino.server.protocol.spooling.QueryDataEncodingConfig;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.type.BigintType;
+import io.trino.spi.type.BooleanType;
+import io.trino.spi.type.CharType;
+import io.trino.spi.type.DoubleType;
+import io.trino.spi.type.IntegerType;
+import io.trino.spi.type.RealType;
+import io.trino.spi.type.SmallintType;
+import io.trino.spi.type.TinyintType;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.VarbinaryType;
+import io.trino.spi.type.VarcharType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.EMPTY_SLICE;
+import static io.trino.client.spooling.DataAttribute.SEGMENT_SIZE;
+import static io.trino.plugin.base.util.JsonUtils.jsonFactory;
+import static io.trino.server.protocol.JsonEncodingUtils.createTypeEncoders;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.Chars.padSpaces;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.RealType.REAL;
+import static io.trino.spi.type.SmallintType.SMALLINT;
+import static io.trino.spi.type.TinyintType.TINYINT;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Encodes segments as Arrow IPC streams, with one record batch per page.
+ * <p>
+ * Boolean, integer, floating point, character and binary columns are written as the corresponding
+ * Arrow types. Columns of all other types are written as Utf8 columns holding the JSON value that
+ * the {@link JsonQueryDataEncoder} would produce, so that they decode to the same client values.
+ */
+public class ArrowQueryDataEncoder
+        implements QueryDataEncoder
+{
+    private static final String ENCODING = "arrow";
+    private static final JsonFactory JSON_FACTORY = jsonFactory();
+
+    private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+    private static final int ALIGNMENT = 8;
+    private static final short METADATA_VERSION_V5 = 4;
+
+    // MessageHeader union
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    // Type union
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_FLOATING_POINT = 3;
+    private static final byte TYPE_BINARY = 4;
+    private static final byte TYPE_UTF8 = 5;
+    private static final byte TYPE_BOOL = 6;
+
+    // Precision enum
+    private static final short PRECISION_SINGLE = 1;
+    private static final short PRECISION_DOUBLE = 2;
+
+    private final ColumnWriter[] columnWriters;
+    private final int[] sourcePageChannels;
+    private final byte[] schemaMessage;
+    private boolean closed;
+
+    public ArrowQueryDataEncoder(Session session, List<OutputColumn> columns)
+    {
+        requireNonNull(columns, "columns is null");
+        TypeEncoder[] typeEncoders = createTypeEncoders(session, columns.stream()
+                .map(OutputColumn::type)
+                .collect(toImmutableList()));
+        this.columnWriters = new ColumnWriter[columns.size()];
+        for (int i = 0; i < columnWriters.length; i++) {
+            columnWriters[i] = createColumnWriter(columns.get(i).type(), typeEncoders[i]);
+        }
+        this.sourcePageChannels = columns.stream()
+                .mapToInt(OutputColumn::sourcePageChannel)
+                .toArray();
+        this.schemaMessage = createSchemaMessage(columns, columnWriters);
+    }
+
+    @Override
+    public DataAttributes encodeTo(OutputStream output, List<Page> pages)
+            throws IOException
+    {
+        verify(!closed, "ArrowQueryDataEncoder is already closed");
+        SliceOutput sliceOutput = new OutputStreamSliceOutput(output);
+        writeMessage(sliceOutput, schemaMessage, List.of(), 0);
+        for (Page page : pages) {
+            writeRecordBatch(sliceOutput, page);
+        }
+        // end of stream
+        sliceOutput.writeInt(CONTINUATION_MARKER);
+        sliceOutput.writeInt(0);
+        sliceOutput.flush();
+        return DataAttributes.builder()
+                .set(SEGMENT_SIZE, sliceOutput.size())
+                .build();
+    }
+
+    private void writeRecordBatch(SliceOutput output, Page page)
+            throws IOException
+    {
+        long[] nodeLengths = new long[columnWriters.length];
+        long[] nodeNullCounts = new long[columnWriters.length];
+        List<Slice> buffers = new ArrayList<>();
+        for (int column = 0; column < columnWriters.length; column++) {
+            Block block = page.getBlock(sourcePageChannels[column]);
+            nodeLengths[column] = block.getPositionCount();
+            nodeNullCounts[column] = writeValidity(block, buffers);
+            columnWriters[column].write(block, buffers);
+        }
+
+        long[] bufferOffsets = new long[buffers.size()];
+        long[] bufferLengths = new long[buffers.size()];
+        long bodyLength = 0;
+        for (int i = 0; i < buffers.size(); i++) {
+            bufferOffsets[i] = bodyLength;
+            bufferLengths[i] = buffers.get(i).length();
+            bodyLength += align(buffers.get(i).length());
+        }
+
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        int nodes = builder.createLongPairVector(nodeLengths, nodeNullCounts);
+        int buffersVector = builder.createLongPairVector(bufferOffsets, bufferLengths);
+        builder.startTable(3);
+        builder.addLongField(0, page.getPositionCount());
+        builder.addOffsetField(1, nodes);
+        builder.addOffsetField(2, buffersVector);
+        int recordBatch = builder.endTable();
+
+        writeMessage(output, createMessage(builder, HEADER_RECORD_BATCH, recordBatch, bodyLength), buffers, bodyLength);
+    }
+
+    private static void writeMessage(SliceOutput output, byte[] metadata, List<Slice> body, long bodyLength)
+    {
+        // the metadata is padded, so that the body which follows the continuation marker and the metadata length is aligned
+        int metadataLength = align(metadata.length);
+        output.writeInt(CONTINUATION_MARKER);
+        output.writeInt(metadataLength);
+        output.writeBytes(metadata);
+        output.writeZero(metadataLength - metadata.length);
+        long written = 0;
+        for (Slice buffer : body) {
+            output.writeBytes(buffer);
+            output.writeZero(align(buffer.length()) - buffer.length());
+            written += align(buffer.length());
+        }
+        verify(written == bodyLength, "Written body length %s does not match expected %s", written, bodyLength);
+    }
+
+    private static byte[] createSchemaMessage(List<OutputColumn> columns, ColumnWriter[] columnWriters)
+    {
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        int[] fields = new int[columns.size()];
+        for (int i = 0; i < fields.length; i++) {
+            int name = builder.createString(columns.get(i).columnName());
+            int type = columnWriters[i].writeType(builder);
+            int children = builder.createOffsetVector(new int[0]);
+            builder.startTable(6);
+            builder.addOffsetField(0, name);
+            builder.addBooleanField(1, true);
+            builder.addByteField(2, columnWriters[i].typeId());
+            builder.addOffsetField(3, type);
+            builder.addOffsetField(5, children);
+            fields[i] = builder.endTable();
+        }
+        int fieldsVector = builder.createOffsetVector(fields);
+        builder.startTable(2);
+        builder.addOffsetField(1, fieldsVector);
+        int schema = builder.endTable();
+        return createMessage(builder, HEADER_SCHEMA, schema, 0);
+    }
+
+    private static byte[] createMessage(FlatBufferBuilder builder, byte headerType, int header, long bodyLength)
+    {
+        builder.startTable(4);
+        builder.addLongField(3, bodyLength);
+        builder.addOffsetField(2, header);
+        builder.addShortField(0, METADATA_VERSION_V5);
+        builder.addByteField(1, headerType);
+        return builder.finish(builder.endTable());
+    }
+
+    private static int writeValidity(Block block, List<Slice> buffers)
+    {
+        if (!block.mayHaveNull()) {
+            buffers.add(EMPTY_SLICE);
+            return 0;
+        }
+        int positionCount = block.getPositionCount();
+        byte[] validity = new byte[(positionCount + 7) / 8];
+        int nullCount = 0;
+        for (int position = 0; position < positionCount; position++) {
+            if (block.isNull(position)) {
+                nullCount++;
+            }
+            else {
+                validity[position >>> 3] |= (byte) (1 << (position & 7));
+            }
+        }
+        // the validity buffer may be omitted when there are no nulls
+        buffers.add(nullCount == 0 ? EMPTY_SLICE : Slices.wrappedBuffer(validity));
+        return nullCount;
+    }
+
+    private static int align(int length)
+    {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private static ColumnWriter createColumnWriter(Type type, TypeEncoder typeEncoder)
+    {
+        return switch (type) {
+            case BooleanType _ -> new BooleanColumnWriter();
+            case TinyintType _ -> new FixedWidthColumnWriter(TYPE_INT, Byte.BYTES, (data, block, position) -> data.setByte(position, TINYINT.getByte(block, position)));
+            case SmallintType _ -> new FixedWidthColumnWriter(TYPE_INT, Short.BYTES, (data, block, position) -> data.setShort(position * Short.BYTES, SMALLINT.getShort(block, position)));
+            case IntegerType _ -> new FixedWidthColumnWriter(TYPE_INT, Integer.BYTES, (data, block, position) -> data.setInt(position * Integer.BYTES, INTEGER.getInt(block, position)));
+            case BigintType _ -> new FixedWidthColumnWriter(TYPE_INT, Long.BYTES, (data, block, position) -> data.setLong(position * Long.BYTES, BIGINT.getLong(block, position)));
+            case RealType _ -> new FixedWidthColumnWriter(TYPE_FLOATING_POINT, Float.BYTES, (data, block, position) -> data.setFloat(position * Float.BYTES, REAL.getFloat(block, position)));
+            case DoubleType _ -> new FixedWidthColumnWriter(TYPE_FLOATING_POINT, Double.BYTES, (data, block, position) -> data.setDouble(position * Double.BYTES, DOUBLE.getDouble(block, position)));
+            case VarcharType varcharType -> new VariableWidthColumnWriter(TYPE_UTF8, varcharType::getSlice);
+            case CharType charType -> new VariableWidthColumnWriter(TYPE_UTF8, (block, position) -> padSpaces(charType.getSlice(block, position), charType.getLength()));
+            case VarbinaryType varbinaryType -> new VariableWidthColumnWriter(TYPE_BINARY, varbinaryType::getSlice);
+            default -> new JsonColumnWriter(typeEncoder);
+        };
+    }
+
+    private interface ColumnWriter
+    {
+        byte typeId();
+
+        /**
+         * Writes the table of the Arrow type, and returns its offset.
+         */
+        int writeType(FlatBufferBuilder builder);
+
+        /**
+         * Adds the buffers of the block, other than the validity buffer.
+         */
+        void write(Block block, List<Slice> buffers)
+                throws IOException;
+    }
+
+    private static class BooleanColumnWriter
+            implements ColumnWriter
+    {
+        @Override
+        public byte typeId()
+        {
+            return TYPE_BOOL;
+        }
+
+        @Override
+        public int writeType(FlatBufferBuilder builder)
+        {
+            builder.startTable(0);
+            return builder.endTable();
+        }
+
+        @Override
+        public void write(Block block, List<Slice> buffers)
+        {
+            int positionCount = block.getPositionCount();
+            byte[] values = new byte[(positionCount + 7) / 8];
+            for (int position = 0; position < positionCount; position++) {
+                if (!block.isNull(position) && BOOLEAN.getBoolean(block, position)) {
+                    values[position >>> 3] |= (byte) (1 << (position & 7));
+                }
+            }
+            buffers.add(Slices.wrappedBuffer(values));
+        }
+    }
+
+    private interface ValueWriter
+    {
+        void write(Slice data, Block block, int position);
+    }
+
+    private static class FixedWidthColumnWriter
+            implements ColumnWriter
+    {
+        private final byte typeId;
+        private final int width;
+        private final ValueWriter valueWriter;
+
+        private FixedWidthColumnWriter(byte typeId, int width, ValueWriter valueWriter)
+        {
+            this.typeId = typeId;
+            this.width = width;
+            this.valueWriter = requireNonNull(valueWriter, "valueWriter is null");
+        }
+
+        @Override
+        public byte typeId()
+        {
+            return typeId;
+        }
+
+        @Override
+        public int writeType(FlatBufferBuilder builder)
+        {
+            if (typeId == TYPE_FLOATING_POINT) {
+                builder.startTable(1);
+                builder.addShortField(0, width == Double.BYTES ? PRECISION_DOUBLE : PRECISION_SINGLE);
+                return builder.endTable();
+            }
+            builder.startTable(2);
+            builder.addIntField(0, width * Byte.SIZE);
+            builder.addBooleanField(1, true);
+            return builder.endTable();
+        }
+
+        @Override
+        public void write(Block block, List<Slice> buffers)
+        {
+            int positionCount = block.getPositionCount();
+            Slice data = Slices.allocate(positionCount * width);
+            for (int position = 0; position < positionCount; position++) {
+                if (!block.isNull(position)) {
+                    valueWriter.write(data, block, position);
+                }
+            }
+            buffers.add(data);
+        }
+    }
+
+    private interface SliceReader
+    {
+        Slice read(Block block, int position);
+    }
+
+    private static class VariableWidthColumnWriter
+            implements ColumnWriter
+    {
+        private final byte typeId;
+        private final SliceReader sliceReader;
+
+        private VariableWidthColumnWriter(byte typeId, SliceReader sliceReader)
+        {
+            this.typeId = typeId;
+            this.sliceReader = requireNonNull(sliceReader, "sliceReader is null");
+        }
+
+        @Override
+        public byte typeId()
+        {
+            return typeId;
+        }
+
+        @Override
+        public int writeType(FlatBufferBuilder builder)
+        {
+            builder.startTable(0);
+            return builder.endTable();
+        }
+
+        @Override
+        public void write(Block block, List<Slice> buffers)
+        {
+            int positionCount = block.getPositionCount();
+            Slice offsets = Slices.allocate((positionCount + 1) * Integer.BYTES);
+            DynamicSliceOutput data = new DynamicSliceOutput(positionCount * 16);
+            for (int position = 0; position < positionCount; position++) {
+                if (!block.isNull(position)) {
+                    data.writeBytes(sliceReader.read(block, position));
+                }
+                offsets.setInt((position + 1) * Integer.BYTES, data.size());
+            }
+            buffers.add(offsets);
+            buffers.add(data.slice());
+        }
+    }
+
+    private static class JsonColumnWriter
+            implements ColumnWriter
+    {
+        private final TypeEncoder typeEncoder;
+
+        private JsonColumnWriter(TypeEncoder typeEncoder)
+        {
+            this.typeEncoder = requireNonNull(typeEncoder, "typeEncoder is null");
+        }
+
+        @Override
+        public byte typeId()
+        {
+            return TYPE_UTF8;
+        }
+
+        @Override
+        public int writeType(FlatBufferBuilder builder)
+        {
+            builder.startTable(0);
+            return builder.endTable();
+        }
+
+        @Override
+        public void write(Block block, List<Slice> buffers)
+                throws IOException
+        {
+            int positionCount = block.getPositionCount();
+            Slice offsets = Slices.allocate((positionCount + 1) * Integer.BYTES);
+            DynamicSliceOutput data = new DynamicSliceOutput(positionCount * 16);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator((OutputStream) data)) {
+                // values are written one after another, without separators
+                generator.setRootValueSeparator(null);
+                for (int position = 0; position < positionCount; position++) {
+                    if (!block.isNull(position)) {
+                        typeEncoder.encode(generator, block, position);
+                        generator.flush();
+                    }
+                    offsets.setInt((position + 1) * Integer.BYTES, data.size());
+                }
+            }
+            buffers.add(offsets);
+            buffers.add(data.slice());
+        }
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        closed = true;
+    }
+
+    @Override
+    public String encoding()
+    {
+        return ENCODING;
+    }
+
+    public static class Factory
+            implements QueryDataEncoder.Factory
+    {
+        @Override
+        public QueryDataEncoder create(Session session, List<OutputColumn> columns)
+        {
+            return new ArrowQueryDataEncoder(session, columns);
+        }
+
+        @Override
+        public String encoding()
+        {
+            return ENCODING;
+        }
+    }
+
+    public static class ZstdFactory
+            extends Factory
+    {
+        private final int compressionThreshold;
+
+        @Inject
+        public ZstdFactory(QueryDataEncodingConfig config)
+        {
+            this.compressionThreshold = toIntExact(config.getCompressionThreshold().toBytes());
+        }
+
+        @Override
+        public QueryDataEncoder create(Session session, List<OutputColumn> columns)
+        {
+            return new ZstdQueryDataEncoder(super.create(session, columns), compressionThreshold);
+        }
+
+        @Override
+        public String encoding()
+        {
+            return super.encoding() + "+zstd";
+        }
+    }
+
+    public static class Lz4Factory
+            extends Factory
+    {
+        private final int compressionThreshold;
+
+        @Inject
+        public Lz4Factory(QueryDataEncodingConfig config)
+        {
+            this.compressionThreshold = toIntExact(config.getCompressionThreshold().toBytes());
+        }
+
+        @Override
+        public QueryDataEncoder create(Session session, List<OutputColumn> columns)
+        {
+            return new Lz4QueryDataEncoder(super.create(session, columns), compressionThreshold);
+        }
+
+        @Override
+        public String encoding()
+        {
+            return super.encoding() + "+lz4";
+        }
+    }
+}
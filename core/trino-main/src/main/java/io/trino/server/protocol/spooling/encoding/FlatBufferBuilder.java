@@ -0,0 +1,278 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.server.protocol.spooling.encoding;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Minimal builder of FlatBuffers, used for the metadata of Arrow IPC messages.
+ * Like the reference implementation, the buffer is built back to front, so children
+ * must be finished before their parent table is started. Vtables are not deduplicated.
+ */
+final class FlatBufferBuilder
+{
+    private byte[] buffer;
+    // data is stored in buffer[space, buffer.length)
+    private int space;
+    private int minAlignment = 1;
+
+    private int[] vtable;
+    private int objectStart;
+    private int vectorLength;
+
+    public FlatBufferBuilder()
+    {
+        this(256);
+    }
+
+    public FlatBufferBuilder(int initialSize)
+    {
+        this.buffer = new byte[initialSize];
+        this.space = initialSize;
+    }
+
+    /**
+     * Offset of the last written value, counted from the end of the buffer.
+     */
+    public int offset()
+    {
+        return buffer.length - space;
+    }
+
+    public void addByte(byte value)
+    {
+        prep(Byte.BYTES, 0);
+        putByte(value);
+    }
+
+    public void addBoolean(boolean value)
+    {
+        addByte((byte) (value ? 1 : 0));
+    }
+
+    public void addShort(short value)
+    {
+        prep(Short.BYTES, 0);
+        putShort(value);
+    }
+
+    public void addInt(int value)
+    {
+        prep(Integer.BYTES, 0);
+        putInt(value);
+    }
+
+    public void addLong(long value)
+    {
+        prep(Long.BYTES, 0);
+        putLong(value);
+    }
+
+    public void addOffset(int offset)
+    {
+        prep(Integer.BYTES, 0);
+        checkState(offset <= offset(), "offset must point to a written value");
+        putInt(offset() - offset + Integer.BYTES);
+    }
+
+    public void startTable(int fieldCount)
+    {
+        checkState(vtable == null, "nested tables are not supported");
+        vtable = new int[fieldCount];
+        objectStart = offset();
+    }
+
+    public void addByteField(int field, byte value)
+    {
+        addByte(value);
+        slot(field);
+    }
+
+    public void addBooleanField(int field, boolean value)
+    {
+        addBoolean(value);
+        slot(field);
+    }
+
+    public void addShortField(int field, short value)
+    {
+        addShort(value);
+        slot(field);
+    }
+
+    public void addIntField(int field, int value)
+    {
+        addInt(value);
+        slot(field);
+    }
+
+    public void addLongField(int field, long value)
+    {
+        addLong(value);
+        slot(field);
+    }
+
+    public void addOffsetField(int field, int offset)
+    {
+        addOffset(offset);
+        slot(field);
+    }
+
+    private void slot(int field)
+    {
+        vtable[field] = offset();
+    }
+
+    public int endTable()
+    {
+        checkState(vtable != null, "table is not started");
+        // placeholder for the offset of the vtable
+        addInt(0);
+        int tableOffset = offset();
+
+        int fieldCount = vtable.length;
+        while (fieldCount > 0 && vtable[fieldCount - 1] == 0) {
+            fieldCount--;
+        }
+        for (int field = fieldCount - 1; field >= 0; field--) {
+            addShort((short) (vtable[field] == 0 ? 0 : tableOffset - vtable[field]));
+        }
+        addShort((short) (tableOffset - objectStart));
+        addShort((short) ((fieldCount + 2) * Short.BYTES));
+
+        // the vtable precedes the table, so the signed offset from the table to the vtable is positive
+        int tablePosition = buffer.length - tableOffset;
+        int value = offset() - tableOffset;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            buffer[tablePosition + i] = (byte) (value >>> (i * 8));
+        }
+        vtable = null;
+        return tableOffset;
+    }
+
+    /**
+     * Starts a vector. Elements must then be added in reverse order.
+     */
+    public void startVector(int elementSize, int elementCount, int alignment)
+    {
+        checkState(vtable == null, "vectors must be created outside of tables");
+        vectorLength = elementCount;
+        prep(Integer.BYTES, elementSize * elementCount);
+        prep(alignment, elementSize * elementCount);
+    }
+
+    public int endVector()
+    {
+        putInt(vectorLength);
+        return offset();
+    }
+
+    public int createOffsetVector(int[] offsets)
+    {
+        startVector(Integer.BYTES, offsets.length, Integer.BYTES);
+        for (int i = offsets.length - 1; i >= 0; i--) {
+            addOffset(offsets[i]);
+        }
+        return endVector();
+    }
+
+    /**
+     * Creates a vector of structs with two long fields.
+     */
+    public int createLongPairVector(long[] first, long[] second)
+    {
+        startVector(2 * Long.BYTES, first.length, Long.BYTES);
+        for (int i = first.length - 1; i >= 0; i--) {
+            prep(Long.BYTES, 2 * Long.BYTES);
+            putLong(second[i]);
+            putLong(first[i]);
+        }
+        return endVector();
+    }
+
+    public int createString(String value)
+    {
+        byte[] bytes = value.getBytes(UTF_8);
+        // strings are zero terminated
+        addByte((byte) 0);
+        startVector(Byte.BYTES, bytes.length, Byte.BYTES);
+        space -= bytes.length;
+        System.arraycopy(bytes, 0, buffer, space, bytes.length);
+        return endVector();
+    }
+
+    public byte[] finish(int rootTable)
+    {
+        prep(minAlignment, Integer.BYTES);
+        addOffset(rootTable);
+        return Arrays.copyOfRange(buffer, space, buffer.length);
+    }
+
+    /**
+     * Aligns the buffer, so that a value of {@code size} bytes is aligned after {@code additionalBytes} bytes are written.
+     */
+    private void prep(int size, int additionalBytes)
+    {
+        minAlignment = max(minAlignment, size);
+        int alignmentPadding = -(offset() + additionalBytes) & (size - 1);
+        int requiredSpace = alignmentPadding + size + additionalBytes;
+        while (space < requiredSpace) {
+            grow();
+        }
+        for (int i = 0; i < alignmentPadding; i++) {
+            putByte((byte) 0);
+        }
+    }
+
+    private void grow()
+    {
+        int used = offset();
+        byte[] newBuffer = new byte[buffer.length * 2];
+        System.arraycopy(buffer, space, newBuffer, newBuffer.length - used, used);
+        space += newBuffer.length - buffer.length;
+        buffer = newBuffer;
+    }
+
+    private void putByte(byte value)
+    {
+        buffer[--space] = value;
+    }
+
+    private void putShort(short value)
+    {
+        space -= Short.BYTES;
+        buffer[space] = (byte) value;
+        buffer[space + 1] = (byte) (value >>> 8);
+    }
+
+    private void putInt(int value)
+    {
+        space -= Integer.BYTES;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            buffer[space + i] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    private void putLong(long value)
+    {
+        space -= Long.BYTES;
+        for (int i = 0; i < Long.BYTES; i++) {
+            buffer[space + i] = (byte) (value >>> (i * 8));
+        }
+    }
+}
@@ -17,6 +17,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Closer;
+import com.google.common.io.CountingInputStream;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
@@ -31,25 +32,37 @@ import io.trino.execution.buffer.PagesSerdeFactory;
 import io.trino.execution.buffer.PagesSerdeUtil;
 import io.trino.memory.context.LocalMemoryContext;
 import io.trino.operator.SpillContext;
+import io.trino.operator.WorkProcessor;
+import io.trino.operator.WorkProcessor.ProcessState;
 import io.trino.spi.Page;
 import io.trino.spi.TrinoException;
 
 import javax.crypto.SecretKey;
 
+import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static com.google.common.util.concurrent.MoreExecutors.newSequentialExecutor;
+import static io.airlift.concurrent.MoreFutures.asVoid;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.trino.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static io.trino.spiller.FileSingleStreamSpillerFactory.SPILL_FILE_PREFIX;
 import static io.trino.spiller.FileSingleStreamSpillerFactory.SPILL_FILE_SUFFIX;
@@ -73,10 +86,13 @@ public class FileSingleStreamSpiller
     private final LocalMemoryContext memoryContext;
 
     private final ListeningExecutorService executor;
+    private final int readAheadPages;
 
     private final AtomicBoolean writable = new AtomicBoolean(true);
     private final AtomicLong spilledPagesInMemorySize = new AtomicLong();
     private ListenableFuture<DataSize> spillInProgress = immediateFuture(DataSize.ofBytes(0L));
+    // pages read ahead by the spill executor, accessed by the driver thread only
+    private final Deque<ListenableFuture<Optional<Page>>> pendingReads = new ArrayDeque<>();
 
     private final Runnable fileSystemErrorHandler;
 
@@ -84,6 +100,7 @@ public class FileSingleStreamSpiller
             PagesSerdeFactory serdeFactory,
             Optional<SecretKey> encryptionKey,
             ListeningExecutorService executor,
+            int readAheadPages,
             Path spillPath,
             SpillerStats spillerStats,
             SpillContext spillContext,
@@ -94,6 +111,8 @@ public class FileSingleStreamSpiller
         this.encryptionKey = requireNonNull(encryptionKey, "encryptionKey is null");
         this.encrypted = encryptionKey.isPresent();
         this.executor = requireNonNull(executor, "executor is null");
+        checkArgument(readAheadPages >= 0, "readAheadPages is negative");
+        this.readAheadPages = readAheadPages;
         this.spillerStats = requireNonNull(spillerStats, "spillerStats is null");
         this.localSpillContext = spillContext.newLocalSpillContext();
         this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
@@ -123,7 +142,7 @@ public class FileSingleStreamSpiller
     {
         requireNonNull(pageIterator, "pageIterator is null");
         checkNoSpillInProgress();
-        spillInProgress = Futures.submit(() -> writePages(pageIterator), executor);
+        spillInProgress = submit(() -> writePages(pageIterator), executor);
         return spillInProgress;
     }
 
@@ -140,10 +159,21 @@ public class FileSingleStreamSpiller
         return readPages();
     }
 
+    @Override
+    public WorkProcessor<Page> getSpilledPagesWithReadAhead()
+    {
+        checkNoSpillInProgress();
+        return readAhead(readPages());
+    }
+
     @Override
     public ListenableFuture<List<Page>> getAllSpilledPages()
     {
-        return executor.submit(() -> ImmutableList.copyOf(getSpilledPages()));
+        // pages are read in a single task, as read ahead tasks could wait for this one in the spill executor queue
+        return submit(() -> {
+            checkNoSpillInProgress();
+            return ImmutableList.copyOf(readPages());
+        }, executor);
     }
 
     private DataSize writePages(Iterator<Page> pageIterator)
@@ -184,8 +214,9 @@ public class FileSingleStreamSpiller
             PageDeserializer deserializer = serdeFactory.createDeserializer(encryptionKey);
             // encryption key is safe to discard since it now belongs to the PageDeserializer and repeated reads are disallowed
             this.encryptionKey = Optional.empty();
-            InputStream input = closer.register(targetFile.newInputStream());
-            Iterator<Page> pages = PagesSerdeUtil.readPages(deserializer, input);
+            // buffer reads, so that merging many spilled streams does not issue a small read for every page header
+            CountingInputStream input = new CountingInputStream(closer.register(new BufferedInputStream(targetFile.newInputStream(), BUFFER_SIZE)));
+            Iterator<Page> pages = countReadBytes(PagesSerdeUtil.readPages(deserializer, input), input);
             return closeWhenExhausted(pages, input);
         }
         catch (IOException e) {
@@ -198,6 +229,8 @@ public class FileSingleStreamSpiller
     public void close()
     {
         encryptionKey = Optional.empty();
+        pendingReads.forEach(pendingRead -> pendingRead.cancel(false));
+        pendingReads.clear();
 
         closer.register(localSpillContext);
         closer.register(() -> memoryContext.setBytes(0));
@@ -210,6 +243,77 @@ public class FileSingleStreamSpiller
         }
     }
 
+    private Iterator<Page> countReadBytes(Iterator<Page> pages, CountingInputStream input)
+    {
+        return new AbstractIterator<>()
+        {
+            private long readBytes;
+
+            @Override
+            protected Page computeNext()
+            {
+                if (!pages.hasNext()) {
+                    return endOfData();
+                }
+                Page page = pages.next();
+                spillerStats.addToReadBytes(input.getCount() - readBytes);
+                readBytes = input.getCount();
+                return page;
+            }
+        };
+    }
+
+    /**
+     * Reads up to {@code readAheadPages} pages ahead of the consumer on the spill executor, so that
+     * deserialization and disk reads of a spilled stream overlap with processing of its pages.
+     * The returned processor is blocked while the next page is being read.
+     */
+    private WorkProcessor<Page> readAhead(Iterator<Page> pages)
+    {
+        if (readAheadPages == 0) {
+            return WorkProcessor.fromIterator(pages);
+        }
+
+        // pages iterator is not thread safe, so its reads must not run concurrently
+        Executor sequentialExecutor = newSequentialExecutor(executor);
+        return WorkProcessor.create(() -> {
+            while (pendingReads.size() <= readAheadPages) {
+                pendingReads.add(submit(() -> pages.hasNext() ? Optional.of(pages.next()) : Optional.empty(), sequentialExecutor));
+            }
+
+            ListenableFuture<Optional<Page>> nextRead = pendingReads.element();
+            if (!nextRead.isDone()) {
+                return ProcessState.blocked(asVoid(nextRead));
+            }
+
+            Optional<Page> page = getFutureValue(pendingReads.remove());
+            if (page.isEmpty()) {
+                // remaining reads would find the stream exhausted as well
+                pendingReads.forEach(pendingRead -> pendingRead.cancel(false));
+                pendingReads.clear();
+                memoryContext.setBytes(BUFFER_SIZE);
+                return ProcessState.finished();
+            }
+
+            long readAheadBytes = pendingReads.stream()
+                    .filter(Future::isDone)
+                    .map(Futures::getUnchecked)
+                    .flatMap(Optional::stream)
+                    .mapToLong(Page::getRetainedSizeInBytes)
+                    .sum();
+            memoryContext.setBytes(BUFFER_SIZE + readAheadBytes);
+            return ProcessState.ofResult(page.get());
+        });
+    }
+
+    private <T> ListenableFuture<T> submit(Callable<T> task, Executor executor)
+    {
+        spillerStats.operationQueued();
+        ListenableFuture<T> future = Futures.submit(task, executor);
+        future.addListener(spillerStats::operationFinished, directExecutor());
+        return future;
+    }
+
     private void checkNoSpillInProgress()
     {
         checkState(spillInProgress.isDone(), "spill in progress");
@@ -80,6 +80,7 @@ public class FileSingleStreamSpillerFactory
     private final SpillerStats spillerStats;
     private final double maxUsedSpaceThreshold;
     private final boolean spillEncryptionEnabled;
+    private final int readAheadPages;
     private int roundRobinIndex;
     private final NonKeyEvictableLoadingCache<Path, Boolean> spillPathHealthCache;
 
@@ -95,7 +96,8 @@ public class FileSingleStreamSpillerFactory
                 featuresConfig.getSpillerSpillPaths(),
                 featuresConfig.getSpillMaxUsedSpaceThreshold(),
                 nodeSpillConfig.getSpillCompressionCodec(),
-                nodeSpillConfig.isSpillEncryptionEnabled());
+                nodeSpillConfig.isSpillEncryptionEnabled(),
+                nodeSpillConfig.getSpillReadAheadPages());
     }
 
     @VisibleForTesting
@@ -107,6 +109,20 @@ public class FileSingleStreamSpillerFactory
             double maxUsedSpaceThreshold,
             CompressionCodec compressionCodec,
             boolean spillEncryptionEnabled)
+    {
+        this(executor, blockEncodingSerde, spillerStats, spillPaths, maxUsedSpaceThreshold, compressionCodec, spillEncryptionEnabled, new NodeSpillConfig().getSpillReadAheadPages());
+    }
+
+    @VisibleForTesting
+    public FileSingleStreamSpillerFactory(
+            ListeningExecutorService executor,
+            BlockEncodingSerde blockEncodingSerde,
+            SpillerStats spillerStats,
+            List<Path> spillPaths,
+            double maxUsedSpaceThreshold,
+            CompressionCodec compressionCodec,
+            boolean spillEncryptionEnabled,
+            int readAheadPages)
     {
         this.serdeFactory = createSpillingPagesSerdeFactory(blockEncodingSerde, compressionCodec);
         this.executor = requireNonNull(executor, "executor is null");
@@ -126,6 +142,7 @@ public class FileSingleStreamSpillerFactory
         });
         this.maxUsedSpaceThreshold = maxUsedSpaceThreshold;
         this.spillEncryptionEnabled = spillEncryptionEnabled;
+        this.readAheadPages = readAheadPages;
         this.roundRobinIndex = 0;
 
         this.spillPathHealthCache = buildNonEvictableCacheWithWeakInvalidateAll(
@@ -172,6 +189,7 @@ public class FileSingleStreamSpillerFactory
                 serdeFactory,
                 encryptionKey,
                 executor,
+                readAheadPages,
                 getNextSpillPath(),
                 spillerStats,
                 spillContext,
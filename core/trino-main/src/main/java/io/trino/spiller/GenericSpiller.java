@@ -13,12 +13,15 @@
  */
 package io.trino.spiller;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.Closer;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.units.DataSize;
 import io.trino.annotation.NotThreadSafe;
 import io.trino.memory.context.AggregatedMemoryContext;
+import io.trino.memory.context.LocalMemoryContext;
 import io.trino.operator.SpillContext;
+import io.trino.operator.WorkProcessor;
 import io.trino.spi.Page;
 import io.trino.spi.type.Type;
 
@@ -26,9 +29,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static io.trino.spi.block.PageBuilderStatus.DEFAULT_MAX_PAGE_SIZE_IN_BYTES;
+import static java.lang.Math.max;
+import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -40,51 +48,121 @@ public class GenericSpiller
     private final SpillContext spillContext;
     private final AggregatedMemoryContext aggregatedMemoryContext;
     private final SingleStreamSpillerFactory singleStreamSpillerFactory;
-    private final Closer closer = Closer.create();
+    private final int mergeFanIn;
+    private final LocalMemoryContext mergeMemoryContext;
     private ListenableFuture<DataSize> previousSpill = immediateFuture(DataSize.ofBytes(0));
     private final List<SingleStreamSpiller> singleStreamSpillers = new ArrayList<>();
+    // spillers read by the previous merge, closed by the driver thread once the merge has finished
+    private final List<SingleStreamSpiller> mergedSpillers = new ArrayList<>();
 
     public GenericSpiller(
             List<Type> types,
             SpillContext spillContext,
             AggregatedMemoryContext aggregatedMemoryContext,
-            SingleStreamSpillerFactory singleStreamSpillerFactory)
+            SingleStreamSpillerFactory singleStreamSpillerFactory,
+            int mergeFanIn)
     {
+        checkArgument(mergeFanIn >= 2, "mergeFanIn must be at least 2");
         this.types = requireNonNull(types, "types cannot be null");
         this.spillContext = requireNonNull(spillContext, "spillContext cannot be null");
         this.aggregatedMemoryContext = requireNonNull(aggregatedMemoryContext, "aggregatedMemoryContext cannot be null");
         this.singleStreamSpillerFactory = requireNonNull(singleStreamSpillerFactory, "singleStreamSpillerFactory cannot be null");
+        this.mergeFanIn = mergeFanIn;
+        this.mergeMemoryContext = aggregatedMemoryContext.newLocalMemoryContext(GenericSpiller.class.getSimpleName());
     }
 
     @Override
     public ListenableFuture<DataSize> spill(Iterator<Page> pageIterator)
     {
         checkNoSpillInProgress();
+        releaseMergedSpillers();
+        previousSpill = createSingleStreamSpiller().spill(pageIterator);
+        return previousSpill;
+    }
+
+    @Override
+    public ListenableFuture<DataSize> spillSorted(Iterator<Page> pageIterator, Function<List<Iterator<Page>>, Iterator<Page>> merger)
+    {
+        checkNoSpillInProgress();
+        releaseMergedSpillers();
+        // keep at most mergeFanIn - 1 spilled streams, so that the final merge together with the in-memory stream reads at most mergeFanIn streams
+        if (singleStreamSpillers.size() < mergeFanIn - 1) {
+            return spill(pageIterator);
+        }
+
+        // merge the new stream with the smallest half of spilled streams, so that large streams are rewritten as rarely as possible
+        singleStreamSpillers.stream()
+                .sorted(comparingLong(SingleStreamSpiller::getSpilledPagesInMemorySize))
+                .limit(max(1, singleStreamSpillers.size() / 2))
+                .forEach(mergedSpillers::add);
+        singleStreamSpillers.removeAll(mergedSpillers);
+
+        List<Iterator<Page>> mergedStreams = ImmutableList.<Iterator<Page>>builder()
+                .add(pageIterator)
+                .addAll(mergedSpillers.stream()
+                        // merged streams are read by the spill executor task writing the merged stream, so they are not read ahead
+                        .map(SingleStreamSpiller::getSpilledPages)
+                        .iterator())
+                .build();
+        // the merge runs on the spill executor, which must not update memory contexts, so reserve a page
+        // for every merged spilled stream and for the output page up front
+        mergeMemoryContext.setBytes((mergedSpillers.size() + 1L) * DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        previousSpill = createSingleStreamSpiller().spill(merger.apply(mergedStreams));
+        return previousSpill;
+    }
+
+    private SingleStreamSpiller createSingleStreamSpiller()
+    {
         SingleStreamSpiller singleStreamSpiller = singleStreamSpillerFactory.create(types, spillContext, aggregatedMemoryContext.newLocalMemoryContext(GenericSpiller.class.getSimpleName()));
-        closer.register(singleStreamSpiller);
         singleStreamSpillers.add(singleStreamSpiller);
-        previousSpill = singleStreamSpiller.spill(pageIterator);
-        return previousSpill;
+        return singleStreamSpiller;
     }
 
     @Override
     public List<Iterator<Page>> getSpills()
     {
         checkNoSpillInProgress();
+        releaseMergedSpillers();
         return singleStreamSpillers.stream()
                 .map(SingleStreamSpiller::getSpilledPages)
                 .collect(toList());
     }
 
+    @Override
+    public List<WorkProcessor<Page>> getSpillsWithReadAhead()
+    {
+        checkNoSpillInProgress();
+        releaseMergedSpillers();
+        return singleStreamSpillers.stream()
+                .map(SingleStreamSpiller::getSpilledPagesWithReadAhead)
+                .collect(toList());
+    }
+
     @Override
     public void close()
     {
+        Closer closer = Closer.create();
+        singleStreamSpillers.forEach(closer::register);
+        mergedSpillers.forEach(closer::register);
+        closer.register(mergeMemoryContext::close);
         try {
             closer.close();
         }
         catch (IOException e) {
             throw new RuntimeException("could not close some single stream spillers", e);
         }
+        finally {
+            singleStreamSpillers.clear();
+            mergedSpillers.clear();
+        }
+    }
+
+    private void releaseMergedSpillers()
+    {
+        // merged streams were fully read once the merged stream is spilled, so their files can be released early
+        mergedSpillers.forEach(SingleStreamSpiller::close);
+        mergedSpillers.clear();
+        mergeMemoryContext.setBytes(0);
     }
 
     private void checkNoSpillInProgress()
@@ -26,16 +26,23 @@ public class GenericSpillerFactory
         implements SpillerFactory
 {
     private final SingleStreamSpillerFactory singleStreamSpillerFactory;
+    private final int mergeFanIn;
 
-    @Inject
     public GenericSpillerFactory(SingleStreamSpillerFactory singleStreamSpillerFactory)
+    {
+        this(singleStreamSpillerFactory, new NodeSpillConfig());
+    }
+
+    @Inject
+    public GenericSpillerFactory(SingleStreamSpillerFactory singleStreamSpillerFactory, NodeSpillConfig nodeSpillConfig)
     {
         this.singleStreamSpillerFactory = requireNonNull(singleStreamSpillerFactory, "singleStreamSpillerFactory cannot be null");
+        this.mergeFanIn = nodeSpillConfig.getSpillMergeFanIn();
     }
 
     @Override
     public Spiller create(List<Type> types, SpillContext localSpillContext, AggregatedMemoryContext aggregatedMemoryContext)
     {
-        return new GenericSpiller(types, localSpillContext, aggregatedMemoryContext, singleStreamSpillerFactory);
+        return new GenericSpiller(types, localSpillContext, aggregatedMemoryContext, singleStreamSpillerFactory, mergeFanIn);
     }
 }
@@ -19,6 +19,7 @@ import io.airlift.configuration.DefunctConfig;
 import io.airlift.configuration.LegacyConfig;
 import io.airlift.units.DataSize;
 import io.trino.execution.buffer.CompressionCodec;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import static io.trino.execution.buffer.CompressionCodec.LZ4;
@@ -32,6 +33,8 @@ public class NodeSpillConfig
 
     private CompressionCodec spillCompressionCodec = NONE;
     private boolean spillEncryptionEnabled;
+    private int spillMergeFanIn = 64;
+    private int spillReadAheadPages = 2;
 
     @NotNull
     public DataSize getMaxSpillPerNode()
@@ -94,4 +97,32 @@ public class NodeSpillConfig
         this.spillEncryptionEnabled = spillEncryptionEnabled;
         return this;
     }
+
+    @Min(2)
+    public int getSpillMergeFanIn()
+    {
+        return spillMergeFanIn;
+    }
+
+    @Config("spill-merge-fan-in")
+    @ConfigDescription("Maximum number of sorted spill files that are merged at once")
+    public NodeSpillConfig setSpillMergeFanIn(int spillMergeFanIn)
+    {
+        this.spillMergeFanIn = spillMergeFanIn;
+        return this;
+    }
+
+    @Min(0)
+    public int getSpillReadAheadPages()
+    {
+        return spillReadAheadPages;
+    }
+
+    @Config("spill-read-ahead-pages")
+    @ConfigDescription("Number of spilled pages read asynchronously ahead of the operator consuming them")
+    public NodeSpillConfig setSpillReadAheadPages(int spillReadAheadPages)
+    {
+        this.spillReadAheadPages = spillReadAheadPages;
+        return this;
+    }
 }
@@ -15,6 +15,7 @@ package io.trino.spiller;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.units.DataSize;
+import io.trino.operator.WorkProcessor;
 import io.trino.spi.Page;
 
 import java.io.Closeable;
@@ -48,6 +49,16 @@ public interface SingleStreamSpiller
      */
     Iterator<Page> getSpilledPages();
 
+    /**
+     * Same as {@link #getSpilledPages()}, but pages may be read ahead in the background. The returned
+     * processor is blocked, instead of blocking the consuming thread, while the next page is being read.
+     * Must not be used when pages are consumed by a task running on the spill executor.
+     */
+    default WorkProcessor<Page> getSpilledPagesWithReadAhead()
+    {
+        return WorkProcessor.fromIterator(getSpilledPages());
+    }
+
     /**
      * Returns estimate size of pages that would be returned by {@link #getAllSpilledPages()}.
      */
@@ -15,11 +15,15 @@ package io.trino.spiller;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.units.DataSize;
+import io.trino.operator.WorkProcessor;
 import io.trino.spi.Page;
 
 import java.io.Closeable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
 
 public interface Spiller
         extends Closeable
@@ -29,11 +33,33 @@ public interface Spiller
      */
     ListenableFuture<DataSize> spill(Iterator<Page> pageIterator);
 
+    /**
+     * Initiate spilling of sorted pages stream. Spiller may merge the stream with some of the previously
+     * spilled streams using {@code merger}, which must merge sorted streams into a single sorted stream.
+     * This bounds the number of streams returned by {@link #getSpills()}, and therefore the memory needed
+     * to merge them. Returns completed future once spilling has finished.
+     */
+    default ListenableFuture<DataSize> spillSorted(Iterator<Page> pageIterator, Function<List<Iterator<Page>>, Iterator<Page>> merger)
+    {
+        return spill(pageIterator);
+    }
+
     /**
      * Returns list of previously spilled Pages streams.
      */
     List<Iterator<Page>> getSpills();
 
+    /**
+     * Same as {@link #getSpills()}, but pages may be read ahead in the background. Returned processors
+     * are blocked while their next page is being read.
+     */
+    default List<WorkProcessor<Page>> getSpillsWithReadAhead()
+    {
+        return getSpills().stream()
+                .map(WorkProcessor::fromIterator)
+                .collect(toImmutableList());
+    }
+
     /**
      * Close releases/removes all underlying resources used during spilling
      * like for example all created temporary files.
@@ -13,13 +13,18 @@
  */
 package io.trino.spiller;
 
+import io.airlift.stats.CounterStat;
 import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import java.util.concurrent.atomic.AtomicLong;
 
 public class SpillerStats
 {
     protected final AtomicLong totalSpilledBytes = new AtomicLong();
+    private final CounterStat writtenBytes = new CounterStat();
+    private final CounterStat readBytes = new CounterStat();
+    private final AtomicLong queuedOperations = new AtomicLong();
 
     @Managed
     public long getTotalSpilledBytes()
@@ -30,5 +35,44 @@ public class SpillerStats
     public void addToTotalSpilledBytes(long delta)
     {
         totalSpilledBytes.addAndGet(delta);
+        writtenBytes.update(delta);
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getWrittenBytes()
+    {
+        return writtenBytes;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getReadBytes()
+    {
+        return readBytes;
+    }
+
+    public void addToReadBytes(long delta)
+    {
+        readBytes.update(delta);
+    }
+
+    /**
+     * Number of spill writes and reads submitted to the spill executor that have not finished yet.
+     */
+    @Managed
+    public long getQueuedOperations()
+    {
+        return queuedOperations.get();
+    }
+
+    public void operationQueued()
+    {
+        queuedOperations.incrementAndGet();
+    }
+
+    public void operationFinished()
+    {
+        queuedOperations.decrementAndGet();
     }
 }
@@ -28,35 +28,40 @@ import io.trino.spi.connector.EmptyPageSource;
 import io.trino.spi.predicate.TupleDomain;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.trino.SystemSessionProperties.isAllowPushdownIntoConnectors;
+import static io.trino.SystemSessionProperties.isSplitResultCacheEnabled;
 import static java.util.Objects.requireNonNull;
 
 public class PageSourceManager
         implements PageSourceProviderFactory
 {
     private final CatalogServiceProvider<ConnectorPageSourceProviderFactory> pageSourceProviderFactory;
+    private final SplitResultCache splitResultCache;
 
     @Inject
-    public PageSourceManager(CatalogServiceProvider<ConnectorPageSourceProviderFactory> pageSourceProviderFactory)
+    public PageSourceManager(CatalogServiceProvider<ConnectorPageSourceProviderFactory> pageSourceProviderFactory, SplitResultCache splitResultCache)
     {
         this.pageSourceProviderFactory = requireNonNull(pageSourceProviderFactory, "pageSourceProviderFactory is null");
+        this.splitResultCache = requireNonNull(splitResultCache, "splitResultCache is null");
     }
 
     @Override
     public PageSourceProvider createPageSourceProvider(CatalogHandle catalogHandle)
     {
         ConnectorPageSourceProviderFactory provider = pageSourceProviderFactory.getService(catalogHandle);
-        return new PageSourceProviderInstance(provider.createPageSourceProvider());
+        return new PageSourceProviderInstance(provider.createPageSourceProvider(), splitResultCache);
     }
 
-    private record PageSourceProviderInstance(ConnectorPageSourceProvider pageSourceProvider)
+    private record PageSourceProviderInstance(ConnectorPageSourceProvider pageSourceProvider, SplitResultCache splitResultCache)
             implements PageSourceProvider
     {
         private PageSourceProviderInstance
         {
             requireNonNull(pageSourceProvider, "pageSourceProvider is null");
+            requireNonNull(splitResultCache, "splitResultCache is null");
         }
 
         @Override
@@ -76,13 +81,18 @@ public class PageSourceManager
             if (!isAllowPushdownIntoConnectors(session)) {
                 dynamicFilter = DynamicFilter.EMPTY;
             }
-            return pageSourceProvider.createPageSource(
+            DynamicFilter connectorDynamicFilter = dynamicFilter;
+            Supplier<ConnectorPageSource> pageSourceSupplier = () -> pageSourceProvider.createPageSource(
                     table.transaction(),
                     session.toConnectorSession(table.catalogHandle()),
                     split.getConnectorSplit(),
                     table.connectorHandle(),
                     columns,
-                    dynamicFilter);
+                    connectorDynamicFilter);
+            if (!isSplitResultCacheEnabled(session)) {
+                return pageSourceSupplier.get();
+            }
+            return splitResultCache.createPageSource(split, table, columns, connectorDynamicFilter, pageSourceSupplier);
         }
     }
 }
@@ -0,0 +1,328 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.metadata.Split;
+import io.trino.metadata.TableHandle;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.connector.CatalogHandle;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.connector.ConnectorTableHandle;
+import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.connector.FixedPageSource;
+import io.trino.spi.connector.SourcePage;
+import io.trino.spi.metrics.Metrics;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Node-wide cache of the pages read for table scan splits. A split is cached only when its connector
+ * provides {@link io.trino.spi.connector.ConnectorSplit#getCacheSplitId()} and no dynamic filter is
+ * applied to the scan, since the page source output would then depend on filters collected by the query.
+ */
+public class SplitResultCache
+{
+    private final boolean enabled;
+    private final long maxEntrySizeInBytes;
+    private final Cache<CacheKey, CachedPages> cache;
+    private final CacheStatsMBean cacheStats;
+
+    @Inject
+    public SplitResultCache(SplitResultCacheConfig config)
+    {
+        this.enabled = config.isEnabled();
+        this.maxEntrySizeInBytes = config.getMaxEntrySize().toBytes();
+        this.cache = EvictableCacheBuilder.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((CacheKey _, CachedPages pages) -> toIntExact(pages.retainedSizeInBytes()))
+                .expireAfterWrite(config.getTtl().toJavaTime())
+                .recordStats()
+                .build();
+        this.cacheStats = new CacheStatsMBean(cache);
+    }
+
+    public ConnectorPageSource createPageSource(
+            Split split,
+            TableHandle table,
+            List<ColumnHandle> columns,
+            DynamicFilter dynamicFilter,
+            Supplier<ConnectorPageSource> pageSourceSupplier)
+    {
+        if (!enabled || !dynamicFilter.getColumnsCovered().isEmpty()) {
+            return pageSourceSupplier.get();
+        }
+        Optional<String> splitId = split.getConnectorSplit().getCacheSplitId();
+        if (splitId.isEmpty()) {
+            return pageSourceSupplier.get();
+        }
+
+        CacheKey key = new CacheKey(table.catalogHandle(), table.connectorHandle(), columns, splitId.get());
+        CachedPages cachedPages = cache.getIfPresent(key);
+        if (cachedPages != null) {
+            return new FixedPageSource(cachedPages.pages());
+        }
+        return new CachingPageSource(pageSourceSupplier.get(), key);
+    }
+
+    @Managed
+    public long getRetainedSizeInBytes()
+    {
+        return cache.asMap().values().stream()
+                .mapToLong(CachedPages::retainedSizeInBytes)
+                .sum();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return cacheStats;
+    }
+
+    private record CacheKey(CatalogHandle catalogHandle, ConnectorTableHandle table, List<ColumnHandle> columns, String splitId)
+    {
+        private CacheKey
+        {
+            requireNonNull(catalogHandle, "catalogHandle is null");
+            requireNonNull(table, "table is null");
+            columns = ImmutableList.copyOf(columns);
+            requireNonNull(splitId, "splitId is null");
+        }
+    }
+
+    private record CachedPages(List<Page> pages, long retainedSizeInBytes)
+    {
+        private CachedPages
+        {
+            pages = ImmutableList.copyOf(pages);
+        }
+    }
+
+    private class CachingPageSource
+            implements ConnectorPageSource
+    {
+        private final ConnectorPageSource delegate;
+        private final CacheKey key;
+
+        private List<Page> pages = new ArrayList<>();
+        private long retainedSizeInBytes;
+        private RecordingSourcePage currentPage;
+
+        private CachingPageSource(ConnectorPageSource delegate, CacheKey key)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.key = requireNonNull(key, "key is null");
+        }
+
+        @Override
+        public long getCompletedBytes()
+        {
+            return delegate.getCompletedBytes();
+        }
+
+        @Override
+        public OptionalLong getCompletedPositions()
+        {
+            return delegate.getCompletedPositions();
+        }
+
+        @Override
+        public long getReadTimeNanos()
+        {
+            return delegate.getReadTimeNanos();
+        }
+
+        @Override
+        public boolean isFinished()
+        {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public SourcePage getNextSourcePage()
+        {
+            recordCurrentPage();
+            SourcePage sourcePage = delegate.getNextSourcePage();
+            if (sourcePage == null || pages == null) {
+                return sourcePage;
+            }
+            currentPage = new RecordingSourcePage(sourcePage);
+            return currentPage;
+        }
+
+        private void recordCurrentPage()
+        {
+            if (currentPage == null) {
+                return;
+            }
+            Optional<Page> page = currentPage.getLoadedPage();
+            currentPage = null;
+            if (pages == null) {
+                return;
+            }
+            if (page.isEmpty()) {
+                // the reader skipped some of the columns, and loading them only for the cache would defeat lazy loading
+                pages = null;
+                return;
+            }
+            retainedSizeInBytes += page.get().getRetainedSizeInBytes();
+            if (retainedSizeInBytes > maxEntrySizeInBytes) {
+                // split output is too large to be cached
+                pages = null;
+            }
+            else {
+                pages.add(page.get());
+            }
+        }
+
+        @Override
+        public long getMemoryUsage()
+        {
+            return delegate.getMemoryUsage() + (pages == null ? 0 : retainedSizeInBytes);
+        }
+
+        @Override
+        public CompletableFuture<?> isBlocked()
+        {
+            return delegate.isBlocked();
+        }
+
+        @Override
+        public Metrics getMetrics()
+        {
+            return delegate.getMetrics();
+        }
+
+        @Override
+        public void close()
+                throws IOException
+        {
+            recordCurrentPage();
+            // only cache the complete output of the split, and not one cut short by a limit or a failure
+            if (pages != null && delegate.isFinished()) {
+                cache.put(key, new CachedPages(pages, retainedSizeInBytes));
+            }
+            pages = null;
+            delegate.close();
+        }
+    }
+
+    /**
+     * Records the blocks the reader loads for all positions of the page, so that a page is cached
+     * only when all of its columns were loaded before positions were selected.
+     */
+    private static class RecordingSourcePage
+            implements SourcePage
+    {
+        private final SourcePage delegate;
+        private final int positionCount;
+        private final Block[] loadedBlocks;
+        private boolean positionsSelected;
+
+        private RecordingSourcePage(SourcePage delegate)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.positionCount = delegate.getPositionCount();
+            this.loadedBlocks = new Block[delegate.getChannelCount()];
+        }
+
+        @Override
+        public int getPositionCount()
+        {
+            return delegate.getPositionCount();
+        }
+
+        @Override
+        public long getSizeInBytes()
+        {
+            return delegate.getSizeInBytes();
+        }
+
+        @Override
+        public long getRetainedSizeInBytes()
+        {
+            return delegate.getRetainedSizeInBytes();
+        }
+
+        @Override
+        public void retainedBytesForEachPart(ObjLongConsumer<Object> consumer)
+        {
+            delegate.retainedBytesForEachPart(consumer);
+        }
+
+        @Override
+        public int getChannelCount()
+        {
+            return delegate.getChannelCount();
+        }
+
+        @Override
+        public Block getBlock(int channel)
+        {
+            Block block = delegate.getBlock(channel);
+            if (!positionsSelected) {
+                loadedBlocks[channel] = block;
+            }
+            return block;
+        }
+
+        @Override
+        public Page getPage()
+        {
+            Page page = delegate.getPage();
+            if (!positionsSelected) {
+                for (int channel = 0; channel < loadedBlocks.length; channel++) {
+                    loadedBlocks[channel] = page.getBlock(channel);
+                }
+            }
+            return page;
+        }
+
+        @Override
+        public void selectPositions(int[] positions, int offset, int size)
+        {
+            positionsSelected = true;
+            delegate.selectPositions(positions, offset, size);
+        }
+
+        public Optional<Page> getLoadedPage()
+        {
+            for (Block block : loadedBlocks) {
+                if (block == null) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(new Page(positionCount, loadedBlocks));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.airlift.units.MaxDataSize;
+import io.airlift.units.MinDuration;
+import jakarta.validation.constraints.NotNull;
+
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.HOURS;
+
+public class SplitResultCacheConfig
+{
+    private boolean enabled;
+    private DataSize maxSize = DataSize.of(1, GIGABYTE);
+    private DataSize maxEntrySize = DataSize.of(16, MEGABYTE);
+    private Duration ttl = new Duration(1, HOURS);
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Config("split-result-cache.enabled")
+    @ConfigDescription("Cache pages read for splits of connectors that provide a split cache identifier")
+    public SplitResultCacheConfig setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getMaxSize()
+    {
+        return maxSize;
+    }
+
+    @Config("split-result-cache.max-size")
+    @ConfigDescription("Maximum retained size of cached pages on a node")
+    public SplitResultCacheConfig setMaxSize(DataSize maxSize)
+    {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    @NotNull
+    @MaxDataSize("1GB")
+    public DataSize getMaxEntrySize()
+    {
+        return maxEntrySize;
+    }
+
+    @Config("split-result-cache.max-entry-size")
+    @ConfigDescription("Maximum retained size of cached pages of a single split")
+    public SplitResultCacheConfig setMaxEntrySize(DataSize maxEntrySize)
+    {
+        this.maxEntrySize = maxEntrySize;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("0s")
+    public Duration getTtl()
+    {
+        return ttl;
+    }
+
+    @Config("split-result-cache.ttl")
+    @ConfigDescription("Time after which cached pages of a split are evicted")
+    public SplitResultCacheConfig setTtl(Duration ttl)
+    {
+        this.ttl = ttl;
+        return this;
+    }
+}
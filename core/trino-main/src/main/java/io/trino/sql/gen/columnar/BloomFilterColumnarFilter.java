@@ -0,0 +1,101 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.gen.columnar;
+
+import com.google.common.base.Throwables;
+import io.trino.operator.BlockedBloomFilter;
+import io.trino.operator.project.InputChannels;
+import io.trino.spi.block.ValueBlock;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.SourcePage;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
+
+import java.lang.invoke.MethodHandle;
+import java.util.function.Supplier;
+
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.VALUE_BLOCK_POSITION_NOT_NULL;
+import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.trino.spi.function.InvocationConvention.simpleConvention;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Selects positions whose value hash might be contained in a Bloom filter collected from the build side of a join.
+ * Nulls are never selected since they can't match an equi-join condition.
+ */
+public final class BloomFilterColumnarFilter
+        implements ColumnarFilter
+{
+    private final InputChannels inputChannels;
+    private final MethodHandle hashCode;
+    private final BlockedBloomFilter bloomFilter;
+
+    public static Supplier<FilterEvaluator> createBloomFilterEvaluator(int channel, Type type, BlockedBloomFilter bloomFilter, TypeOperators typeOperators)
+    {
+        MethodHandle hashCode = typeOperators.getHashCodeOperator(type, simpleConvention(FAIL_ON_NULL, VALUE_BLOCK_POSITION_NOT_NULL));
+        return () -> new ColumnarFilterEvaluator(new DictionaryAwareColumnarFilter(new BloomFilterColumnarFilter(channel, hashCode, bloomFilter)));
+    }
+
+    private BloomFilterColumnarFilter(int channel, MethodHandle hashCode, BlockedBloomFilter bloomFilter)
+    {
+        this.inputChannels = new InputChannels(channel);
+        this.hashCode = requireNonNull(hashCode, "hashCode is null");
+        this.bloomFilter = requireNonNull(bloomFilter, "bloomFilter is null");
+    }
+
+    @Override
+    public InputChannels getInputChannels()
+    {
+        return inputChannels;
+    }
+
+    @Override
+    public int filterPositionsRange(ConnectorSession session, int[] outputPositions, int offset, int size, SourcePage page)
+    {
+        ValueBlock block = (ValueBlock) page.getBlock(0);
+        int outputPositionsCount = 0;
+        for (int position = offset; position < offset + size; position++) {
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += mightContain(block, position) ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    @Override
+    public int filterPositionsList(ConnectorSession session, int[] outputPositions, int[] activePositions, int offset, int size, SourcePage page)
+    {
+        ValueBlock block = (ValueBlock) page.getBlock(0);
+        int outputPositionsCount = 0;
+        for (int index = offset; index < offset + size; index++) {
+            int position = activePositions[index];
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += mightContain(block, position) ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private boolean mightContain(ValueBlock block, int position)
+    {
+        if (block.isNull(position)) {
+            return false;
+        }
+        try {
+            return bloomFilter.mightContain((long) hashCode.invokeExact(block, position));
+        }
+        catch (Throwable throwable) {
+            Throwables.throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+}
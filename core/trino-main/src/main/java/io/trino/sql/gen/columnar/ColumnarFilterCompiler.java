@@ -67,6 +67,8 @@ import static io.trino.sql.gen.BytecodeUtils.invoke;
 import static io.trino.sql.gen.columnar.FilterEvaluator.isNotExpression;
 import static io.trino.sql.gen.columnar.IsNotNullColumnarFilter.createIsNotNullColumnarFilter;
 import static io.trino.sql.gen.columnar.IsNullColumnarFilter.createIsNullColumnarFilter;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.createVectorizedColumnarFilter;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.isVectorizedColumnarFilterSupported;
 import static io.trino.sql.relational.SpecialForm.Form.BETWEEN;
 import static io.trino.sql.relational.SpecialForm.Form.IN;
 import static io.trino.sql.relational.SpecialForm.Form.IS_NULL;
@@ -79,6 +81,7 @@ public class ColumnarFilterCompiler
     private static final Logger log = Logger.get(ColumnarFilterCompiler.class);
 
     private final FunctionManager functionManager;
+    private final boolean vectorizedFilterEnabled;
     // Optional is used to cache failure to generate filter for unsupported cases
     private final NonEvictableLoadingCache<RowExpression, Optional<Supplier<ColumnarFilter>>> filterCache;
     private final CacheStatsMBean filterCacheStats;
@@ -86,12 +89,18 @@ public class ColumnarFilterCompiler
     @Inject
     public ColumnarFilterCompiler(FunctionManager functionManager, CompilerConfig config)
     {
-        this(functionManager, config.getExpressionCacheSize());
+        this(functionManager, config.getExpressionCacheSize(), config.isVectorizedColumnarFilterEnabled());
     }
 
     public ColumnarFilterCompiler(FunctionManager functionManager, int expressionCacheSize)
+    {
+        this(functionManager, expressionCacheSize, true);
+    }
+
+    public ColumnarFilterCompiler(FunctionManager functionManager, int expressionCacheSize, boolean vectorizedFilterEnabled)
     {
         this.functionManager = requireNonNull(functionManager, "functionManager is null");
+        this.vectorizedFilterEnabled = vectorizedFilterEnabled && isVectorizedColumnarFilterSupported();
         if (expressionCacheSize > 0) {
             filterCache = buildNonEvictableCache(
                     CacheBuilder.newBuilder()
@@ -123,6 +132,17 @@ public class ColumnarFilterCompiler
     }
 
     private Optional<Supplier<ColumnarFilter>> generateFilterInternal(RowExpression filter)
+    {
+        Optional<Supplier<ColumnarFilter>> compiledFilter = generateCompiledFilter(filter);
+        if (!vectorizedFilterEnabled || compiledFilter.isEmpty()) {
+            return compiledFilter;
+        }
+        // The compiled filter is used as a fallback for blocks which are not flat value blocks
+        return createVectorizedColumnarFilter(filter, compiledFilter.get())
+                .or(() -> compiledFilter);
+    }
+
+    private Optional<Supplier<ColumnarFilter>> generateCompiledFilter(RowExpression filter)
     {
         try {
             if (filter instanceof CallExpression callExpression) {
@@ -13,10 +13,12 @@
  */
 package io.trino.sql.gen.columnar;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.trino.Session;
 import io.trino.metadata.Metadata;
+import io.trino.operator.BlockedBloomFilter;
 import io.trino.operator.project.SelectedPositions;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.ConnectorSession;
@@ -24,9 +26,11 @@ import io.trino.spi.connector.DynamicFilter;
 import io.trino.spi.connector.SourcePage;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.TypeManager;
+import io.trino.spi.type.TypeOperators;
 import io.trino.sql.PlannerContext;
 import io.trino.sql.ir.Expression;
 import io.trino.sql.ir.optimizer.IrExpressionOptimizer;
+import io.trino.sql.planner.BloomFilterDynamicFilter;
 import io.trino.sql.planner.DomainTranslator;
 import io.trino.sql.planner.Symbol;
 import io.trino.sql.relational.RowExpression;
@@ -41,6 +45,7 @@ import java.util.function.Supplier;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.trino.sql.gen.columnar.BloomFilterColumnarFilter.createBloomFilterEvaluator;
 import static io.trino.sql.gen.columnar.FilterEvaluator.createColumnarFilterEvaluator;
 import static io.trino.sql.ir.optimizer.IrExpressionOptimizer.newOptimizer;
 import static io.trino.sql.relational.SqlToRowExpressionTranslator.translate;
@@ -50,6 +55,7 @@ public final class DynamicPageFilter
 {
     private final Metadata metadata;
     private final TypeManager typeManager;
+    private final TypeOperators typeOperators;
     private final Session session;
     private final IrExpressionOptimizer irExpressionOptimizer;
     private final DomainTranslator domainTranslator;
@@ -76,6 +82,7 @@ public final class DynamicPageFilter
     {
         this.metadata = requireNonNull(plannerContext.getMetadata(), "metadata is null");
         this.typeManager = requireNonNull(plannerContext.getTypeManager(), "typeManager is null");
+        this.typeOperators = requireNonNull(plannerContext.getTypeOperators(), "typeOperators is null");
         this.session = requireNonNull(session, "session is null");
         this.irExpressionOptimizer = newOptimizer(plannerContext);
         this.domainTranslator = new DomainTranslator(plannerContext.getMetadata());
@@ -106,7 +113,11 @@ public final class DynamicPageFilter
         if (compiledDynamicFilter == null || isBlocked.isDone()) {
             isBlocked = dynamicFilter.isBlocked();
             boolean isAwaitable = dynamicFilter.isAwaitable();
-            compiledDynamicFilter = createDynamicFilterEvaluator(compiler, dynamicFilter.getCurrentPredicate());
+            Map<ColumnHandle, BlockedBloomFilter> bloomFilters = ImmutableMap.of();
+            if (dynamicFilter instanceof BloomFilterDynamicFilter bloomFilterDynamicFilter) {
+                bloomFilters = bloomFilterDynamicFilter.getCurrentBloomFilters();
+            }
+            compiledDynamicFilter = createDynamicFilterEvaluator(compiler, dynamicFilter.getCurrentPredicate(), bloomFilters);
             if (!isAwaitable) {
                 isBlocked = null; // Dynamic filter will not narrow down anymore
             }
@@ -114,14 +125,15 @@ public final class DynamicPageFilter
         return compiledDynamicFilter;
     }
 
-    private Supplier<FilterEvaluator> createDynamicFilterEvaluator(ColumnarFilterCompiler compiler, TupleDomain<ColumnHandle> currentPredicate)
+    private Supplier<FilterEvaluator> createDynamicFilterEvaluator(ColumnarFilterCompiler compiler, TupleDomain<ColumnHandle> currentPredicate, Map<ColumnHandle, BlockedBloomFilter> bloomFilters)
     {
         if (currentPredicate.isNone()) {
             return SelectNoneEvaluator::new;
         }
         // We translate each conjunct into separate FilterEvaluator to make it easy to profile selectivity
         // of dynamic filter per column and drop them if they're ineffective
-        List<Supplier<FilterEvaluator>> subExpressionEvaluators = currentPredicate.getDomains().orElseThrow()
+        ImmutableList.Builder<Supplier<FilterEvaluator>> subExpressionEvaluators = ImmutableList.builder();
+        currentPredicate.getDomains().orElseThrow()
                 .entrySet().stream()
                 .map(entry -> {
                     Symbol symbol = columnHandles.get(entry.getKey());
@@ -133,9 +145,18 @@ public final class DynamicPageFilter
                 })
                 .filter(Optional::isPresent)
                 .map(Optional::get)
-                .collect(toImmutableList());
+                .forEach(subExpressionEvaluators::add);
+        // Bloom filters are evaluated after the domains, which are cheaper and often eliminate the same rows
+        bloomFilters.forEach((column, bloomFilter) -> {
+            Symbol symbol = columnHandles.get(column);
+            Integer channel = sourceLayout.get(symbol);
+            if (channel != null) {
+                subExpressionEvaluators.add(createBloomFilterEvaluator(channel, symbol.type(), bloomFilter, typeOperators));
+            }
+        });
+        List<Supplier<FilterEvaluator>> evaluators = subExpressionEvaluators.build();
         return () -> new DynamicFilterEvaluator(
-                subExpressionEvaluators.stream().map(Supplier::get).collect(toImmutableList()),
+                evaluators.stream().map(Supplier::get).collect(toImmutableList()),
                 selectivityThreshold);
     }
 
@@ -0,0 +1,372 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.gen.columnar;
+
+import io.trino.spi.block.Block;
+import io.trino.spi.block.ByteArrayBlock;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.block.ShortArrayBlock;
+import io.trino.spi.block.ValueBlock;
+import io.trino.spi.function.CatalogSchemaFunctionName;
+import io.trino.spi.function.OperatorType;
+import io.trino.spi.type.Type;
+import io.trino.sql.relational.CallExpression;
+import io.trino.sql.relational.ConstantExpression;
+import io.trino.sql.relational.InputReferenceExpression;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.relational.SpecialForm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static io.trino.metadata.GlobalFunctionCatalog.isBuiltinFunctionName;
+import static io.trino.metadata.OperatorNameUtil.isOperatorName;
+import static io.trino.metadata.OperatorNameUtil.unmangleOperator;
+import static io.trino.spi.function.OperatorType.EQUAL;
+import static io.trino.spi.function.OperatorType.LESS_THAN;
+import static io.trino.spi.function.OperatorType.LESS_THAN_OR_EQUAL;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DateType.DATE;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.SmallintType.SMALLINT;
+import static io.trino.spi.type.TinyintType.TINYINT;
+import static io.trino.sql.relational.SpecialForm.Form.BETWEEN;
+import static io.trino.sql.relational.SpecialForm.Form.IN;
+import static java.lang.Long.numberOfTrailingZeros;
+
+/**
+ * Recognizes filters which can be evaluated by the {@code jdk.incubator.vector} based
+ * {@link VectorizedRangeColumnarFilter} and {@link VectorizedInColumnarFilter}.
+ * <p>
+ * Supported filters compare a single primitive column against constants: {@code =}, {@code <}, {@code <=},
+ * BETWEEN and IN with a small number of values. Comparisons are normalized into inclusive ranges.
+ * The vectorized filters delegate to the compiled filter for blocks which are not flat value blocks.
+ * <p>
+ * This class must not reference Vector API classes directly, so that it can be loaded
+ * when the {@code jdk.incubator.vector} module is not available.
+ */
+final class VectorizedColumnarFilters
+{
+    // IN lists are evaluated by comparing every vector with each value, which stops paying off for long lists
+    static final int MAX_VECTORIZED_IN_VALUES = 8;
+
+    private static final int PREFERRED_BIT_WIDTH = getVectorBitSize();
+
+    enum ValueKind
+    {
+        LONG(LongArrayBlock.class, Long.MIN_VALUE, Long.MAX_VALUE),
+        INT(IntArrayBlock.class, Integer.MIN_VALUE, Integer.MAX_VALUE),
+        SHORT(ShortArrayBlock.class, Short.MIN_VALUE, Short.MAX_VALUE),
+        BYTE(ByteArrayBlock.class, Byte.MIN_VALUE, Byte.MAX_VALUE),
+        // DOUBLE values are stored as raw long bits, min and max are not used
+        DOUBLE(LongArrayBlock.class, 0, 0);
+
+        private final Class<? extends ValueBlock> blockClass;
+        private final long minValue;
+        private final long maxValue;
+
+        ValueKind(Class<? extends ValueBlock> blockClass, long minValue, long maxValue)
+        {
+            this.blockClass = blockClass;
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+        }
+
+        boolean isFlatBlock(Block block)
+        {
+            return blockClass.isInstance(block);
+        }
+
+        long minValue()
+        {
+            return minValue;
+        }
+
+        long maxValue()
+        {
+            return maxValue;
+        }
+    }
+
+    private VectorizedColumnarFilters() {}
+
+    static boolean isVectorizedColumnarFilterSupported()
+    {
+        // Same threshold as vectorized decoding in the Parquet reader, gains are validated only with at least 256 bit width registers
+        return PREFERRED_BIT_WIDTH >= 256;
+    }
+
+    static Optional<Supplier<ColumnarFilter>> createVectorizedColumnarFilter(RowExpression filter, Supplier<ColumnarFilter> fallback)
+    {
+        if (filter instanceof CallExpression callExpression) {
+            return createComparisonFilter(callExpression, fallback);
+        }
+        if (filter instanceof SpecialForm specialForm) {
+            if (specialForm.form() == BETWEEN) {
+                return createBetweenFilter(specialForm, fallback);
+            }
+            if (specialForm.form() == IN) {
+                return createInFilter(specialForm, fallback);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Removes positions of null values from the first {@code positionsCount} entries of {@code positions}.
+     */
+    static int removeNullPositions(ValueBlock block, int[] positions, int positionsCount)
+    {
+        if (!block.mayHaveNull()) {
+            return positionsCount;
+        }
+        Optional<ByteArrayBlock> isNullsBlock = block.getNulls();
+        if (isNullsBlock.isEmpty()) {
+            return positionsCount;
+        }
+        byte[] isNull = isNullsBlock.get().getRawValues();
+        int isNullOffset = isNullsBlock.get().getRawValuesOffset();
+        int nonNullPositionsCount = 0;
+        for (int index = 0; index < positionsCount; index++) {
+            int position = positions[index];
+            positions[nonNullPositionsCount] = position;
+            nonNullPositionsCount += isNull[isNullOffset + position] == 0 ? 1 : 0;
+        }
+        return nonNullPositionsCount;
+    }
+
+    /**
+     * Appends {@code position + i} to {@code outputPositions} for every bit {@code i} set in {@code mask}.
+     */
+    static int appendSelectedPositions(long mask, int position, int[] outputPositions, int outputPositionsCount)
+    {
+        while (mask != 0) {
+            outputPositions[outputPositionsCount++] = position + numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        return outputPositionsCount;
+    }
+
+    private static Optional<Supplier<ColumnarFilter>> createComparisonFilter(CallExpression callExpression, Supplier<ColumnarFilter> fallback)
+    {
+        Optional<OperatorType> operator = getComparisonOperator(callExpression);
+        if (operator.isEmpty() || callExpression.arguments().size() != 2) {
+            return Optional.empty();
+        }
+        RowExpression left = callExpression.arguments().get(0);
+        RowExpression right = callExpression.arguments().get(1);
+        boolean constantOnLeft;
+        InputReferenceExpression input;
+        ConstantExpression constant;
+        if (left instanceof InputReferenceExpression inputReference && right instanceof ConstantExpression constantExpression) {
+            constantOnLeft = false;
+            input = inputReference;
+            constant = constantExpression;
+        }
+        else if (left instanceof ConstantExpression constantExpression && right instanceof InputReferenceExpression inputReference) {
+            constantOnLeft = true;
+            input = inputReference;
+            constant = constantExpression;
+        }
+        else {
+            return Optional.empty();
+        }
+
+        Optional<ValueKind> kind = getValueKind(input.type());
+        if (kind.isEmpty() || !input.type().equals(constant.type())) {
+            return Optional.empty();
+        }
+        if (constant.value() == null) {
+            // comparison with null is never true
+            return Optional.of(() -> VectorizedRangeColumnarFilter.empty(input, kind.get(), fallback.get()));
+        }
+
+        if (kind.get() == ValueKind.DOUBLE) {
+            double value = (double) constant.value();
+            double low = Double.NEGATIVE_INFINITY;
+            double high = Double.POSITIVE_INFINITY;
+            switch (operator.get()) {
+                case EQUAL -> {
+                    low = value;
+                    high = value;
+                }
+                case LESS_THAN -> {
+                    if (Double.isInfinite(value)) {
+                        // nextUp and nextDown do not move past infinity
+                        if (constantOnLeft == (value > 0)) {
+                            return Optional.of(() -> VectorizedRangeColumnarFilter.empty(input, kind.get(), fallback.get()));
+                        }
+                    }
+                    if (constantOnLeft) {
+                        low = Math.nextUp(value);
+                    }
+                    else {
+                        high = Math.nextDown(value);
+                    }
+                }
+                case LESS_THAN_OR_EQUAL -> {
+                    if (constantOnLeft) {
+                        low = value;
+                    }
+                    else {
+                        high = value;
+                    }
+                }
+                default -> throw new IllegalStateException("Unexpected operator: " + operator.get());
+            }
+            double rangeLow = low;
+            double rangeHigh = high;
+            return Optional.of(() -> VectorizedRangeColumnarFilter.doubleRange(input, rangeLow, rangeHigh, fallback.get()));
+        }
+
+        long value = (long) constant.value();
+        long low = kind.get().minValue();
+        long high = kind.get().maxValue();
+        switch (operator.get()) {
+            case EQUAL -> {
+                low = value;
+                high = value;
+            }
+            case LESS_THAN -> {
+                if (constantOnLeft) {
+                    if (value == Long.MAX_VALUE) {
+                        return Optional.of(() -> VectorizedRangeColumnarFilter.empty(input, kind.get(), fallback.get()));
+                    }
+                    low = value + 1;
+                }
+                else {
+                    if (value == Long.MIN_VALUE) {
+                        return Optional.of(() -> VectorizedRangeColumnarFilter.empty(input, kind.get(), fallback.get()));
+                    }
+                    high = value - 1;
+                }
+            }
+            case LESS_THAN_OR_EQUAL -> {
+                if (constantOnLeft) {
+                    low = value;
+                }
+                else {
+                    high = value;
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected operator: " + operator.get());
+        }
+        long rangeLow = low;
+        long rangeHigh = high;
+        return Optional.of(() -> VectorizedRangeColumnarFilter.integralRange(input, kind.get(), rangeLow, rangeHigh, fallback.get()));
+    }
+
+    private static Optional<Supplier<ColumnarFilter>> createBetweenFilter(SpecialForm specialForm, Supplier<ColumnarFilter> fallback)
+    {
+        if (specialForm.arguments().size() != 3
+                || !(specialForm.arguments().get(0) instanceof InputReferenceExpression input)
+                || !(specialForm.arguments().get(1) instanceof ConstantExpression low)
+                || !(specialForm.arguments().get(2) instanceof ConstantExpression high)) {
+            return Optional.empty();
+        }
+        Optional<ValueKind> kind = getValueKind(input.type());
+        if (kind.isEmpty() || !input.type().equals(low.type()) || !input.type().equals(high.type())) {
+            return Optional.empty();
+        }
+        if (low.value() == null || high.value() == null) {
+            return Optional.of(() -> VectorizedRangeColumnarFilter.empty(input, kind.get(), fallback.get()));
+        }
+        if (kind.get() == ValueKind.DOUBLE) {
+            return Optional.of(() -> VectorizedRangeColumnarFilter.doubleRange(input, (double) low.value(), (double) high.value(), fallback.get()));
+        }
+        return Optional.of(() -> VectorizedRangeColumnarFilter.integralRange(input, kind.get(), (long) low.value(), (long) high.value(), fallback.get()));
+    }
+
+    private static Optional<Supplier<ColumnarFilter>> createInFilter(SpecialForm specialForm, Supplier<ColumnarFilter> fallback)
+    {
+        List<RowExpression> arguments = specialForm.arguments();
+        if (arguments.size() < 2
+                || arguments.size() - 1 > MAX_VECTORIZED_IN_VALUES
+                || !(arguments.getFirst() instanceof InputReferenceExpression input)) {
+            return Optional.empty();
+        }
+        Optional<ValueKind> kind = getValueKind(input.type());
+        if (kind.isEmpty()) {
+            return Optional.empty();
+        }
+        // null values can only turn a non-match into null, which is not selected by a filter
+        List<Object> values = new ArrayList<>();
+        for (RowExpression argument : arguments.subList(1, arguments.size())) {
+            if (!(argument instanceof ConstantExpression constant) || !input.type().equals(constant.type())) {
+                return Optional.empty();
+            }
+            if (constant.value() != null) {
+                values.add(constant.value());
+            }
+        }
+        if (values.isEmpty()) {
+            return Optional.of(() -> VectorizedRangeColumnarFilter.empty(input, kind.get(), fallback.get()));
+        }
+        if (kind.get() == ValueKind.DOUBLE) {
+            double[] doubleValues = values.stream().mapToDouble(Double.class::cast).toArray();
+            return Optional.of(() -> VectorizedInColumnarFilter.doubleValues(input, doubleValues, fallback.get()));
+        }
+        long[] longValues = values.stream().mapToLong(Long.class::cast).toArray();
+        return Optional.of(() -> VectorizedInColumnarFilter.integralValues(input, kind.get(), longValues, fallback.get()));
+    }
+
+    private static Optional<OperatorType> getComparisonOperator(CallExpression callExpression)
+    {
+        CatalogSchemaFunctionName functionName = callExpression.resolvedFunction().name();
+        if (!isBuiltinFunctionName(functionName) || !isOperatorName(functionName.getFunctionName())) {
+            return Optional.empty();
+        }
+        OperatorType operator = unmangleOperator(functionName.getFunctionName());
+        if (operator == EQUAL || operator == LESS_THAN || operator == LESS_THAN_OR_EQUAL) {
+            return Optional.of(operator);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<ValueKind> getValueKind(Type type)
+    {
+        if (type.equals(BIGINT)) {
+            return Optional.of(ValueKind.LONG);
+        }
+        if (type.equals(INTEGER) || type.equals(DATE)) {
+            return Optional.of(ValueKind.INT);
+        }
+        if (type.equals(SMALLINT)) {
+            return Optional.of(ValueKind.SHORT);
+        }
+        if (type.equals(TINYINT)) {
+            return Optional.of(ValueKind.BYTE);
+        }
+        if (type.equals(DOUBLE)) {
+            return Optional.of(ValueKind.DOUBLE);
+        }
+        return Optional.empty();
+    }
+
+    // get VectorShape bit size via reflection to avoid requiring the incubator module to be present
+    private static int getVectorBitSize()
+    {
+        try {
+            Class<?> clazz = Class.forName("jdk.incubator.vector.VectorShape");
+            return (int) clazz.getMethod("vectorBitSize").invoke(clazz.getMethod("preferredShape").invoke(null));
+        }
+        catch (Throwable e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.gen.columnar;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.trino.operator.project.InputChannels;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.ByteArrayBlock;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.block.ShortArrayBlock;
+import io.trino.spi.block.ValueBlock;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.SourcePage;
+import io.trino.sql.gen.columnar.VectorizedColumnarFilters.ValueKind;
+import io.trino.sql.relational.InputReferenceExpression;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.MAX_VECTORIZED_IN_VALUES;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.appendSelectedPositions;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.removeNullPositions;
+import static java.lang.Double.longBitsToDouble;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates {@code value IN (constant, ...)} for a short list of non-null constants on a flat primitive block
+ * using the Vector API. Every vector of values is compared with each constant.
+ * Blocks of any other encoding are evaluated by the compiled fallback filter.
+ */
+public final class VectorizedInColumnarFilter
+        implements ColumnarFilter
+{
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private final InputChannels inputChannels;
+    private final ValueKind kind;
+    private final long[] values;
+    private final double[] doubleValues;
+    private final ColumnarFilter fallback;
+
+    static VectorizedInColumnarFilter integralValues(InputReferenceExpression input, ValueKind kind, long[] values, ColumnarFilter fallback)
+    {
+        checkArgument(kind != ValueKind.DOUBLE, "kind must be integral");
+        long[] valuesInRange = Arrays.stream(values)
+                .filter(value -> value >= kind.minValue() && value <= kind.maxValue())
+                .distinct()
+                .toArray();
+        return new VectorizedInColumnarFilter(input, kind, valuesInRange, new double[0], fallback);
+    }
+
+    static VectorizedInColumnarFilter doubleValues(InputReferenceExpression input, double[] values, ColumnarFilter fallback)
+    {
+        // NaN is never equal to any value
+        double[] comparableValues = Arrays.stream(values)
+                .filter(value -> !Double.isNaN(value))
+                .distinct()
+                .toArray();
+        return new VectorizedInColumnarFilter(input, ValueKind.DOUBLE, new long[0], comparableValues, fallback);
+    }
+
+    private VectorizedInColumnarFilter(InputReferenceExpression input, ValueKind kind, long[] values, double[] doubleValues, ColumnarFilter fallback)
+    {
+        checkArgument(values.length <= MAX_VECTORIZED_IN_VALUES && doubleValues.length <= MAX_VECTORIZED_IN_VALUES, "too many values");
+        this.inputChannels = new InputChannels(ImmutableList.of(input.field()), ImmutableSet.of(input.field()));
+        this.kind = requireNonNull(kind, "kind is null");
+        this.values = values;
+        this.doubleValues = doubleValues;
+        this.fallback = requireNonNull(fallback, "fallback is null");
+    }
+
+    @Override
+    public InputChannels getInputChannels()
+    {
+        return inputChannels;
+    }
+
+    @Override
+    public int filterPositionsRange(ConnectorSession session, int[] outputPositions, int offset, int size, SourcePage loadedPage)
+    {
+        Block block = loadedPage.getBlock(0);
+        if (!kind.isFlatBlock(block)) {
+            return fallback.filterPositionsRange(session, outputPositions, offset, size, loadedPage);
+        }
+        if (values.length == 0 && doubleValues.length == 0) {
+            return 0;
+        }
+        int outputPositionsCount = switch (kind) {
+            case LONG -> filterLongValues((LongArrayBlock) block, outputPositions, offset, size);
+            case INT -> filterIntValues((IntArrayBlock) block, outputPositions, offset, size);
+            case SHORT -> filterShortValues((ShortArrayBlock) block, outputPositions, offset, size);
+            case BYTE -> filterByteValues((ByteArrayBlock) block, outputPositions, offset, size);
+            case DOUBLE -> filterDoubleValues((LongArrayBlock) block, outputPositions, offset, size);
+        };
+        return removeNullPositions((ValueBlock) block, outputPositions, outputPositionsCount);
+    }
+
+    @Override
+    public int filterPositionsList(ConnectorSession session, int[] outputPositions, int[] activePositions, int offset, int size, SourcePage loadedPage)
+    {
+        Block block = loadedPage.getBlock(0);
+        if (!kind.isFlatBlock(block)) {
+            return fallback.filterPositionsList(session, outputPositions, activePositions, offset, size, loadedPage);
+        }
+        if (values.length == 0 && doubleValues.length == 0) {
+            return 0;
+        }
+        // Active positions are scattered, gathering them into vectors does not pay off
+        int outputPositionsCount = 0;
+        for (int index = offset; index < offset + size; index++) {
+            int position = activePositions[index];
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += contains(block, position) ? 1 : 0;
+        }
+        return removeNullPositions((ValueBlock) block, outputPositions, outputPositionsCount);
+    }
+
+    private boolean contains(Block block, int position)
+    {
+        if (kind == ValueKind.DOUBLE) {
+            LongArrayBlock longArrayBlock = (LongArrayBlock) block;
+            double value = longBitsToDouble(longArrayBlock.getRawValues()[longArrayBlock.getRawValuesOffset() + position]);
+            for (double candidate : doubleValues) {
+                if (value == candidate) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long value = switch (kind) {
+            case LONG -> ((LongArrayBlock) block).getRawValues()[((LongArrayBlock) block).getRawValuesOffset() + position];
+            case INT -> ((IntArrayBlock) block).getRawValues()[((IntArrayBlock) block).getRawValuesOffset() + position];
+            case SHORT -> ((ShortArrayBlock) block).getRawValues()[((ShortArrayBlock) block).getRawValuesOffset() + position];
+            case BYTE -> ((ByteArrayBlock) block).getRawValues()[((ByteArrayBlock) block).getRawValuesOffset() + position];
+            case DOUBLE -> throw new IllegalStateException("DOUBLE is handled above");
+        };
+        for (long candidate : values) {
+            if (value == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int filterLongValues(LongArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        long[] rawValues = block.getRawValues();
+        int rawValuesOffset = block.getRawValuesOffset();
+        LongVector[] candidates = new LongVector[values.length];
+        for (int i = 0; i < values.length; i++) {
+            candidates[i] = LongVector.broadcast(LONG_SPECIES, values[i]);
+        }
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + LONG_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += LONG_SPECIES.length()) {
+            LongVector vector = LongVector.fromArray(LONG_SPECIES, rawValues, rawValuesOffset + position);
+            VectorMask<Long> mask = vector.eq(candidates[0]);
+            for (int i = 1; i < candidates.length; i++) {
+                mask = mask.or(vector.eq(candidates[i]));
+            }
+            outputPositionsCount = appendSelectedPositions(mask.toLong(), position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += contains(block, position) ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterIntValues(IntArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        int[] rawValues = block.getRawValues();
+        int rawValuesOffset = block.getRawValuesOffset();
+        IntVector[] candidates = new IntVector[values.length];
+        for (int i = 0; i < values.length; i++) {
+            candidates[i] = IntVector.broadcast(INT_SPECIES, (int) values[i]);
+        }
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + INT_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += INT_SPECIES.length()) {
+            IntVector vector = IntVector.fromArray(INT_SPECIES, rawValues, rawValuesOffset + position);
+            VectorMask<Integer> mask = vector.eq(candidates[0]);
+            for (int i = 1; i < candidates.length; i++) {
+                mask = mask.or(vector.eq(candidates[i]));
+            }
+            outputPositionsCount = appendSelectedPositions(mask.toLong(), position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += contains(block, position) ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterShortValues(ShortArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        short[] rawValues = block.getRawValues();
+        int rawValuesOffset = block.getRawValuesOffset();
+        ShortVector[] candidates = new ShortVector[values.length];
+        for (int i = 0; i < values.length; i++) {
+            candidates[i] = ShortVector.broadcast(SHORT_SPECIES, (short) values[i]);
+        }
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + SHORT_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += SHORT_SPECIES.length()) {
+            ShortVector vector = ShortVector.fromArray(SHORT_SPECIES, rawValues, rawValuesOffset + position);
+            VectorMask<Short> mask = vector.eq(candidates[0]);
+            for (int i = 1; i < candidates.length; i++) {
+                mask = mask.or(vector.eq(candidates[i]));
+            }
+            outputPositionsCount = appendSelectedPositions(mask.toLong(), position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += contains(block, position) ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterByteValues(ByteArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        byte[] rawValues = block.getRawValues();
+        int rawValuesOffset = block.getRawValuesOffset();
+        ByteVector[] candidates = new ByteVector[values.length];
+        for (int i = 0; i < values.length; i++) {
+            candidates[i] = ByteVector.broadcast(BYTE_SPECIES, (byte) values[i]);
+        }
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + BYTE_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += BYTE_SPECIES.length()) {
+            ByteVector vector = ByteVector.fromArray(BYTE_SPECIES, rawValues, rawValuesOffset + position);
+            VectorMask<Byte> mask = vector.eq(candidates[0]);
+            for (int i = 1; i < candidates.length; i++) {
+                mask = mask.or(vector.eq(candidates[i]));
+            }
+            outputPositionsCount = appendSelectedPositions(mask.toLong(), position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += contains(block, position) ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterDoubleValues(LongArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        // DOUBLE values are stored as their raw long bits
+        long[] rawValues = block.getRawValues();
+        int rawValuesOffset = block.getRawValuesOffset();
+        DoubleVector[] candidates = new DoubleVector[doubleValues.length];
+        for (int i = 0; i < doubleValues.length; i++) {
+            candidates[i] = DoubleVector.broadcast(DOUBLE_SPECIES, doubleValues[i]);
+        }
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + LONG_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += LONG_SPECIES.length()) {
+            DoubleVector vector = LongVector.fromArray(LONG_SPECIES, rawValues, rawValuesOffset + position).reinterpretAsDoubles();
+            VectorMask<Double> mask = vector.eq(candidates[0]);
+            for (int i = 1; i < candidates.length; i++) {
+                mask = mask.or(vector.eq(candidates[i]));
+            }
+            outputPositionsCount = appendSelectedPositions(mask.toLong(), position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += contains(block, position) ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+}
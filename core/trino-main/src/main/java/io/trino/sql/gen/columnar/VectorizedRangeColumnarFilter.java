@@ -0,0 +1,310 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.gen.columnar;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.trino.operator.project.InputChannels;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.ByteArrayBlock;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.block.ShortArrayBlock;
+import io.trino.spi.block.ValueBlock;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.SourcePage;
+import io.trino.sql.gen.columnar.VectorizedColumnarFilters.ValueKind;
+import io.trino.sql.relational.InputReferenceExpression;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.appendSelectedPositions;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.removeNullPositions;
+import static java.lang.Double.longBitsToDouble;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.LE;
+
+/**
+ * Evaluates {@code low <= value <= high} on a flat primitive block using the Vector API.
+ * Blocks of any other encoding are evaluated by the compiled fallback filter.
+ */
+public final class VectorizedRangeColumnarFilter
+        implements ColumnarFilter
+{
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private final InputChannels inputChannels;
+    private final ValueKind kind;
+    private final boolean empty;
+    private final long low;
+    private final long high;
+    private final double doubleLow;
+    private final double doubleHigh;
+    private final ColumnarFilter fallback;
+
+    static VectorizedRangeColumnarFilter integralRange(InputReferenceExpression input, ValueKind kind, long low, long high, ColumnarFilter fallback)
+    {
+        checkArgument(kind != ValueKind.DOUBLE, "kind must be integral");
+        // values outside the range of the type can never match
+        long clampedLow = max(low, kind.minValue());
+        long clampedHigh = min(high, kind.maxValue());
+        return new VectorizedRangeColumnarFilter(input, kind, clampedLow > clampedHigh, clampedLow, clampedHigh, 0, 0, fallback);
+    }
+
+    static VectorizedRangeColumnarFilter doubleRange(InputReferenceExpression input, double low, double high, ColumnarFilter fallback)
+    {
+        // also true when either bound is NaN
+        boolean empty = !(low <= high);
+        return new VectorizedRangeColumnarFilter(input, ValueKind.DOUBLE, empty, 0, 0, low, high, fallback);
+    }
+
+    static VectorizedRangeColumnarFilter empty(InputReferenceExpression input, ValueKind kind, ColumnarFilter fallback)
+    {
+        return new VectorizedRangeColumnarFilter(input, kind, true, 0, 0, 0, 0, fallback);
+    }
+
+    private VectorizedRangeColumnarFilter(InputReferenceExpression input, ValueKind kind, boolean empty, long low, long high, double doubleLow, double doubleHigh, ColumnarFilter fallback)
+    {
+        this.inputChannels = new InputChannels(ImmutableList.of(input.field()), ImmutableSet.of(input.field()));
+        this.kind = requireNonNull(kind, "kind is null");
+        this.empty = empty;
+        this.low = low;
+        this.high = high;
+        this.doubleLow = doubleLow;
+        this.doubleHigh = doubleHigh;
+        this.fallback = requireNonNull(fallback, "fallback is null");
+    }
+
+    @Override
+    public InputChannels getInputChannels()
+    {
+        return inputChannels;
+    }
+
+    @Override
+    public int filterPositionsRange(ConnectorSession session, int[] outputPositions, int offset, int size, SourcePage loadedPage)
+    {
+        Block block = loadedPage.getBlock(0);
+        if (!kind.isFlatBlock(block)) {
+            return fallback.filterPositionsRange(session, outputPositions, offset, size, loadedPage);
+        }
+        if (empty) {
+            return 0;
+        }
+        int outputPositionsCount = switch (kind) {
+            case LONG -> filterLongRange((LongArrayBlock) block, outputPositions, offset, size);
+            case INT -> filterIntRange((IntArrayBlock) block, outputPositions, offset, size);
+            case SHORT -> filterShortRange((ShortArrayBlock) block, outputPositions, offset, size);
+            case BYTE -> filterByteRange((ByteArrayBlock) block, outputPositions, offset, size);
+            case DOUBLE -> filterDoubleRange((LongArrayBlock) block, outputPositions, offset, size);
+        };
+        return removeNullPositions((ValueBlock) block, outputPositions, outputPositionsCount);
+    }
+
+    @Override
+    public int filterPositionsList(ConnectorSession session, int[] outputPositions, int[] activePositions, int offset, int size, SourcePage loadedPage)
+    {
+        Block block = loadedPage.getBlock(0);
+        if (!kind.isFlatBlock(block)) {
+            return fallback.filterPositionsList(session, outputPositions, activePositions, offset, size, loadedPage);
+        }
+        if (empty) {
+            return 0;
+        }
+        // Active positions are scattered, gathering them into vectors does not pay off, so a branchless scalar loop over the raw values is used
+        int outputPositionsCount = 0;
+        switch (kind) {
+            case LONG -> {
+                long[] values = ((LongArrayBlock) block).getRawValues();
+                int valuesOffset = ((LongArrayBlock) block).getRawValuesOffset();
+                for (int index = offset; index < offset + size; index++) {
+                    int position = activePositions[index];
+                    long value = values[valuesOffset + position];
+                    outputPositions[outputPositionsCount] = position;
+                    outputPositionsCount += value >= low && value <= high ? 1 : 0;
+                }
+            }
+            case INT -> {
+                int[] values = ((IntArrayBlock) block).getRawValues();
+                int valuesOffset = ((IntArrayBlock) block).getRawValuesOffset();
+                for (int index = offset; index < offset + size; index++) {
+                    int position = activePositions[index];
+                    int value = values[valuesOffset + position];
+                    outputPositions[outputPositionsCount] = position;
+                    outputPositionsCount += value >= low && value <= high ? 1 : 0;
+                }
+            }
+            case SHORT -> {
+                short[] values = ((ShortArrayBlock) block).getRawValues();
+                int valuesOffset = ((ShortArrayBlock) block).getRawValuesOffset();
+                for (int index = offset; index < offset + size; index++) {
+                    int position = activePositions[index];
+                    short value = values[valuesOffset + position];
+                    outputPositions[outputPositionsCount] = position;
+                    outputPositionsCount += value >= low && value <= high ? 1 : 0;
+                }
+            }
+            case BYTE -> {
+                byte[] values = ((ByteArrayBlock) block).getRawValues();
+                int valuesOffset = ((ByteArrayBlock) block).getRawValuesOffset();
+                for (int index = offset; index < offset + size; index++) {
+                    int position = activePositions[index];
+                    byte value = values[valuesOffset + position];
+                    outputPositions[outputPositionsCount] = position;
+                    outputPositionsCount += value >= low && value <= high ? 1 : 0;
+                }
+            }
+            case DOUBLE -> {
+                long[] values = ((LongArrayBlock) block).getRawValues();
+                int valuesOffset = ((LongArrayBlock) block).getRawValuesOffset();
+                for (int index = offset; index < offset + size; index++) {
+                    int position = activePositions[index];
+                    double value = longBitsToDouble(values[valuesOffset + position]);
+                    outputPositions[outputPositionsCount] = position;
+                    outputPositionsCount += value >= doubleLow && value <= doubleHigh ? 1 : 0;
+                }
+            }
+        }
+        return removeNullPositions((ValueBlock) block, outputPositions, outputPositionsCount);
+    }
+
+    private int filterLongRange(LongArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        long[] values = block.getRawValues();
+        int valuesOffset = block.getRawValuesOffset();
+        LongVector lowVector = LongVector.broadcast(LONG_SPECIES, low);
+        LongVector highVector = LongVector.broadcast(LONG_SPECIES, high);
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + LONG_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += LONG_SPECIES.length()) {
+            LongVector vector = LongVector.fromArray(LONG_SPECIES, values, valuesOffset + position);
+            long mask = vector.compare(GE, lowVector).and(vector.compare(LE, highVector)).toLong();
+            outputPositionsCount = appendSelectedPositions(mask, position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            long value = values[valuesOffset + position];
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += value >= low && value <= high ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterIntRange(IntArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        int[] values = block.getRawValues();
+        int valuesOffset = block.getRawValuesOffset();
+        IntVector lowVector = IntVector.broadcast(INT_SPECIES, (int) low);
+        IntVector highVector = IntVector.broadcast(INT_SPECIES, (int) high);
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + INT_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += INT_SPECIES.length()) {
+            IntVector vector = IntVector.fromArray(INT_SPECIES, values, valuesOffset + position);
+            long mask = vector.compare(GE, lowVector).and(vector.compare(LE, highVector)).toLong();
+            outputPositionsCount = appendSelectedPositions(mask, position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            int value = values[valuesOffset + position];
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += value >= low && value <= high ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterShortRange(ShortArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        short[] values = block.getRawValues();
+        int valuesOffset = block.getRawValuesOffset();
+        ShortVector lowVector = ShortVector.broadcast(SHORT_SPECIES, (short) low);
+        ShortVector highVector = ShortVector.broadcast(SHORT_SPECIES, (short) high);
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + SHORT_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += SHORT_SPECIES.length()) {
+            ShortVector vector = ShortVector.fromArray(SHORT_SPECIES, values, valuesOffset + position);
+            long mask = vector.compare(GE, lowVector).and(vector.compare(LE, highVector)).toLong();
+            outputPositionsCount = appendSelectedPositions(mask, position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            short value = values[valuesOffset + position];
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += value >= low && value <= high ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterByteRange(ByteArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        byte[] values = block.getRawValues();
+        int valuesOffset = block.getRawValuesOffset();
+        ByteVector lowVector = ByteVector.broadcast(BYTE_SPECIES, (byte) low);
+        ByteVector highVector = ByteVector.broadcast(BYTE_SPECIES, (byte) high);
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + BYTE_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += BYTE_SPECIES.length()) {
+            ByteVector vector = ByteVector.fromArray(BYTE_SPECIES, values, valuesOffset + position);
+            long mask = vector.compare(GE, lowVector).and(vector.compare(LE, highVector)).toLong();
+            outputPositionsCount = appendSelectedPositions(mask, position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            byte value = values[valuesOffset + position];
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += value >= low && value <= high ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+
+    private int filterDoubleRange(LongArrayBlock block, int[] outputPositions, int offset, int size)
+    {
+        // DOUBLE values are stored as their raw long bits
+        long[] values = block.getRawValues();
+        int valuesOffset = block.getRawValuesOffset();
+        DoubleVector lowVector = DoubleVector.broadcast(DOUBLE_SPECIES, doubleLow);
+        DoubleVector highVector = DoubleVector.broadcast(DOUBLE_SPECIES, doubleHigh);
+
+        int outputPositionsCount = 0;
+        int position = offset;
+        int vectorEnd = offset + LONG_SPECIES.loopBound(size);
+        for (; position < vectorEnd; position += LONG_SPECIES.length()) {
+            DoubleVector vector = LongVector.fromArray(LONG_SPECIES, values, valuesOffset + position).reinterpretAsDoubles();
+            // NaN is not selected as all comparisons with it are false
+            long mask = vector.compare(GE, lowVector).and(vector.compare(LE, highVector)).toLong();
+            outputPositionsCount = appendSelectedPositions(mask, position, outputPositions, outputPositionsCount);
+        }
+        for (; position < offset + size; position++) {
+            double value = longBitsToDouble(values[valuesOffset + position]);
+            outputPositions[outputPositionsCount] = position;
+            outputPositionsCount += value >= doubleLow && value <= doubleHigh ? 1 : 0;
+        }
+        return outputPositionsCount;
+    }
+}
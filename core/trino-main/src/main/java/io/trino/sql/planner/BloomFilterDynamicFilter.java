@@ -0,0 +1,31 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.planner;
+
+import io.trino.operator.BlockedBloomFilter;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.DynamicFilter;
+
+import java.util.Map;
+
+/**
+ * Dynamic filter which, in addition to the domains of {@link #getCurrentPredicate()}, provides
+ * Bloom filters of join build side values for probe columns. Bloom filters are only used
+ * by the engine for row filtering and are never passed to connectors.
+ */
+public interface BloomFilterDynamicFilter
+        extends DynamicFilter
+{
+    Map<ColumnHandle, BlockedBloomFilter> getCurrentBloomFilters();
+}
@@ -23,6 +23,7 @@ public class CompilerConfig
 {
     private int expressionCacheSize = 10_000;
     private boolean specializeAggregationLoops = true;
+    private boolean vectorizedColumnarFilterEnabled = true;
 
     @Min(0)
     public int getExpressionCacheSize()
@@ -49,4 +50,17 @@ public class CompilerConfig
         this.specializeAggregationLoops = specializeAggregationLoops;
         return this;
     }
+
+    public boolean isVectorizedColumnarFilterEnabled()
+    {
+        return vectorizedColumnarFilterEnabled;
+    }
+
+    @Config("compiler.vectorized-columnar-filter-enabled")
+    @ConfigDescription("Evaluate simple comparison, BETWEEN and IN filters on primitive columns using the Vector API when supported by the hardware")
+    public CompilerConfig setVectorizedColumnarFilterEnabled(boolean vectorizedColumnarFilterEnabled)
+    {
+        this.vectorizedColumnarFilterEnabled = vectorizedColumnarFilterEnabled;
+        return this;
+    }
 }
@@ -13,13 +13,25 @@
  */
 package io.trino.sql.planner;
 
+import io.trino.operator.BlockedBloomFilter;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.sql.planner.plan.DynamicFilterId;
 
+import java.util.Map;
+
 public interface DynamicFilterSourceConsumer
 {
     void addPartition(TupleDomain<DynamicFilterId> tupleDomain);
 
+    /**
+     * Adds a partition together with Bloom filters of the values of some of its dynamic filters.
+     * Consumers which don't use Bloom filters may ignore them, since they never narrow down the domains.
+     */
+    default void addPartition(TupleDomain<DynamicFilterId> tupleDomain, Map<DynamicFilterId, BlockedBloomFilter> bloomFilters)
+    {
+        addPartition(tupleDomain);
+    }
+
     void setPartitionCount(int partitionCount);
 
     boolean isDomainCollectionComplete();
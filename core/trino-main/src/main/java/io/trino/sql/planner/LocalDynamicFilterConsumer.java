@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.airlift.units.DataSize;
+import io.trino.operator.BlockedBloomFilter;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.Type;
@@ -51,6 +52,7 @@ public class LocalDynamicFilterConsumer
     // Mapping from dynamic filter ID to its build channel type.
     private final Map<DynamicFilterId, Type> filterBuildTypes;
     private final List<Consumer<Map<DynamicFilterId, Domain>>> collectors;
+    private final List<Consumer<Map<DynamicFilterId, BlockedBloomFilter>>> bloomFilterCollectors;
     private final long domainSizeLimitInBytes;
 
     // Number of build-side partitions to be collected, must be provided by setPartitionCount
@@ -60,11 +62,26 @@ public class LocalDynamicFilterConsumer
     private int collectedPartitionCount;
     @GuardedBy("this")
     private volatile boolean collected;
+    // Union of the Bloom filters of collected partitions, and the number of partitions which provided one
+    @GuardedBy("this")
+    private final Map<DynamicFilterId, BlockedBloomFilter> bloomFilters = new HashMap<>();
+    @GuardedBy("this")
+    private final Map<DynamicFilterId, Integer> bloomFilterPartitionCounts = new HashMap<>();
 
     private final Queue<TupleDomain<DynamicFilterId>> summaryDomains = new ConcurrentLinkedQueue<>();
     private final AtomicLong summaryDomainsRetainedSizeInBytes = new AtomicLong();
 
     public LocalDynamicFilterConsumer(Map<DynamicFilterId, Integer> buildChannels, Map<DynamicFilterId, Type> filterBuildTypes, List<Consumer<Map<DynamicFilterId, Domain>>> collectors, DataSize domainSizeLimit)
+    {
+        this(buildChannels, filterBuildTypes, collectors, ImmutableList.of(), domainSizeLimit);
+    }
+
+    public LocalDynamicFilterConsumer(
+            Map<DynamicFilterId, Integer> buildChannels,
+            Map<DynamicFilterId, Type> filterBuildTypes,
+            List<Consumer<Map<DynamicFilterId, Domain>>> collectors,
+            List<Consumer<Map<DynamicFilterId, BlockedBloomFilter>>> bloomFilterCollectors,
+            DataSize domainSizeLimit)
     {
         this.buildChannels = requireNonNull(buildChannels, "buildChannels is null");
         this.filterBuildTypes = requireNonNull(filterBuildTypes, "filterBuildTypes is null");
@@ -72,12 +89,22 @@ public class LocalDynamicFilterConsumer
         requireNonNull(collectors, "collectors is null");
         checkArgument(!collectors.isEmpty(), "collectors is empty");
         this.collectors = ImmutableList.copyOf(collectors);
+        this.bloomFilterCollectors = ImmutableList.copyOf(requireNonNull(bloomFilterCollectors, "bloomFilterCollectors is null"));
         this.domainSizeLimitInBytes = domainSizeLimit.toBytes();
     }
 
     @Override
     public void addPartition(TupleDomain<DynamicFilterId> domain)
     {
+        addPartition(domain, ImmutableMap.of());
+    }
+
+    @Override
+    public void addPartition(TupleDomain<DynamicFilterId> domain, Map<DynamicFilterId, BlockedBloomFilter> partitionBloomFilters)
+    {
+        if (bloomFilterCollectors.isEmpty()) {
+            partitionBloomFilters = ImmutableMap.of();
+        }
         if (collected) {
             return;
         }
@@ -93,6 +120,7 @@ public class LocalDynamicFilterConsumer
         unionSummaryDomainsIfNecessary(false);
 
         TupleDomain<DynamicFilterId> result;
+        Map<DynamicFilterId, BlockedBloomFilter> bloomFiltersResult = ImmutableMap.of();
         synchronized (this) {
             verify(expectedPartitionCount == null || collectedPartitionCount < expectedPartitionCount);
 
@@ -101,6 +129,9 @@ public class LocalDynamicFilterConsumer
                 return;
             }
             collectedPartitionCount++;
+            partitionBloomFilters.forEach(this::unionBloomFilter);
+            // a partition which provided Bloom filters may still narrow down the probe side even if its domain is 'all'
+            boolean isAll = domain.isAll() && partitionBloomFilters.isEmpty();
 
             boolean allPartitionsCollected = expectedPartitionCount != null && collectedPartitionCount == expectedPartitionCount;
             if (allPartitionsCollected) {
@@ -122,11 +153,11 @@ public class LocalDynamicFilterConsumer
                 }
             }
 
-            if (!allPartitionsCollected && !sizeLimitExceeded && !domain.isAll()) {
+            if (!allPartitionsCollected && !sizeLimitExceeded && !isAll) {
                 return;
             }
 
-            if (sizeLimitExceeded || domain.isAll()) {
+            if (sizeLimitExceeded || isAll) {
                 clearSummaryDomains();
                 result = TupleDomain.all();
             }
@@ -137,17 +168,21 @@ public class LocalDynamicFilterConsumer
                 verify(result != null);
                 long currentSize = summaryDomainsRetainedSizeInBytes.addAndGet(-getRetainedSizeInBytes(result));
                 verify(currentSize == 0, "currentSize is expected to be zero: %s", currentSize);
+                bloomFiltersResult = getCollectedBloomFilters();
             }
+            bloomFilters.clear();
+            bloomFilterPartitionCounts.clear();
             collected = true;
         }
 
-        collectors.forEach(collector -> collector.accept(convertTupleDomain(result)));
+        publish(result, bloomFiltersResult);
     }
 
     @Override
     public void setPartitionCount(int partitionCount)
     {
         TupleDomain<DynamicFilterId> result;
+        Map<DynamicFilterId, BlockedBloomFilter> bloomFiltersResult = ImmutableMap.of();
         synchronized (this) {
             if (collected) {
                 return;
@@ -168,10 +203,41 @@ public class LocalDynamicFilterConsumer
                 verify(result != null);
                 long currentSize = summaryDomainsRetainedSizeInBytes.addAndGet(-getRetainedSizeInBytes(result));
                 verify(currentSize == 0, "currentSize is expected to be zero: %s", currentSize);
+                bloomFiltersResult = getCollectedBloomFilters();
             }
+            bloomFilters.clear();
+            bloomFilterPartitionCounts.clear();
             collected = true;
         }
 
+        publish(result, bloomFiltersResult);
+    }
+
+    @GuardedBy("this")
+    private void unionBloomFilter(DynamicFilterId filterId, BlockedBloomFilter bloomFilter)
+    {
+        bloomFilterPartitionCounts.merge(filterId, 1, Integer::sum);
+        BlockedBloomFilter union = bloomFilters.putIfAbsent(filterId, bloomFilter);
+        if (union != null) {
+            union.union(bloomFilter);
+        }
+    }
+
+    @GuardedBy("this")
+    private Map<DynamicFilterId, BlockedBloomFilter> getCollectedBloomFilters()
+    {
+        // Bloom filter can be used only if every partition provided one, otherwise it may reject matching values
+        return bloomFilters.entrySet().stream()
+                .filter(entry -> bloomFilterPartitionCounts.get(entry.getKey()) == collectedPartitionCount)
+                .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private void publish(TupleDomain<DynamicFilterId> result, Map<DynamicFilterId, BlockedBloomFilter> bloomFiltersResult)
+    {
+        // Bloom filters must be published before the domains, since consumers apply them when the domains are collected
+        if (!bloomFiltersResult.isEmpty() && !result.isNone()) {
+            bloomFilterCollectors.forEach(collector -> collector.accept(bloomFiltersResult));
+        }
         collectors.forEach(collector -> collector.accept(convertTupleDomain(result)));
     }
 
@@ -249,6 +315,7 @@ public class LocalDynamicFilterConsumer
             List<Type> buildSourceTypes,
             Set<DynamicFilterId> collectedFilters,
             List<Consumer<Map<DynamicFilterId, Domain>>> collectors,
+            List<Consumer<Map<DynamicFilterId, BlockedBloomFilter>>> bloomFilterCollectors,
             DataSize domainSizeLimit)
     {
         checkArgument(!planNode.getDynamicFilters().isEmpty(), "Join node dynamicFilters is empty.");
@@ -273,7 +340,7 @@ public class LocalDynamicFilterConsumer
                 .collect(toImmutableMap(
                         Map.Entry::getKey,
                         entry -> buildSourceTypes.get(entry.getValue())));
-        return new LocalDynamicFilterConsumer(buildChannels, filterBuildTypes, collectors, domainSizeLimit);
+        return new LocalDynamicFilterConsumer(buildChannels, filterBuildTypes, collectors, bloomFilterCollectors, domainSizeLimit);
     }
 
     public Map<DynamicFilterId, Integer> getBuildChannels()
@@ -281,6 +348,11 @@ public class LocalDynamicFilterConsumer
         return buildChannels;
     }
 
+    public boolean hasBloomFilterCollectors()
+    {
+        return !bloomFilterCollectors.isEmpty();
+    }
+
     @Override
     public synchronized String toString()
     {
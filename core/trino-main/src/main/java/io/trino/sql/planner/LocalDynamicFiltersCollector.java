@@ -13,6 +13,7 @@
  */
 package io.trino.sql.planner;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.Futures;
@@ -20,6 +21,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.trino.Session;
+import io.trino.operator.BlockedBloomFilter;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.DynamicFilter;
 import io.trino.spi.predicate.Domain;
@@ -28,11 +30,13 @@ import io.trino.spi.type.Type;
 import io.trino.sql.PlannerContext;
 import io.trino.sql.planner.plan.DynamicFilterId;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -43,6 +47,7 @@ import static io.airlift.concurrent.MoreFutures.addSuccessCallback;
 import static io.airlift.concurrent.MoreFutures.unmodifiableFuture;
 import static io.trino.sql.DynamicFilters.Descriptor;
 import static io.trino.sql.DynamicFilters.extractSourceSymbols;
+import static io.trino.sql.ir.Comparison.Operator.EQUAL;
 import static io.trino.sql.planner.DomainCoercer.applySaturatedCasts;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -52,6 +57,8 @@ public class LocalDynamicFiltersCollector
     private final Session session;
     // Each future blocks until its dynamic filter is collected.
     private final Map<DynamicFilterId, SettableFuture<Domain>> futures = new HashMap<>();
+    // Bloom filters are collected before the domains of the same dynamic filters
+    private final Map<DynamicFilterId, BlockedBloomFilter> bloomFilters = new ConcurrentHashMap<>();
 
     public LocalDynamicFiltersCollector(Session session)
     {
@@ -86,6 +93,17 @@ public class LocalDynamicFiltersCollector
         });
     }
 
+    // Used during execution, before the domains of the same dynamic filters are collected.
+    public void collectBloomFilters(Map<DynamicFilterId, BlockedBloomFilter> dynamicFilterBloomFilters)
+    {
+        dynamicFilterBloomFilters.forEach((key, value) -> {
+            // Skip dynamic filters that are not applied locally.
+            if (futures.containsKey(key)) {
+                bloomFilters.put(key, value);
+            }
+        });
+    }
+
     // Called during TableScan planning (no need to be synchronized as local planning is single threaded)
     public DynamicFilter createDynamicFilter(
             List<Descriptor> descriptors,
@@ -97,35 +115,34 @@ public class LocalDynamicFiltersCollector
         // Iterate over dynamic filters that are collected (correspond to one of the futures), and required for filtering (correspond to one of the descriptors).
         // It is possible that some dynamic filters are collected in a different stage - and will not available here.
         // It is also possible that not all local dynamic filters are needed for this specific table scan.
-        List<ListenableFuture<TupleDomain<ColumnHandle>>> predicateFutures = descriptorMap.keySet().stream()
+        List<ListenableFuture<CollectedFilter>> predicateFutures = descriptorMap.keySet().stream()
                 .filter(futures.keySet()::contains)
                 .map(filterId -> {
                     // Probe-side columns that can be filtered with this dynamic filter resulting domain.
                     return Futures.transform(
                             requireNonNull(futures.get(filterId), () -> format("Missing dynamic filter %s", filterId)),
                             // Construct a probe-side predicate by duplicating the resulting domain over the corresponding columns.
-                            domain -> TupleDomain.withColumnDomains(
-                                    descriptorMap.get(filterId).stream()
-                                            .collect(toImmutableMap(
-                                                    descriptor -> {
-                                                        Symbol probeSymbol = Symbol.from(descriptor.getInput());
-                                                        return requireNonNull(columnsMap.get(probeSymbol), () -> format("Missing probe column for %s", probeSymbol));
-                                                    },
-                                                    descriptor -> {
-                                                        Symbol symbol = Symbol.from(descriptor.getInput());
-                                                        Type targetType = symbol.type();
-                                                        Domain updatedDomain = descriptor.applyComparison(domain);
-                                                        if (!updatedDomain.getType().equals(targetType)) {
-                                                            return applySaturatedCasts(
-                                                                    plannerContext.getMetadata(),
-                                                                    plannerContext.getFunctionManager(),
-                                                                    plannerContext.getTypeOperators(),
-                                                                    session,
-                                                                    updatedDomain,
-                                                                    targetType);
-                                                        }
-                                                        return updatedDomain;
-                                                    }))),
+                            domain -> new CollectedFilter(
+                                    TupleDomain.withColumnDomains(
+                                            descriptorMap.get(filterId).stream()
+                                                    .collect(toImmutableMap(
+                                                            descriptor -> getProbeColumn(descriptor, columnsMap),
+                                                            descriptor -> {
+                                                                Symbol symbol = Symbol.from(descriptor.getInput());
+                                                                Type targetType = symbol.type();
+                                                                Domain updatedDomain = descriptor.applyComparison(domain);
+                                                                if (!updatedDomain.getType().equals(targetType)) {
+                                                                    return applySaturatedCasts(
+                                                                            plannerContext.getMetadata(),
+                                                                            plannerContext.getFunctionManager(),
+                                                                            plannerContext.getTypeOperators(),
+                                                                            session,
+                                                                            updatedDomain,
+                                                                            targetType);
+                                                                }
+                                                                return updatedDomain;
+                                                            }))),
+                                    getBloomFilters(filterId, domain.getType(), descriptorMap.get(filterId), columnsMap)),
                             directExecutor());
                 })
                 .collect(toImmutableList());
@@ -139,9 +156,36 @@ public class LocalDynamicFiltersCollector
         return new TableSpecificDynamicFilter(columnsCovered, predicateFutures);
     }
 
+    private Map<ColumnHandle, BlockedBloomFilter> getBloomFilters(DynamicFilterId filterId, Type buildType, Collection<Descriptor> descriptors, Map<Symbol, ColumnHandle> columnsMap)
+    {
+        BlockedBloomFilter bloomFilter = bloomFilters.get(filterId);
+        if (bloomFilter == null) {
+            return ImmutableMap.of();
+        }
+        // Bloom filter contains hashes of build side values, so it can only be used for
+        // equality comparisons of probe columns of the same type, which don't match nulls
+        Map<ColumnHandle, BlockedBloomFilter> result = new HashMap<>();
+        for (Descriptor descriptor : descriptors) {
+            if (descriptor.getOperator() == EQUAL
+                    && !descriptor.isNullAllowed()
+                    && Symbol.from(descriptor.getInput()).type().equals(buildType)) {
+                result.putIfAbsent(getProbeColumn(descriptor, columnsMap), bloomFilter);
+            }
+        }
+        return ImmutableMap.copyOf(result);
+    }
+
+    private static ColumnHandle getProbeColumn(Descriptor descriptor, Map<Symbol, ColumnHandle> columnsMap)
+    {
+        Symbol probeSymbol = Symbol.from(descriptor.getInput());
+        return requireNonNull(columnsMap.get(probeSymbol), () -> format("Missing probe column for %s", probeSymbol));
+    }
+
+    private record CollectedFilter(TupleDomain<ColumnHandle> predicate, Map<ColumnHandle, BlockedBloomFilter> bloomFilters) {}
+
     // Table-specific dynamic filter (collects all domains for a specific table scan)
     private static class TableSpecificDynamicFilter
-            implements DynamicFilter
+            implements BloomFilterDynamicFilter
     {
         private final Set<ColumnHandle> columnsCovered;
         @GuardedBy("this")
@@ -150,25 +194,34 @@ public class LocalDynamicFiltersCollector
         @GuardedBy("this")
         private TupleDomain<ColumnHandle> currentPredicate;
 
+        @GuardedBy("this")
+        private Map<ColumnHandle, BlockedBloomFilter> currentBloomFilters;
+
         @GuardedBy("this")
         private int futuresLeft;
 
-        private TableSpecificDynamicFilter(Set<ColumnHandle> columnsCovered, List<ListenableFuture<TupleDomain<ColumnHandle>>> predicateFutures)
+        private TableSpecificDynamicFilter(Set<ColumnHandle> columnsCovered, List<ListenableFuture<CollectedFilter>> predicateFutures)
         {
             this.columnsCovered = ImmutableSet.copyOf(requireNonNull(columnsCovered, "columnsCovered is null"));
             this.futuresLeft = predicateFutures.size();
             this.isBlocked = predicateFutures.isEmpty() ? NOT_BLOCKED : new CompletableFuture<>();
             this.currentPredicate = TupleDomain.all();
+            this.currentBloomFilters = ImmutableMap.of();
             predicateFutures.forEach(future -> addSuccessCallback(future, this::update, directExecutor()));
         }
 
-        private void update(TupleDomain<ColumnHandle> predicate)
+        private void update(CollectedFilter filter)
         {
             CompletableFuture<?> currentFuture;
             synchronized (this) {
                 futuresLeft -= 1;
                 verify(futuresLeft >= 0);
-                currentPredicate = currentPredicate.intersect(predicate);
+                currentPredicate = currentPredicate.intersect(filter.predicate());
+                if (!filter.bloomFilters().isEmpty()) {
+                    Map<ColumnHandle, BlockedBloomFilter> bloomFilters = new HashMap<>(currentBloomFilters);
+                    filter.bloomFilters().forEach(bloomFilters::putIfAbsent);
+                    currentBloomFilters = ImmutableMap.copyOf(bloomFilters);
+                }
                 currentFuture = isBlocked;
                 // create next blocking future (if needed)
                 isBlocked = isComplete() ? NOT_BLOCKED : new CompletableFuture<>();
@@ -206,5 +259,11 @@ public class LocalDynamicFiltersCollector
         {
             return currentPredicate;
         }
+
+        @Override
+        public synchronized Map<ColumnHandle, BlockedBloomFilter> getCurrentBloomFilters()
+        {
+            return currentBloomFilters;
+        }
     }
 }
@@ -50,6 +50,7 @@ import io.trino.metadata.TableExecuteHandle;
 import io.trino.metadata.TableHandle;
 import io.trino.operator.AggregationOperator.AggregationOperatorFactory;
 import io.trino.operator.AssignUniqueIdOperator;
+import io.trino.operator.BlockedBloomFilter;
 import io.trino.operator.DevNullOperator.DevNullOperatorFactory;
 import io.trino.operator.DirectExchangeClientSupplier;
 import io.trino.operator.DriverFactory;
@@ -62,6 +63,7 @@ import io.trino.operator.FilterAndProjectOperator;
 import io.trino.operator.FlatHashStrategyCompiler;
 import io.trino.operator.GroupIdOperator;
 import io.trino.operator.HashAggregationOperator.HashAggregationOperatorFactory;
+import io.trino.operator.HashGenerator;
 import io.trino.operator.HashSemiJoinOperator;
 import io.trino.operator.JoinOperatorType;
 import io.trino.operator.LeafTableFunctionOperator.LeafTableFunctionOperatorFactory;
@@ -323,8 +325,10 @@ import static io.trino.SystemSessionProperties.getTaskMinWriterCount;
 import static io.trino.SystemSessionProperties.getWriterScalingMinDataProcessed;
 import static io.trino.SystemSessionProperties.isAdaptivePartialAggregationEnabled;
 import static io.trino.SystemSessionProperties.isColumnarFilterEvaluationEnabled;
+import static io.trino.SystemSessionProperties.isDynamicRowFilteringBloomFilterEnabled;
 import static io.trino.SystemSessionProperties.isEnableDynamicRowFiltering;
 import static io.trino.SystemSessionProperties.isEnableLargeDynamicFilters;
+import static io.trino.SystemSessionProperties.isExchangeSkewDetectionEnabled;
 import static io.trino.SystemSessionProperties.isForceSpillingOperator;
 import static io.trino.SystemSessionProperties.isSpillEnabled;
 import static io.trino.cache.CacheUtils.uncheckedCacheGet;
@@ -333,6 +337,7 @@ import static io.trino.execution.buffer.PagesSerdes.createExchangePagesSerdeFact
 import static io.trino.metadata.GlobalFunctionCatalog.builtinFunctionName;
 import static io.trino.operator.DistinctLimitOperator.DistinctLimitOperatorFactory;
 import static io.trino.operator.HashArraySizeSupplier.incrementalLoadFactorHashArraySizeSupplier;
+import static io.trino.operator.InterpretedHashGenerator.createPagePrefixHashGenerator;
 import static io.trino.operator.OperatorFactories.join;
 import static io.trino.operator.OperatorFactories.spillingJoin;
 import static io.trino.operator.RetryPolicy.NONE;
@@ -623,6 +628,11 @@ public class LocalExecutionPlanner
             nullChannel = OptionalInt.of(outputLayout.indexOf(getOnlyElement(partitioningColumns)));
         }
 
+        Optional<HashGenerator> skewDetectionKeyHashGenerator = Optional.empty();
+        if (isExchangeSkewDetectionEnabled(taskContext.getSession()) && !partitionChannelTypes.isEmpty()) {
+            skewDetectionKeyHashGenerator = Optional.of(createPagePrefixHashGenerator(partitionChannelTypes, typeOperators));
+        }
+
         return plan(
                 taskContext,
                 plan,
@@ -640,7 +650,8 @@ public class LocalExecutionPlanner
                         taskContext.getSession().getExchangeEncryptionKey(),
                         taskContext.newAggregateMemoryContext(),
                         getPagePartitioningBufferPoolSize(taskContext.getSession()),
-                        skewedPartitionRebalancer));
+                        skewedPartitionRebalancer,
+                        skewDetectionKeyHashGenerator));
     }
 
     public LocalExecutionPlan plan(
@@ -3147,11 +3158,18 @@ public class LocalExecutionPlanner
                             multipleIf(getDynamicFilteringMaxDistinctValuesPerDriver(session, partitioned), taskConcurrency, isBuildSideSingle),
                             multipleIf(getDynamicFilteringMaxSizePerDriver(session, partitioned), taskConcurrency, isBuildSideSingle),
                             multipleIf(getDynamicFilteringRangeRowLimitPerDriver(session, partitioned), taskConcurrency, isBuildSideSingle),
+                            dynamicFilter.hasBloomFilterCollectors(),
                             typeOperators),
                     buildSource.getLayout(),
                     buildSource);
         }
 
+        private boolean isBloomFilterCollectionEnabled()
+        {
+            // Bloom filters are only applied by dynamic row filtering of local table scans
+            return isEnableDynamicRowFiltering(session) && isDynamicRowFilteringBloomFilterEnabled(session);
+        }
+
         private int multipleIf(int value, int multiplier, boolean shouldMultiply)
         {
             return shouldMultiply ? value * multiplier : value;
@@ -3180,8 +3198,12 @@ public class LocalExecutionPlanner
             log.debug("[Join] Dynamic filters: %s", node.getDynamicFilters());
             ImmutableList.Builder<Consumer<Map<DynamicFilterId, Domain>>> collectors = ImmutableList.builder();
             TaskContext taskContext = context.getTaskContext();
+            ImmutableList.Builder<Consumer<Map<DynamicFilterId, BlockedBloomFilter>>> bloomFilterCollectors = ImmutableList.builder();
             if (!localDynamicFilters.isEmpty()) {
                 collectors.add(taskContext::addDynamicFilter);
+                if (isBloomFilterCollectionEnabled()) {
+                    bloomFilterCollectors.add(taskContext::addDynamicFilterBloomFilters);
+                }
             }
             if (!coordinatorDynamicFilters.isEmpty()) {
                 collectors.add(getCoordinatorDynamicFilterDomainsCollector(taskContext, coordinatorDynamicFilters));
@@ -3191,6 +3213,7 @@ public class LocalExecutionPlanner
                     buildSource.getTypes(),
                     collectedDynamicFilters,
                     collectors.build(),
+                    bloomFilterCollectors.build(),
                     getDynamicFilteringMaxSizePerOperator(session, partitioned));
 
             return Optional.of(filterConsumer);
@@ -3249,9 +3272,13 @@ public class LocalExecutionPlanner
                 DynamicFilterId filterId = node.getDynamicFilterId().get();
                 log.debug("[Semi-join] Dynamic filter: %s", filterId);
                 ImmutableList.Builder<Consumer<Map<DynamicFilterId, Domain>>> collectors = ImmutableList.builder();
+                ImmutableList.Builder<Consumer<Map<DynamicFilterId, BlockedBloomFilter>>> bloomFilterCollectors = ImmutableList.builder();
                 TaskContext taskContext = context.getTaskContext();
                 if (isLocalDynamicFilter) {
                     collectors.add(taskContext::addDynamicFilter);
+                    if (isBloomFilterCollectionEnabled()) {
+                        bloomFilterCollectors.add(taskContext::addDynamicFilterBloomFilters);
+                    }
                 }
                 if (isCoordinatorDynamicFilter) {
                     collectors.add(getCoordinatorDynamicFilterDomainsCollector(taskContext, ImmutableSet.of(filterId)));
@@ -3261,6 +3288,7 @@ public class LocalExecutionPlanner
                         ImmutableMap.of(filterId, buildChannel),
                         ImmutableMap.of(filterId, buildSource.getTypes().get(buildChannel)),
                         collectors.build(),
+                        bloomFilterCollectors.build(),
                         getDynamicFilteringMaxSizePerOperator(session, partitioned));
                 buildSource = new PhysicalOperation(
                         new DynamicFilterSourceOperatorFactory(
@@ -3271,6 +3299,7 @@ public class LocalExecutionPlanner
                                 getDynamicFilteringMaxDistinctValuesPerDriver(session, partitioned),
                                 getDynamicFilteringMaxSizePerDriver(session, partitioned),
                                 getDynamicFilteringRangeRowLimitPerDriver(session, partitioned),
+                                filterConsumer.hasBloomFilterCollectors(),
                                 typeOperators),
                         buildSource.getLayout(),
                         buildSource);
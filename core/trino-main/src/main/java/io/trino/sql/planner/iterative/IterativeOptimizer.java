@@ -139,6 +139,11 @@ public class IterativeOptimizer
 
     private boolean exploreGroup(int group, Context context, Set<PlanNodeId> changedPlanNodeIds)
     {
+        if (context.memo.isExplored(group)) {
+            // no rule applies to this subtree since it was last explored
+            return false;
+        }
+
         // tracks whether this group or any children groups change as
         // this method executes
         boolean progress = exploreNode(group, context, changedPlanNodeIds);
@@ -154,6 +159,7 @@ public class IterativeOptimizer
             }
         }
 
+        context.memo.markExplored(group);
         return progress;
     }
 
@@ -59,6 +59,10 @@ import static java.util.Objects.requireNonNull;
  * </pre>
  * Groups are reference-counted, and groups that become unreachable from the root
  * due to mutations in a subtree get garbage-collected.
+ * <p>
+ * A group can be marked as explored once no rule applies to it or any group of its
+ * subtree. Since rule patterns only look at a node and its sources, the mark stays
+ * valid until the group or one of its descendants is replaced.
  */
 public class Memo
 {
@@ -131,10 +135,35 @@ public class Memo
         group.membership = node;
         decrementReferenceCounts(old, groupId);
         evictStatisticsAndCost(group);
+        evictExplored(group);
 
         return node;
     }
 
+    private void evictExplored(Group group)
+    {
+        if (!group.explored) {
+            // ancestors of a group which is not explored are not explored either
+            return;
+        }
+        group.explored = false;
+        for (int parentGroup : group.incomingReferences.elementSet()) {
+            if (parentGroup != ROOT_GROUP_REF) {
+                evictExplored(getGroup(parentGroup));
+            }
+        }
+    }
+
+    public boolean isExplored(int group)
+    {
+        return getGroup(group).explored;
+    }
+
+    public void markExplored(int group)
+    {
+        getGroup(group).explored = true;
+    }
+
     private void evictStatisticsAndCost(Group group)
     {
         group.stats = null;
@@ -257,6 +286,7 @@ public class Memo
         private PlanNodeStatsEstimate stats;
         @Nullable
         private PlanCostEstimate cost;
+        private boolean explored;
 
         private Group(PlanNode member)
         {
@@ -26,11 +26,14 @@ import io.trino.spi.block.Block;
 import io.trino.spi.type.Type;
 
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.trino.operator.WorkProcessor.mergeSorted;
 import static java.util.Objects.requireNonNull;
 
@@ -92,6 +95,30 @@ public final class MergeSortedPages
                 yieldSignal);
     }
 
+    /**
+     * Returns a function merging sorted pages iterators, for merging spilled sorted streams outside of the driver thread.
+     * Memory contexts must only be updated by the driver thread, so the memory of the merge is not tracked here and must
+     * be reserved by the caller.
+     */
+    public static Function<List<Iterator<Page>>, Iterator<Page>> sortedPagesMerger(
+            PageWithPositionComparator comparator,
+            List<Type> outputTypes)
+    {
+        requireNonNull(comparator, "comparator is null");
+        requireNonNull(outputTypes, "outputTypes is null");
+
+        return pageIterators -> mergeSortedPages(
+                pageIterators.stream()
+                        .map(WorkProcessor::fromIterator)
+                        .collect(toImmutableList()),
+                comparator,
+                outputTypes,
+                newSimpleAggregatedMemoryContext(),
+                // merge is not run by a driver, so it never yields
+                new DriverYieldSignal())
+                .iterator();
+    }
+
     private static WorkProcessor<Page> buildPage(
             WorkProcessor<PageWithPosition> pageWithPositions,
             List<Integer> outputChannels,
@@ -35,6 +35,7 @@ public class TestDynamicFilterConfig
                 .setEnableLargeDynamicFilters(true)
                 .setEnableDynamicRowFiltering(true)
                 .setDynamicRowFilterSelectivityThreshold(0.7)
+                .setEnableDynamicRowFilteringBloomFilters(true)
                 .setSmallMaxDistinctValuesPerDriver(1_000)
                 .setSmallMaxSizePerDriver(DataSize.of(100, KILOBYTE))
                 .setSmallRangeRowLimitPerDriver(2_000)
@@ -63,6 +64,7 @@ public class TestDynamicFilterConfig
                 .put("enable-large-dynamic-filters", "false")
                 .put("enable-dynamic-row-filtering", "false")
                 .put("dynamic-row-filtering.selectivity-threshold", "0.8")
+                .put("dynamic-row-filtering.bloom-filter-enabled", "false")
                 .put("dynamic-filtering.small.max-distinct-values-per-driver", "256")
                 .put("dynamic-filtering.small.max-size-per-driver", "64kB")
                 .put("dynamic-filtering.small.range-row-limit-per-driver", "20000")
@@ -88,6 +90,7 @@ public class TestDynamicFilterConfig
                 .setEnableLargeDynamicFilters(false)
                 .setEnableDynamicRowFiltering(false)
                 .setDynamicRowFilterSelectivityThreshold(0.8)
+                .setEnableDynamicRowFilteringBloomFilters(false)
                 .setSmallMaxDistinctValuesPerDriver(256)
                 .setSmallMaxSizePerDriver(DataSize.of(64, KILOBYTE))
                 .setSmallRangeRowLimitPerDriver(20000)
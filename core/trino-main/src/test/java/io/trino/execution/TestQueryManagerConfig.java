@@ -47,6 +47,7 @@ public class TestQueryManagerConfig
                 .setMinQueryExpireAge(new Duration(15, MINUTES))
                 .setMaxQueryHistory(100)
                 .setMaxQueryLength(1_000_000)
+                .setPreparedStatementCacheMaxEntries(1000)
                 .setMaxStageCount(150)
                 .setStageCountWarningThreshold(50)
                 .setClientTimeout(new Duration(5, MINUTES))
@@ -132,6 +133,7 @@ public class TestQueryManagerConfig
                 .put("query.min-expire-age", "30s")
                 .put("query.max-history", "10")
                 .put("query.max-length", "10000")
+                .put("query.prepared-statement-cache.max-entries", "50")
                 .put("query.max-stage-count", "12345")
                 .put("query.stage-count-warning-threshold", "12300")
                 .put("query.schedule-split-batch-size", "99")
@@ -212,6 +214,7 @@ public class TestQueryManagerConfig
                 .setMinQueryExpireAge(new Duration(30, SECONDS))
                 .setMaxQueryHistory(10)
                 .setMaxQueryLength(10000)
+                .setPreparedStatementCacheMaxEntries(50)
                 .setMaxStageCount(12345)
                 .setStageCountWarningThreshold(12300)
                 .setClientTimeout(new Duration(10, SECONDS))
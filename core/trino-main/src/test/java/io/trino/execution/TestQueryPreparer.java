@@ -35,7 +35,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 public class TestQueryPreparer
 {
     private static final SqlParser SQL_PARSER = new SqlParser();
-    private static final QueryPreparer QUERY_PREPARER = new QueryPreparer(SQL_PARSER);
+    private static final QueryPreparer QUERY_PREPARER = new QueryPreparer(SQL_PARSER, new QueryManagerConfig());
 
     @Test
     public void testSelectStatement()
@@ -61,6 +61,32 @@ public class TestQueryPreparer
         assertThat(preparedQuery.getStatement()).isEqualTo(simpleQuery(selectList(new AllColumns()), table(QualifiedName.of("foo"))));
     }
 
+    @Test
+    public void testPreparedStatementCache()
+    {
+        QueryPreparer queryPreparer = new QueryPreparer(SQL_PARSER, new QueryManagerConfig());
+        Session session = testSessionBuilder()
+                .addPreparedStatement("my_query", "SELECT * FROM foo WHERE col1 = ?")
+                .addPreparedStatement("other_query", "SELECT * FROM foo WHERE col1 = ?")
+                .build();
+
+        PreparedQuery preparedQuery = queryPreparer.prepareQuery(session, "EXECUTE my_query USING 1");
+        assertThat(queryPreparer.prepareQuery(session, "EXECUTE my_query USING 2").getStatement()).isSameAs(preparedQuery.getStatement());
+        // statements are cached by their text
+        assertThat(queryPreparer.prepareQuery(session, "EXECUTE other_query USING 3").getStatement()).isSameAs(preparedQuery.getStatement());
+        assertThat(queryPreparer.getPreparedStatementCache().getRequestCount()).isEqualTo(3);
+        assertThat(queryPreparer.getPreparedStatementCache().getLoadCount()).isEqualTo(1);
+
+        // the location of the statement is kept for EXECUTE IMMEDIATE
+        assertThat(queryPreparer.prepareQuery(session, "EXECUTE IMMEDIATE 'SELECT * FROM foo WHERE col1 = ?' USING 1").getStatement())
+                .isNotSameAs(preparedQuery.getStatement())
+                .isEqualTo(preparedQuery.getStatement());
+        assertThatThrownBy(() -> queryPreparer.prepareQuery(TEST_SESSION, "EXECUTE IMMEDIATE 'SELECT FROM'"))
+                .hasMessageMatching("line 1:27: mismatched input 'FROM'. Expecting: .*");
+        assertThatThrownBy(() -> queryPreparer.prepareQuery(TEST_SESSION, "EXECUTE  IMMEDIATE 'SELECT FROM'"))
+                .hasMessageMatching("line 1:28: mismatched input 'FROM'. Expecting: .*");
+    }
+
     @Test
     public void testExecuteStatementDoesNotExist()
     {
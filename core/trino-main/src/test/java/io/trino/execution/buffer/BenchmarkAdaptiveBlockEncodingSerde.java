@@ -0,0 +1,207 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution.buffer;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.type.Type;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static io.trino.execution.buffer.CompressionCodec.LZ4;
+import static io.trino.execution.buffer.CompressionCodec.NONE;
+import static io.trino.execution.buffer.TestingPagesSerdes.createTestingAdaptivePagesSerdeFactory;
+import static io.trino.execution.buffer.TestingPagesSerdes.createTestingPagesSerdeFactory;
+import static io.trino.jmh.Benchmarks.benchmark;
+import static io.trino.operator.PageAssertions.assertPageEquals;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Reports the CPU cost per row of serializing and deserializing integer columns, with and without
+ * adaptive encodings. Run {@link #main} to also print the serialized bytes per row of each data set.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 10, time = 500, timeUnit = MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OperationsPerInvocation(BenchmarkAdaptiveBlockEncodingSerde.ROWS)
+public class BenchmarkAdaptiveBlockEncodingSerde
+{
+    private static final int ROWS_PER_PAGE = 8192;
+    public static final int ROWS = 128 * ROWS_PER_PAGE;
+
+    @Benchmark
+    public void serialize(BenchmarkData data, Blackhole blackhole)
+    {
+        for (Page page : data.pages) {
+            blackhole.consume(data.serializer.serialize(page));
+        }
+    }
+
+    @Benchmark
+    public void deserialize(BenchmarkData data, Blackhole blackhole)
+    {
+        for (Slice serializedPage : data.serializedPages) {
+            blackhole.consume(data.deserializer.deserialize(serializedPage));
+        }
+    }
+
+    public enum Distribution
+    {
+        // uniformly random over the whole domain, which can't be packed
+        RANDOM,
+        // a few thousand distinct values far from zero, like foreign keys
+        NARROW,
+        // increasing values with small gaps, like a sorted key or a timestamp
+        SORTED
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"BIGINT", "INTEGER"})
+        private String type = "BIGINT";
+        @Param({"RANDOM", "NARROW", "SORTED"})
+        private Distribution distribution = Distribution.NARROW;
+        @Param({"0", ".1"})
+        private double nullChance;
+        @Param({"NONE", "LZ4"})
+        private CompressionCodec compressionCodec = NONE;
+        @Param({"false", "true"})
+        private boolean adaptiveEncoding = true;
+
+        private Page[] pages;
+        private Slice[] serializedPages;
+        private PageSerializer serializer;
+        private PageDeserializer deserializer;
+
+        @Setup
+        public void setup()
+        {
+            PagesSerdeFactory serdeFactory = adaptiveEncoding ? createTestingAdaptivePagesSerdeFactory(compressionCodec) : createTestingPagesSerdeFactory(compressionCodec);
+            serializer = serdeFactory.createSerializer(Optional.empty());
+            deserializer = serdeFactory.createDeserializer(Optional.empty());
+
+            Random random = new Random(42);
+            pages = new Page[ROWS / ROWS_PER_PAGE];
+            long previous = random.nextInt();
+            for (int page = 0; page < pages.length; page++) {
+                boolean[] isNull = new boolean[ROWS_PER_PAGE];
+                long[] values = new long[ROWS_PER_PAGE];
+                for (int position = 0; position < ROWS_PER_PAGE; position++) {
+                    isNull[position] = random.nextDouble() < nullChance;
+                    values[position] = switch (distribution) {
+                        case RANDOM -> random.nextLong();
+                        case NARROW -> 1_000_000 + random.nextInt(5_000);
+                        case SORTED -> previous += random.nextInt(100);
+                    };
+                }
+                pages[page] = new Page(createBlock(getType(), values, nullChance > 0 ? Optional.of(isNull) : Optional.empty()));
+            }
+
+            serializedPages = new Slice[pages.length];
+            for (int i = 0; i < pages.length; i++) {
+                serializedPages[i] = serializer.serialize(pages[i]);
+            }
+        }
+
+        public Type getType()
+        {
+            return type.equals("BIGINT") ? BIGINT : INTEGER;
+        }
+
+        public double getSerializedBytesPerRow()
+        {
+            long bytes = 0;
+            for (Slice serializedPage : serializedPages) {
+                bytes += serializedPage.length();
+            }
+            return (double) bytes / (pages.length * ROWS_PER_PAGE);
+        }
+
+        private static Block createBlock(Type type, long[] values, Optional<boolean[]> isNull)
+        {
+            if (type == BIGINT) {
+                return new LongArrayBlock(values.length, isNull, values);
+            }
+            int[] intValues = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                intValues[i] = (int) values[i];
+            }
+            return new IntArrayBlock(values.length, isNull, intValues);
+        }
+    }
+
+    @Test
+    public void testBenchmarkData()
+    {
+        for (Distribution distribution : Distribution.values()) {
+            BenchmarkData data = new BenchmarkData();
+            data.distribution = distribution;
+            data.nullChance = 0.1;
+            data.compressionCodec = LZ4;
+            data.setup();
+            for (int i = 0; i < data.pages.length; i++) {
+                assertPageEquals(ImmutableList.of(data.getType()), data.deserializer.deserialize(data.serializedPages[i]), data.pages[i]);
+            }
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        for (String type : new String[] {"BIGINT", "INTEGER"}) {
+            for (Distribution distribution : Distribution.values()) {
+                for (CompressionCodec compressionCodec : new CompressionCodec[] {NONE, LZ4}) {
+                    for (boolean adaptiveEncoding : new boolean[] {false, true}) {
+                        BenchmarkData data = new BenchmarkData();
+                        data.type = type;
+                        data.distribution = distribution;
+                        data.compressionCodec = compressionCodec;
+                        data.adaptiveEncoding = adaptiveEncoding;
+                        data.setup();
+                        System.out.printf("%s %s %s adaptiveEncoding=%s: %.2f bytes/row%n", type, distribution, compressionCodec, adaptiveEncoding, data.getSerializedBytesPerRow());
+                    }
+                }
+            }
+        }
+
+        benchmark(BenchmarkAdaptiveBlockEncodingSerde.class).run();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution.buffer;
+
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.trino.metadata.BlockEncodingManager;
+import io.trino.metadata.InternalBlockEncodingSerde;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockEncodingSerde;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.block.RowBlock;
+import io.trino.spi.type.RowType;
+import io.trino.spi.type.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+import static io.trino.block.BlockAssertions.assertBlockEquals;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.type.InternalTypeManager.TESTING_TYPE_MANAGER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestAdaptiveBlockEncodingSerde
+{
+    private static final int POSITIONS = 1000;
+
+    private final BlockEncodingSerde delegate = new InternalBlockEncodingSerde(new BlockEncodingManager(), TESTING_TYPE_MANAGER);
+    private final BlockEncodingSerde serde = new AdaptiveBlockEncodingSerde(delegate);
+
+    @Test
+    public void testLongRoundTrip()
+    {
+        Random random = new Random(42);
+        for (double nullRate : new double[] {0, 0.1, 0.5, 1}) {
+            assertLongRoundTrip(position -> 7, nullRate);
+            assertLongRoundTrip(position -> 1_000_000_000_000L + random.nextInt(1000), nullRate);
+            assertLongRoundTrip(position -> -5_000L * position + random.nextInt(3), nullRate);
+            assertLongRoundTrip(position -> random.nextLong(), nullRate);
+            assertLongRoundTrip(position -> position % 2 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE, nullRate);
+        }
+    }
+
+    @Test
+    public void testIntRoundTrip()
+    {
+        Random random = new Random(42);
+        for (double nullRate : new double[] {0, 0.1, 0.5, 1}) {
+            assertIntRoundTrip(position -> -3, nullRate);
+            assertIntRoundTrip(position -> random.nextInt(100), nullRate);
+            assertIntRoundTrip(position -> 100 * position, nullRate);
+            assertIntRoundTrip(position -> random.nextInt(), nullRate);
+            assertIntRoundTrip(position -> position % 2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE, nullRate);
+        }
+    }
+
+    @Test
+    public void testEmptyAndRegionBlocks()
+    {
+        long[] values = new long[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            values[i] = i;
+        }
+        LongArrayBlock block = new LongArrayBlock(POSITIONS, Optional.empty(), values);
+        assertRoundTrip(BIGINT, block.getRegion(0, 0));
+        assertRoundTrip(BIGINT, block.getRegion(1, 1));
+        assertRoundTrip(BIGINT, block.getRegion(123, 456));
+    }
+
+    @Test
+    public void testEncodingChoice()
+    {
+        Random random = new Random(42);
+        // values in a narrow range are stored relative to the minimum
+        LongArrayBlock narrow = longBlock(position -> 1_000_000_000_000L + random.nextInt(256), 0);
+        assertThat(serializedSize(serde, narrow)).isLessThan(serializedSize(delegate, narrow) / 7);
+
+        // sorted values spread over a wide range are stored as deltas
+        LongArrayBlock sorted = longBlock(position -> position * 1_000_000_000L + random.nextInt(16), 0);
+        assertThat(serializedSize(serde, sorted)).isLessThan(serializedSize(delegate, sorted) / 2);
+
+        // random values are written with the delegate encoding
+        LongArrayBlock unpackable = longBlock(position -> random.nextLong(), 0.1);
+        assertThat(serializedSize(serde, unpackable)).isEqualTo(serializedSize(delegate, unpackable) + 1);
+
+        IntArrayBlock smallInts = intBlock(position -> random.nextInt(16), 0);
+        assertThat(serializedSize(serde, smallInts)).isLessThan(serializedSize(delegate, smallInts) / 7);
+    }
+
+    @Test
+    public void testNestedBlocks()
+    {
+        Block field = longBlock(position -> position, 0);
+        RowBlock block = RowBlock.fromFieldBlocks(POSITIONS, new Block[] {field});
+        assertRoundTrip(RowType.anonymousRow(BIGINT), block);
+    }
+
+    private void assertLongRoundTrip(IntToLongFunction values, double nullRate)
+    {
+        assertRoundTrip(BIGINT, longBlock(values, nullRate));
+    }
+
+    private void assertIntRoundTrip(IntToLongFunction values, double nullRate)
+    {
+        assertRoundTrip(INTEGER, intBlock(values, nullRate));
+    }
+
+    private void assertRoundTrip(Type type, Block block)
+    {
+        DynamicSliceOutput output = new DynamicSliceOutput(1024);
+        serde.writeBlock(output, block);
+        Slice slice = output.slice();
+        Block actual = serde.readBlock(slice.getInput());
+        assertBlockEquals(type, actual, block);
+    }
+
+    private static long serializedSize(BlockEncodingSerde serde, Block block)
+    {
+        DynamicSliceOutput output = new DynamicSliceOutput(1024);
+        serde.writeBlock(output, block);
+        return output.size();
+    }
+
+    private static LongArrayBlock longBlock(IntToLongFunction valueGenerator, double nullRate)
+    {
+        Random random = new Random(1);
+        boolean[] isNull = new boolean[POSITIONS];
+        long[] values = new long[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            isNull[i] = random.nextDouble() < nullRate;
+            values[i] = isNull[i] ? 0 : valueGenerator.applyAsLong(i);
+        }
+        return new LongArrayBlock(POSITIONS, nullRate == 0 ? Optional.empty() : Optional.of(isNull), values);
+    }
+
+    private static IntArrayBlock intBlock(IntToLongFunction valueGenerator, double nullRate)
+    {
+        Random random = new Random(1);
+        boolean[] isNull = new boolean[POSITIONS];
+        int[] values = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            isNull[i] = random.nextDouble() < nullRate;
+            values[i] = isNull[i] ? 0 : (int) valueGenerator.applyAsLong(i);
+        }
+        return new IntArrayBlock(POSITIONS, nullRate == 0 ? Optional.empty() : Optional.of(isNull), values);
+    }
+}
@@ -34,4 +34,9 @@ public final class TestingPagesSerdes
     {
         return new PagesSerdeFactory(BLOCK_ENCODING_SERDE, compressionCodec);
     }
+
+    public static PagesSerdeFactory createTestingAdaptivePagesSerdeFactory(CompressionCodec compressionCodec)
+    {
+        return new PagesSerdeFactory(new AdaptiveBlockEncodingSerde(BLOCK_ENCODING_SERDE), compressionCodec);
+    }
 }
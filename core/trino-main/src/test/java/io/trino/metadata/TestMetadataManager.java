@@ -111,7 +111,8 @@ public final class TestMetadataManager
                     globalFunctionCatalog,
                     languageFunctionManager,
                     tableFunctionRegistry,
-                    typeManager);
+                    typeManager,
+                    new TableStatisticsCache(new TableStatisticsCacheConfig()));
         }
     }
 
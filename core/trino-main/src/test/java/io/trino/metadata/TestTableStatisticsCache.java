@@ -0,0 +1,130 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.metadata;
+
+import io.trino.Session;
+import io.trino.spi.connector.CatalogHandle;
+import io.trino.spi.statistics.Estimate;
+import io.trino.spi.statistics.TableStatistics;
+import io.trino.testing.TestingMetadata.TestingTableHandle;
+import io.trino.testing.TestingTransactionHandle;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.trino.testing.TestingHandles.TEST_CATALOG_HANDLE;
+import static io.trino.testing.TestingHandles.TEST_CATALOG_NAME;
+import static io.trino.testing.TestingHandles.createTestCatalogHandle;
+import static io.trino.testing.TestingSession.testSession;
+import static io.trino.testing.TestingSession.testSessionBuilder;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestTableStatisticsCache
+{
+    @Test
+    public void testStatisticsSharedBetweenQueries()
+    {
+        TableStatisticsCache cache = new TableStatisticsCache(new TableStatisticsCacheConfig().setEnabled(true));
+        TableHandle table = tableHandle(TEST_CATALOG_HANDLE);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(testSession(), table, () -> statistics(loads.incrementAndGet()))).isEqualTo(statistics(1));
+        // a later query sees the same table handle in another transaction
+        TableHandle otherTransaction = new TableHandle(table.catalogHandle(), table.connectorHandle(), TestingTransactionHandle.create());
+        assertThat(cache.get(testSession(), otherTransaction, () -> statistics(loads.incrementAndGet()))).isEqualTo(statistics(1));
+        assertThat(loads.get()).isEqualTo(1);
+
+        // another version of the table data has another table handle
+        assertThat(cache.get(testSession(), tableHandle(TEST_CATALOG_HANDLE), () -> statistics(loads.incrementAndGet()))).isEqualTo(statistics(2));
+
+        // statistics may depend on catalog session properties
+        Session session = testSessionBuilder()
+                .setCatalogSessionProperty(TEST_CATALOG_NAME, "statistics_enabled", "false")
+                .build();
+        assertThat(cache.get(session, table, () -> statistics(loads.incrementAndGet()))).isEqualTo(statistics(3));
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(cache.getCacheStats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testInvalidate()
+    {
+        TableStatisticsCache cache = new TableStatisticsCache(new TableStatisticsCacheConfig().setEnabled(true));
+        TableHandle table = tableHandle(TEST_CATALOG_HANDLE);
+        TableHandle otherCatalogTable = tableHandle(createTestCatalogHandle("other_catalog"));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(testSession(), table, () -> statistics(loads.incrementAndGet()));
+        cache.get(testSession(), otherCatalogTable, () -> statistics(loads.incrementAndGet()));
+        assertThat(loads.get()).isEqualTo(2);
+
+        cache.invalidate(TEST_CATALOG_HANDLE);
+        assertThat(cache.get(testSession(), table, () -> statistics(loads.incrementAndGet()))).isEqualTo(statistics(3));
+        assertThat(cache.get(testSession(), otherCatalogTable, () -> statistics(loads.incrementAndGet()))).isEqualTo(statistics(2));
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testConcurrentLoadsCoalesced()
+            throws Exception
+    {
+        TableStatisticsCache cache = new TableStatisticsCache(new TableStatisticsCacheConfig().setEnabled(true));
+        TableHandle table = tableHandle(TEST_CATALOG_HANDLE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+
+        ExecutorService executor = newFixedThreadPool(2);
+        try {
+            Future<TableStatistics> first = executor.submit(() -> cache.get(testSession(), table, () -> {
+                loadStarted.countDown();
+                try {
+                    finishLoad.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+                return statistics(loads.incrementAndGet());
+            }));
+            assertThat(loadStarted.await(10, SECONDS)).isTrue();
+            Future<TableStatistics> second = executor.submit(() -> cache.get(testSession(), table, () -> statistics(loads.incrementAndGet())));
+            finishLoad.countDown();
+
+            assertThat(first.get(10, SECONDS)).isEqualTo(statistics(1));
+            assertThat(second.get(10, SECONDS)).isEqualTo(statistics(1));
+            assertThat(loads.get()).isEqualTo(1);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TableHandle tableHandle(CatalogHandle catalogHandle)
+    {
+        return new TableHandle(catalogHandle, new TestingTableHandle(), TestingTransactionHandle.create());
+    }
+
+    private static TableStatistics statistics(long rowCount)
+    {
+        return TableStatistics.builder()
+                .setRowCount(Estimate.of(rowCount))
+                .build();
+    }
+}
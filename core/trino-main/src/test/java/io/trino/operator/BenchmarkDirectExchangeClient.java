@@ -0,0 +1,169 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableListMultimap;
+import io.airlift.http.client.HttpStatus;
+import io.airlift.http.client.testing.TestingHttpClient;
+import io.airlift.http.client.testing.TestingResponse;
+import io.airlift.slice.Slice;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.trino.FeaturesConfig.DataIntegrityVerification;
+import io.trino.execution.StageId;
+import io.trino.execution.TaskId;
+import io.trino.memory.context.SimpleLocalMemoryContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.trino.cache.SafeCaches.buildNonEvictableCache;
+import static io.trino.execution.buffer.CompressionCodec.LZ4;
+import static io.trino.execution.buffer.TestingPagesSerdes.createTestingPagesSerdeFactory;
+import static io.trino.jmh.Benchmarks.benchmark;
+import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads the pages of many upstream tasks through a single exchange client, as each consumer
+ * of a wide shuffle does, with and without continuous requests.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BenchmarkDirectExchangeClient
+{
+    private static final int PAGES_PER_TASK = 100;
+
+    @Param({"16", "128"})
+    private int upstreamTasks = 16;
+
+    @Param({"false", "true"})
+    private boolean continuousRequestsEnabled;
+
+    private ExecutorService callbackExecutor;
+    private ScheduledExecutorService scheduler;
+
+    @Setup
+    public void setup()
+    {
+        callbackExecutor = newCachedThreadPool(daemonThreadsNamed(getClass().getSimpleName() + "-callback-%s"));
+        scheduler = newScheduledThreadPool(4, daemonThreadsNamed(getClass().getSimpleName() + "-scheduler-%s"));
+    }
+
+    @TearDown
+    public void cleanup()
+    {
+        callbackExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public long readAllPages()
+            throws Exception
+    {
+        LoadingCache<TaskId, TestingTaskBuffer> taskBuffers = buildNonEvictableCache(CacheBuilder.newBuilder(), CacheLoader.from(TestingTaskBuffer::new));
+        TestingExchangeHttpClientHandler handler = new TestingExchangeHttpClientHandler(taskBuffers, createTestingPagesSerdeFactory(LZ4));
+
+        try (TestingHttpClient httpClient = new TestingHttpClient(
+                request -> {
+                    // acknowledge requests are not handled by the testing handler
+                    if (request.getUri().getPath().endsWith("/acknowledge")) {
+                        return new TestingResponse(HttpStatus.OK, ImmutableListMultimap.of(), new byte[0]);
+                    }
+                    return handler.handle(request);
+                },
+                scheduler);
+                DirectExchangeClient exchangeClient = new DirectExchangeClient(
+                        "localhost",
+                        DataIntegrityVerification.ABORT,
+                        new StreamingDirectExchangeBuffer(scheduler, DataSize.of(32, MEGABYTE)),
+                        DataSize.of(10, MEGABYTE),
+                        3,
+                        new Duration(1, TimeUnit.MINUTES),
+                        true,
+                        continuousRequestsEnabled,
+                        httpClient,
+                        scheduler,
+                        new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
+                        callbackExecutor,
+                        (taskId, failure) -> {})) {
+            for (int partition = 0; partition < upstreamTasks; partition++) {
+                TaskId taskId = new TaskId(new StageId("query", 1), partition, 0);
+                taskBuffers.getUnchecked(taskId).addPages(PAGES_PER_TASK, true);
+                exchangeClient.addLocation(taskId, URI.create("http://localhost:8080/" + taskId));
+            }
+            exchangeClient.noMoreLocations();
+
+            long pages = 0;
+            while (!exchangeClient.isFinished()) {
+                Slice page = exchangeClient.pollPage();
+                if (page == null) {
+                    exchangeClient.isBlocked().get();
+                    continue;
+                }
+                pages++;
+            }
+            return pages;
+        }
+    }
+
+    @Test
+    public void testBenchmark()
+            throws Exception
+    {
+        for (boolean continuousRequests : new boolean[] {false, true}) {
+            continuousRequestsEnabled = continuousRequests;
+            setup();
+            try {
+                assertThat(readAllPages()).isEqualTo((long) upstreamTasks * PAGES_PER_TASK);
+            }
+            finally {
+                cleanup();
+            }
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        benchmark(BenchmarkDirectExchangeClient.class).run();
+    }
+}
@@ -75,6 +75,26 @@ public class BenchmarkGroupByHash
         return groupByHash;
     }
 
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public Object getGroupIds(MultiChannelBenchmarkData data)
+    {
+        GroupByHash groupByHash = new FlatGroupByHash(data.getTypes(), data.getFlatGroupByHashMode(), EXPECTED_SIZE, false, new FlatHashStrategyCompiler(TYPE_OPERATORS), NOOP);
+        long groupIdsSum = 0;
+        for (Page page : data.getPages()) {
+            Work<int[]> work = groupByHash.getGroupIds(page);
+            boolean finished;
+            do {
+                finished = work.process();
+            }
+            while (!finished);
+            for (int groupId : work.getResult()) {
+                groupIdsSum += groupId;
+            }
+        }
+        return groupIdsSum;
+    }
+
     @Benchmark
     @OperationsPerInvocation(POSITIONS)
     public Object writeData(WriteMultiChannelBenchmarkData data)
@@ -276,6 +296,7 @@ public class BenchmarkGroupByHash
         MultiChannelBenchmarkData data = new MultiChannelBenchmarkData();
         data.setup();
         new BenchmarkGroupByHash().addPages(data);
+        new BenchmarkGroupByHash().getGroupIds(data);
 
         WriteMultiChannelBenchmarkData writeData = new WriteMultiChannelBenchmarkData();
         writeData.setup(data);
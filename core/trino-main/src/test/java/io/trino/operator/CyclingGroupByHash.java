@@ -60,6 +60,9 @@ public class CyclingGroupByHash
         throw new UnsupportedOperationException("Not yet supported");
     }
 
+    @Override
+    public void close() {}
+
     @Override
     public void appendValuesTo(int groupId, PageBuilder pageBuilder)
     {
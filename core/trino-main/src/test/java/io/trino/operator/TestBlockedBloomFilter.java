@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.trino.operator.BlockedBloomFilter.withMaxSize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestBlockedBloomFilter
+{
+    @Test
+    public void testSize()
+    {
+        assertThat(withMaxSize(0).getSizeInBytes()).isEqualTo(64);
+        assertThat(withMaxSize(100).getSizeInBytes()).isEqualTo(64);
+        assertThat(withMaxSize(1024).getSizeInBytes()).isEqualTo(1024);
+        assertThat(withMaxSize(1500).getSizeInBytes()).isEqualTo(1024);
+    }
+
+    @Test
+    public void testNoFalseNegatives()
+    {
+        BlockedBloomFilter bloomFilter = withMaxSize(64 * 1024);
+        Random random = new Random(42);
+        long[] hashes = random.longs(10_000).toArray();
+        for (long hash : hashes) {
+            bloomFilter.add(hash);
+        }
+        for (long hash : hashes) {
+            assertThat(bloomFilter.mightContain(hash)).isTrue();
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRate()
+    {
+        // 16 bits per value
+        BlockedBloomFilter bloomFilter = withMaxSize(16 * 1024);
+        Random random = new Random(42);
+        random.longs(8 * 1024).forEach(bloomFilter::add);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(1_000);
+    }
+
+    @Test
+    public void testUnion()
+    {
+        BlockedBloomFilter first = withMaxSize(1024);
+        BlockedBloomFilter second = withMaxSize(1024);
+        first.add(1);
+        second.add(2);
+        assertThat(first.mightContain(2)).isFalse();
+
+        first.union(second);
+        assertThat(first.mightContain(1)).isTrue();
+        assertThat(first.mightContain(2)).isTrue();
+
+        assertThatThrownBy(() -> first.union(withMaxSize(2048)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Bloom filters have different sizes");
+    }
+}
@@ -63,6 +63,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
@@ -145,6 +146,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -190,6 +192,62 @@ public class TestDirectExchangeClient
         assertThat(buffer.getPages().size()).isEqualTo(3);
     }
 
+    @Test
+    public void testContinuousRequests()
+            throws Exception
+    {
+        // a single page fits in each response
+        DataSize maxResponseSize = DataSize.ofBytes(1);
+        MockExchangeRequestProcessor processor = new MockExchangeRequestProcessor(maxResponseSize);
+
+        URI location = URI.create("http://localhost:8080");
+        processor.addPage(location, createSerializedPage(1));
+        processor.addPage(location, createSerializedPage(2));
+        processor.addPage(location, createSerializedPage(3));
+        processor.setComplete(location);
+
+        AtomicInteger acknowledgeRequests = new AtomicInteger();
+        TestingDirectExchangeBuffer buffer = new TestingDirectExchangeBuffer(DataSize.of(1, Unit.MEGABYTE));
+
+        @SuppressWarnings("resource")
+        DirectExchangeClient exchangeClient = new DirectExchangeClient(
+                "localhost",
+                DataIntegrityVerification.ABORT,
+                buffer,
+                maxResponseSize,
+                1,
+                new Duration(1, TimeUnit.MINUTES),
+                true,
+                true,
+                new TestingHttpClient(request -> {
+                    if (request.getUri().getPath().endsWith("/acknowledge")) {
+                        acknowledgeRequests.incrementAndGet();
+                    }
+                    return processor.handle(request);
+                }, scheduler),
+                scheduler,
+                new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
+                pageBufferClientCallbackExecutor,
+                (taskId, failure) -> {});
+
+        TaskId taskId = new TaskId(new StageId("query", 1), 0, 0);
+        exchangeClient.addLocation(taskId, location);
+        exchangeClient.noMoreLocations();
+
+        buffer.whenTaskFinished(taskId).get(10, SECONDS);
+        assertThat(buffer.getPages().get(taskId)).hasSize(3);
+        buffer.setFinished(true);
+
+        DirectExchangeClientStatus status = exchangeClient.getStatus();
+        // requests for the pages and the done signal follow each other without being scheduled again,
+        // and acknowledge the pages received by the previous request
+        assertStatus(status.getPageBufferClientStatuses().get(0), location, "closed", 3, 5, 5, "not scheduled");
+        assertThat(status.getRequestDuration().getDigest().getCount()).isEqualTo(4.0);
+        assertThat(acknowledgeRequests.get()).isEqualTo(0);
+
+        exchangeClient.close();
+    }
+
     @Test
     public void testStreamingHappyPath()
     {
@@ -211,6 +269,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -267,6 +326,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -342,6 +402,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, newCachedThreadPool(daemonThreadsNamed(getClass().getSimpleName() + "-testAddLocation-%s"))),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -445,6 +506,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, SECONDS),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -505,6 +567,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, SECONDS),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -561,6 +624,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, SECONDS),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -647,6 +711,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, SECONDS),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -767,6 +832,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, newCachedThreadPool(daemonThreadsNamed(getClass().getSimpleName() + "-testBufferLimit-%s"))),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -917,6 +983,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -950,6 +1017,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, newCachedThreadPool(daemonThreadsNamed(getClass().getSimpleName() + "-testClose-%s"))),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -1004,6 +1072,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -1039,6 +1108,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -1076,6 +1146,7 @@ public class TestDirectExchangeClient
                 1,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 new TestingHttpClient(processor, scheduler),
                 scheduler,
                 new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
@@ -1100,6 +1171,7 @@ public class TestDirectExchangeClient
                 expectedMaxSize,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 TASK_ID,
                 location,
                 callback,
@@ -36,12 +36,14 @@ import org.junit.jupiter.api.TestInstance;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.airlift.units.DataSize.Unit.KILOBYTE;
@@ -65,6 +67,7 @@ import static io.trino.operator.OperatorAssertion.toPages;
 import static io.trino.operator.OperatorAssertion.toPagesPartial;
 import static io.trino.spi.predicate.Range.equal;
 import static io.trino.spi.predicate.Range.range;
+import static io.trino.spi.type.AbstractLongType.hash;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.spi.type.BooleanType.BOOLEAN;
 import static io.trino.spi.type.DoubleType.DOUBLE;
@@ -601,6 +604,69 @@ public class TestDynamicFilterSourceOperator
                 ImmutableList.of(TupleDomain.all()));
     }
 
+    @Test
+    public void testCollectBloomFilterWhenTooManyDistinctValues()
+    {
+        ImmutableList.Builder<Map<DynamicFilterId, BlockedBloomFilter>> bloomFilters = ImmutableList.builder();
+        OperatorFactory operatorFactory = new DynamicFilterSourceOperator.DynamicFilterSourceOperatorFactory(
+                0,
+                new PlanNodeId("PLAN_NODE_ID"),
+                new DynamicFilterSourceConsumer() {
+                    @Override
+                    public void addPartition(TupleDomain<DynamicFilterId> tupleDomain)
+                    {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public void addPartition(TupleDomain<DynamicFilterId> tupleDomain, Map<DynamicFilterId, BlockedBloomFilter> partitionBloomFilters)
+                    {
+                        partitions.add(tupleDomain);
+                        bloomFilters.add(partitionBloomFilters);
+                    }
+
+                    @Override
+                    public void setPartitionCount(int partitionCount) {}
+
+                    @Override
+                    public boolean isDomainCollectionComplete()
+                    {
+                        return false;
+                    }
+                },
+                ImmutableList.of(channel(0, BIGINT), channel(1, BIGINT)),
+                100,
+                DataSize.of(10, KILOBYTE),
+                1_000_000,
+                true,
+                typeOperators);
+        Operator operator = createOperator(operatorFactory);
+        List<Type> types = ImmutableList.of(BIGINT, BIGINT);
+        verifyPassthrough(
+                operator,
+                types,
+                new Page(createLongSequenceBlock(0, 50), createLongRepeatBlock(7, 50)),
+                new Page(createLongSequenceBlock(50, 1000), createLongRepeatBlock(7, 950)));
+        operatorFactory.noMoreOperators();
+
+        assertThat(operator.getOperatorContext().getOperatorMemoryContext().getUserMemory()).isEqualTo(0);
+        assertThat(partitions.build()).isEqualTo(ImmutableList.of(
+                TupleDomain.withColumnDomains(ImmutableMap.of(
+                        new DynamicFilterId("0"), Domain.create(ValueSet.ofRanges(range(BIGINT, 0L, true, 999L, true)), false),
+                        new DynamicFilterId("1"), Domain.singleValue(BIGINT, 7L)))));
+        // Bloom filter is only collected for the channel with too many distinct values
+        Map<DynamicFilterId, BlockedBloomFilter> partitionBloomFilters = getOnlyElement(bloomFilters.build());
+        assertThat(partitionBloomFilters).containsOnlyKeys(new DynamicFilterId("0"));
+        BlockedBloomFilter bloomFilter = partitionBloomFilters.get(new DynamicFilterId("0"));
+        for (long value = 0; value < 1000; value++) {
+            assertThat(bloomFilter.mightContain(hash(value))).isTrue();
+        }
+        long falsePositives = LongStream.range(1000, 11_000)
+                .filter(value -> bloomFilter.mightContain(hash(value)))
+                .count();
+        assertThat(falsePositives).isLessThan(100);
+    }
+
     @Test
     public void testMemoryUsage()
     {
@@ -103,6 +103,7 @@ public class TestExchangeOperator
                 3,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 httpClient,
                 scheduler,
                 memoryContext,
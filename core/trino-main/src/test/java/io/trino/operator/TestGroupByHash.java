@@ -203,6 +203,70 @@ public class TestGroupByHash
         }
     }
 
+    @Test
+    public void testGetGroupIdsWithDuplicatesInBatch()
+    {
+        // values repeat within a batch and across batches, and the hash is resized while the page is processed
+        int distinctValues = 1500;
+        long[] values = new long[5000];
+        for (int position = 0; position < values.length; position++) {
+            values[position] = (position % distinctValues) * 31L;
+        }
+        Page page = new Page(new LongArrayBlock(values.length, Optional.empty(), values));
+
+        for (GroupByHashType groupByHashType : GroupByHashType.values()) {
+            GroupByHash groupByHash = groupByHashType.createGroupByHash();
+            int[] groupIds = getGroupIds(groupByHash, page);
+            assertThat(groupByHash.getGroupCount()).isEqualTo(distinctValues);
+            for (int position = 0; position < values.length; position++) {
+                assertThat(groupIds[position]).isEqualTo(position % distinctValues);
+            }
+
+            groupByHash.addPage(page).process();
+            assertThat(groupByHash.getGroupCount()).isEqualTo(distinctValues);
+        }
+    }
+
+    @Test
+    public void testOffHeapHashTable()
+    {
+        int positions = 5000;
+        Page page = new Page(createLongSequenceBlock(0, positions), createStringSequenceBlock(0, positions));
+        List<Type> types = ImmutableList.of(BIGINT, VARCHAR);
+        FlatHashStrategyCompiler hashStrategyCompiler = new FlatHashStrategyCompiler(new TypeOperators());
+        GroupByHash onHeapGroupByHash = new FlatGroupByHash(types, GroupByHashMode.ON_DEMAND, 100, false, false, hashStrategyCompiler, NOOP);
+        GroupByHash groupByHash = new FlatGroupByHash(types, GroupByHashMode.ON_DEMAND, 100, false, true, hashStrategyCompiler, NOOP);
+
+        int[] groupIds = getGroupIds(groupByHash, page);
+        assertThat(groupIds).isEqualTo(getGroupIds(onHeapGroupByHash, page));
+        assertThat(groupByHash.getGroupCount()).isEqualTo(positions);
+        // the tables replaced by rehashes stay allocated until the hash is closed, and are smaller than the current table
+        assertThat(groupByHash.getEstimatedSize())
+                .isGreaterThan(onHeapGroupByHash.getEstimatedSize())
+                .isLessThan(2 * onHeapGroupByHash.getEstimatedSize());
+
+        GroupByHash copy = groupByHash.copy();
+        assertThat(getGroupIds(copy, page)).isEqualTo(groupIds);
+        copy.close();
+
+        // closing frees the hash table, but the groups can still be output
+        groupByHash.close();
+        groupByHash.close();
+        assertThat(groupByHash.getEstimatedSize()).isLessThan(onHeapGroupByHash.getEstimatedSize());
+        assertThatThrownBy(() -> groupByHash.addPage(page).process())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("already releasing output");
+
+        PageBuilder pageBuilder = new PageBuilder(types);
+        for (int groupId = 0; groupId < groupByHash.getGroupCount(); groupId++) {
+            pageBuilder.declarePosition();
+            groupByHash.appendValuesTo(groupId, pageBuilder);
+        }
+        Page output = pageBuilder.build();
+        BlockAssertions.assertBlockEquals(BIGINT, output.getBlock(0), page.getBlock(0));
+        BlockAssertions.assertBlockEquals(VARCHAR, output.getBlock(1), page.getBlock(1));
+    }
+
     @Test
     public void testAppendTo()
     {
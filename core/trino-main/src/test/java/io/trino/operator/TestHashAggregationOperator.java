@@ -52,9 +52,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -71,6 +71,8 @@ import static io.trino.SessionTestUtils.TEST_SESSION;
 import static io.trino.block.BlockAssertions.createLongsBlock;
 import static io.trino.block.BlockAssertions.createRepeatedValuesBlock;
 import static io.trino.operator.AggregationMetrics.INPUT_ROWS_WITH_PARTIAL_AGGREGATION_DISABLED_METRIC_NAME;
+import static io.trino.operator.AggregationMetrics.PARTIAL_AGGREGATION_DISABLED_METRIC_NAME;
+import static io.trino.operator.AggregationMetrics.PARTIAL_AGGREGATION_ENABLED_METRIC_NAME;
 import static io.trino.operator.GroupByHashYieldAssertion.GroupByHashYieldResult;
 import static io.trino.operator.GroupByHashYieldAssertion.createPages;
 import static io.trino.operator.GroupByHashYieldAssertion.finishOperatorWithYieldingGroupByHash;
@@ -807,46 +809,38 @@ public class TestHashAggregationOperator
         // First operator will trigger adaptive partial aggregation after the first page
         List<Page> operator1Input = rowPagesBuilder(hashChannels, BIGINT)
                 .addBlocksPage(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8, 8)) // first page will be hashed but the values are almost unique, so it will trigger adaptation
-                .addBlocksPage(createRepeatedValuesBlock(1, 10)) // second page would be hashed to existing value 1. but if adaptive PA kicks in, the raw values will be passed on
+                .addBlocksPage(createLongsBlock(10, 11, 12, 13, 14, 15, 16, 17, 18, 18)) // second page would be hashed, but if adaptive PA kicks in, the raw values will be passed on
                 .build();
         List<Page> operator1Expected = rowPagesBuilder(BIGINT, BIGINT)
                 .addBlocksPage(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8), createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8)) // the last position was aggregated
-                .addBlocksPage(createRepeatedValuesBlock(1, 10), createRepeatedValuesBlock(1, 10)) // we are expecting second page with raw values
+                .addBlocksPage(createLongsBlock(10, 11, 12, 13, 14, 15, 16, 17, 18, 18), createLongsBlock(10, 11, 12, 13, 14, 15, 16, 17, 18, 18)) // we are expecting second page with raw values
                 .build();
-        assertOperatorEquals(operatorFactory, operator1Input, operator1Expected);
+        DriverContext driverContext = createDriverContext(1024);
+        assertOperatorEquals(driverContext, operatorFactory, operator1Input, operator1Expected);
+        assertPartialAggregationModeSwitches(driverContext, 1, 0);
 
-        // the first operator flush disables partial aggregation
+        // the first operator flush disables partial aggregation, and the estimated reduction of the passed through page is too low to enable it again
         assertThat(partialAggregationController.isPartialAggregationDisabled()).isTrue();
-        // second operator using the same factory, reuses PartialAggregationControl, so it will only produce raw pages (partial aggregation is disabled at this point)
+        // second operator using the same factory, reuses PartialAggregationControl, so it starts with passing raw pages through
         List<Page> operator2Input = rowPagesBuilder(hashChannels, BIGINT)
-                .addBlocksPage(createRepeatedValuesBlock(1, 10))
+                .addBlocksPage(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8))
+                .addBlocksPage(createRepeatedValuesBlock(1, 10)) // the estimated reduction of this page enables partial aggregation again
                 .addBlocksPage(createRepeatedValuesBlock(2, 10))
                 .build();
         List<Page> operator2Expected = rowPagesBuilder(BIGINT, BIGINT)
+                .addBlocksPage(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8), createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8))
                 .addBlocksPage(createRepeatedValuesBlock(1, 10), createRepeatedValuesBlock(1, 10))
-                .addBlocksPage(createRepeatedValuesBlock(2, 10), createRepeatedValuesBlock(2, 10))
+                .addBlocksPage(createRepeatedValuesBlock(2, 1), createRepeatedValuesBlock(2, 1))
                 .build();
-        assertOperatorEquals(operatorFactory, operator2Input, operator2Expected);
-
-        // partial aggregation should be enabled again after enough data is processed
-        for (int i = 1; i <= 4; ++i) {
-            List<Page> operatorInput = rowPagesBuilder(hashChannels, BIGINT)
-                    .addBlocksPage(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8))
-                    .build();
-            List<Page> operatorExpected = rowPagesBuilder(BIGINT, BIGINT)
-                    .addBlocksPage(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8), createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8))
-                    .build();
-            assertOperatorEquals(operatorFactory, operatorInput, operatorExpected);
-            if (i <= 3) {
-                assertThat(partialAggregationController.isPartialAggregationDisabled()).isTrue();
-            }
-            else {
-                assertThat(partialAggregationController.isPartialAggregationDisabled()).isFalse();
-            }
-        }
+        driverContext = createDriverContext(1024);
+        assertOperatorEquals(driverContext, operatorFactory, operator2Input, operator2Expected);
+        assertPartialAggregationModeSwitches(driverContext, 1, 1);
+        assertInputRowsWithPartialAggregationDisabled(driverContext, 19);
+        assertThat(partialAggregationController.isPartialAggregationDisabled()).isFalse();
 
-        // partial aggregation should still be enabled even after some late flush comes from disabled PA
-        partialAggregationController.onFlush(1_000_000, 1_000_000, OptionalLong.empty());
+        // partial aggregation should still be enabled even after some late estimate comes from an operator passing raw pages through
+        partialAggregationController.onSketch(1_000_000, 1_000_000, 1_000_000);
+        assertThat(partialAggregationController.isPartialAggregationDisabled()).isFalse();
 
         // partial aggregation should keep being enabled after good reduction has been observed
         List<Page> operator3Input = rowPagesBuilder(hashChannels, BIGINT)
@@ -1101,6 +1095,13 @@ public class TestHashAggregationOperator
         }
     }
 
+    private void assertPartialAggregationModeSwitches(DriverContext context, long expectedDisabledCount, long expectedEnabledCount)
+    {
+        Map<String, Metric<?>> metrics = context.getDriverStats().getOperatorStats().get(0).getMetrics().getMetrics();
+        assertThat(((LongCount) metrics.get(PARTIAL_AGGREGATION_DISABLED_METRIC_NAME)).getTotal()).isEqualTo(expectedDisabledCount);
+        assertThat(((LongCount) metrics.get(PARTIAL_AGGREGATION_ENABLED_METRIC_NAME)).getTotal()).isEqualTo(expectedEnabledCount);
+    }
+
     private void assertInputRowsWithPartialAggregationDisabled(DriverContext context, long expectedRowCount)
     {
         LongCount metric = ((LongCount) context.getDriverStats().getOperatorStats().get(0).getMetrics().getMetrics().get(INPUT_ROWS_WITH_PARTIAL_AGGREGATION_DISABLED_METRIC_NAME));
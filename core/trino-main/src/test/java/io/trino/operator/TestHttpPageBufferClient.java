@@ -124,6 +124,7 @@ public class TestHttpPageBufferClient
                 expectedMaxSize,
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 TASK_ID,
                 location,
                 callback,
@@ -213,6 +214,7 @@ public class TestHttpPageBufferClient
                 DataSize.of(10, MEGABYTE),
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 TASK_ID,
                 location,
                 callback,
@@ -257,6 +259,7 @@ public class TestHttpPageBufferClient
                 DataSize.of(10, MEGABYTE),
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 TASK_ID,
                 location,
                 callback,
@@ -330,6 +333,7 @@ public class TestHttpPageBufferClient
                 DataSize.of(10, MEGABYTE),
                 new Duration(1, TimeUnit.MINUTES),
                 true,
+                false,
                 TASK_ID,
                 location,
                 callback,
@@ -388,6 +392,7 @@ public class TestHttpPageBufferClient
                 DataSize.of(10, MEGABYTE),
                 new Duration(30, TimeUnit.SECONDS),
                 true,
+                false,
                 TASK_ID,
                 location,
                 callback,
@@ -452,6 +457,7 @@ public class TestHttpPageBufferClient
                 DataSize.of(10, MEGABYTE),
                 new Duration(30, TimeUnit.SECONDS),
                 true,
+                false,
                 TASK_ID,
                 URI.create("http://localhost:8080"),
                 new TestingClientCallback(new CyclicBarrier(1)),
@@ -498,6 +504,7 @@ public class TestHttpPageBufferClient
                 DataSize.of(10, MEGABYTE),
                 new Duration(30, TimeUnit.SECONDS),
                 true,
+                false,
                 TASK_ID,
                 location,
                 callback,
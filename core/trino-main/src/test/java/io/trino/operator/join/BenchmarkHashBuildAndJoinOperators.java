@@ -196,6 +196,10 @@ public class BenchmarkHashBuildAndJoinOperators
         @Param({"1", "16"})
         protected int partitionCount = 1;
 
+        // random probe keys access the hash table in random order, like probes which are not clustered by the join key
+        @Param({"sequential", "random"})
+        protected String probeKeyOrder = "sequential";
+
         protected List<Page> probePages;
         protected List<Integer> outputChannels;
 
@@ -252,14 +256,20 @@ public class BenchmarkHashBuildAndJoinOperators
             RowPagesBuilder probePagesBuilder = rowPagesBuilder(hashChannels, ImmutableList.of(VARCHAR, BIGINT, BIGINT));
 
             Random random = new Random(42);
+            Random keyRandom = new Random(43);
             int remainingRows = PROBE_ROWS_NUMBER;
             int rowsInPage = 0;
             while (remainingRows > 0) {
                 double roll = random.nextDouble();
 
-                int columnA = 20 + (remainingRows % buildRowsNumber);
-                int columnB = 30 + (remainingRows % buildRowsNumber);
-                int columnC = 40 + (remainingRows % buildRowsNumber);
+                int key = switch (probeKeyOrder) {
+                    case "sequential" -> remainingRows % buildRowsNumber;
+                    case "random" -> keyRandom.nextInt(buildRowsNumber);
+                    default -> throw new UnsupportedOperationException(format("Unknown probeKeyOrder value [%s]", probeKeyOrder));
+                };
+                int columnA = 20 + key;
+                int columnB = 30 + key;
+                int columnC = 40 + key;
 
                 int rowsCount = 1;
                 if (matchRate < 1) {
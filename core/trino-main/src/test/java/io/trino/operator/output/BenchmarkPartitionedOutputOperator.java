@@ -458,6 +458,7 @@ public class BenchmarkPartitionedOutputOperator
                     Optional.empty(),
                     newSimpleAggregatedMemoryContext(),
                     0,
+                    Optional.empty(),
                     Optional.empty());
             return (PartitionedOutputOperator) operatorFactory
                     .createOutputOperator(0, new PlanNodeId("plan-node-0"), types, Function.identity(), serdeFactory)
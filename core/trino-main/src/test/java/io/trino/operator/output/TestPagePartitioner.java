@@ -32,19 +32,25 @@ import io.trino.execution.buffer.PipelinedOutputBuffers.OutputBufferId;
 import io.trino.memory.context.AggregatedMemoryContext;
 import io.trino.operator.BucketPartitionFunction;
 import io.trino.operator.DriverContext;
+import io.trino.operator.HashGenerator;
 import io.trino.operator.OperatorContext;
 import io.trino.operator.OperatorFactory;
 import io.trino.operator.OutputFactory;
 import io.trino.operator.PartitionFunction;
+import io.trino.plugin.base.metrics.LongCount;
+import io.trino.plugin.base.metrics.TDigestHistogram;
 import io.trino.spi.Page;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.DictionaryBlock;
+import io.trino.spi.block.LongArrayBlock;
 import io.trino.spi.block.RunLengthEncodedBlock;
+import io.trino.spi.metrics.Metrics;
 import io.trino.spi.predicate.NullableValue;
 import io.trino.spi.type.ArrayType;
 import io.trino.spi.type.Decimals;
 import io.trino.spi.type.TimestampType;
 import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
 import io.trino.sql.planner.plan.PlanNodeId;
 import io.trino.testing.TestingTaskContext;
 import io.trino.type.BlockTypeOperators;
@@ -58,6 +64,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Function;
@@ -75,6 +82,10 @@ import static io.trino.block.BlockAssertions.createRandomBlockForType;
 import static io.trino.block.BlockAssertions.createRepeatedValuesBlock;
 import static io.trino.execution.buffer.TestingPagesSerdes.createTestingPagesSerdeFactory;
 import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static io.trino.operator.InterpretedHashGenerator.createPagePrefixHashGenerator;
+import static io.trino.operator.output.PartitionSkewDetector.HOT_KEYS_METRIC_NAME;
+import static io.trino.operator.output.PartitionSkewDetector.HOT_KEY_ROWS_METRIC_NAME;
+import static io.trino.operator.output.PartitionSkewDetector.PARTITION_ROWS_METRIC_NAME;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.spi.type.BooleanType.BOOLEAN;
 import static io.trino.spi.type.CharType.createCharType;
@@ -591,6 +602,73 @@ public class TestPagePartitioner
         assertThat(memoryContext.getBytes()).isEqualTo(0);
     }
 
+    @Test
+    public void testSkewMetricsWithHotKey()
+    {
+        TestOutputBuffer outputBuffer = new TestOutputBuffer();
+        PagePartitioner pagePartitioner = pagePartitioner(outputBuffer, BIGINT).withSkewDetection(ImmutableList.of(BIGINT)).build();
+        OperatorContext operatorContext = operatorContext();
+
+        // three quarters of the rows have the same key
+        Random random = new Random(42);
+        long[] values = new long[4096];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(4) == 0 ? 1_000 + i : 1;
+        }
+        pagePartitioner.partitionPage(new Page(new LongArrayBlock(values.length, Optional.empty(), values)), operatorContext);
+
+        Metrics metrics = pagePartitioner.prepareForRelease(operatorContext);
+        assertThat(((TDigestHistogram) metrics.getMetrics().get(HOT_KEYS_METRIC_NAME)).getMax()).isEqualTo(1);
+        assertThat(((LongCount) metrics.getMetrics().get(HOT_KEY_ROWS_METRIC_NAME)).getTotal()).isBetween(2_500L, 3_700L);
+        TDigestHistogram partitionRows = (TDigestHistogram) metrics.getMetrics().get(PARTITION_ROWS_METRIC_NAME);
+        assertThat(partitionRows.getTotal()).isEqualTo(PARTITION_COUNT);
+        assertThat(partitionRows.getMax()).isGreaterThan(3_000);
+        // the same hot key found by another partitioner is not counted twice
+        Metrics mergedMetrics = metrics.mergeWith(metrics);
+        assertThat(((TDigestHistogram) mergedMetrics.getMetrics().get(HOT_KEYS_METRIC_NAME)).getMax()).isEqualTo(1);
+
+        // metrics are reset on release
+        pagePartitioner.partitionPage(new Page(createLongSequenceBlock(0, 4096)), operatorContext);
+        metrics = pagePartitioner.prepareForRelease(operatorContext);
+        assertThat(((TDigestHistogram) metrics.getMetrics().get(HOT_KEYS_METRIC_NAME)).getMax()).isEqualTo(0);
+        partitionRows = (TDigestHistogram) metrics.getMetrics().get(PARTITION_ROWS_METRIC_NAME);
+        assertThat(partitionRows.getMin()).isEqualTo(2048);
+        assertThat(partitionRows.getMax()).isEqualTo(2048);
+        pagePartitioner.close();
+    }
+
+    @Test
+    public void testSkewMetricsWithoutHotKey()
+    {
+        TestOutputBuffer outputBuffer = new TestOutputBuffer();
+        PagePartitioner pagePartitioner = pagePartitioner(outputBuffer, BIGINT).withSkewDetection(ImmutableList.of(BIGINT)).build();
+        OperatorContext operatorContext = operatorContext();
+
+        // every key is repeated, but none of them has more rows than a partition
+        for (int page = 0; page < 16; page++) {
+            pagePartitioner.partitionPage(new Page(createLongSequenceBlock(0, 1024)), operatorContext);
+        }
+
+        Metrics metrics = pagePartitioner.prepareForRelease(operatorContext);
+        assertThat(((TDigestHistogram) metrics.getMetrics().get(HOT_KEYS_METRIC_NAME)).getMax()).isEqualTo(0);
+        assertThat(((LongCount) metrics.getMetrics().get(HOT_KEY_ROWS_METRIC_NAME)).getTotal()).isEqualTo(0);
+        pagePartitioner.close();
+    }
+
+    @Test
+    public void testNoSkewMetricsWhenDisabled()
+    {
+        TestOutputBuffer outputBuffer = new TestOutputBuffer();
+        PagePartitioner pagePartitioner = pagePartitioner(outputBuffer, BIGINT).build();
+        OperatorContext operatorContext = operatorContext();
+
+        pagePartitioner.partitionPage(new Page(createLongsBlock(1, 1, 1, 1, 1, 1)), operatorContext);
+
+        Metrics metrics = pagePartitioner.prepareForRelease(operatorContext);
+        assertThat(metrics.getMetrics()).doesNotContainKeys(PARTITION_ROWS_METRIC_NAME, HOT_KEYS_METRIC_NAME, HOT_KEY_ROWS_METRIC_NAME);
+        pagePartitioner.close();
+    }
+
     private void testOutputEqualsInput(Type type, PartitioningMode mode1, PartitioningMode mode2)
     {
         TestOutputBuffer outputBuffer = new TestOutputBuffer();
@@ -697,6 +775,7 @@ public class TestPagePartitioner
         private OptionalInt nullChannel = OptionalInt.empty();
         private List<Type> types;
         private AggregatedMemoryContext memoryContext = newSimpleAggregatedMemoryContext();
+        private Optional<HashGenerator> skewDetectionKeyHashGenerator = Optional.empty();
 
         PagePartitionerBuilder(ExecutorService executor, ScheduledExecutorService scheduledExecutor, OutputBuffer outputBuffer)
         {
@@ -771,6 +850,12 @@ public class TestPagePartitioner
             return this;
         }
 
+        public PagePartitionerBuilder withSkewDetection(List<Type> partitionChannelTypes)
+        {
+            this.skewDetectionKeyHashGenerator = Optional.of(createPagePrefixHashGenerator(partitionChannelTypes, new TypeOperators()));
+            return this;
+        }
+
         public PartitionedOutputOperator buildPartitionedOutputOperator()
         {
             DriverContext driverContext = driverContextBuilder.buildDriverContext();
@@ -787,7 +872,8 @@ public class TestPagePartitioner
                     Optional.empty(),
                     memoryContext,
                     1,
-                    Optional.empty());
+                    Optional.empty(),
+                    skewDetectionKeyHashGenerator);
             OperatorFactory factory = operatorFactory.createOutputOperator(0, new PlanNodeId("plan-node-0"), types, Function.identity(), PAGES_SERDE_FACTORY);
             PartitionedOutputOperator operator = (PartitionedOutputOperator) factory
                     .createOperator(driverContext);
@@ -810,7 +896,8 @@ public class TestPagePartitioner
                     POSITIONS_APPENDER_FACTORY,
                     Optional.empty(),
                     memoryContext,
-                    true);
+                    true,
+                    skewDetectionKeyHashGenerator);
         }
     }
 
@@ -183,6 +183,7 @@ public class TestPagePartitionerPool
                 Optional.empty(),
                 memoryContext,
                 2,
+                Optional.empty(),
                 Optional.empty());
     }
 
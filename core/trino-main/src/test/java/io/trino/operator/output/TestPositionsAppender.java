@@ -256,6 +256,106 @@ public class TestPositionsAppender
         assertThat(((DictionaryBlock) actual).getDictionary()).isEqualTo(dictionary);
     }
 
+    @Test
+    public void testDifferentDictionariesProduceMergedDictionary()
+    {
+        UnnestingPositionsAppender positionsAppender = POSITIONS_APPENDER_FACTORY.create(VARCHAR, 10, DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        Block first = dictionaryBlock(createStringsBlock("a", "b", "c", null), new int[] {0, 1, 2, 3, 2, 1});
+        Block second = dictionaryBlock(createStringsBlock(null, "d", "c"), new int[] {2, 1, 0, 1, 2});
+        Block rle = rleBlock(createStringsBlock("a"), 3);
+        positionsAppender.append(allPositions(6), first);
+        positionsAppender.append(allPositions(5), second);
+        positionsAppender.append(allPositions(3), rle);
+
+        Block actual = positionsAppender.build();
+        assertThat(actual).isInstanceOf(DictionaryBlock.class);
+        // each distinct value is stored once
+        assertThat(((DictionaryBlock) actual).getDictionary().getPositionCount()).isEqualTo(5);
+        assertBlockEquals(VARCHAR, actual, createStringsBlock("a", "b", "c", null, "c", "b", "c", "d", null, "d", "c", "a", "a", "a"));
+    }
+
+    @Test
+    public void testRleThenDictionaryProduceMergedDictionary()
+    {
+        UnnestingPositionsAppender positionsAppender = POSITIONS_APPENDER_FACTORY.create(VARCHAR, 10, DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        positionsAppender.append(allPositions(2), rleBlock(createStringsBlock("x"), 2));
+        positionsAppender.append(allPositions(3), dictionaryBlock(createStringsBlock("x", "y"), new int[] {1, 0, 1}));
+
+        Block actual = positionsAppender.build();
+        assertThat(actual).isInstanceOf(DictionaryBlock.class);
+        assertThat(((DictionaryBlock) actual).getDictionary().getPositionCount()).isEqualTo(2);
+        assertBlockEquals(VARCHAR, actual, createStringsBlock("x", "x", "y", "x", "y"));
+    }
+
+    @Test
+    public void testRleWithDifferentValuesProduceMergedDictionary()
+    {
+        UnnestingPositionsAppender positionsAppender = POSITIONS_APPENDER_FACTORY.create(VARCHAR, 10, DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        positionsAppender.append(allPositions(2), rleBlock(createStringsBlock("x"), 2));
+        positionsAppender.append(allPositions(3), rleBlock(createStringsBlock("y"), 3));
+        positionsAppender.append(allPositions(1), rleBlock(createStringsBlock("x"), 1));
+
+        Block actual = positionsAppender.build();
+        assertThat(actual).isInstanceOf(DictionaryBlock.class);
+        assertThat(((DictionaryBlock) actual).getDictionary().getPositionCount()).isEqualTo(2);
+        assertBlockEquals(VARCHAR, actual, createStringsBlock("x", "x", "y", "y", "y", "x"));
+    }
+
+    @Test
+    public void testLargeMergedDictionarySwitchToFlat()
+    {
+        UnnestingPositionsAppender positionsAppender = POSITIONS_APPENDER_FACTORY.create(VARCHAR, 10, DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        BlockBuilder expected = VARCHAR.createBlockBuilder(null, 10);
+        int dictionarySize = 16;
+        for (int block = 0; block * dictionarySize <= UnnestingPositionsAppender.MAX_MERGED_DICTIONARY_SIZE; block++) {
+            BlockBuilder dictionary = VARCHAR.createBlockBuilder(null, dictionarySize);
+            int[] ids = new int[dictionarySize * 4];
+            for (int i = 0; i < dictionarySize; i++) {
+                VARCHAR.writeString(dictionary, "value" + (block * dictionarySize + i));
+            }
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = i % dictionarySize;
+                VARCHAR.writeString(expected, "value" + (block * dictionarySize + ids[i]));
+            }
+            positionsAppender.append(allPositions(ids.length), dictionaryBlock(dictionary.build(), ids));
+        }
+
+        Block actual = positionsAppender.build();
+        assertThat(actual).isNotInstanceOf(DictionaryBlock.class);
+        assertBlockEquals(VARCHAR, actual, expected.build());
+    }
+
+    @Test
+    public void testMostlyDistinctMergedDictionarySwitchToFlat()
+    {
+        UnnestingPositionsAppender positionsAppender = POSITIONS_APPENDER_FACTORY.create(VARCHAR, 10, DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        BlockBuilder expected = VARCHAR.createBlockBuilder(null, 10);
+        for (int block = 0; block < 10; block++) {
+            BlockBuilder dictionary = VARCHAR.createBlockBuilder(null, 10);
+            for (int i = 0; i < 10; i++) {
+                VARCHAR.writeString(dictionary, "value" + (block * 10 + i));
+                VARCHAR.writeString(expected, "value" + (block * 10 + i));
+            }
+            positionsAppender.append(allPositions(10), dictionaryBlock(dictionary.build(), IntStream.range(0, 10).toArray()));
+        }
+
+        Block actual = positionsAppender.build();
+        assertThat(actual).isNotInstanceOf(DictionaryBlock.class);
+        assertBlockEquals(VARCHAR, actual, expected.build());
+    }
+
+    @Test
+    public void testDictionariesOfFixedWidthTypesAreNotMerged()
+    {
+        UnnestingPositionsAppender positionsAppender = POSITIONS_APPENDER_FACTORY.create(BIGINT, 10, DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        positionsAppender.append(allPositions(3), dictionaryBlock(createLongsBlock(1, 2), new int[] {0, 1, 0}));
+        positionsAppender.append(allPositions(2), dictionaryBlock(createLongsBlock(2, 3), new int[] {1, 1}));
+
+        Block actual = positionsAppender.build();
+        assertThat(actual).isNotInstanceOf(DictionaryBlock.class);
+        assertBlockEquals(BIGINT, actual, createLongsBlock(1, 2, 1, 3, 3));
+    }
+
     @Test
     public void testDictionarySwitchToFlat()
     {
@@ -548,7 +648,21 @@ public class TestPositionsAppender
         Block expected = buildBlock(type, inputs, blockBuilderStatus);
 
         assertBlockEquals(type, actual, expected);
-        assertThat(sizeInBytes).isEqualTo(pageBuilderStatus.getSizeInBytes());
+        if (isMergedDictionary(actual, inputs)) {
+            // merged dictionaries report the size of the ids and the dictionary values
+            assertThat(sizeInBytes).isGreaterThanOrEqualTo((long) Integer.BYTES * actual.getPositionCount());
+        }
+        else {
+            assertThat(sizeInBytes).isEqualTo(pageBuilderStatus.getSizeInBytes());
+        }
+    }
+
+    private static boolean isMergedDictionary(Block actual, List<BlockView> inputs)
+    {
+        // a dictionary shared by the inputs is passed through, while a merged dictionary is built by the appender
+        return actual instanceof DictionaryBlock dictionaryBlock && inputs.stream()
+                .map(BlockView::block)
+                .noneMatch(input -> input instanceof DictionaryBlock inputDictionary && inputDictionary.getDictionary() == dictionaryBlock.getDictionary());
     }
 
     private static Block buildBlock(Type type, List<BlockView> inputs, BlockBuilderStatus blockBuilderStatus)
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.server.protocol;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CountingOutputStream;
+import io.trino.server.protocol.JsonEncodingUtils.TypeEncoder;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.type.Type;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.google.common.io.ByteStreams.nullOutputStream;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.SessionTestUtils.TEST_SESSION;
+import static io.trino.jmh.Benchmarks.benchmark;
+import static io.trino.plugin.base.util.JsonUtils.jsonFactory;
+import static io.trino.server.protocol.JsonEncodingUtils.createTypeEncoders;
+import static io.trino.server.protocol.JsonEncodingUtils.writePagesToJsonGenerator;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes small result pages as JSON, as the coordinator does for every response of the direct protocol,
+ * with and without writing the values directly as bytes.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class BenchmarkJsonEncodingUtils
+{
+    private static final JsonFactory JSON_FACTORY = jsonFactory();
+    private static final int COLUMNS = 4;
+    private static final int POSITIONS_PER_PAGE = 1024;
+
+    @Param({"BIGINT", "DOUBLE", "VARCHAR"})
+    private String columnType = "BIGINT";
+
+    @Param({"false", "true"})
+    private boolean directEncodingEnabled;
+
+    private TypeEncoder[] typeEncoders;
+    private int[] sourcePageChannels;
+    private List<Page> pages;
+
+    @Setup
+    public void setup()
+    {
+        Type type = switch (columnType) {
+            case "BIGINT" -> BIGINT;
+            case "DOUBLE" -> DOUBLE;
+            case "VARCHAR" -> VARCHAR;
+            default -> throw new UnsupportedOperationException("Unsupported type: " + columnType);
+        };
+        typeEncoders = createTypeEncoders(TEST_SESSION, ImmutableList.of(type, type, type, type));
+        sourcePageChannels = IntStream.range(0, COLUMNS).toArray();
+
+        Random random = new Random(42);
+        Block[] blocks = new Block[COLUMNS];
+        for (int column = 0; column < COLUMNS; column++) {
+            BlockBuilder builder = type.createBlockBuilder(null, POSITIONS_PER_PAGE);
+            for (int position = 0; position < POSITIONS_PER_PAGE; position++) {
+                if (type == BIGINT) {
+                    BIGINT.writeLong(builder, random.nextInt(1_000_000));
+                }
+                else if (type == DOUBLE) {
+                    DOUBLE.writeDouble(builder, random.nextDouble() * 1000);
+                }
+                else {
+                    VARCHAR.writeSlice(builder, utf8Slice("value " + random.nextInt(1_000_000)));
+                }
+            }
+            blocks[column] = builder.build();
+        }
+        pages = ImmutableList.of(new Page(blocks));
+    }
+
+    @Benchmark
+    public long writePages()
+            throws IOException
+    {
+        CountingOutputStream output = new CountingOutputStream(nullOutputStream());
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(output)) {
+            writePagesToJsonGenerator(e -> { throw e; }, generator, typeEncoders, sourcePageChannels, pages, directEncodingEnabled);
+        }
+        return output.getCount();
+    }
+
+    @Test
+    public void testBenchmark()
+            throws IOException
+    {
+        for (String type : new String[] {"BIGINT", "DOUBLE", "VARCHAR"}) {
+            columnType = type;
+            directEncodingEnabled = false;
+            setup();
+            long expectedSize = writePages();
+            directEncodingEnabled = true;
+            assertThat(writePages()).isEqualTo(expectedSize);
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        benchmark(BenchmarkJsonEncodingUtils.class).run();
+    }
+}
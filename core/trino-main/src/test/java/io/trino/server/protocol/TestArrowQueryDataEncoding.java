@@ -0,0 +1,196 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.server.protocol;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.client.CloseableIterator;
+import io.trino.client.Column;
+import io.trino.client.QueryDataDecoder;
+import io.trino.client.spooling.DataAttributes;
+import io.trino.client.spooling.encoding.ArrowQueryDataDecoder;
+import io.trino.client.spooling.encoding.JsonQueryDataDecoder;
+import io.trino.server.protocol.spooling.QueryDataEncoder;
+import io.trino.server.protocol.spooling.QueryDataEncodingConfig;
+import io.trino.server.protocol.spooling.encoding.ArrowQueryDataEncoder;
+import io.trino.server.protocol.spooling.encoding.JsonQueryDataEncoder;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.RunLengthEncodedBlock;
+import io.trino.spi.type.ArrayType;
+import io.trino.spi.type.CharType;
+import io.trino.spi.type.Type;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.SessionTestUtils.TEST_SESSION;
+import static io.trino.block.BlockAssertions.createArrayBigintBlock;
+import static io.trino.block.BlockAssertions.createBlockOfReals;
+import static io.trino.block.BlockAssertions.createBooleansBlock;
+import static io.trino.block.BlockAssertions.createCharsBlock;
+import static io.trino.block.BlockAssertions.createDoublesBlock;
+import static io.trino.block.BlockAssertions.createIntsBlock;
+import static io.trino.block.BlockAssertions.createSlicesBlock;
+import static io.trino.block.BlockAssertions.createSmallintsBlock;
+import static io.trino.block.BlockAssertions.createStringsBlock;
+import static io.trino.block.BlockAssertions.createTinyintsBlock;
+import static io.trino.block.BlockAssertions.createTypedLongsBlock;
+import static io.trino.server.protocol.ProtocolUtil.createColumn;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.CharType.createCharType;
+import static io.trino.spi.type.DecimalType.createDecimalType;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.RealType.REAL;
+import static io.trino.spi.type.SmallintType.SMALLINT;
+import static io.trino.spi.type.TinyintType.TINYINT;
+import static io.trino.spi.type.VarbinaryType.VARBINARY;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestArrowQueryDataEncoding
+{
+    @Test
+    public void testPrimitiveTypes()
+            throws IOException
+    {
+        List<Type> types = ImmutableList.of(BIGINT, INTEGER, SMALLINT, TINYINT, DOUBLE, REAL, BOOLEAN, VARCHAR);
+        Page page = new Page(
+                createTypedLongsBlock(BIGINT, 1L, null, Long.MIN_VALUE, Long.MAX_VALUE, 0L),
+                createIntsBlock(1, Integer.MIN_VALUE, null, Integer.MAX_VALUE, 0),
+                createSmallintsBlock(1, -2, 3, null, 0),
+                createTinyintsBlock(1, -2, 3, 4, null),
+                createDoublesBlock(null, 1.5, Double.NaN, Double.NEGATIVE_INFINITY, -0.0),
+                createBlockOfReals(1.5f, null, Float.NaN, Float.POSITIVE_INFINITY, 0.0f),
+                createBooleansBlock(true, false, null, true, false),
+                createStringsBlock("ala", "", null, "zażółć gęślą jaźń", "kot"));
+
+        assertSameAsJson(types, page);
+    }
+
+    @Test
+    public void testCharType()
+            throws IOException
+    {
+        CharType charType = createCharType(5);
+        assertSameAsJson(ImmutableList.of(charType), new Page(createCharsBlock(charType, Arrays.asList("a", null, "abcde", ""))));
+    }
+
+    @Test
+    public void testVarbinaryType()
+            throws IOException
+    {
+        List<List<Object>> rows = roundTrip(new ArrowQueryDataEncoder.Factory(), new ArrowQueryDataDecoder.Factory(), ImmutableList.of(VARBINARY), List.of(
+                new Page(createSlicesBlock(VARBINARY, Arrays.asList(utf8Slice("ala"), null, utf8Slice(""))))));
+
+        assertThat(rows).hasSize(3);
+        assertThat(new String((byte[]) rows.get(0).getFirst(), UTF_8)).isEqualTo("ala");
+        assertThat(rows.get(1).getFirst()).isNull();
+        assertThat((byte[]) rows.get(2).getFirst()).isEmpty();
+    }
+
+    @Test
+    public void testJsonEncodedTypes()
+            throws IOException
+    {
+        List<Type> types = ImmutableList.of(createDecimalType(10, 2), new ArrayType(BIGINT));
+        Page page = new Page(
+                createTypedLongsBlock(createDecimalType(10, 2), 12345L, null, -1L),
+                createArrayBigintBlock(Arrays.asList(List.of(1L, 2L), null, List.of())));
+
+        assertSameAsJson(types, page);
+    }
+
+    @Test
+    public void testMultiplePages()
+            throws IOException
+    {
+        List<Type> types = ImmutableList.of(BIGINT, VARCHAR);
+        List<Page> pages = ImmutableList.of(
+                new Page(createTypedLongsBlock(BIGINT, 1L, 2L), createStringsBlock("a", "b")),
+                new Page(0, createTypedLongsBlock(BIGINT), createStringsBlock()),
+                new Page(RunLengthEncodedBlock.create(BIGINT, 3L, 3), RunLengthEncodedBlock.create(VARCHAR, utf8Slice("c"), 3)),
+                new Page(createTypedLongsBlock(BIGINT, 4L), createStringsBlock((String) null)));
+
+        assertSameAsJson(types, pages);
+        assertThat(roundTrip(new ArrowQueryDataEncoder.Factory(), new ArrowQueryDataDecoder.Factory(), types, pages)).hasSize(6);
+    }
+
+    @Test
+    public void testNoPages()
+            throws IOException
+    {
+        assertThat(roundTrip(new ArrowQueryDataEncoder.Factory(), new ArrowQueryDataDecoder.Factory(), ImmutableList.of(BIGINT), List.of())).isEmpty();
+    }
+
+    @Test
+    public void testCompressed()
+            throws IOException
+    {
+        List<Type> types = ImmutableList.of(BIGINT, VARCHAR);
+        Block longs = createTypedLongsBlock(BIGINT, LongStream.range(0, 10_000).boxed().collect(toImmutableList()));
+        Block strings = createStringsBlock(IntStream.range(0, 10_000).mapToObj(i -> "value" + (i % 100)).collect(toImmutableList()));
+        List<Page> pages = List.of(new Page(longs, strings));
+
+        List<List<Object>> expected = roundTrip(new JsonQueryDataEncoder.Factory(), new JsonQueryDataDecoder.Factory(), types, pages);
+        assertThat(roundTrip(new ArrowQueryDataEncoder.ZstdFactory(new QueryDataEncodingConfig()), new ArrowQueryDataDecoder.ZstdFactory(), types, pages))
+                .isEqualTo(expected);
+        assertThat(roundTrip(new ArrowQueryDataEncoder.Lz4Factory(new QueryDataEncodingConfig()), new ArrowQueryDataDecoder.Lz4Factory(), types, pages))
+                .isEqualTo(expected);
+    }
+
+    private static void assertSameAsJson(List<Type> types, Page page)
+            throws IOException
+    {
+        assertSameAsJson(types, List.of(page));
+    }
+
+    private static void assertSameAsJson(List<Type> types, List<Page> pages)
+            throws IOException
+    {
+        assertThat(roundTrip(new ArrowQueryDataEncoder.Factory(), new ArrowQueryDataDecoder.Factory(), types, pages))
+                .isEqualTo(roundTrip(new JsonQueryDataEncoder.Factory(), new JsonQueryDataDecoder.Factory(), types, pages));
+    }
+
+    private static List<List<Object>> roundTrip(QueryDataEncoder.Factory encoderFactory, QueryDataDecoder.Factory decoderFactory, List<Type> types, List<Page> pages)
+            throws IOException
+    {
+        ImmutableList.Builder<OutputColumn> outputColumns = ImmutableList.builder();
+        ImmutableList.Builder<Column> columns = ImmutableList.builder();
+        for (int i = 0; i < types.size(); i++) {
+            outputColumns.add(new OutputColumn(i, "col" + i, types.get(i)));
+            columns.add(createColumn("col" + i, types.get(i), true));
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        QueryDataEncoder encoder = encoderFactory.create(TEST_SESSION, outputColumns.build());
+        DataAttributes attributes = encoder.encodeTo(output, pages);
+        encoder.close();
+
+        QueryDataDecoder decoder = decoderFactory.create(columns.build(), DataAttributes.empty());
+        try (CloseableIterator<List<Object>> iterator = decoder.decode(new ByteArrayInputStream(output.toByteArray()), attributes)) {
+            return ImmutableList.copyOf(iterator);
+        }
+    }
+}
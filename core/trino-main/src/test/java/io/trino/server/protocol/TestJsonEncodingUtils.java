@@ -13,6 +13,7 @@
  */
 package io.trino.server.protocol;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.collect.ImmutableList;
 import io.trino.client.CloseableIterator;
 import io.trino.client.Column;
@@ -20,6 +21,8 @@ import io.trino.client.QueryDataDecoder;
 import io.trino.client.Row;
 import io.trino.client.spooling.DataAttributes;
 import io.trino.client.spooling.encoding.JsonQueryDataDecoder;
+import io.trino.server.protocol.JsonEncodingUtils.DirectTypeEncoder;
+import io.trino.server.protocol.JsonEncodingUtils.TypeEncoder;
 import io.trino.server.protocol.spooling.QueryDataEncoder;
 import io.trino.server.protocol.spooling.encoding.JsonQueryDataEncoder;
 import io.trino.spi.Page;
@@ -27,6 +30,7 @@ import io.trino.spi.block.ArrayBlockBuilder;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.MapBlockBuilder;
 import io.trino.spi.block.RowBlockBuilder;
+import io.trino.spi.block.RunLengthEncodedBlock;
 import io.trino.spi.type.ArrayType;
 import io.trino.spi.type.CharType;
 import io.trino.spi.type.MapType;
@@ -43,6 +47,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static io.airlift.slice.Slices.utf8Slice;
@@ -52,10 +59,15 @@ import static io.trino.block.BlockAssertions.createBooleansBlock;
 import static io.trino.block.BlockAssertions.createCharsBlock;
 import static io.trino.block.BlockAssertions.createDoublesBlock;
 import static io.trino.block.BlockAssertions.createIntsBlock;
+import static io.trino.block.BlockAssertions.createLongsBlock;
+import static io.trino.block.BlockAssertions.createRandomDictionaryBlock;
 import static io.trino.block.BlockAssertions.createSmallintsBlock;
 import static io.trino.block.BlockAssertions.createStringsBlock;
 import static io.trino.block.BlockAssertions.createTinyintsBlock;
 import static io.trino.block.BlockAssertions.createTypedLongsBlock;
+import static io.trino.plugin.base.util.JsonUtils.jsonFactory;
+import static io.trino.server.protocol.JsonEncodingUtils.createTypeEncoders;
+import static io.trino.server.protocol.JsonEncodingUtils.writePagesToJsonGenerator;
 import static io.trino.server.protocol.ProtocolUtil.createColumn;
 import static io.trino.server.protocol.TestJsonEncodingUtils.TypedColumn.typed;
 import static io.trino.spi.type.BigintType.BIGINT;
@@ -511,6 +523,63 @@ public class TestJsonEncodingUtils
                                 .build()));
     }
 
+    @Test
+    public void testDirectEncoding()
+            throws IOException
+    {
+        List<Type> types = ImmutableList.of(BIGINT, INTEGER, SMALLINT, TINYINT, BOOLEAN, DOUBLE, REAL, VARCHAR, VARCHAR);
+        TypeEncoder[] typeEncoders = createTypeEncoders(TEST_SESSION, types);
+        assertThat(typeEncoders).allMatch(DirectTypeEncoder.class::isInstance);
+
+        Page extremes = new Page(
+                createLongsBlock(Long.MIN_VALUE, Long.MAX_VALUE, 0L, -10L, null),
+                createIntsBlock(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -10, null),
+                createSmallintsBlock((int) Short.MIN_VALUE, (int) Short.MAX_VALUE, 0, -10, null),
+                createTinyintsBlock((int) Byte.MIN_VALUE, (int) Byte.MAX_VALUE, 0, -10, null),
+                createBooleansBlock(true, false, true, false, null),
+                createDoublesBlock(Double.NaN, Double.NEGATIVE_INFINITY, -0.0, 1.0E-10, null),
+                createBlockOfReals(Float.NaN, Float.POSITIVE_INFINITY, Float.MIN_VALUE, 3.4e38f, null),
+                createStringsBlock("\"quoted\"", "back\\slash", "\u0000\u001f\b\f\n\r\t\u007f", "zażółć 数据 \uD83E\uDD83", null),
+                RunLengthEncodedBlock.create(createStringsBlock("repeated"), 5));
+
+        // values in more pages, longer than the chunks passed to the generator
+        Random random = new Random(42);
+        Page randomValues = new Page(
+                createLongsBlock(randomValues(random, 1000, Random::nextLong)),
+                createIntsBlock(randomValues(random, 1000, Random::nextInt)),
+                createSmallintsBlock(randomValues(random, 1000, value -> (int) (short) value.nextInt())),
+                createTinyintsBlock(randomValues(random, 1000, value -> (int) (byte) value.nextInt())),
+                createBooleansBlock(randomValues(random, 1000, Random::nextBoolean)),
+                createDoublesBlock(randomValues(random, 1000, value -> value.nextGaussian() * 1e6)),
+                createBlockOfReals(randomValues(random, 1000, Random::nextFloat)),
+                createStringsBlock(randomValues(random, 1000, value -> "value \t" + value.nextInt() + "\"")),
+                createRandomDictionaryBlock(createStringsBlock("a", "bb", "\\", "数据"), 1000));
+
+        List<Page> pages = ImmutableList.of(extremes, randomValues, extremes);
+        assertThat(writeJson(typeEncoders, pages, true)).isEqualTo(writeJson(typeEncoders, pages, false));
+    }
+
+    private static String writeJson(TypeEncoder[] typeEncoders, List<Page> pages, boolean directEncodingEnabled)
+            throws IOException
+    {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory().createGenerator(output)) {
+            int[] sourcePageChannels = IntStream.range(0, typeEncoders.length).toArray();
+            writePagesToJsonGenerator(e -> { throw e; }, generator, typeEncoders, sourcePageChannels, pages, directEncodingEnabled);
+        }
+        return output.toString(UTF_8);
+    }
+
+    private static <T> List<T> randomValues(Random random, int count, Function<Random, T> generator)
+    {
+        List<T> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // every tenth value is null
+            values.add(random.nextInt(10) == 0 ? null : generator.apply(random));
+        }
+        return values;
+    }
+
     protected List<List<Object>> roundTrip(List<TypedColumn> columns, Page page, String expectedJson)
             throws IOException
     {
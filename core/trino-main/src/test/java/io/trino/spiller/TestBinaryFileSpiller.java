@@ -14,17 +14,22 @@
 package io.trino.spiller;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.slice.Slices;
+import io.airlift.units.DataSize;
 import io.trino.FeaturesConfig;
 import io.trino.RowPagesBuilder;
 import io.trino.execution.buffer.PageSerializer;
 import io.trino.execution.buffer.PagesSerdeFactory;
 import io.trino.memory.context.AggregatedMemoryContext;
+import io.trino.operator.SimplePageWithPositionComparator;
+import io.trino.operator.WorkProcessor;
 import io.trino.spi.Page;
 import io.trino.spi.block.BlockBuilder;
 import io.trino.spi.block.BlockEncodingSerde;
 import io.trino.spi.block.TestingBlockEncodingSerde;
 import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,16 +44,23 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
 import static io.trino.execution.buffer.PagesSerdes.createSpillingPagesSerdeFactory;
 import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.trino.operator.PageAssertions.assertPageEquals;
+import static io.trino.spi.block.PageBuilderStatus.DEFAULT_MAX_PAGE_SIZE_IN_BYTES;
+import static io.trino.spi.connector.SortOrder.ASC_NULLS_LAST;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.spi.type.DoubleType.DOUBLE;
 import static io.trino.spi.type.VarbinaryType.VARBINARY;
 import static io.trino.spi.type.VarcharType.VARCHAR;
+import static io.trino.util.MergeSortedPages.sortedPagesMerger;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
@@ -127,6 +139,54 @@ public class TestBinaryFileSpiller
         }
     }
 
+    @Test
+    public void testSortedSpillsMerging()
+            throws Exception
+    {
+        List<Type> types = ImmutableList.of(BIGINT);
+        AtomicInteger createdSpillers = new AtomicInteger();
+        AtomicInteger closedSpillers = new AtomicInteger();
+        SingleStreamSpillerFactory countingFactory = (spillTypes, spillContext, spillMemoryContext) -> {
+            createdSpillers.incrementAndGet();
+            return new CloseCountingSpiller(singleStreamSpillerFactory.create(spillTypes, spillContext, spillMemoryContext), closedSpillers);
+        };
+        SpillerFactory mergingFactory = new GenericSpillerFactory(countingFactory, new NodeSpillConfig().setSpillMergeFanIn(3));
+        Function<List<Iterator<Page>>, Iterator<Page>> merger = sortedPagesMerger(
+                new SimplePageWithPositionComparator(types, ImmutableList.of(0), ImmutableList.of(ASC_NULLS_LAST), new TypeOperators()),
+                types);
+
+        try (Spiller spiller = mergingFactory.create(types, bytes -> {}, memoryContext)) {
+            for (int run = 0; run < 5; run++) {
+                // each run holds values run, run + 5, run + 10, ...
+                BlockBuilder blockBuilder = BIGINT.createFixedSizeBlockBuilder(10);
+                for (int i = 0; i < 10; i++) {
+                    BIGINT.writeLong(blockBuilder, run + i * 5L);
+                }
+                spiller.spillSorted(ImmutableList.of(new Page(blockBuilder.build())).iterator(), merger).get();
+            }
+            // the last merge holds its reservation and merged spill files until the driver uses the spiller again
+            assertThat(memoryContext.getBytes()).isEqualTo(3L * FileSingleStreamSpiller.BUFFER_SIZE + 2L * DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+            assertThat(closedSpillers.get()).isEqualTo(2);
+
+            List<Iterator<Page>> spills = spiller.getSpills();
+            assertThat(spills).hasSize(2);
+            assertThat(memoryContext.getBytes()).isEqualTo(2L * FileSingleStreamSpiller.BUFFER_SIZE);
+            assertThat(closedSpillers.get()).isEqualTo(3);
+
+            ImmutableList.Builder<Long> values = ImmutableList.builder();
+            merger.apply(spills).forEachRemaining(page -> {
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    values.add(BIGINT.getLong(page.getBlock(0), position));
+                }
+            });
+            assertThat(values.build()).isEqualTo(LongStream.range(0, 50).boxed().collect(toImmutableList()));
+        }
+        assertThat(memoryContext.getBytes()).isEqualTo(0);
+        // every spiller is closed exactly once
+        assertThat(createdSpillers.get()).isEqualTo(5);
+        assertThat(closedSpillers.get()).isEqualTo(5);
+    }
+
     private void testSimpleSpiller(Spiller spiller)
             throws ExecutionException, InterruptedException
     {
@@ -179,4 +239,45 @@ public class TestBinaryFileSpiller
         spiller.close();
         assertThat(memoryContext.getBytes()).isEqualTo(0);
     }
+
+    private record CloseCountingSpiller(SingleStreamSpiller delegate, AtomicInteger closedSpillers)
+            implements SingleStreamSpiller
+    {
+        @Override
+        public ListenableFuture<DataSize> spill(Iterator<Page> page)
+        {
+            return delegate.spill(page);
+        }
+
+        @Override
+        public Iterator<Page> getSpilledPages()
+        {
+            return delegate.getSpilledPages();
+        }
+
+        @Override
+        public WorkProcessor<Page> getSpilledPagesWithReadAhead()
+        {
+            return delegate.getSpilledPagesWithReadAhead();
+        }
+
+        @Override
+        public long getSpilledPagesInMemorySize()
+        {
+            return delegate.getSpilledPagesInMemorySize();
+        }
+
+        @Override
+        public ListenableFuture<List<Page>> getAllSpilledPages()
+        {
+            return delegate.getAllSpilledPages();
+        }
+
+        @Override
+        public void close()
+        {
+            closedSpillers.incrementAndGet();
+            delegate.close();
+        }
+    }
 }
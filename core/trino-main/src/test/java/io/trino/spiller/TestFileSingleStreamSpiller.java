@@ -15,6 +15,7 @@ package io.trino.spiller;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
@@ -22,6 +23,7 @@ import io.trino.execution.buffer.CompressionCodec;
 import io.trino.execution.buffer.PagesSerdeUtil;
 import io.trino.memory.context.LocalMemoryContext;
 import io.trino.operator.PageAssertions;
+import io.trino.operator.WorkProcessor;
 import io.trino.spi.Page;
 import io.trino.spi.block.BlockBuilder;
 import io.trino.spi.block.TestingBlockEncodingSerde;
@@ -36,21 +38,26 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 
 import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.MoreFiles.listFiles;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
 import static io.trino.execution.buffer.CompressionCodec.LZ4;
 import static io.trino.execution.buffer.CompressionCodec.NONE;
 import static io.trino.execution.buffer.PagesSerdeUtil.isSerializedPageCompressed;
 import static io.trino.execution.buffer.PagesSerdeUtil.isSerializedPageEncrypted;
+import static io.trino.execution.buffer.PagesSerdes.createSpillingPagesSerdeFactory;
 import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.spi.type.DoubleType.DOUBLE;
 import static io.trino.spi.type.VarbinaryType.VARBINARY;
 import static java.nio.file.Files.newInputStream;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
@@ -75,43 +82,52 @@ public class TestFileSingleStreamSpiller
     public void testSpill()
             throws Exception
     {
-        assertSpill(NONE, false);
+        assertSpill(NONE, false, 2);
     }
 
     @Test
     public void testSpillCompression()
             throws Exception
     {
-        assertSpill(LZ4, false);
+        assertSpill(LZ4, false, 2);
     }
 
     @Test
     public void testSpillEncryption()
             throws Exception
     {
-        assertSpill(NONE, true);
+        assertSpill(NONE, true, 2);
     }
 
     @Test
     public void testSpillEncryptionWithCompression()
             throws Exception
     {
-        assertSpill(LZ4, true);
+        assertSpill(LZ4, true, 2);
     }
 
-    private void assertSpill(CompressionCodec compressionCodec, boolean encryption)
+    @Test
+    public void testSpillWithoutReadAhead()
+            throws Exception
+    {
+        assertSpill(NONE, false, 0);
+    }
+
+    private void assertSpill(CompressionCodec compressionCodec, boolean encryption, int readAheadPages)
             throws Exception
     {
         File spillPath = Files.createTempDirectory("tmp").toFile();
         try {
+            SpillerStats spillerStats = new SpillerStats();
             FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
                     executor, // executor won't be closed, because we don't call destroy() on the spiller factory
                     new TestingBlockEncodingSerde(),
-                    new SpillerStats(),
+                    spillerStats,
                     ImmutableList.of(spillPath.toPath()),
                     1.0,
                     compressionCodec,
-                    encryption);
+                    encryption,
+                    readAheadPages);
             LocalMemoryContext memoryContext = newSimpleAggregatedMemoryContext().newLocalMemoryContext("test");
             SingleStreamSpiller singleStreamSpiller = spillerFactory.create(TYPES, bytes -> {}, memoryContext);
             assertThat(singleStreamSpiller).isInstanceOf(FileSingleStreamSpiller.class);
@@ -140,9 +156,9 @@ public class TestFileSingleStreamSpiller
             // they will have non-zero memory reservation.
             // assertEquals(memoryContext.getBytes(), 0);
 
-            Iterator<Page> spilledPagesIterator = spiller.getSpilledPages();
+            WorkProcessor<Page> spilledPagesProcessor = spiller.getSpilledPagesWithReadAhead();
             assertThat(memoryContext.getBytes()).isEqualTo(FileSingleStreamSpiller.BUFFER_SIZE);
-            List<Page> spilledPages = ImmutableList.copyOf(spilledPagesIterator);
+            List<Page> spilledPages = readPages(spilledPagesProcessor);
             // The spillers release their memory reservations when they are closed, therefore at this point
             // they will have non-zero memory reservation.
             // assertEquals(memoryContext.getBytes(), 0);
@@ -151,9 +167,10 @@ public class TestFileSingleStreamSpiller
             for (int i = 0; i < 4; ++i) {
                 PageAssertions.assertPageEquals(TYPES, page, spilledPages.get(i));
             }
+            assertThat(spillerStats.getReadBytes().getTotalCount()).isEqualTo(spillerStats.getTotalSpilledBytes());
 
             // Repeated reads are disallowed
-            assertThatThrownBy(spiller::getSpilledPages)
+            assertThatThrownBy(spiller::getSpilledPagesWithReadAhead)
                     .isInstanceOf(IllegalStateException.class)
                     .hasMessage("Repeated reads are disallowed to prevent potential resource leaks");
 
@@ -166,6 +183,64 @@ public class TestFileSingleStreamSpiller
         }
     }
 
+    @Test
+    public void testCloseCancelsPendingReads()
+            throws Exception
+    {
+        File spillPath = Files.createTempDirectory("tmp").toFile();
+        ListeningExecutorService spillExecutor = listeningDecorator(newSingleThreadExecutor());
+        CountDownLatch executorReleased = new CountDownLatch(1);
+        try {
+            LocalMemoryContext memoryContext = newSimpleAggregatedMemoryContext().newLocalMemoryContext("test");
+            FileSingleStreamSpiller spiller = new FileSingleStreamSpiller(
+                    createSpillingPagesSerdeFactory(new TestingBlockEncodingSerde(), NONE),
+                    Optional.empty(),
+                    spillExecutor,
+                    2,
+                    spillPath.toPath(),
+                    new SpillerStats(),
+                    bytes -> {},
+                    memoryContext,
+                    () -> {});
+            spiller.spill(buildPage()).get();
+
+            // occupy the spill executor, so that reads stay pending
+            spillExecutor.execute(() -> awaitUninterruptibly(executorReleased));
+            WorkProcessor<Page> spilledPages = spiller.getSpilledPagesWithReadAhead();
+            assertThat(spilledPages.process()).isFalse();
+            assertThat(spilledPages.isBlocked()).isTrue();
+            ListenableFuture<Void> blocked = spilledPages.getBlockedFuture();
+            assertThat(blocked.isDone()).isFalse();
+
+            spiller.close();
+            assertThat(blocked.isDone()).isTrue();
+            assertThat(listFiles(spillPath.toPath())).isEmpty();
+            assertThat(memoryContext.getBytes()).isEqualTo(0);
+        }
+        finally {
+            executorReleased.countDown();
+            spillExecutor.shutdown();
+            deleteRecursively(spillPath.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    private static List<Page> readPages(WorkProcessor<Page> pages)
+            throws Exception
+    {
+        ImmutableList.Builder<Page> result = ImmutableList.builder();
+        while (true) {
+            if (!pages.process()) {
+                // the next page is being read
+                pages.getBlockedFuture().get();
+                continue;
+            }
+            if (pages.isFinished()) {
+                return result.build();
+            }
+            result.add(pages.getResult());
+        }
+    }
+
     private Page buildPage()
     {
         BlockBuilder col1 = BIGINT.createFixedSizeBlockBuilder(1);
@@ -36,7 +36,9 @@ public class TestNodeSpillConfig
                 .setMaxSpillPerNode(DataSize.of(100, GIGABYTE))
                 .setQueryMaxSpillPerNode(DataSize.of(100, GIGABYTE))
                 .setSpillCompressionCodec(NONE)
-                .setSpillEncryptionEnabled(false));
+                .setSpillEncryptionEnabled(false)
+                .setSpillMergeFanIn(64)
+                .setSpillReadAheadPages(2));
     }
 
     @Test
@@ -47,13 +49,17 @@ public class TestNodeSpillConfig
                 .put("query-max-spill-per-node", "15 MB")
                 .put("spill-compression-codec", "ZSTD")
                 .put("spill-encryption-enabled", "true")
+                .put("spill-merge-fan-in", "16")
+                .put("spill-read-ahead-pages", "0")
                 .buildOrThrow();
 
         NodeSpillConfig expected = new NodeSpillConfig()
                 .setMaxSpillPerNode(DataSize.of(10, MEGABYTE))
                 .setQueryMaxSpillPerNode(DataSize.of(15, MEGABYTE))
                 .setSpillCompressionCodec(ZSTD)
-                .setSpillEncryptionEnabled(true);
+                .setSpillEncryptionEnabled(true)
+                .setSpillMergeFanIn(16)
+                .setSpillReadAheadPages(0);
 
         assertFullMapping(properties, expected);
     }
@@ -0,0 +1,232 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import io.trino.metadata.Split;
+import io.trino.operator.TestingSourcePage;
+import io.trino.spi.Page;
+import io.trino.spi.connector.ColumnHandle;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.DynamicFilter;
+import io.trino.spi.connector.FixedPageSource;
+import io.trino.spi.connector.SourcePage;
+import io.trino.testing.TestingMetadata.TestingColumnHandle;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.trino.block.BlockAssertions.createLongSequenceBlock;
+import static io.trino.testing.TestingHandles.TEST_CATALOG_HANDLE;
+import static io.trino.testing.TestingHandles.TEST_TABLE_HANDLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSplitResultCache
+{
+    private static final List<ColumnHandle> COLUMNS = ImmutableList.of(new TestingColumnHandle("column"));
+    private static final List<Page> PAGES = ImmutableList.of(
+            new Page(createLongSequenceBlock(0, 10)),
+            new Page(createLongSequenceBlock(10, 20)));
+
+    @Test
+    public void testCacheHit()
+            throws IOException
+    {
+        SplitResultCache cache = new SplitResultCache(new SplitResultCacheConfig().setEnabled(true));
+        Split split = new Split(TEST_CATALOG_HANDLE, new CacheableSplit(Optional.of("file-1")));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(readAll(cache, split, loads)).isEqualTo(PAGES.size());
+        assertThat(loads.get()).isEqualTo(1);
+
+        assertThat(readAll(cache, split, loads)).isEqualTo(PAGES.size());
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getCacheStats().getHitRate()).isEqualTo(0.5);
+
+        // different split identity
+        assertThat(readAll(cache, new Split(TEST_CATALOG_HANDLE, new CacheableSplit(Optional.of("file-2"))), loads)).isEqualTo(PAGES.size());
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testNotCacheable()
+            throws IOException
+    {
+        AtomicInteger loads = new AtomicInteger();
+
+        SplitResultCache disabledCache = new SplitResultCache(new SplitResultCacheConfig());
+        Split split = new Split(TEST_CATALOG_HANDLE, new CacheableSplit(Optional.of("file-1")));
+        readAll(disabledCache, split, loads);
+        readAll(disabledCache, split, loads);
+        assertThat(loads.get()).isEqualTo(2);
+
+        SplitResultCache cache = new SplitResultCache(new SplitResultCacheConfig().setEnabled(true));
+        Split splitWithoutId = new Split(TEST_CATALOG_HANDLE, new CacheableSplit(Optional.empty()));
+        readAll(cache, splitWithoutId, loads);
+        readAll(cache, splitWithoutId, loads);
+        assertThat(loads.get()).isEqualTo(4);
+
+        SplitResultCache smallCache = new SplitResultCache(new SplitResultCacheConfig()
+                .setEnabled(true)
+                .setMaxEntrySize(DataSize.of(1, BYTE)));
+        readAll(smallCache, split, loads);
+        readAll(smallCache, split, loads);
+        assertThat(loads.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void testIncompleteReadNotCached()
+            throws IOException
+    {
+        SplitResultCache cache = new SplitResultCache(new SplitResultCacheConfig().setEnabled(true));
+        Split split = new Split(TEST_CATALOG_HANDLE, new CacheableSplit(Optional.of("file-1")));
+        AtomicInteger loads = new AtomicInteger();
+
+        try (ConnectorPageSource pageSource = createPageSource(cache, split, loads)) {
+            assertThat(pageSource.getNextSourcePage()).isNotNull();
+        }
+        assertThat(readAll(cache, split, loads)).isEqualTo(PAGES.size());
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSkippedColumnsNotLoaded()
+            throws IOException
+    {
+        SplitResultCache cache = new SplitResultCache(new SplitResultCacheConfig().setEnabled(true));
+        Split split = new Split(TEST_CATALOG_HANDLE, new CacheableSplit(Optional.of("file-1")));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            TestingSourcePage sourcePage = new TestingSourcePage(10, createLongSequenceBlock(0, 10), createLongSequenceBlock(0, 10));
+            try (ConnectorPageSource pageSource = cache.createPageSource(split, TEST_TABLE_HANDLE, COLUMNS, DynamicFilter.EMPTY, () -> {
+                loads.incrementAndGet();
+                return new SourcePagesPageSource(ImmutableList.<SourcePage>of(sourcePage).iterator());
+            })) {
+                SourcePage page = pageSource.getNextSourcePage();
+                page.getBlock(0);
+                assertThat(pageSource.getNextSourcePage()).isNull();
+                assertThat(pageSource.isFinished()).isTrue();
+            }
+            // the cache does not load the column skipped by the reader, so the split is not cached
+            assertThat(sourcePage.wasLoaded(1)).isFalse();
+        }
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSelectedPositionsNotCached()
+            throws IOException
+    {
+        SplitResultCache cache = new SplitResultCache(new SplitResultCacheConfig().setEnabled(true));
+        Split split = new Split(TEST_CATALOG_HANDLE, new CacheableSplit(Optional.of("file-1")));
+        AtomicInteger loads = new AtomicInteger();
+
+        try (ConnectorPageSource pageSource = createPageSource(cache, split, loads)) {
+            while (!pageSource.isFinished()) {
+                SourcePage page = pageSource.getNextSourcePage();
+                if (page != null) {
+                    page.selectPositions(new int[] {0, 2}, 0, 2);
+                    assertThat(page.getPage().getPositionCount()).isEqualTo(2);
+                }
+            }
+        }
+        assertThat(readAll(cache, split, loads)).isEqualTo(PAGES.size());
+        assertThat(loads.get()).isEqualTo(2);
+
+        // pages loaded before positions are selected are cached for all positions
+        try (ConnectorPageSource pageSource = createPageSource(cache, split, loads)) {
+            assertThat(pageSource.getNextSourcePage().getPage().getPositionCount()).isEqualTo(PAGES.getFirst().getPositionCount());
+        }
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private static int readAll(SplitResultCache cache, Split split, AtomicInteger loads)
+            throws IOException
+    {
+        int pages = 0;
+        try (ConnectorPageSource pageSource = createPageSource(cache, split, loads)) {
+            while (!pageSource.isFinished()) {
+                SourcePage page = pageSource.getNextSourcePage();
+                if (page != null) {
+                    page.getPage();
+                    pages++;
+                }
+            }
+        }
+        return pages;
+    }
+
+    private static ConnectorPageSource createPageSource(SplitResultCache cache, Split split, AtomicInteger loads)
+    {
+        return cache.createPageSource(split, TEST_TABLE_HANDLE, COLUMNS, DynamicFilter.EMPTY, () -> {
+            loads.incrementAndGet();
+            return new FixedPageSource(PAGES);
+        });
+    }
+
+    private record SourcePagesPageSource(Iterator<SourcePage> sourcePages)
+            implements ConnectorPageSource
+    {
+        @Override
+        public long getCompletedBytes()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getReadTimeNanos()
+        {
+            return 0;
+        }
+
+        @Override
+        public boolean isFinished()
+        {
+            return !sourcePages.hasNext();
+        }
+
+        @Override
+        public SourcePage getNextSourcePage()
+        {
+            return sourcePages.hasNext() ? sourcePages.next() : null;
+        }
+
+        @Override
+        public long getMemoryUsage()
+        {
+            return 0;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private record CacheableSplit(Optional<String> cacheSplitId)
+            implements ConnectorSplit
+    {
+        @Override
+        public Optional<String> getCacheSplitId()
+        {
+            return cacheSplitId;
+        }
+    }
+}
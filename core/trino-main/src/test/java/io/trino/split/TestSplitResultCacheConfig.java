@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.split;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
+import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
+import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+public class TestSplitResultCacheConfig
+{
+    @Test
+    public void testDefaults()
+    {
+        assertRecordedDefaults(recordDefaults(SplitResultCacheConfig.class)
+                .setEnabled(false)
+                .setMaxSize(DataSize.of(1, GIGABYTE))
+                .setMaxEntrySize(DataSize.of(16, MEGABYTE))
+                .setTtl(new Duration(1, HOURS)));
+    }
+
+    @Test
+    public void testExplicitPropertyMappings()
+    {
+        Map<String, String> properties = ImmutableMap.<String, String>builder()
+                .put("split-result-cache.enabled", "true")
+                .put("split-result-cache.max-size", "4GB")
+                .put("split-result-cache.max-entry-size", "32MB")
+                .put("split-result-cache.ttl", "10m")
+                .buildOrThrow();
+
+        SplitResultCacheConfig expected = new SplitResultCacheConfig()
+                .setEnabled(true)
+                .setMaxSize(DataSize.of(4, GIGABYTE))
+                .setMaxEntrySize(DataSize.of(32, MEGABYTE))
+                .setTtl(new Duration(10, MINUTES));
+
+        assertFullMapping(properties, expected);
+    }
+}
@@ -14,8 +14,12 @@
 package io.trino.sql.gen;
 
 import com.google.common.collect.ImmutableList;
+import io.trino.sql.gen.columnar.BenchmarkVectorizedColumnarFilter;
+import io.trino.sql.gen.columnar.BenchmarkVectorizedColumnarFilter.FilterProvider;
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class TestBenchmarkColumnarFilter
 {
     @Test
@@ -34,4 +38,25 @@ public class TestBenchmarkColumnarFilter
     {
         BenchmarkColumnarFilter.runAllCombinations();
     }
+
+    @Test
+    public void testBenchmarkVectorizedColumnarFilter()
+    {
+        for (FilterProvider filterProvider : FilterProvider.values()) {
+            long expectedRows = -1;
+            for (boolean vectorized : ImmutableList.of(false, true)) {
+                BenchmarkVectorizedColumnarFilter benchmark = new BenchmarkVectorizedColumnarFilter();
+                benchmark.filterProvider = filterProvider;
+                benchmark.vectorized = vectorized;
+                benchmark.nullsPercentage = 10;
+                benchmark.selectivity = 50;
+                benchmark.setup();
+                long rows = benchmark.filterPositionsRange();
+                if (expectedRows >= 0) {
+                    assertThat(rows).isEqualTo(expectedRows);
+                }
+                expectedRows = rows;
+            }
+        }
+    }
 }
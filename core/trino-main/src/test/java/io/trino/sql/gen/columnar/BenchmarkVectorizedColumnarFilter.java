@@ -0,0 +1,227 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.gen.columnar;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.TestingFunctionResolution;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.ByteArrayBlock;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.block.ShortArrayBlock;
+import io.trino.spi.connector.SourcePage;
+import io.trino.spi.type.Type;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.relational.SpecialForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.trino.jmh.Benchmarks.benchmark;
+import static io.trino.metadata.FunctionManager.createTestingFunctionManager;
+import static io.trino.spi.function.OperatorType.EQUAL;
+import static io.trino.spi.function.OperatorType.HASH_CODE;
+import static io.trino.spi.function.OperatorType.INDETERMINATE;
+import static io.trino.spi.function.OperatorType.LESS_THAN;
+import static io.trino.spi.function.OperatorType.LESS_THAN_OR_EQUAL;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.SmallintType.SMALLINT;
+import static io.trino.spi.type.TinyintType.TINYINT;
+import static io.trino.sql.relational.Expressions.call;
+import static io.trino.sql.relational.Expressions.constant;
+import static io.trino.sql.relational.Expressions.field;
+import static io.trino.testing.TestingConnectorSession.SESSION;
+import static java.lang.Double.doubleToLongBits;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+@State(Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class BenchmarkVectorizedColumnarFilter
+{
+    private static final int POSITIONS_PER_PAGE = 8192;
+    private static final TestingFunctionResolution FUNCTION_RESOLUTION = new TestingFunctionResolution();
+
+    private final List<SourcePage> inputPages = new ArrayList<>();
+    private final int[] outputPositions = new int[POSITIONS_PER_PAGE];
+    private ColumnarFilter filter;
+
+    @Param({"true", "false"})
+    public boolean vectorized;
+    @Param({"0", "10"})
+    public int nullsPercentage;
+    // percentage of values selected by the filter
+    @Param({"1", "50"})
+    public int selectivity;
+    @Param({"BIGINT", "INTEGER", "SMALLINT", "TINYINT", "DOUBLE"})
+    public String dataType = "BIGINT";
+    @Param({"BETWEEN", "LESS_THAN", "IN"})
+    public FilterProvider filterProvider = FilterProvider.BETWEEN;
+
+    public enum FilterProvider
+    {
+        BETWEEN {
+            @Override
+            RowExpression getExpression(Type type, int selectivity)
+            {
+                return new SpecialForm(
+                        SpecialForm.Form.BETWEEN,
+                        BOOLEAN,
+                        ImmutableList.of(field(0, type), value(type, 0), value(type, selectivity - 1)),
+                        ImmutableList.of(FUNCTION_RESOLUTION.resolveOperator(LESS_THAN_OR_EQUAL, ImmutableList.of(type, type))));
+            }
+        },
+        LESS_THAN {
+            @Override
+            RowExpression getExpression(Type type, int selectivity)
+            {
+                return call(
+                        FUNCTION_RESOLUTION.resolveOperator(LESS_THAN, ImmutableList.of(type, type)),
+                        field(0, type),
+                        value(type, selectivity));
+            }
+        },
+        IN {
+            @Override
+            RowExpression getExpression(Type type, int selectivity)
+            {
+                // four values spread over the selected part of the domain
+                ImmutableList.Builder<RowExpression> arguments = ImmutableList.<RowExpression>builder()
+                        .add(field(0, type));
+                for (int i = 0; i < 4; i++) {
+                    arguments.add(value(type, i * selectivity / 4));
+                }
+                return new SpecialForm(
+                        SpecialForm.Form.IN,
+                        BOOLEAN,
+                        arguments.build(),
+                        ImmutableList.of(
+                                FUNCTION_RESOLUTION.resolveOperator(EQUAL, ImmutableList.of(type, type)),
+                                FUNCTION_RESOLUTION.resolveOperator(HASH_CODE, ImmutableList.of(type)),
+                                FUNCTION_RESOLUTION.resolveOperator(INDETERMINATE, ImmutableList.of(type))));
+            }
+        };
+
+        abstract RowExpression getExpression(Type type, int selectivity);
+    }
+
+    @Setup
+    public void setup()
+    {
+        Type type = getType(dataType);
+        Random random = new Random(3456789);
+        for (int pageCount = 0; pageCount < 20; pageCount++) {
+            Block block = createBlock(type, random);
+            inputPages.add(SourcePage.create(new Page(block.getPositionCount(), block)));
+        }
+
+        ColumnarFilterCompiler compiler = new ColumnarFilterCompiler(createTestingFunctionManager(), 0, vectorized);
+        filter = compiler.generateFilter(filterProvider.getExpression(type, selectivity)).orElseThrow().get();
+    }
+
+    @Benchmark
+    public long filterPositionsRange()
+    {
+        long outputRows = 0;
+        for (SourcePage page : inputPages) {
+            outputRows += filter.filterPositionsRange(SESSION, outputPositions, 0, page.getPositionCount(), page);
+        }
+        return outputRows;
+    }
+
+    private Block createBlock(Type type, Random random)
+    {
+        boolean[] isNull = new boolean[POSITIONS_PER_PAGE];
+        long[] values = new long[POSITIONS_PER_PAGE];
+        for (int i = 0; i < POSITIONS_PER_PAGE; i++) {
+            isNull[i] = random.nextInt(100) < nullsPercentage;
+            // values are uniformly distributed in [0, 100), so a predicate on [0, n) selects n percent
+            values[i] = random.nextInt(100);
+        }
+        if (type == BIGINT) {
+            return new LongArrayBlock(POSITIONS_PER_PAGE, Optional.of(isNull), values);
+        }
+        if (type == DOUBLE) {
+            long[] doubleValues = new long[POSITIONS_PER_PAGE];
+            for (int i = 0; i < POSITIONS_PER_PAGE; i++) {
+                doubleValues[i] = doubleToLongBits(values[i]);
+            }
+            return new LongArrayBlock(POSITIONS_PER_PAGE, Optional.of(isNull), doubleValues);
+        }
+        if (type == INTEGER) {
+            int[] intValues = new int[POSITIONS_PER_PAGE];
+            for (int i = 0; i < POSITIONS_PER_PAGE; i++) {
+                intValues[i] = (int) values[i];
+            }
+            return new IntArrayBlock(POSITIONS_PER_PAGE, Optional.of(isNull), intValues);
+        }
+        if (type == SMALLINT) {
+            short[] shortValues = new short[POSITIONS_PER_PAGE];
+            for (int i = 0; i < POSITIONS_PER_PAGE; i++) {
+                shortValues[i] = (short) values[i];
+            }
+            return new ShortArrayBlock(POSITIONS_PER_PAGE, Optional.of(isNull), shortValues);
+        }
+        byte[] byteValues = new byte[POSITIONS_PER_PAGE];
+        for (int i = 0; i < POSITIONS_PER_PAGE; i++) {
+            byteValues[i] = (byte) values[i];
+        }
+        return new ByteArrayBlock(POSITIONS_PER_PAGE, Optional.of(isNull), byteValues);
+    }
+
+    private static RowExpression value(Type type, long value)
+    {
+        if (type == DOUBLE) {
+            return constant((double) value, DOUBLE);
+        }
+        return constant(value, type);
+    }
+
+    private static Type getType(String dataType)
+    {
+        return switch (dataType) {
+            case "BIGINT" -> BIGINT;
+            case "INTEGER" -> INTEGER;
+            case "SMALLINT" -> SMALLINT;
+            case "TINYINT" -> TINYINT;
+            case "DOUBLE" -> DOUBLE;
+            default -> throw new UnsupportedOperationException("Unsupported type: " + dataType);
+        };
+    }
+
+    public static void main(String[] args)
+            throws Throwable
+    {
+        benchmark(BenchmarkVectorizedColumnarFilter.class)
+                .withOptions(optionsBuilder -> optionsBuilder.jvmArgsAppend("-Xmx4g", "-Xms4g", "--add-modules=jdk.incubator.vector"))
+                .run();
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.gen.columnar;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.TestingFunctionResolution;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.ByteArrayBlock;
+import io.trino.spi.block.DictionaryBlock;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.block.ShortArrayBlock;
+import io.trino.spi.connector.SourcePage;
+import io.trino.spi.function.OperatorType;
+import io.trino.spi.type.Type;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.relational.SpecialForm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static io.trino.metadata.FunctionManager.createTestingFunctionManager;
+import static io.trino.spi.function.OperatorType.EQUAL;
+import static io.trino.spi.function.OperatorType.HASH_CODE;
+import static io.trino.spi.function.OperatorType.INDETERMINATE;
+import static io.trino.spi.function.OperatorType.LESS_THAN;
+import static io.trino.spi.function.OperatorType.LESS_THAN_OR_EQUAL;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.SmallintType.SMALLINT;
+import static io.trino.spi.type.TinyintType.TINYINT;
+import static io.trino.sql.gen.columnar.VectorizedColumnarFilters.isVectorizedColumnarFilterSupported;
+import static io.trino.sql.relational.Expressions.call;
+import static io.trino.sql.relational.Expressions.constant;
+import static io.trino.sql.relational.Expressions.field;
+import static io.trino.sql.relational.SpecialForm.Form.BETWEEN;
+import static io.trino.sql.relational.SpecialForm.Form.IN;
+import static io.trino.testing.TestingConnectorSession.SESSION;
+import static java.lang.Double.doubleToLongBits;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestVectorizedColumnarFilters
+{
+    private static final int POSITION_COUNT = 1029;
+    private static final TestingFunctionResolution FUNCTION_RESOLUTION = new TestingFunctionResolution();
+    private static final ColumnarFilterCompiler COMPILED = new ColumnarFilterCompiler(createTestingFunctionManager(), 0, false);
+    private static final ColumnarFilterCompiler VECTORIZED = new ColumnarFilterCompiler(createTestingFunctionManager(), 0, true);
+    private static final List<Double> SPECIAL_DOUBLES = ImmutableList.of(0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+    @Test
+    public void testIntegralTypes()
+    {
+        for (Type type : ImmutableList.of(BIGINT, INTEGER, SMALLINT, TINYINT)) {
+            for (boolean nullable : ImmutableList.of(false, true)) {
+                Block block = createBlock(type, nullable);
+                for (long value : new long[] {-5, 0, 7, minValue(type), maxValue(type)}) {
+                    assertSameResult(comparison(EQUAL, field(0, type), constant(value, type)), block);
+                    assertSameResult(comparison(LESS_THAN, field(0, type), constant(value, type)), block);
+                    assertSameResult(comparison(LESS_THAN, constant(value, type), field(0, type)), block);
+                    assertSameResult(comparison(LESS_THAN_OR_EQUAL, field(0, type), constant(value, type)), block);
+                    assertSameResult(comparison(LESS_THAN_OR_EQUAL, constant(value, type), field(0, type)), block);
+                }
+                for (long value : new long[] {-5, 0, 7}) {
+                    assertSameResult(between(type, constant(value, type), constant(value + 6, type)), block);
+                }
+                assertSameResult(between(type, constant(minValue(type), type), constant(maxValue(type), type)), block);
+                assertSameResult(between(type, constant(3L, type), constant(-3L, type)), block);
+                assertSameResult(in(type, constant(-3L, type), constant(null, type), constant(4L, type), constant(11L, type)), block);
+                assertSameResult(in(type, constant(1L, type)), block);
+            }
+        }
+    }
+
+    @Test
+    public void testDouble()
+    {
+        for (boolean nullable : ImmutableList.of(false, true)) {
+            Block block = createBlock(DOUBLE, nullable);
+            for (double value : new double[] {-5.5, 0.0, -0.0, 3.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+                assertSameResult(comparison(EQUAL, field(0, DOUBLE), constant(value, DOUBLE)), block);
+                assertSameResult(comparison(LESS_THAN, field(0, DOUBLE), constant(value, DOUBLE)), block);
+                assertSameResult(comparison(LESS_THAN, constant(value, DOUBLE), field(0, DOUBLE)), block);
+                assertSameResult(comparison(LESS_THAN_OR_EQUAL, field(0, DOUBLE), constant(value, DOUBLE)), block);
+                assertSameResult(comparison(LESS_THAN_OR_EQUAL, constant(value, DOUBLE), field(0, DOUBLE)), block);
+                assertSameResult(between(DOUBLE, constant(value, DOUBLE), constant(value + 4, DOUBLE)), block);
+            }
+            assertSameResult(in(DOUBLE, constant(-0.0, DOUBLE), constant(Double.NaN, DOUBLE), constant(2.0, DOUBLE), constant(Double.POSITIVE_INFINITY, DOUBLE)), block);
+        }
+    }
+
+    @Test
+    public void testFallbackForDictionaryBlock()
+    {
+        Block dictionary = createBlock(BIGINT, true);
+        int[] ids = IntStream.range(0, POSITION_COUNT).map(position -> (position * 7) % dictionary.getPositionCount()).toArray();
+        Block block = DictionaryBlock.create(ids.length, dictionary, ids);
+        assertSameResult(between(BIGINT, constant(-2L, BIGINT), constant(4L, BIGINT)), block);
+        assertSameResult(in(BIGINT, constant(-3L, BIGINT), constant(5L, BIGINT)), block);
+    }
+
+    @Test
+    public void testUnsupportedFilter()
+    {
+        // comparison between two columns is not vectorized
+        RowExpression filter = comparison(LESS_THAN, field(0, BIGINT), field(1, BIGINT));
+        assertThat(VECTORIZED.generateFilter(filter).orElseThrow().get())
+                .isNotInstanceOf(VectorizedRangeColumnarFilter.class);
+
+        // long IN lists are left to the compiled filter
+        RowExpression[] values = IntStream.range(0, VectorizedColumnarFilters.MAX_VECTORIZED_IN_VALUES + 1)
+                .mapToObj(value -> constant((long) value, BIGINT))
+                .toArray(RowExpression[]::new);
+        assertThat(VECTORIZED.generateFilter(in(BIGINT, values)).orElseThrow().get())
+                .isNotInstanceOf(VectorizedInColumnarFilter.class);
+    }
+
+    private static void assertSameResult(RowExpression filter, Block block)
+    {
+        Optional<Supplier<ColumnarFilter>> compiledFilter = COMPILED.generateFilter(filter);
+        Optional<Supplier<ColumnarFilter>> vectorizedFilter = VECTORIZED.generateFilter(filter);
+        assertThat(compiledFilter).isPresent();
+        assertThat(vectorizedFilter).isPresent();
+
+        ColumnarFilter expected = compiledFilter.get().get();
+        ColumnarFilter actual = vectorizedFilter.get().get();
+        if (isVectorizedColumnarFilterSupported()) {
+            assertThat(actual).isInstanceOfAny(VectorizedRangeColumnarFilter.class, VectorizedInColumnarFilter.class);
+        }
+        assertThat(actual.getInputChannels().getInputChannels()).isEqualTo(expected.getInputChannels().getInputChannels());
+
+        SourcePage page = SourcePage.create(new Page(block));
+        // unaligned offset and size exercise the scalar tail of the vectorized loops
+        for (int offset : new int[] {0, 3}) {
+            int size = block.getPositionCount() - offset - 1;
+            assertThat(filterRange(actual, offset, size, page)).isEqualTo(filterRange(expected, offset, size, page));
+        }
+
+        int[] activePositions = IntStream.range(0, block.getPositionCount())
+                .filter(position -> position % 3 != 1)
+                .toArray();
+        assertThat(filterList(actual, activePositions, page)).isEqualTo(filterList(expected, activePositions, page));
+    }
+
+    private static int[] filterRange(ColumnarFilter filter, int offset, int size, SourcePage page)
+    {
+        int[] outputPositions = new int[size];
+        int outputPositionsCount = filter.filterPositionsRange(SESSION, outputPositions, offset, size, page);
+        return Arrays.copyOf(outputPositions, outputPositionsCount);
+    }
+
+    private static int[] filterList(ColumnarFilter filter, int[] activePositions, SourcePage page)
+    {
+        int[] outputPositions = new int[activePositions.length];
+        int outputPositionsCount = filter.filterPositionsList(SESSION, outputPositions, activePositions, 1, activePositions.length - 1, page);
+        return Arrays.copyOf(outputPositions, outputPositionsCount);
+    }
+
+    private static RowExpression comparison(OperatorType operator, RowExpression left, RowExpression right)
+    {
+        return call(FUNCTION_RESOLUTION.resolveOperator(operator, ImmutableList.of(left.type(), right.type())), left, right);
+    }
+
+    private static RowExpression between(Type type, RowExpression low, RowExpression high)
+    {
+        return new SpecialForm(
+                BETWEEN,
+                BOOLEAN,
+                ImmutableList.of(field(0, type), low, high),
+                ImmutableList.of(FUNCTION_RESOLUTION.resolveOperator(LESS_THAN_OR_EQUAL, ImmutableList.of(type, type))));
+    }
+
+    private static RowExpression in(Type type, RowExpression... values)
+    {
+        return new SpecialForm(
+                IN,
+                BOOLEAN,
+                ImmutableList.<RowExpression>builder()
+                        .add(field(0, type))
+                        .add(values)
+                        .build(),
+                ImmutableList.of(
+                        FUNCTION_RESOLUTION.resolveOperator(EQUAL, ImmutableList.of(type, type)),
+                        FUNCTION_RESOLUTION.resolveOperator(HASH_CODE, ImmutableList.of(type)),
+                        FUNCTION_RESOLUTION.resolveOperator(INDETERMINATE, ImmutableList.of(type))));
+    }
+
+    private static Block createBlock(Type type, boolean nullable)
+    {
+        Random random = new Random(42);
+        Optional<boolean[]> isNull = Optional.empty();
+        if (nullable) {
+            boolean[] nulls = new boolean[POSITION_COUNT];
+            for (int position = 0; position < POSITION_COUNT; position++) {
+                nulls[position] = random.nextInt(10) == 0;
+            }
+            isNull = Optional.of(nulls);
+        }
+
+        if (type == DOUBLE) {
+            long[] values = new long[POSITION_COUNT];
+            for (int position = 0; position < POSITION_COUNT; position++) {
+                double value = random.nextInt(20) == 0
+                        ? SPECIAL_DOUBLES.get(random.nextInt(SPECIAL_DOUBLES.size()))
+                        : random.nextInt(-10, 10) / 2.0;
+                values[position] = doubleToLongBits(value);
+            }
+            return new LongArrayBlock(POSITION_COUNT, isNull, values);
+        }
+
+        long[] values = new long[POSITION_COUNT];
+        for (int position = 0; position < POSITION_COUNT; position++) {
+            // include the extreme values of the type
+            values[position] = switch (random.nextInt(50)) {
+                case 0 -> minValue(type);
+                case 1 -> maxValue(type);
+                default -> random.nextInt(-10, 10);
+            };
+        }
+        if (type == BIGINT) {
+            return new LongArrayBlock(POSITION_COUNT, isNull, values);
+        }
+        if (type == INTEGER) {
+            return new IntArrayBlock(POSITION_COUNT, isNull, Arrays.stream(values).mapToInt(value -> (int) value).toArray());
+        }
+        if (type == SMALLINT) {
+            short[] shortValues = new short[POSITION_COUNT];
+            for (int position = 0; position < POSITION_COUNT; position++) {
+                shortValues[position] = (short) values[position];
+            }
+            return new ShortArrayBlock(POSITION_COUNT, isNull, shortValues);
+        }
+        byte[] byteValues = new byte[POSITION_COUNT];
+        for (int position = 0; position < POSITION_COUNT; position++) {
+            byteValues[position] = (byte) values[position];
+        }
+        return new ByteArrayBlock(POSITION_COUNT, isNull, byteValues);
+    }
+
+    private static long minValue(Type type)
+    {
+        if (type == BIGINT) {
+            return Long.MIN_VALUE;
+        }
+        if (type == INTEGER) {
+            return Integer.MIN_VALUE;
+        }
+        if (type == SMALLINT) {
+            return Short.MIN_VALUE;
+        }
+        return Byte.MIN_VALUE;
+    }
+
+    private static long maxValue(Type type)
+    {
+        if (type == BIGINT) {
+            return Long.MAX_VALUE;
+        }
+        if (type == INTEGER) {
+            return Integer.MAX_VALUE;
+        }
+        if (type == SMALLINT) {
+            return Short.MAX_VALUE;
+        }
+        return Byte.MAX_VALUE;
+    }
+}
@@ -18,7 +18,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
+import io.trino.operator.BlockedBloomFilter;
 import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.Range;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.predicate.ValueSet;
 import io.trino.sql.planner.OptimizerConfig.JoinDistributionType;
@@ -30,6 +32,7 @@ import io.trino.sql.planner.plan.JoinNode;
 import io.trino.sql.planner.plan.JoinNode.EquiJoinClause;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -156,6 +159,70 @@ public class TestLocalDynamicFilterConsumer
         assertThat(collector.getCollectedDomains()).isEqualTo(ImmutableMap.of(filter1, Domain.all(INTEGER), filter2, Domain.singleValue(INTEGER, 1L)));
     }
 
+    @Test
+    public void testBloomFilters()
+    {
+        DynamicFilterId filterId = new DynamicFilterId("123");
+        TestingDynamicFilterCollector collector = new TestingDynamicFilterCollector();
+        Map<DynamicFilterId, BlockedBloomFilter> collectedBloomFilters = new HashMap<>();
+        LocalDynamicFilterConsumer filter = new LocalDynamicFilterConsumer(
+                ImmutableMap.of(filterId, 0),
+                ImmutableMap.of(filterId, BIGINT),
+                ImmutableList.of(collector),
+                ImmutableList.of(bloomFilters -> {
+                    assertThat(collector.isCollectionComplete()).isFalse();
+                    collectedBloomFilters.putAll(bloomFilters);
+                }),
+                DataSize.of(100, KILOBYTE));
+        assertThat(filter.hasBloomFilterCollectors()).isTrue();
+
+        BlockedBloomFilter first = BlockedBloomFilter.withMaxSize(1024);
+        first.add(10);
+        BlockedBloomFilter second = BlockedBloomFilter.withMaxSize(1024);
+        second.add(20);
+
+        // domain 'all' doesn't short circuit collection when the partition provides a Bloom filter
+        filter.addPartition(TupleDomain.all(), ImmutableMap.of(filterId, first));
+        assertThat(collector.isCollectionComplete()).isFalse();
+        filter.addPartition(
+                TupleDomain.withColumnDomains(ImmutableMap.of(filterId, Domain.create(ValueSet.ofRanges(range(BIGINT, 1L, true, 100L, true)), false))),
+                ImmutableMap.of(filterId, second));
+        filter.setPartitionCount(2);
+
+        assertThat(collector.getCollectedDomains()).isEqualTo(ImmutableMap.of(filterId, Domain.all(BIGINT)));
+        assertThat(collectedBloomFilters).containsOnlyKeys(filterId);
+        assertThat(collectedBloomFilters.get(filterId).mightContain(10)).isTrue();
+        assertThat(collectedBloomFilters.get(filterId).mightContain(20)).isTrue();
+    }
+
+    @Test
+    public void testBloomFilterMissingInPartition()
+    {
+        DynamicFilterId filterId = new DynamicFilterId("123");
+        TestingDynamicFilterCollector collector = new TestingDynamicFilterCollector();
+        Map<DynamicFilterId, BlockedBloomFilter> collectedBloomFilters = new HashMap<>();
+        LocalDynamicFilterConsumer filter = new LocalDynamicFilterConsumer(
+                ImmutableMap.of(filterId, 0),
+                ImmutableMap.of(filterId, BIGINT),
+                ImmutableList.of(collector),
+                ImmutableList.of(collectedBloomFilters::putAll),
+                DataSize.of(100, KILOBYTE));
+        filter.setPartitionCount(2);
+
+        BlockedBloomFilter bloomFilter = BlockedBloomFilter.withMaxSize(1024);
+        bloomFilter.add(10);
+        filter.addPartition(
+                TupleDomain.withColumnDomains(ImmutableMap.of(filterId, Domain.create(ValueSet.ofRanges(range(BIGINT, 1L, true, 100L, true)), false))),
+                ImmutableMap.of(filterId, bloomFilter));
+        // partition with a discrete domain doesn't provide a Bloom filter, so the other one can't be used
+        filter.addPartition(TupleDomain.withColumnDomains(ImmutableMap.of(filterId, Domain.singleValue(BIGINT, 200L))));
+
+        assertThat(collector.getCollectedDomains()).isEqualTo(ImmutableMap.of(
+                filterId,
+                Domain.create(ValueSet.ofRanges(range(BIGINT, 1L, true, 100L, true), Range.equal(BIGINT, 200L)), false)));
+        assertThat(collectedBloomFilters).isEmpty();
+    }
+
     @Test
     public void testNone()
     {
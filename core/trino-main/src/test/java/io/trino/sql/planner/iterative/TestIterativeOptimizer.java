@@ -17,17 +17,26 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.trino.Session;
+import io.trino.cost.CachingTableStatsProvider;
+import io.trino.cost.RuntimeInfoProvider;
 import io.trino.execution.querystats.PlanOptimizersStatsCollector;
 import io.trino.matching.Captures;
 import io.trino.matching.Pattern;
 import io.trino.plugin.tpch.TpchConnectorFactory;
 import io.trino.spi.eventlistener.QueryPlanOptimizerStatistics;
+import io.trino.sql.planner.PlanNodeIdAllocator;
 import io.trino.sql.planner.RuleStatsRecorder;
+import io.trino.sql.planner.Symbol;
+import io.trino.sql.planner.SymbolAllocator;
 import io.trino.sql.planner.iterative.rule.RemoveRedundantIdentityProjections;
+import io.trino.sql.planner.iterative.rule.test.PlanBuilder;
 import io.trino.sql.planner.optimizations.PlanOptimizer;
 import io.trino.sql.planner.plan.Assignments;
+import io.trino.sql.planner.plan.LimitNode;
+import io.trino.sql.planner.plan.PlanNode;
 import io.trino.sql.planner.plan.ProjectNode;
 import io.trino.sql.planner.plan.TableScanNode;
+import io.trino.sql.planner.plan.ValuesNode;
 import io.trino.testing.PlanTester;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -35,12 +44,17 @@ import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.parallel.Execution;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.trino.execution.querystats.PlanOptimizersStatsCollector.createPlanOptimizersStatsCollector;
 import static io.trino.execution.warnings.WarningCollector.NOOP;
 import static io.trino.spi.StandardErrorCode.OPTIMIZER_TIMEOUT;
+import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.sql.planner.LogicalPlanner.Stage.OPTIMIZED_AND_VALIDATED;
+import static io.trino.sql.planner.plan.Patterns.limit;
+import static io.trino.sql.planner.plan.Patterns.source;
 import static io.trino.sql.planner.plan.Patterns.tableScan;
+import static io.trino.sql.planner.plan.Patterns.values;
 import static io.trino.testing.TestingHandles.TEST_CATALOG_NAME;
 import static io.trino.testing.TestingSession.testSessionBuilder;
 import static io.trino.testing.assertions.TrinoExceptionAssert.assertTrinoExceptionThrownBy;
@@ -116,6 +130,80 @@ public class TestIterativeOptimizer
         }
     }
 
+    @Test
+    public void testUnchangedSubtreeNotExploredAgain()
+    {
+        try (PlanTester planTester = PlanTester.create(testSessionBuilder().build())) {
+            CountingValuesRule countingRule = new CountingValuesRule();
+            PlanOptimizer optimizer = new IterativeOptimizer(
+                    planTester.getPlannerContext(),
+                    new RuleStatsRecorder(),
+                    planTester.getStatsCalculator(),
+                    planTester.getCostCalculator(),
+                    ImmutableSet.of(new RemoveRedundantIdentityProjections(), new ReduceLimitOverValues(), countingRule));
+
+            PlanNodeIdAllocator idAllocator = new PlanNodeIdAllocator();
+            PlanBuilder p = new PlanBuilder(idAllocator, planTester.getPlannerContext(), planTester.getDefaultSession());
+            Symbol a = p.symbol("a", BIGINT);
+            PlanNode plan = p.limit(10, p.project(Assignments.identity(a), p.values(a)));
+
+            PlanNode optimized = planTester.inTransaction(session -> optimizer.optimize(
+                    plan,
+                    new PlanOptimizer.Context(
+                            session,
+                            new SymbolAllocator(),
+                            idAllocator,
+                            NOOP,
+                            createPlanOptimizersStatsCollector(),
+                            new CachingTableStatsProvider(planTester.getPlannerContext().getMetadata(), session, () -> false),
+                            RuntimeInfoProvider.noImplementation())));
+
+            assertThat(optimized).isInstanceOf(LimitNode.class);
+            assertThat(((LimitNode) optimized).getCount()).isEqualTo(5);
+            // the limit changed after the projection was removed, but the values subtree did not change since
+            assertThat(countingRule.invocations).hasValue(1);
+        }
+    }
+
+    private static class ReduceLimitOverValues
+            implements Rule<LimitNode>
+    {
+        private static final Pattern<LimitNode> PATTERN = limit()
+                .matching(limit -> limit.getCount() > 5)
+                .with(source().matching(values()));
+
+        @Override
+        public Pattern<LimitNode> getPattern()
+        {
+            return PATTERN;
+        }
+
+        @Override
+        public Result apply(LimitNode limit, Captures captures, Context context)
+        {
+            return Result.ofPlanNode(new LimitNode(limit.getId(), limit.getSource(), 5, limit.isPartial()));
+        }
+    }
+
+    private static class CountingValuesRule
+            implements Rule<ValuesNode>
+    {
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        @Override
+        public Pattern<ValuesNode> getPattern()
+        {
+            return values();
+        }
+
+        @Override
+        public Result apply(ValuesNode values, Captures captures, Context context)
+        {
+            invocations.incrementAndGet();
+            return Result.empty();
+        }
+    }
+
     private static class AddIdentityOverTableScan
             implements Rule<TableScanNode>
     {
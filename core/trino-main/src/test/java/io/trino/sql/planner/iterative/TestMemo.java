@@ -253,6 +253,35 @@ public class TestMemo
         assertThat(memo.getCost(xGroup)).isEqualTo(Optional.empty());
     }
 
+    @Test
+    public void testEvictExploredOnReplace()
+    {
+        PlanNode z = node();
+        PlanNode y = node(z);
+        PlanNode w = node();
+        PlanNode x = node(y, w);
+
+        Memo memo = new Memo(idAllocator, x);
+        int xGroup = memo.getRootGroup();
+        int yGroup = ((GroupReference) memo.getNode(xGroup).getSources().get(0)).getGroupId();
+        int wGroup = ((GroupReference) memo.getNode(xGroup).getSources().get(1)).getGroupId();
+        int zGroup = getChildGroup(memo, yGroup);
+
+        assertThat(memo.isExplored(xGroup)).isFalse();
+        memo.markExplored(zGroup);
+        memo.markExplored(yGroup);
+        memo.markExplored(wGroup);
+        memo.markExplored(xGroup);
+
+        memo.replace(zGroup, node(), "rule");
+
+        assertThat(memo.isExplored(zGroup)).isFalse();
+        assertThat(memo.isExplored(yGroup)).isFalse();
+        assertThat(memo.isExplored(xGroup)).isFalse();
+        // sibling subtree is not affected
+        assertThat(memo.isExplored(wGroup)).isTrue();
+    }
+
     private static void assertMatchesStructure(PlanNode actual, PlanNode expected)
     {
         assertThat(actual.getClass()).isEqualTo(expected.getClass());
@@ -225,12 +225,12 @@ public final class LongArrayBlock
         return BlockUtil.getNulls(valueIsNull, arrayOffset, positionCount);
     }
 
-    int getRawValuesOffset()
+    public int getRawValuesOffset()
     {
         return arrayOffset;
     }
 
-    long[] getRawValues()
+    public long[] getRawValues()
     {
         return values;
     }
@@ -18,4 +18,9 @@ public enum ConnectorCapabilities
     DEFAULT_COLUMN_VALUE,
     NOT_NULL_COLUMN_CONSTRAINT,
     MATERIALIZED_VIEW_GRACE_PERIOD,
+    /**
+     * Table statistics depend only on the table handle and catalog session properties, so the engine
+     * may share them between queries. Table handles must identify the version of the table data.
+     */
+    CACHEABLE_TABLE_STATISTICS,
 }
@@ -19,6 +19,7 @@ import io.trino.spi.SplitWeight;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface ConnectorSplit
 {
@@ -52,6 +53,19 @@ public interface ConnectorSplit
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns an identifier of the data produced for this split, allowing the engine to reuse the pages
+     * read for the split across queries. The identifier must change whenever the data returned for the
+     * split could change, for example when the underlying file is replaced. The table handle and the
+     * projected columns are part of the engine cache key, so they do not need to be encoded here.
+     * Returning {@link Optional#empty()} disables result caching for the split.
+     */
+    @JsonIgnore
+    default Optional<String> getCacheSplitId()
+    {
+        return Optional.empty();
+    }
+
     default SplitWeight getSplitWeight()
     {
         return SplitWeight.standard();
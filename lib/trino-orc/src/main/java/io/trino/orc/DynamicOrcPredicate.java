@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.orc;
+
+import io.trino.orc.metadata.ColumnMetadata;
+import io.trino.orc.metadata.statistics.ColumnStatistics;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Predicate which can narrow down while the file is read, for example when dynamic filters
+ * are collected. The record reader re-evaluates the statistics of the remaining stripes and
+ * row groups whenever the current predicate changes.
+ */
+public final class DynamicOrcPredicate
+        implements OrcPredicate
+{
+    private final Supplier<OrcPredicate> currentPredicate;
+
+    /**
+     * @param currentPredicate supplies the current predicate; it must return the same instance
+     * for as long as the predicate does not change
+     */
+    public DynamicOrcPredicate(Supplier<OrcPredicate> currentPredicate)
+    {
+        this.currentPredicate = requireNonNull(currentPredicate, "currentPredicate is null");
+    }
+
+    public OrcPredicate getCurrentPredicate()
+    {
+        return requireNonNull(currentPredicate.get(), "current predicate is null");
+    }
+
+    @Override
+    public boolean matches(long numberOfRows, ColumnMetadata<ColumnStatistics> allColumnStatistics)
+    {
+        return getCurrentPredicate().matches(numberOfRows, allColumnStatistics);
+    }
+}
@@ -106,6 +106,7 @@ public class OrcRecordReader
     private int maxBatchSize = MAX_BATCH_SIZE;
 
     private final List<StripeInformation> stripes;
+    private final List<Optional<StripeStatistics>> stripeStatistics;
     private final StripeReader stripeReader;
     private int currentStripe = -1;
     private AggregatedMemoryContext currentStripeMemoryContext;
@@ -117,6 +118,10 @@ public class OrcRecordReader
     private Iterator<RowGroup> rowGroups = ImmutableList.<RowGroup>of().iterator();
     private int currentRowGroup = -1;
     private long currentGroupRowCount;
+
+    private final Optional<DynamicOrcPredicate> dynamicPredicate;
+    // predicate used to select the row groups of the current stripe
+    private OrcPredicate stripePredicate;
     private long nextRowInGroup;
 
     private int currentPageId;
@@ -182,6 +187,7 @@ public class OrcRecordReader
         requireNonNull(memoryUsage, "memoryUsage is null");
         requireNonNull(exceptionTransform, "exceptionTransform is null");
         this.appendRowNumberColumn = appendRowNumberColumn;
+        this.dynamicPredicate = predicate instanceof DynamicOrcPredicate dynamicOrcPredicate ? Optional.of(dynamicOrcPredicate) : Optional.empty();
 
         this.writeValidation = requireNonNull(writeValidation, "writeValidation is null");
         this.writeChecksumBuilder = writeValidation.map(validation -> createWriteChecksumBuilder(orcTypes, readTypes));
@@ -212,6 +218,7 @@ public class OrcRecordReader
         Optional<Long> startRowPosition = Optional.empty();
         Optional<Long> endRowPosition = Optional.empty();
         ImmutableList.Builder<StripeInformation> stripes = ImmutableList.builder();
+        ImmutableList.Builder<Optional<StripeStatistics>> selectedStripeStatistics = ImmutableList.builder();
         ImmutableList.Builder<Long> stripeFilePositions = ImmutableList.builder();
         if (fileStats.isEmpty() || predicate.matches(numberOfRows, fileStats.get())) {
             // select stripes that start within the specified split
@@ -219,6 +226,7 @@ public class OrcRecordReader
                 StripeInformation stripe = info.getStripe();
                 if (splitContainsStripe(splitOffset, splitLength, stripe) && isStripeIncluded(stripe, info.getStats(), predicate)) {
                     stripes.add(stripe);
+                    selectedStripeStatistics.add(info.getStats());
                     stripeFilePositions.add(fileRowCount);
                     totalRowCount += stripe.getNumberOfRows();
                     totalDataLength += stripe.getDataLength();
@@ -238,6 +246,7 @@ public class OrcRecordReader
         this.totalRowCount = totalRowCount;
         this.totalDataLength = totalDataLength;
         this.stripes = stripes.build();
+        this.stripeStatistics = selectedStripeStatistics.build();
         this.stripeFilePositions = stripeFilePositions.build();
 
         orcDataSource = wrapWithCacheIfTinyStripes(orcDataSource, this.stripes, options.getMaxMergeDistance(), options.getTinyStripeThreshold());
@@ -662,28 +671,33 @@ public class OrcRecordReader
                 statisticsValidation.reset();
             }
         }
-        while (!rowGroups.hasNext() && currentStripe < stripes.size()) {
-            advanceToNextStripe();
-            currentRowGroup = -1;
-        }
+        RowGroup rowGroup;
+        do {
+            while (!rowGroups.hasNext() && currentStripe < stripes.size()) {
+                advanceToNextStripe();
+                currentRowGroup = -1;
+            }
 
-        if (!rowGroups.hasNext()) {
-            currentGroupRowCount = 0;
-            return false;
+            if (!rowGroups.hasNext()) {
+                currentGroupRowCount = 0;
+                return false;
+            }
+
+            currentRowGroup++;
+            rowGroup = rowGroups.next();
         }
+        while (isExcludedByDynamicPredicate(rowGroup));
 
-        currentRowGroup++;
-        RowGroup currentRowGroup = rowGroups.next();
-        currentGroupRowCount = currentRowGroup.getRowCount();
-        if (currentRowGroup.getMinAverageRowBytes() > 0) {
-            maxBatchSize = toIntExact(min(maxBatchSize, max(1, maxBlockBytes / currentRowGroup.getMinAverageRowBytes())));
+        currentGroupRowCount = rowGroup.getRowCount();
+        if (rowGroup.getMinAverageRowBytes() > 0) {
+            maxBatchSize = toIntExact(min(maxBatchSize, max(1, maxBlockBytes / rowGroup.getMinAverageRowBytes())));
         }
 
-        currentPosition = currentStripePosition + currentRowGroup.getRowOffset();
-        filePosition = stripeFilePositions.get(currentStripe) + currentRowGroup.getRowOffset();
+        currentPosition = currentStripePosition + rowGroup.getRowOffset();
+        filePosition = stripeFilePositions.get(currentStripe) + rowGroup.getRowOffset();
 
         // give reader data streams from row group
-        InputStreamSources rowGroupStreamSources = currentRowGroup.getStreamSources();
+        InputStreamSources rowGroupStreamSources = rowGroup.getStreamSources();
         for (ColumnReader column : columnReaders) {
             if (column != null) {
                 column.startRowGroup(rowGroupStreamSources);
@@ -721,7 +735,10 @@ public class OrcRecordReader
         StripeInformation stripeInformation = stripes.get(currentStripe);
         validateWriteStripe(stripeInformation.getNumberOfRows());
 
-        Stripe stripe = stripeReader.readStripe(stripeInformation, currentStripeMemoryContext);
+        Stripe stripe = null;
+        if (!isExcludedByDynamicPredicate(stripeInformation, stripeStatistics.get(currentStripe))) {
+            stripe = stripeReader.readStripe(stripeInformation, currentStripeMemoryContext);
+        }
         if (stripe != null) {
             // Give readers access to dictionary streams
             InputStreamSources dictionaryStreamSources = stripe.getDictionaryStreamSources();
@@ -738,6 +755,30 @@ public class OrcRecordReader
         orcDataSourceMemoryUsage.setBytes(orcDataSource.getRetainedSize());
     }
 
+    private boolean isExcludedByDynamicPredicate(StripeInformation stripe, Optional<StripeStatistics> stripeStats)
+    {
+        if (dynamicPredicate.isEmpty()) {
+            return false;
+        }
+        // the predicate may have narrowed down since the stripes were selected, which saves reading the whole stripe
+        stripePredicate = dynamicPredicate.get().getCurrentPredicate();
+        return !isStripeIncluded(stripe, stripeStats, stripePredicate);
+    }
+
+    private boolean isExcludedByDynamicPredicate(RowGroup rowGroup)
+    {
+        if (dynamicPredicate.isEmpty() || rowGroup.getStatistics().isEmpty()) {
+            return false;
+        }
+        // row groups of the stripe were selected with the same predicate
+        OrcPredicate predicate = dynamicPredicate.get().getCurrentPredicate();
+        if (predicate == stripePredicate) {
+            return false;
+        }
+        // the stripe is already read, but skipping the row group still saves decoding it
+        return !predicate.matches(rowGroup.getRowCount(), rowGroup.getStatistics().get());
+    }
+
     @SuppressWarnings("FormatStringAnnotation")
     @FormatMethod
     private void validateWrite(Predicate<OrcWriteValidation> test, String messageFormat, Object... args)
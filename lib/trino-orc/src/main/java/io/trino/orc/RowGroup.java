@@ -13,8 +13,12 @@
  */
 package io.trino.orc;
 
+import io.trino.orc.metadata.ColumnMetadata;
+import io.trino.orc.metadata.statistics.ColumnStatistics;
 import io.trino.orc.stream.InputStreamSources;
 
+import java.util.Optional;
+
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
 
@@ -24,14 +28,16 @@ public class RowGroup
     private final long rowOffset;
     private final long rowCount;
     private final long minAverageRowBytes;
+    private final Optional<ColumnMetadata<ColumnStatistics>> statistics;
     private final InputStreamSources streamSources;
 
-    public RowGroup(int groupId, long rowOffset, long rowCount, long minAverageRowBytes, InputStreamSources streamSources)
+    public RowGroup(int groupId, long rowOffset, long rowCount, long minAverageRowBytes, Optional<ColumnMetadata<ColumnStatistics>> statistics, InputStreamSources streamSources)
     {
         this.groupId = groupId;
         this.rowOffset = rowOffset;
         this.rowCount = rowCount;
         this.minAverageRowBytes = minAverageRowBytes;
+        this.statistics = requireNonNull(statistics, "statistics is null");
         this.streamSources = requireNonNull(streamSources, "streamSources is null");
     }
 
@@ -55,6 +61,14 @@ public class RowGroup
         return minAverageRowBytes;
     }
 
+    /**
+     * Statistics of the row group, which are only retained when the predicate can change while the stripe is read.
+     */
+    public Optional<ColumnMetadata<ColumnStatistics>> getStatistics()
+    {
+        return statistics;
+    }
+
     public InputStreamSources getStreamSources()
     {
         return streamSources;
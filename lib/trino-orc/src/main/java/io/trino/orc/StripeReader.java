@@ -16,7 +16,6 @@ package io.trino.orc;
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import io.airlift.slice.Slice;
 import io.trino.memory.context.AggregatedMemoryContext;
@@ -153,7 +152,7 @@ public class StripeReader
             }
 
             // select the row groups matching the tuple domain
-            Set<Integer> selectedRowGroups = selectRowGroups(stripe, columnIndexes);
+            Map<Integer, ColumnMetadata<ColumnStatistics>> selectedRowGroups = selectRowGroups(stripe, columnIndexes);
 
             // if all row groups are skipped, return null
             if (selectedRowGroups.isEmpty()) {
@@ -230,7 +229,7 @@ public class StripeReader
         for (Entry<StreamId, ValueInputStream<?>> entry : valueStreams.entrySet()) {
             builder.put(entry.getKey(), new ValueInputStreamSource<>(entry.getValue()));
         }
-        RowGroup rowGroup = new RowGroup(0, 0, stripe.getNumberOfRows(), minAverageRowBytes, new InputStreamSources(builder.buildOrThrow()));
+        RowGroup rowGroup = new RowGroup(0, 0, stripe.getNumberOfRows(), minAverageRowBytes, Optional.empty(), new InputStreamSources(builder.buildOrThrow()));
 
         return new Stripe(stripe.getNumberOfRows(), fileTimeZone, columnEncodings, ImmutableList.of(rowGroup), dictionaryStreamSources);
     }
@@ -334,14 +333,15 @@ public class StripeReader
             Map<StreamId, Stream> streams,
             Map<StreamId, ValueInputStream<?>> valueStreams,
             Map<StreamId, List<RowGroupIndex>> columnIndexes,
-            Set<Integer> selectedRowGroups,
+            Map<Integer, ColumnMetadata<ColumnStatistics>> selectedRowGroups,
             ColumnMetadata<ColumnEncoding> encodings)
             throws InvalidCheckpointException
     {
         int rowsInRowGroup = this.rowsInRowGroup.orElseThrow(() -> new IllegalStateException("Cannot create row groups if row group info is missing"));
         ImmutableList.Builder<RowGroup> rowGroupBuilder = ImmutableList.builder();
 
-        for (int rowGroupId : selectedRowGroups) {
+        for (Entry<Integer, ColumnMetadata<ColumnStatistics>> selectedRowGroup : selectedRowGroups.entrySet()) {
+            int rowGroupId = selectedRowGroup.getKey();
             Map<StreamId, StreamCheckpoint> checkpoints = getStreamCheckpoints(includedOrcColumnIds, types, decompressor.isPresent(), rowGroupId, encodings, streams, columnIndexes);
             int rowOffset = rowGroupId * rowsInRowGroup;
             long rowsInGroup = Math.min(rowsInStripe - rowOffset, rowsInRowGroup);
@@ -353,13 +353,22 @@ public class StripeReader
                             .getColumnStatistics()
                             .getMinAverageValueSizeInBytes())
                     .sum();
-            rowGroupBuilder.add(createRowGroup(rowGroupId, rowOffset, rowsInGroup, minAverageRowBytes, valueStreams, checkpoints));
+            // statistics are only needed to re-evaluate a predicate which changes while the stripe is read
+            Optional<ColumnMetadata<ColumnStatistics>> statistics = predicate instanceof DynamicOrcPredicate ? Optional.of(selectedRowGroup.getValue()) : Optional.empty();
+            rowGroupBuilder.add(createRowGroup(rowGroupId, rowOffset, rowsInGroup, minAverageRowBytes, statistics, valueStreams, checkpoints));
         }
 
         return rowGroupBuilder.build();
     }
 
-    private static RowGroup createRowGroup(int groupId, int rowOffset, long rowCount, long minAverageRowBytes, Map<StreamId, ValueInputStream<?>> valueStreams, Map<StreamId, StreamCheckpoint> checkpoints)
+    private static RowGroup createRowGroup(
+            int groupId,
+            int rowOffset,
+            long rowCount,
+            long minAverageRowBytes,
+            Optional<ColumnMetadata<ColumnStatistics>> statistics,
+            Map<StreamId, ValueInputStream<?>> valueStreams,
+            Map<StreamId, StreamCheckpoint> checkpoints)
     {
         ImmutableMap.Builder<StreamId, InputStreamSource<?>> builder = ImmutableMap.builder();
         for (Entry<StreamId, StreamCheckpoint> entry : checkpoints.entrySet()) {
@@ -375,7 +384,7 @@ public class StripeReader
             builder.put(streamId, createCheckpointStreamSource(valueStream, checkpoint));
         }
         InputStreamSources rowGroupStreams = new InputStreamSources(builder.buildOrThrow());
-        return new RowGroup(groupId, rowOffset, rowCount, minAverageRowBytes, rowGroupStreams);
+        return new RowGroup(groupId, rowOffset, rowCount, minAverageRowBytes, statistics, rowGroupStreams);
     }
 
     private StripeFooter readStripeFooter(StripeInformation stripe, AggregatedMemoryContext memoryUsage)
@@ -436,24 +445,24 @@ public class StripeReader
         return columnIndexes.buildOrThrow();
     }
 
-    private Set<Integer> selectRowGroups(StripeInformation stripe, Map<StreamId, List<RowGroupIndex>> columnIndexes)
+    private Map<Integer, ColumnMetadata<ColumnStatistics>> selectRowGroups(StripeInformation stripe, Map<StreamId, List<RowGroupIndex>> columnIndexes)
     {
         int rowsInRowGroup = this.rowsInRowGroup.orElseThrow(() -> new IllegalStateException("Cannot create row groups if row group info is missing"));
 
         long rowsInStripe = stripe.getNumberOfRows();
         int groupsInStripe = ceil(rowsInStripe, rowsInRowGroup);
 
-        ImmutableSet.Builder<Integer> selectedRowGroups = ImmutableSet.builder();
+        ImmutableMap.Builder<Integer, ColumnMetadata<ColumnStatistics>> selectedRowGroups = ImmutableMap.builder();
         long remainingRows = rowsInStripe;
         for (int rowGroup = 0; rowGroup < groupsInStripe; ++rowGroup) {
             long rows = Math.min(remainingRows, rowsInRowGroup);
             ColumnMetadata<ColumnStatistics> statistics = getRowGroupStatistics(types, columnIndexes, rowGroup);
             if (predicate.matches(rows, statistics)) {
-                selectedRowGroups.add(rowGroup);
+                selectedRowGroups.put(rowGroup, statistics);
             }
             remainingRows -= rows;
         }
-        return selectedRowGroups.build();
+        return selectedRowGroups.buildOrThrow();
     }
 
     private static ColumnMetadata<ColumnStatistics> getRowGroupStatistics(ColumnMetadata<OrcType> types, Map<StreamId, List<RowGroupIndex>> columnIndexes, int rowGroup)
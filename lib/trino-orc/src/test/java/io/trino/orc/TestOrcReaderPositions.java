@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.trino.orc.OrcReader.BATCH_SIZE_GROWTH_FACTOR;
 import static io.trino.orc.OrcReader.INITIAL_BATCH_SIZE;
@@ -184,6 +185,88 @@ public class TestOrcReaderPositions
         }
     }
 
+    @Test
+    public void testDynamicStripeSkipping()
+            throws Exception
+    {
+        try (TempFile tempFile = new TempFile()) {
+            createMultiStripeFile(tempFile.getFile());
+
+            AtomicReference<OrcPredicate> currentPredicate = new AtomicReference<>(OrcPredicate.TRUE);
+            try (OrcRecordReader reader = createCustomOrcRecordReader(tempFile, new DynamicOrcPredicate(currentPredicate::get), BIGINT, MAX_BATCH_SIZE)) {
+                assertThat(reader.getReaderRowCount()).isEqualTo(100);
+
+                // first stripe
+                Page page = reader.nextPage().getPage();
+                assertThat(page.getPositionCount()).isEqualTo(20);
+                assertCurrentBatch(page, 0);
+
+                // narrow down to the fourth stripe after the first one was read
+                currentPredicate.set((numberOfRows, allColumnStatistics) -> {
+                    if (numberOfRows == 100) {
+                        return true;
+                    }
+                    IntegerStatistics stats = allColumnStatistics.get(new OrcColumnId(1)).getIntegerStatistics();
+                    return stats.getMin() == 180;
+                });
+
+                // fourth stripe
+                page = reader.nextPage().getPage();
+                assertThat(page.getPositionCount()).isEqualTo(20);
+                assertThat(reader.getFilePosition()).isEqualTo(60);
+                assertCurrentBatch(page, 3);
+
+                assertThat(reader.nextPage()).isNull();
+            }
+        }
+    }
+
+    @Test
+    public void testDynamicRowGroupSkipping()
+            throws Exception
+    {
+        try (TempFile tempFile = new TempFile()) {
+            // create single strip file with multiple row groups
+            int rowCount = 142_000;
+            createSequentialFile(tempFile.getFile(), rowCount);
+
+            AtomicReference<OrcPredicate> currentPredicate = new AtomicReference<>(OrcPredicate.TRUE);
+            try (OrcRecordReader reader = createCustomOrcRecordReader(tempFile, new DynamicOrcPredicate(currentPredicate::get), BIGINT, MAX_BATCH_SIZE)) {
+                // first page is read from the first row group
+                long position = reader.nextPage().getPositionCount();
+                assertThat(position).isLessThan(10_000);
+
+                // narrow down to a row group in the middle of the stripe, which is already read
+                currentPredicate.set((numberOfRows, allColumnStatistics) -> {
+                    if (numberOfRows == rowCount) {
+                        return true;
+                    }
+                    IntegerStatistics stats = allColumnStatistics.get(new OrcColumnId(1)).getIntegerStatistics();
+                    return stats.getMin() == 60_000;
+                });
+
+                // remainder of the first row group is still returned
+                while (true) {
+                    SourcePage sourcePage = reader.nextPage();
+                    if (sourcePage == null) {
+                        break;
+                    }
+                    if (position == 10_000) {
+                        position = 60_000;
+                    }
+                    Block block = sourcePage.getPage().getBlock(0);
+                    for (int i = 0; i < block.getPositionCount(); i++) {
+                        assertThat(BIGINT.getLong(block, i)).isEqualTo(position + i);
+                    }
+                    assertThat(reader.getFilePosition()).isEqualTo(position);
+                    position += block.getPositionCount();
+                }
+
+                assertThat(position).isEqualTo(70_000);
+            }
+        }
+    }
+
     @Test
     public void testBatchSizesForVariableWidth()
             throws Exception
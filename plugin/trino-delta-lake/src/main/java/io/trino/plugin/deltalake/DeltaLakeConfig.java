@@ -65,6 +65,7 @@ public class DeltaLakeConfig
     private DataSize transactionLogMaxCachedFileSize = DEFAULT_TRANSACTION_LOG_MAX_CACHED_SIZE;
     private DataSize dataFileCacheSize = DEFAULT_DATA_FILE_CACHE_SIZE;
     private Duration dataFileCacheTtl = new Duration(30, TimeUnit.MINUTES);
+    private DataSize deletionVectorCacheSize = DataSize.of(64, MEGABYTE);
     private int domainCompactionThreshold = 1000;
     private int maxOutstandingSplits = 1_000;
     private int maxSplitsPerSecond = Integer.MAX_VALUE;
@@ -165,6 +166,20 @@ public class DeltaLakeConfig
         return this;
     }
 
+    @NotNull
+    public DataSize getDeletionVectorCacheSize()
+    {
+        return deletionVectorCacheSize;
+    }
+
+    @Config("delta.deletion-vectors.cache-size")
+    @ConfigDescription("Maximum retained size of deletion vectors cached on each worker, or 0 to disable the cache")
+    public DeltaLakeConfig setDeletionVectorCacheSize(DataSize deletionVectorCacheSize)
+    {
+        this.deletionVectorCacheSize = deletionVectorCacheSize;
+        return this;
+    }
+
     @Min(1)
     public int getDomainCompactionThreshold()
     {
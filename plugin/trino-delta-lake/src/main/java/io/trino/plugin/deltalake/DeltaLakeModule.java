@@ -23,6 +23,7 @@ import io.trino.plugin.base.metrics.FileFormatDataSourceStats;
 import io.trino.plugin.base.security.ConnectorAccessControlModule;
 import io.trino.plugin.base.session.SessionPropertiesProvider;
 import io.trino.plugin.deltalake.cache.DeltaLakeCacheKeyProvider;
+import io.trino.plugin.deltalake.delete.DeletionVectorCache;
 import io.trino.plugin.deltalake.functions.tablechanges.TableChangesFunctionProvider;
 import io.trino.plugin.deltalake.functions.tablechanges.TableChangesProcessorProvider;
 import io.trino.plugin.deltalake.metastore.DeltaLakeTableMetadataScheduler;
@@ -130,6 +131,9 @@ public class DeltaLakeModule
         binder.bind(FileFormatDataSourceStats.class).in(Scopes.SINGLETON);
         newExporter(binder).export(FileFormatDataSourceStats.class)
                 .as(generator -> generator.generatedNameOf(FileFormatDataSourceStats.class, catalogName.get().toString()));
+        binder.bind(DeletionVectorCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(DeletionVectorCache.class)
+                .as(generator -> generator.generatedNameOf(DeletionVectorCache.class, catalogName.get().toString()));
 
         Multibinder<Procedure> procedures = newSetBinder(binder, Procedure.class);
         procedures.addBinding().toProvider(DropExtendedStatsProcedure.class).in(Scopes.SINGLETON);
@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.deltalake.delete;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.Weigher;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+import io.airlift.units.DataSize;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.filesystem.Location;
+import io.trino.filesystem.TrinoFileSystem;
+import io.trino.plugin.deltalake.DeltaLakeConfig;
+import io.trino.plugin.deltalake.transactionlog.DeletionVectorEntry;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.trino.cache.CacheUtils.uncheckedCacheGet;
+import static io.trino.plugin.deltalake.delete.DeletionVectors.readDeletionVectors;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Worker-wide cache of decoded deletion vectors. A large data file is read by many splits,
+ * and without the cache each of them reads and decodes the same deletion vector again.
+ * Concurrent loads of the same deletion vector are coalesced.
+ * <p>
+ * Deletion vector files are never modified, so the descriptor identifies the content.
+ */
+public class DeletionVectorCache
+{
+    private final Cache<CacheKey, RoaringBitmapArray> cache;
+
+    @Inject
+    public DeletionVectorCache(DeltaLakeConfig config)
+    {
+        this(config.getDeletionVectorCacheSize());
+    }
+
+    public DeletionVectorCache(DataSize maxRetainedSize)
+    {
+        cache = EvictableCacheBuilder.newBuilder()
+                .weigher((Weigher<CacheKey, RoaringBitmapArray>) (key, value) -> Ints.saturatedCast(key.getRetainedSizeInBytes() + value.getRetainedSizeInBytes()))
+                .maximumWeight(maxRetainedSize.toBytes())
+                .shareNothingWhenDisabled()
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the rows deleted by the deletion vector. The returned bitmap is shared
+     * with other readers and must not be modified.
+     */
+    public RoaringBitmapArray get(TrinoFileSystem fileSystem, Location tableLocation, DeletionVectorEntry deletionVector)
+            throws IOException
+    {
+        try {
+            return uncheckedCacheGet(cache, new CacheKey(tableLocation.toString(), deletionVector), () -> {
+                try {
+                    return readDeletionVectors(fileSystem, tableLocation, deletionVector);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+            throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.invalidateAll();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return new CacheStatsMBean(cache);
+    }
+
+    private record CacheKey(String tableLocation, DeletionVectorEntry deletionVector)
+    {
+        private static final int INSTANCE_SIZE = instanceSize(CacheKey.class);
+
+        private CacheKey
+        {
+            requireNonNull(tableLocation, "tableLocation is null");
+            requireNonNull(deletionVector, "deletionVector is null");
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE + estimatedSizeOf(tableLocation) + deletionVector.getRetainedSizeInBytes();
+        }
+    }
+}
@@ -17,6 +17,8 @@ import com.google.common.primitives.UnsignedInts;
 import org.roaringbitmap.RoaringBitmap;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.airlift.slice.SizeOf.sizeOfObjectArray;
 import static java.lang.Math.toIntExact;
 
 /**
@@ -24,6 +26,8 @@ import static java.lang.Math.toIntExact;
  */
 public final class RoaringBitmapArray
 {
+    private static final int INSTANCE_SIZE = instanceSize(RoaringBitmapArray.class);
+
     // Must bitmask to avoid sign extension
     private static final long MAX_REPRESENTABLE_VALUE = (((long) Integer.MAX_VALUE - 1) << 32) | (((long) Integer.MIN_VALUE) & 0xFFFFFFFFL);
     private static final int INDIVIDUAL_BITMAP_KEY_SIZE = 4;
@@ -80,6 +84,15 @@ public final class RoaringBitmapArray
         return toIntExact(size);
     }
 
+    public long getRetainedSizeInBytes()
+    {
+        long size = INSTANCE_SIZE + sizeOfObjectArray(bitmaps.length);
+        for (RoaringBitmap bitmap : bitmaps) {
+            size += bitmap.getLongSizeInBytes();
+        }
+        return size;
+    }
+
     public void add(long value)
     {
         checkArgument(value >= 0 && value <= MAX_REPRESENTABLE_VALUE, "Unsupported value: %s", value);
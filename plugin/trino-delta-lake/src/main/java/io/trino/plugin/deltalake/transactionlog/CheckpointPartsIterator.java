@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.deltalake.transactionlog;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.trino.spi.TrinoException;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.util.Collections.emptyIterator;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Returns the entries of checkpoint parts in the order of the parts, while the following parts
+ * are read on the executor. At most {@code readAheadParts} parts are read ahead of the consumer,
+ * which bounds the memory used by entries that are not consumed yet. Parts are taken from the
+ * iterator on the consumer thread, so they can be built while the consumer reads the entries.
+ */
+final class CheckpointPartsIterator
+        extends AbstractIterator<DeltaLakeTransactionLogEntry>
+        implements Closeable
+{
+    private final Iterator<Supplier<Stream<DeltaLakeTransactionLogEntry>>> remainingParts;
+    private final Executor executor;
+    private final Deque<ListenableFuture<List<DeltaLakeTransactionLogEntry>>> pendingParts = new ArrayDeque<>();
+    private Iterator<DeltaLakeTransactionLogEntry> currentPart = emptyIterator();
+
+    public CheckpointPartsIterator(Iterator<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts, int readAheadParts, Executor executor)
+    {
+        checkArgument(readAheadParts > 0, "readAheadParts must be positive");
+        this.remainingParts = requireNonNull(parts, "parts is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        for (int i = 0; i < readAheadParts; i++) {
+            scheduleNextPart();
+        }
+    }
+
+    @Override
+    protected DeltaLakeTransactionLogEntry computeNext()
+    {
+        while (!currentPart.hasNext()) {
+            ListenableFuture<List<DeltaLakeTransactionLogEntry>> nextPart = pendingParts.poll();
+            if (nextPart == null) {
+                return endOfData();
+            }
+            // keep the number of parts read ahead constant while waiting for the next one
+            scheduleNextPart();
+            currentPart = getFutureValue(nextPart, TrinoException.class).iterator();
+        }
+        return currentPart.next();
+    }
+
+    private void scheduleNextPart()
+    {
+        if (!remainingParts.hasNext()) {
+            return;
+        }
+        Supplier<Stream<DeltaLakeTransactionLogEntry>> part = remainingParts.next();
+        pendingParts.add(Futures.submit(() -> {
+            try (Stream<DeltaLakeTransactionLogEntry> entries = part.get()) {
+                return entries.collect(toImmutableList());
+            }
+        }, executor));
+    }
+
+    @Override
+    public void close()
+    {
+        currentPart = emptyIterator();
+        pendingParts.forEach(part -> part.cancel(true));
+        pendingParts.clear();
+    }
+}
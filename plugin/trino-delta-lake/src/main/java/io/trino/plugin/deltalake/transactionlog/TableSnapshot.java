@@ -13,8 +13,10 @@
  */
 package io.trino.plugin.deltalake.transactionlog;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 import io.airlift.units.DataSize;
 import io.trino.filesystem.Location;
@@ -36,19 +38,20 @@ import io.trino.spi.type.TypeManager;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterators.peekingIterator;
 import static com.google.common.collect.Streams.stream;
-import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.airlift.slice.SizeOf.estimatedSizeOf;
 import static io.airlift.slice.SizeOf.instanceSize;
 import static io.airlift.slice.SizeOf.sizeOf;
@@ -62,7 +65,6 @@ import static io.trino.plugin.deltalake.transactionlog.checkpoint.CheckpointEntr
 import static io.trino.plugin.deltalake.transactionlog.checkpoint.TransactionLogTail.getEntriesFromJson;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 /**
  * The current state of a Delta table.  It's defined by its latest checkpoint and the subsequent transactions
@@ -71,6 +73,7 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 public class TableSnapshot
 {
     private static final int INSTANCE_SIZE = instanceSize(TableSnapshot.class);
+    private static final int MAX_INLINE_ENTRIES_PER_PART = 10_000;
 
     private final Optional<LastCheckpoint> lastCheckpoint;
     private final SchemaTableName table;
@@ -235,6 +238,7 @@ public class TableSnapshot
             Optional<MetadataAndProtocolEntry> metadataAndProtocol,
             TupleDomain<DeltaLakeColumnHandle> partitionConstraint,
             Optional<Predicate<String>> addStatsMinMaxColumnFilter,
+            int checkpointProcessingParallelism,
             Executor executor)
             throws IOException
     {
@@ -249,9 +253,9 @@ public class TableSnapshot
             checkState(metadataAndProtocol.isPresent(), "metadata and protocol information is needed to process the add log entries");
         }
 
-        return getCheckpointPartPaths(checkpoint).stream()
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts = getCheckpointPartPaths(checkpoint).stream()
                 .map(fileSystem::newInputFile)
-                .flatMap(checkpointFile -> getCheckpointTransactionLogEntries(
+                .<Supplier<Stream<DeltaLakeTransactionLogEntry>>>map(checkpointFile -> () -> getCheckpointTransactionLogEntries(
                         session,
                         fileSystem,
                         entryTypes,
@@ -264,7 +268,28 @@ public class TableSnapshot
                         checkpointFile,
                         partitionConstraint,
                         addStatsMinMaxColumnFilter,
-                        executor));
+                        checkpointProcessingParallelism,
+                        executor))
+                .collect(toImmutableList());
+        return readCheckpointParts(parts, checkpointProcessingParallelism, executor);
+    }
+
+    private static Stream<DeltaLakeTransactionLogEntry> readCheckpointParts(List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts, int checkpointProcessingParallelism, Executor executor)
+    {
+        if (parts.size() == 1) {
+            return parts.getFirst().get();
+        }
+        return readCheckpointParts(parts.iterator(), checkpointProcessingParallelism, executor);
+    }
+
+    private static Stream<DeltaLakeTransactionLogEntry> readCheckpointParts(Iterator<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts, int checkpointProcessingParallelism, Executor executor)
+    {
+        if (checkpointProcessingParallelism <= 1) {
+            return stream(parts).flatMap(Supplier::get);
+        }
+        // Parts of multi-part and V2 checkpoints are read in parallel using a bounded executor
+        CheckpointPartsIterator iterator = new CheckpointPartsIterator(parts, checkpointProcessingParallelism, executor);
+        return stream(iterator).onClose(iterator::close);
     }
 
     public Optional<Long> getLastCheckpointVersion()
@@ -285,6 +310,7 @@ public class TableSnapshot
             TrinoInputFile checkpointFile,
             TupleDomain<DeltaLakeColumnHandle> partitionConstraint,
             Optional<Predicate<String>> addStatsMinMaxColumnFilter,
+            int checkpointProcessingParallelism,
             Executor executor)
     {
         long fileSize;
@@ -312,6 +338,7 @@ public class TableSnapshot
                     addStatsMinMaxColumnFilter,
                     fileSystem,
                     fileSize,
+                    checkpointProcessingParallelism,
                     executor);
         }
         CheckpointEntryIterator checkpointEntryIterator = new CheckpointEntryIterator(
@@ -346,42 +373,60 @@ public class TableSnapshot
             Optional<Predicate<String>> addStatsMinMaxColumnFilter,
             TrinoFileSystem fileSystem,
             long fileSize,
+            int checkpointProcessingParallelism,
             Executor executor)
     {
         // Sidecar files contain only ADD and REMOVE entry types. https://github.com/delta-io/delta/blob/master/PROTOCOL.md#v2-spec
         Set<CheckpointEntryIterator.EntryType> dataEntryTypes = Sets.intersection(entryTypes, Set.of(ADD, REMOVE));
-        List<CompletableFuture<Stream<DeltaLakeTransactionLogEntry>>> logEntryStreamFutures =
-                getV2CheckpointEntries(session, entryTypes, metadataEntry, protocolEntry, checkpointSchemaManager, typeManager, stats, checkpoint, checkpointFile, partitionConstraint, addStatsMinMaxColumnFilter, fileSystem, fileSize)
-                        .map(v2checkpointEntry -> {
-                            if (v2checkpointEntry.getSidecar() == null || dataEntryTypes.isEmpty()) {
-                                return CompletableFuture.completedFuture(Stream.of(v2checkpointEntry));
-                            }
-                            // Sidecar files are retrieved in parallel using a bounded executor
-                            return supplyAsync(() -> {
-                                Location sidecar = checkpointFile.location().sibling("_sidecars").appendPath(v2checkpointEntry.getSidecar().path());
-                                CheckpointEntryIterator iterator = new CheckpointEntryIterator(
-                                        fileSystem.newInputFile(sidecar),
-                                        session,
-                                        v2checkpointEntry.getSidecar().sizeInBytes(),
-                                        checkpointSchemaManager,
-                                        typeManager,
-                                        dataEntryTypes,
-                                        metadataEntry,
-                                        protocolEntry,
-                                        stats,
-                                        parquetReaderOptions,
-                                        checkpointRowStatisticsWritingEnabled,
-                                        domainCompactionThreshold,
-                                        partitionConstraint,
-                                        addStatsMinMaxColumnFilter);
-                                return stream(iterator).onClose(iterator::close);
-                            }, executor);
-                        })
-                        .collect(toImmutableList());
-        // Return the stream to retrieve the values of the futures lazily and allow streamlined split generation
-        return logEntryStreamFutures.stream()
-                .mapMulti((logEntryStream, builder)
-                        -> getFutureValue(logEntryStream, TrinoException.class).forEach(builder));
+        Stream<DeltaLakeTransactionLogEntry> entries = getV2CheckpointEntries(session, entryTypes, metadataEntry, protocolEntry, checkpointSchemaManager, typeManager, stats, checkpoint, checkpointFile, partitionConstraint, addStatsMinMaxColumnFilter, fileSystem, fileSize);
+        if (dataEntryTypes.isEmpty()) {
+            return entries;
+        }
+
+        // Each sidecar file is a separate part, and consecutive entries of the V2 checkpoint file are kept together in between.
+        // The parts are built while the V2 checkpoint file is read, so only the parts read ahead are held in memory.
+        PeekingIterator<DeltaLakeTransactionLogEntry> v2CheckpointEntries = peekingIterator(entries.iterator());
+        Iterator<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts = new AbstractIterator<>()
+        {
+            @Override
+            protected Supplier<Stream<DeltaLakeTransactionLogEntry>> computeNext()
+            {
+                if (!v2CheckpointEntries.hasNext()) {
+                    return endOfData();
+                }
+                SidecarEntry sidecarEntry = v2CheckpointEntries.peek().getSidecar();
+                if (sidecarEntry != null) {
+                    v2CheckpointEntries.next();
+                    return () -> {
+                        Location sidecar = checkpointFile.location().sibling("_sidecars").appendPath(sidecarEntry.path());
+                        CheckpointEntryIterator iterator = new CheckpointEntryIterator(
+                                fileSystem.newInputFile(sidecar),
+                                session,
+                                sidecarEntry.sizeInBytes(),
+                                checkpointSchemaManager,
+                                typeManager,
+                                dataEntryTypes,
+                                metadataEntry,
+                                protocolEntry,
+                                stats,
+                                parquetReaderOptions,
+                                checkpointRowStatisticsWritingEnabled,
+                                domainCompactionThreshold,
+                                partitionConstraint,
+                                addStatsMinMaxColumnFilter);
+                        return stream(iterator).onClose(iterator::close);
+                    };
+                }
+                ImmutableList.Builder<DeltaLakeTransactionLogEntry> inlineEntries = ImmutableList.builder();
+                for (int i = 0; i < MAX_INLINE_ENTRIES_PER_PART && v2CheckpointEntries.hasNext() && v2CheckpointEntries.peek().getSidecar() == null; i++) {
+                    inlineEntries.add(v2CheckpointEntries.next());
+                }
+                List<DeltaLakeTransactionLogEntry> partEntries = inlineEntries.build();
+                return partEntries::stream;
+            }
+        };
+        return readCheckpointParts(parts, checkpointProcessingParallelism, executor)
+                .onClose(entries::close);
     }
 
     private Stream<DeltaLakeTransactionLogEntry> getV2CheckpointEntries(
@@ -474,6 +474,7 @@ public class TransactionLogAccess
                 Optional.of(new MetadataAndProtocolEntry(metadataEntry, protocolEntry)),
                 partitionConstraint,
                 Optional.of(addStatsMinMaxColumnFilter),
+                checkpointProcessingParallelism,
                 new BoundedExecutor(executorService, checkpointProcessingParallelism))) {
             return activeAddEntries(checkpointEntries, transactions, fileSystem)
                     .filter(partitionConstraint.isAll()
@@ -649,7 +650,7 @@ public class TransactionLogAccess
         try {
             // Passing TupleDomain.all() because this method is used for getting all entries
             try (Stream<DeltaLakeTransactionLogEntry> checkpointEntries = tableSnapshot.getCheckpointTransactionLogEntries(
-                    session, entryTypes, checkpointSchemaManager, typeManager, fileSystem, stats, Optional.empty(), TupleDomain.all(), Optional.of(alwaysTrue()), new BoundedExecutor(executorService, checkpointProcessingParallelism))) {
+                    session, entryTypes, checkpointSchemaManager, typeManager, fileSystem, stats, Optional.empty(), TupleDomain.all(), Optional.of(alwaysTrue()), checkpointProcessingParallelism, new BoundedExecutor(executorService, checkpointProcessingParallelism))) {
                 return checkpointMapper.apply(checkpointEntries);
             }
         }
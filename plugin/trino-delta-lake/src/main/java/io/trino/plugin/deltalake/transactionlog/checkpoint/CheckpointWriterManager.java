@@ -118,6 +118,7 @@ public class CheckpointWriterManager
                     Optional.empty(),
                     TupleDomain.all(),
                     Optional.empty(),
+                    checkpointProcessingParallelism,
                     new BoundedExecutor(executorService, checkpointProcessingParallelism))) {
                 checkpointLogEntries = checkpointLogEntriesStream.filter(entry -> entry.getMetaData() != null || entry.getProtocol() != null)
                         .collect(toImmutableList());
@@ -154,6 +155,7 @@ public class CheckpointWriterManager
                         Optional.of(new MetadataAndProtocolEntry(metadataLogEntry.getMetaData(), protocolLogEntry.getProtocol())),
                         TupleDomain.all(),
                         Optional.of(alwaysTrue()),
+                        checkpointProcessingParallelism,
                         new BoundedExecutor(executorService, checkpointProcessingParallelism))) {
                     checkpointLogEntriesStream.forEach(checkpointBuilder::addLogEntry);
                 }
@@ -42,6 +42,7 @@ public class TestDeltaLakeConfig
         assertRecordedDefaults(recordDefaults(DeltaLakeConfig.class)
                 .setDataFileCacheSize(DeltaLakeConfig.DEFAULT_DATA_FILE_CACHE_SIZE)
                 .setDataFileCacheTtl(new Duration(30, MINUTES))
+                .setDeletionVectorCacheSize(DataSize.of(64, MEGABYTE))
                 .setMetadataCacheTtl(new Duration(30, TimeUnit.MINUTES))
                 .setMetadataCacheMaxRetainedSize(DeltaLakeConfig.DEFAULT_METADATA_CACHE_MAX_RETAINED_SIZE)
                 .setTransactionLogMaxCachedFileSize(DeltaLakeConfig.DEFAULT_TRANSACTION_LOG_MAX_CACHED_SIZE)
@@ -89,6 +90,7 @@ public class TestDeltaLakeConfig
                 .put("delta.transaction-log.max-cached-file-size", "1MB")
                 .put("delta.metadata.live-files.cache-size", "0 MB")
                 .put("delta.metadata.live-files.cache-ttl", "60m")
+                .put("delta.deletion-vectors.cache-size", "16MB")
                 .put("delta.domain-compaction-threshold", "500")
                 .put("delta.max-outstanding-splits", "200")
                 .put("delta.max-splits-per-second", "10")
@@ -127,6 +129,7 @@ public class TestDeltaLakeConfig
         DeltaLakeConfig expected = new DeltaLakeConfig()
                 .setDataFileCacheSize(DataSize.succinctBytes(0))
                 .setDataFileCacheTtl(new Duration(60, MINUTES))
+                .setDeletionVectorCacheSize(DataSize.of(16, MEGABYTE))
                 .setMetadataCacheTtl(new Duration(10, TimeUnit.MINUTES))
                 .setMetadataCacheMaxRetainedSize(DataSize.of(1, GIGABYTE))
                 .setTransactionLogMaxCachedFileSize(DataSize.of(1, MEGABYTE))
@@ -27,6 +27,7 @@ import io.trino.parquet.writer.ParquetSchemaConverter;
 import io.trino.parquet.writer.ParquetWriter;
 import io.trino.parquet.writer.ParquetWriterOptions;
 import io.trino.plugin.base.metrics.FileFormatDataSourceStats;
+import io.trino.plugin.deltalake.delete.DeletionVectorCache;
 import io.trino.plugin.deltalake.transactionlog.MetadataEntry;
 import io.trino.plugin.deltalake.transactionlog.ProtocolEntry;
 import io.trino.plugin.hive.HiveTransactionHandle;
@@ -330,7 +331,8 @@ public class TestDeltaLakeNodeLocalDynamicSplitPruning
                 stats,
                 PARQUET_READER_CONFIG,
                 deltaLakeConfig,
-                TESTING_TYPE_MANAGER);
+                TESTING_TYPE_MANAGER,
+                new DeletionVectorCache(deltaLakeConfig));
 
         return provider.createPageSource(
                 transaction,
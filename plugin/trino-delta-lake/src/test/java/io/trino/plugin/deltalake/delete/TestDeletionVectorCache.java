@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.deltalake.delete;
+
+import com.google.common.io.Resources;
+import io.airlift.units.DataSize;
+import io.trino.filesystem.Location;
+import io.trino.filesystem.TrinoFileSystem;
+import io.trino.plugin.deltalake.transactionlog.DeletionVectorEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.OptionalInt;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.trino.plugin.deltalake.DeltaTestingConnectorSession.SESSION;
+import static io.trino.plugin.hive.HiveTestUtils.HDFS_FILE_SYSTEM_FACTORY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestDeletionVectorCache
+{
+    private static final DeletionVectorEntry DELETION_VECTOR = new DeletionVectorEntry("u", "R7QFX3rGXPFLhHGq&7g<", OptionalInt.of(1), 34, 1);
+
+    @Test
+    public void testCache()
+            throws Exception
+    {
+        Location tableLocation = Location.of(new File(Resources.getResource("databricks122/deletion_vectors").toURI()).toPath().toString());
+        TrinoFileSystem fileSystem = HDFS_FILE_SYSTEM_FACTORY.create(SESSION);
+        DeletionVectorCache cache = new DeletionVectorCache(DataSize.of(1, MEGABYTE));
+
+        RoaringBitmapArray deletedRows = cache.get(fileSystem, tableLocation, DELETION_VECTOR);
+        assertThat(deletedRows.contains(0)).isFalse();
+        assertThat(deletedRows.contains(1)).isTrue();
+        assertThat(cache.get(fileSystem, tableLocation, DELETION_VECTOR)).isSameAs(deletedRows);
+        assertThat(cache.getCacheStats().getRequestCount()).isEqualTo(2);
+        assertThat(cache.getCacheStats().getLoadCount()).isEqualTo(1);
+
+        cache.flushCache();
+        assertThat(cache.get(fileSystem, tableLocation, DELETION_VECTOR)).isNotSameAs(deletedRows);
+    }
+
+    @Test
+    public void testDisabled()
+            throws Exception
+    {
+        Location tableLocation = Location.of(new File(Resources.getResource("databricks122/deletion_vectors").toURI()).toPath().toString());
+        TrinoFileSystem fileSystem = HDFS_FILE_SYSTEM_FACTORY.create(SESSION);
+        DeletionVectorCache cache = new DeletionVectorCache(DataSize.ofBytes(0));
+
+        RoaringBitmapArray deletedRows = cache.get(fileSystem, tableLocation, DELETION_VECTOR);
+        assertThat(deletedRows.contains(1)).isTrue();
+        assertThat(cache.get(fileSystem, tableLocation, DELETION_VECTOR)).isNotSameAs(deletedRows);
+    }
+
+    @Test
+    public void testLoadFailure()
+    {
+        TrinoFileSystem fileSystem = HDFS_FILE_SYSTEM_FACTORY.create(SESSION);
+        DeletionVectorCache cache = new DeletionVectorCache(DataSize.of(1, MEGABYTE));
+        DeletionVectorEntry deletionVector = new DeletionVectorEntry("i", "wi5b=000010000siXQKl0rr91000f55c8Xg0@@D72lkbi5=-{L", OptionalInt.empty(), 40, 1);
+        assertThatThrownBy(() -> cache.get(fileSystem, Location.of("s3://bucket/table"), deletionVector))
+                .hasMessageContaining("Unsupported storage type for deletion vector: i");
+    }
+}
@@ -68,6 +68,21 @@ final class TestRoaringBitmapArray
         assertThat(bitmaps.serializedSizeInBytes()).isEqualTo(24);
     }
 
+    @Test
+    void testRetainedSizeInBytes()
+    {
+        RoaringBitmapArray bitmaps = new RoaringBitmapArray();
+        long emptySize = bitmaps.getRetainedSizeInBytes();
+        assertThat(emptySize).isPositive();
+
+        bitmaps.add(0);
+        long singleBitmapSize = bitmaps.getRetainedSizeInBytes();
+        assertThat(singleBitmapSize).isGreaterThan(emptySize);
+
+        bitmaps.add((2L << 32) + 1);
+        assertThat(bitmaps.getRetainedSizeInBytes()).isGreaterThan(singleBitmapSize);
+    }
+
     @Test
     void testAdd()
     {
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.deltalake.transactionlog;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.TrinoException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Streams.stream;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.plugin.deltalake.transactionlog.DeltaLakeTransactionLogEntry.transactionEntry;
+import static io.trino.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+public class TestCheckpointPartsIterator
+{
+    private final ExecutorService executor = newCachedThreadPool(daemonThreadsNamed(getClass().getSimpleName() + "-%s"));
+
+    @AfterAll
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testEntriesInPartOrder()
+    {
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts = ImmutableList.of(
+                () -> entries(0, 3),
+                () -> Stream.of(),
+                () -> entries(3, 4),
+                () -> entries(4, 10));
+        try (CheckpointPartsIterator iterator = new CheckpointPartsIterator(parts, 2, executor)) {
+            assertThat(versions(iterator)).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        }
+    }
+
+    @Test
+    public void testReadAheadIsBounded()
+            throws Exception
+    {
+        AtomicInteger readParts = new AtomicInteger();
+        CountDownLatch readAheadDone = new CountDownLatch(2);
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts = LongStream.range(0, 5)
+                .<Supplier<Stream<DeltaLakeTransactionLogEntry>>>mapToObj(part -> () -> {
+                    readParts.incrementAndGet();
+                    readAheadDone.countDown();
+                    return entries(part, part + 1);
+                })
+                .collect(toImmutableList());
+        try (CheckpointPartsIterator iterator = new CheckpointPartsIterator(parts, 2, executor)) {
+            readAheadDone.await();
+            assertThat(readParts.get()).isEqualTo(2);
+
+            assertThat(iterator.next().getTxn().version()).isEqualTo(0);
+            assertThat(readParts.get()).isLessThanOrEqualTo(3);
+
+            assertThat(versions(iterator)).containsExactly(1L, 2L, 3L, 4L);
+            assertThat(readParts.get()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    public void testFailure()
+    {
+        List<Supplier<Stream<DeltaLakeTransactionLogEntry>>> parts = ImmutableList.of(
+                () -> entries(0, 2),
+                () -> {
+                    throw new TrinoException(GENERIC_INTERNAL_ERROR, "Corrupted checkpoint part");
+                });
+        try (CheckpointPartsIterator iterator = new CheckpointPartsIterator(parts, 2, executor)) {
+            assertThat(iterator.next().getTxn().version()).isEqualTo(0);
+            assertThat(iterator.next().getTxn().version()).isEqualTo(1);
+            assertThatThrownBy(iterator::hasNext)
+                    .isInstanceOf(TrinoException.class)
+                    .hasMessage("Corrupted checkpoint part");
+        }
+    }
+
+    private static Stream<DeltaLakeTransactionLogEntry> entries(long fromVersion, long toVersion)
+    {
+        return LongStream.range(fromVersion, toVersion)
+                .mapToObj(version -> transactionEntry(new TransactionEntry("app", version, 0)));
+    }
+
+    private static List<Long> versions(CheckpointPartsIterator iterator)
+    {
+        return stream(iterator)
+                .map(entry -> entry.getTxn().version())
+                .collect(toImmutableList());
+    }
+}
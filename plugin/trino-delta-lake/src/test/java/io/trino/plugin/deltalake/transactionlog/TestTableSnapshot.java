@@ -167,6 +167,7 @@ public class TestTableSnapshot
                 Optional.of(new MetadataAndProtocolEntry(metadataEntry, protocolEntry)),
                 TupleDomain.all(),
                 Optional.of(alwaysTrue()),
+                4,
                 executorService)) {
             List<DeltaLakeTransactionLogEntry> entries = stream.collect(toImmutableList());
 
@@ -218,6 +219,7 @@ public class TestTableSnapshot
                 Optional.of(new MetadataAndProtocolEntry(metadataEntry, protocolEntry)),
                 TupleDomain.all(),
                 Optional.of(alwaysTrue()),
+                4,
                 executorService)) {
             List<DeltaLakeTransactionLogEntry> entries = stream.collect(toImmutableList());
 
@@ -98,6 +98,8 @@ public class IcebergConfig
     private int metadataParallelism = 8;
     private boolean bucketExecutionEnabled = true;
     private boolean fileBasedConflictDetectionEnabled = true;
+    private DataSize positionDeletesCacheSize = DataSize.of(64, MEGABYTE);
+    private DataSize tableMetadataCacheSize = DataSize.of(64, MEGABYTE);
 
     public CatalogType getCatalogType()
     {
@@ -609,4 +611,32 @@ public class IcebergConfig
         this.fileBasedConflictDetectionEnabled = fileBasedConflictDetectionEnabled;
         return this;
     }
+
+    @NotNull
+    public DataSize getPositionDeletesCacheSize()
+    {
+        return positionDeletesCacheSize;
+    }
+
+    @Config("iceberg.position-deletes.cache-size")
+    @ConfigDescription("Maximum retained size of position deletes cached on each worker, or 0 to disable the cache")
+    public IcebergConfig setPositionDeletesCacheSize(DataSize positionDeletesCacheSize)
+    {
+        this.positionDeletesCacheSize = positionDeletesCacheSize;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getTableMetadataCacheSize()
+    {
+        return tableMetadataCacheSize;
+    }
+
+    @Config("iceberg.table-metadata.cache-size")
+    @ConfigDescription("Maximum retained size of parsed table metadata cached on coordinator, or 0 to disable the cache")
+    public IcebergConfig setTableMetadataCacheSize(DataSize tableMetadataCacheSize)
+    {
+        this.tableMetadataCacheSize = tableMetadataCacheSize;
+        return this;
+    }
 }
@@ -25,10 +25,12 @@ import io.trino.filesystem.Location;
 import io.trino.filesystem.TrinoFileSystem;
 import io.trino.filesystem.TrinoInputFile;
 import io.trino.memory.context.AggregatedMemoryContext;
+import io.trino.orc.DynamicOrcPredicate;
 import io.trino.orc.OrcColumn;
 import io.trino.orc.OrcCorruptionException;
 import io.trino.orc.OrcDataSource;
 import io.trino.orc.OrcDataSourceId;
+import io.trino.orc.OrcPredicate;
 import io.trino.orc.OrcReader;
 import io.trino.orc.OrcReaderOptions;
 import io.trino.orc.OrcRecordReader;
@@ -53,6 +55,7 @@ import io.trino.plugin.hive.parquet.ParquetPageSource;
 import io.trino.plugin.iceberg.IcebergParquetColumnIOConverter.FieldContext;
 import io.trino.plugin.iceberg.delete.DeleteFile;
 import io.trino.plugin.iceberg.delete.DeleteManager;
+import io.trino.plugin.iceberg.delete.PositionDeletesCache;
 import io.trino.plugin.iceberg.delete.RowPredicate;
 import io.trino.plugin.iceberg.fileio.ForwardingInputFile;
 import io.trino.spi.Page;
@@ -208,6 +211,7 @@ public class IcebergPageSourceProvider
     private final OrcReaderOptions orcReaderOptions;
     private final ParquetReaderOptions parquetReaderOptions;
     private final TypeManager typeManager;
+    private final PositionDeletesCache positionDeletesCache;
     private final DeleteManager unpartitionedTableDeleteManager;
     private final Map<Integer, Function<PartitionData, PartitionKey>> partitionKeyFactories = new ConcurrentHashMap<>();
     private final Map<PartitionKey, DeleteManager> partitionedDeleteManagers = new ConcurrentHashMap<>();
@@ -217,14 +221,16 @@ public class IcebergPageSourceProvider
             FileFormatDataSourceStats fileFormatDataSourceStats,
             OrcReaderOptions orcReaderOptions,
             ParquetReaderOptions parquetReaderOptions,
-            TypeManager typeManager)
+            TypeManager typeManager,
+            PositionDeletesCache positionDeletesCache)
     {
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.fileFormatDataSourceStats = requireNonNull(fileFormatDataSourceStats, "fileFormatDataSourceStats is null");
         this.orcReaderOptions = requireNonNull(orcReaderOptions, "orcReaderOptions is null");
         this.parquetReaderOptions = requireNonNull(parquetReaderOptions, "parquetReaderOptions is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
-        this.unpartitionedTableDeleteManager = new DeleteManager(typeManager);
+        this.positionDeletesCache = requireNonNull(positionDeletesCache, "positionDeletesCache is null");
+        this.unpartitionedTableDeleteManager = new DeleteManager(typeManager, positionDeletesCache);
     }
 
     @Override
@@ -341,6 +347,7 @@ public class IcebergPageSourceProvider
                 tableSchema,
                 requiredColumns,
                 effectivePredicate,
+                dynamicFilter,
                 nameMapping,
                 partition,
                 partitionKeys);
@@ -393,7 +400,7 @@ public class IcebergPageSourceProvider
                 })
                 .apply(partitionData);
 
-        return partitionedDeleteManagers.computeIfAbsent(partitionKey, ignored -> new DeleteManager(typeManager));
+        return partitionedDeleteManagers.computeIfAbsent(partitionKey, ignored -> new DeleteManager(typeManager, positionDeletesCache));
     }
 
     private record PartitionKey(int specId, StructLikeWrapper partitionData) {}
@@ -481,6 +488,7 @@ public class IcebergPageSourceProvider
                 schemaFromHandles(columns),
                 columns,
                 tupleDomain,
+                DynamicFilter.EMPTY,
                 Optional.empty(),
                 "",
                 ImmutableMap.of())
@@ -499,6 +507,7 @@ public class IcebergPageSourceProvider
             Schema fileSchema,
             List<IcebergColumnHandle> dataColumns,
             TupleDomain<IcebergColumnHandle> predicate,
+            DynamicFilter dynamicFilter,
             Optional<NameMapping> nameMapping,
             String partition,
             Map<Integer, Optional<String>> partitionKeys)
@@ -512,6 +521,7 @@ public class IcebergPageSourceProvider
                     partitionData,
                     dataColumns,
                     predicate,
+                    dynamicFilter,
                     orcReaderOptions
                             .withMaxMergeDistance(getOrcMaxMergeDistance(session))
                             .withMaxBufferSize(getOrcMaxBufferSize(session))
@@ -605,6 +615,7 @@ public class IcebergPageSourceProvider
             String partitionData,
             List<IcebergColumnHandle> columns,
             TupleDomain<IcebergColumnHandle> effectivePredicate,
+            DynamicFilter dynamicFilter,
             OrcReaderOptions options,
             FileFormatDataSourceStats stats,
             TypeManager typeManager,
@@ -621,18 +632,12 @@ public class IcebergPageSourceProvider
 
             Map<Integer, OrcColumn> fileColumnsByIcebergId = fileColumnsByIcebergId(reader, nameMapping);
 
-            TupleDomainOrcPredicateBuilder predicateBuilder = TupleDomainOrcPredicate.builder()
-                    .setBloomFiltersEnabled(options.isBloomFiltersEnabled());
-            Map<IcebergColumnHandle, Domain> effectivePredicateDomains = effectivePredicate.getDomains()
-                    .orElseThrow(() -> new IllegalArgumentException("Effective predicate is none"));
-            for (IcebergColumnHandle column : columns) {
-                for (Map.Entry<IcebergColumnHandle, Domain> domainEntry : effectivePredicateDomains.entrySet()) {
-                    IcebergColumnHandle predicateColumn = domainEntry.getKey();
-                    OrcColumn predicateOrcColumn = fileColumnsByIcebergId.get(predicateColumn.getId());
-                    if (predicateOrcColumn != null && column.getBaseColumnIdentity().equals(predicateColumn.getBaseColumnIdentity())) {
-                        predicateBuilder.addColumn(predicateOrcColumn.getColumnId(), domainEntry.getValue());
-                    }
-                }
+            checkArgument(!effectivePredicate.isNone(), "Effective predicate is none");
+            Function<TupleDomain<IcebergColumnHandle>, OrcPredicate> predicateFactory = predicate -> createOrcPredicate(columns, predicate, fileColumnsByIcebergId, options);
+            OrcPredicate predicate = predicateFactory.apply(effectivePredicate);
+            if (!dynamicFilter.isComplete()) {
+                // stripes and row groups can still be skipped by dynamic filters collected while the file is read
+                predicate = new DynamicOrcPredicate(new DynamicFilterOrcPredicateSupplier(dynamicFilter, effectivePredicate, partitionKeys.keySet(), predicateFactory));
             }
 
             Map<Integer, List<List<Integer>>> projectionsByFieldId = columns.stream()
@@ -713,7 +718,7 @@ public class IcebergPageSourceProvider
                     fileReadTypes,
                     projectedLayouts,
                     appendRowNumberColumn,
-                    predicateBuilder.build(),
+                    predicate,
                     start,
                     length,
                     UTC,
@@ -880,6 +885,80 @@ public class IcebergPageSourceProvider
         }
     }
 
+    private static OrcPredicate createOrcPredicate(
+            List<IcebergColumnHandle> columns,
+            TupleDomain<IcebergColumnHandle> predicate,
+            Map<Integer, OrcColumn> fileColumnsByIcebergId,
+            OrcReaderOptions options)
+    {
+        if (predicate.isNone()) {
+            return (numberOfRows, statistics) -> false;
+        }
+        TupleDomainOrcPredicateBuilder predicateBuilder = TupleDomainOrcPredicate.builder()
+                .setBloomFiltersEnabled(options.isBloomFiltersEnabled());
+        Map<IcebergColumnHandle, Domain> predicateDomains = predicate.getDomains().orElseThrow();
+        for (IcebergColumnHandle column : columns) {
+            for (Map.Entry<IcebergColumnHandle, Domain> domainEntry : predicateDomains.entrySet()) {
+                IcebergColumnHandle predicateColumn = domainEntry.getKey();
+                OrcColumn predicateOrcColumn = fileColumnsByIcebergId.get(predicateColumn.getId());
+                if (predicateOrcColumn != null && column.getBaseColumnIdentity().equals(predicateColumn.getBaseColumnIdentity())) {
+                    predicateBuilder.addColumn(predicateOrcColumn.getColumnId(), domainEntry.getValue());
+                }
+            }
+        }
+        return predicateBuilder.build();
+    }
+
+    /**
+     * Rebuilds the ORC predicate whenever the dynamic filter narrows down, until the dynamic filter is complete.
+     * The same predicate instance is returned while the dynamic filter does not change.
+     */
+    private static class DynamicFilterOrcPredicateSupplier
+            implements Supplier<OrcPredicate>
+    {
+        private final DynamicFilter dynamicFilter;
+        private final TupleDomain<IcebergColumnHandle> effectivePredicate;
+        private final Set<Integer> partitionKeys;
+        private final Function<TupleDomain<IcebergColumnHandle>, OrcPredicate> predicateFactory;
+
+        private TupleDomain<ColumnHandle> currentDynamicFilter;
+        private OrcPredicate currentPredicate;
+        private boolean complete;
+
+        public DynamicFilterOrcPredicateSupplier(
+                DynamicFilter dynamicFilter,
+                TupleDomain<IcebergColumnHandle> effectivePredicate,
+                Set<Integer> partitionKeys,
+                Function<TupleDomain<IcebergColumnHandle>, OrcPredicate> predicateFactory)
+        {
+            this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
+            this.effectivePredicate = requireNonNull(effectivePredicate, "effectivePredicate is null");
+            this.partitionKeys = ImmutableSet.copyOf(partitionKeys);
+            this.predicateFactory = requireNonNull(predicateFactory, "predicateFactory is null");
+        }
+
+        @Override
+        public OrcPredicate get()
+        {
+            if (complete) {
+                return currentPredicate;
+            }
+            // check completion before getting the predicate, so the final version of the dynamic filter is not missed
+            complete = dynamicFilter.isComplete();
+            TupleDomain<ColumnHandle> dynamicFilterPredicate = dynamicFilter.getCurrentPredicate();
+            if (!dynamicFilterPredicate.equals(currentDynamicFilter)) {
+                currentDynamicFilter = dynamicFilterPredicate;
+                currentPredicate = predicateFactory.apply(TupleDomain.intersect(ImmutableList.of(
+                                effectivePredicate,
+                                dynamicFilterPredicate.transformKeys(IcebergColumnHandle.class::cast)
+                                        // partition column domains are irrelevant at data file level
+                                        .filter((column, _) -> !partitionKeys.contains(column.getId()))))
+                        .simplify(ICEBERG_DOMAIN_COMPACTION_THRESHOLD));
+            }
+            return currentPredicate;
+        }
+    }
+
     private static ReaderPageSourceWithRowPositions createParquetPageSource(
             TrinoInputFile inputFile,
             long start,
@@ -195,6 +195,14 @@ public class IcebergSplit
         return deletes;
     }
 
+    @JsonIgnore
+    @Override
+    public Optional<String> getCacheSplitId()
+    {
+        // Data files are immutable, and the snapshot, which determines the applicable deletes, is part of the table handle
+        return Optional.of(path + ":" + start + ":" + length + ":" + fileSize + ":" + dataSequenceNumber);
+    }
+
     @JsonProperty
     @Override
     public SplitWeight getSplitWeight()
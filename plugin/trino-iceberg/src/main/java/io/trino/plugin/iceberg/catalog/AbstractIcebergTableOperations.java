@@ -85,6 +85,7 @@ public abstract class AbstractIcebergTableOperations
     protected final Optional<String> owner;
     protected final Optional<String> location;
     protected final FileIO fileIo;
+    protected final TableMetadataCache tableMetadataCache;
 
     protected TableMetadata currentMetadata;
     protected String currentMetadataLocation;
@@ -93,6 +94,7 @@ public abstract class AbstractIcebergTableOperations
 
     protected AbstractIcebergTableOperations(
             FileIO fileIo,
+            TableMetadataCache tableMetadataCache,
             ConnectorSession session,
             String database,
             String table,
@@ -100,6 +102,7 @@ public abstract class AbstractIcebergTableOperations
             Optional<String> location)
     {
         this.fileIo = requireNonNull(fileIo, "fileIo is null");
+        this.tableMetadataCache = requireNonNull(tableMetadataCache, "tableMetadataCache is null");
         this.session = requireNonNull(session, "session is null");
         this.database = requireNonNull(database, "database is null");
         this.tableName = requireNonNull(table, "table is null");
@@ -240,7 +243,7 @@ public abstract class AbstractIcebergTableOperations
     {
         refreshFromMetadataLocation(
                 newLocation,
-                metadataLocation -> TableMetadataParser.read(fileIo, fileIo.newInputFile(metadataLocation)));
+                metadataLocation -> tableMetadataCache.get(metadataLocation, location -> TableMetadataParser.read(fileIo, fileIo.newInputFile(location))));
     }
 
     protected void refreshFromMetadataLocation(String newLocation, Function<String, TableMetadata> metadataLoader)
@@ -0,0 +1,136 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.catalog;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.Weigher;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+import io.airlift.slice.SizeOf;
+import io.airlift.units.DataSize;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.plugin.iceberg.IcebergConfig;
+import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.TableMetadata.MetadataLogEntry;
+import org.apache.iceberg.TableMetadata.SnapshotLogEntry;
+import org.apache.iceberg.types.TypeUtil;
+import org.apache.iceberg.types.Types.NestedField;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.function.Function;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.trino.cache.CacheUtils.uncheckedCacheGet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Coordinator-wide cache of parsed table metadata, keyed by the metadata file location.
+ * Metadata files are never modified, so an entry stays valid until it is evicted.
+ * <p>
+ * Snapshots of a cached {@link TableMetadata} keep the manifest lists they read, so queries
+ * on an unchanged table also reuse the manifest list, with its partition summaries used
+ * to prune manifests, instead of reading and decoding it again.
+ * <p>
+ * Entries are weighed by an estimate of the retained size of the parsed metadata when it is
+ * loaded. Manifest lists decoded later are not included, so the weight understates the size
+ * of entries for tables that were queried.
+ */
+public class TableMetadataCache
+{
+    private static final int TABLE_METADATA_INSTANCE_SIZE = instanceSize(TableMetadata.class);
+    private static final int NESTED_FIELD_INSTANCE_SIZE = instanceSize(NestedField.class);
+    private static final int PARTITION_FIELD_INSTANCE_SIZE = instanceSize(PartitionField.class);
+    private static final int SNAPSHOT_LOG_ENTRY_INSTANCE_SIZE = instanceSize(SnapshotLogEntry.class);
+    private static final int METADATA_LOG_ENTRY_INSTANCE_SIZE = instanceSize(MetadataLogEntry.class);
+
+    private final Cache<String, TableMetadata> cache;
+
+    @Inject
+    public TableMetadataCache(IcebergConfig config)
+    {
+        this(config.getTableMetadataCacheSize());
+    }
+
+    public TableMetadataCache(DataSize maxRetainedSize)
+    {
+        this.cache = EvictableCacheBuilder.newBuilder()
+                .weigher((Weigher<String, TableMetadata>) (metadataLocation, metadata) -> Ints.saturatedCast(estimatedSizeOf(metadataLocation) + getRetainedSizeInBytes(metadata)))
+                .maximumWeight(maxRetainedSize.toBytes())
+                .shareNothingWhenDisabled()
+                .recordStats()
+                .build();
+    }
+
+    public TableMetadata get(String metadataLocation, Function<String, TableMetadata> loader)
+    {
+        requireNonNull(loader, "loader is null");
+        try {
+            return uncheckedCacheGet(cache, metadataLocation, () -> loader.apply(metadataLocation));
+        }
+        catch (UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.invalidateAll();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return new CacheStatsMBean(cache);
+    }
+
+    static long getRetainedSizeInBytes(TableMetadata metadata)
+    {
+        long size = TABLE_METADATA_INSTANCE_SIZE
+                + estimatedSizeOf(metadata.metadataFileLocation())
+                + estimatedSizeOf(metadata.location())
+                + estimatedSizeOf(metadata.properties(), SizeOf::estimatedSizeOf, SizeOf::estimatedSizeOf);
+        for (Schema schema : metadata.schemas()) {
+            for (NestedField field : TypeUtil.indexById(schema.asStruct()).values()) {
+                size += NESTED_FIELD_INSTANCE_SIZE + estimatedSizeOf(field.name()) + estimatedSizeOf(field.doc());
+            }
+        }
+        for (PartitionSpec spec : metadata.specs()) {
+            for (PartitionField field : spec.fields()) {
+                size += PARTITION_FIELD_INSTANCE_SIZE + estimatedSizeOf(field.name());
+            }
+        }
+        for (Snapshot snapshot : metadata.snapshots()) {
+            // the summary dominates the size of a snapshot
+            size += estimatedSizeOf(snapshot.manifestListLocation())
+                    + estimatedSizeOf(snapshot.summary(), SizeOf::estimatedSizeOf, SizeOf::estimatedSizeOf);
+        }
+        size += (long) metadata.snapshotLog().size() * SNAPSHOT_LOG_ENTRY_INSTANCE_SIZE;
+        for (MetadataLogEntry entry : metadata.previousFiles()) {
+            size += METADATA_LOG_ENTRY_INSTANCE_SIZE + estimatedSizeOf(entry.file());
+        }
+        return size;
+    }
+}
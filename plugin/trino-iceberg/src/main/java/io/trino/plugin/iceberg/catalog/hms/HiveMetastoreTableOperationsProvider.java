@@ -18,6 +18,7 @@ import io.trino.filesystem.TrinoFileSystemFactory;
 import io.trino.plugin.hive.metastore.thrift.ThriftMetastoreFactory;
 import io.trino.plugin.iceberg.catalog.IcebergTableOperations;
 import io.trino.plugin.iceberg.catalog.IcebergTableOperationsProvider;
+import io.trino.plugin.iceberg.catalog.TableMetadataCache;
 import io.trino.plugin.iceberg.catalog.TrinoCatalog;
 import io.trino.plugin.iceberg.fileio.ForwardingFileIo;
 import io.trino.spi.connector.ConnectorSession;
@@ -31,6 +32,7 @@ public class HiveMetastoreTableOperationsProvider
         implements IcebergTableOperationsProvider
 {
     private final TrinoFileSystemFactory fileSystemFactory;
+    private final TableMetadataCache tableMetadataCache;
     private final ThriftMetastoreFactory thriftMetastoreFactory;
     private final boolean lockingEnabled;
 
@@ -38,9 +40,11 @@ public class HiveMetastoreTableOperationsProvider
     public HiveMetastoreTableOperationsProvider(
             TrinoFileSystemFactory fileSystemFactory,
             ThriftMetastoreFactory thriftMetastoreFactory,
-            IcebergHiveCatalogConfig metastoreConfig)
+            IcebergHiveCatalogConfig metastoreConfig,
+            TableMetadataCache tableMetadataCache)
     {
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
+        this.tableMetadataCache = requireNonNull(tableMetadataCache, "tableMetadataCache is null");
         this.thriftMetastoreFactory = requireNonNull(thriftMetastoreFactory, "thriftMetastoreFactory is null");
         this.lockingEnabled = metastoreConfig.getLockingEnabled();
     }
@@ -56,6 +60,7 @@ public class HiveMetastoreTableOperationsProvider
     {
         return new HiveMetastoreTableOperations(
                 new ForwardingFileIo(fileSystemFactory.create(session), isUseFileSizeFromMetadata(session)),
+                tableMetadataCache,
                 ((TrinoHiveCatalog) catalog).getMetastore(),
                 thriftMetastoreFactory.createMetastore(Optional.of(session.getIdentity())),
                 lockingEnabled,
@@ -17,6 +17,7 @@ import com.google.inject.Inject;
 import io.trino.filesystem.TrinoFileSystemFactory;
 import io.trino.plugin.iceberg.catalog.IcebergTableOperations;
 import io.trino.plugin.iceberg.catalog.IcebergTableOperationsProvider;
+import io.trino.plugin.iceberg.catalog.TableMetadataCache;
 import io.trino.plugin.iceberg.catalog.TrinoCatalog;
 import io.trino.plugin.iceberg.fileio.ForwardingFileIo;
 import io.trino.spi.connector.ConnectorSession;
@@ -32,14 +33,17 @@ public class SnowflakeIcebergTableOperationsProvider
 {
     private final String snowflakeDatabase;
     private final TrinoFileSystemFactory fileSystemFactory;
+    private final TableMetadataCache tableMetadataCache;
 
     @Inject
     public SnowflakeIcebergTableOperationsProvider(
             IcebergSnowflakeCatalogConfig icebergSnowflakeCatalogConfig,
-            TrinoFileSystemFactory fileSystemFactory)
+            TrinoFileSystemFactory fileSystemFactory,
+            TableMetadataCache tableMetadataCache)
     {
         this.snowflakeDatabase = requireNonNull(icebergSnowflakeCatalogConfig.getDatabase(), "database is null");
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
+        this.tableMetadataCache = requireNonNull(tableMetadataCache, "tableMetadataCache is null");
     }
 
     @Override
@@ -54,6 +58,7 @@ public class SnowflakeIcebergTableOperationsProvider
         return new SnowflakeIcebergTableOperations(
                 (TrinoSnowflakeCatalog) catalog,
                 new ForwardingFileIo(fileSystemFactory.create(session), isUseFileSizeFromMetadata(session)),
+                tableMetadataCache,
                 session,
                 snowflakeDatabase,
                 database,
@@ -50,8 +50,6 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.trino.plugin.iceberg.IcebergErrorCode.ICEBERG_BAD_DATA;
 import static io.trino.plugin.iceberg.IcebergUtil.getColumnHandle;
-import static io.trino.plugin.iceberg.IcebergUtil.schemaFromHandles;
-import static io.trino.plugin.iceberg.delete.PositionDeleteFilter.readPositionDeletes;
 import static io.trino.spi.type.VarcharType.VARCHAR;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Future.State.SUCCESS;
@@ -61,11 +59,13 @@ import static org.apache.iceberg.MetadataColumns.DELETE_FILE_POS;
 public class DeleteManager
 {
     private final TypeManager typeManager;
+    private final PositionDeletesCache positionDeletesCache;
     private final Map<List<Integer>, EqualityDeleteFilterBuilder> equalityDeleteFiltersBySchema = new ConcurrentHashMap<>();
 
-    public DeleteManager(TypeManager typeManager)
+    public DeleteManager(TypeManager typeManager, PositionDeletesCache positionDeletesCache)
     {
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.positionDeletesCache = requireNonNull(positionDeletesCache, "positionDeletesCache is null");
     }
 
     public Optional<RowPredicate> getDeletePredicate(
@@ -132,6 +132,33 @@ public class DeleteManager
         IcebergColumnHandle deleteFilePos = getColumnHandle(DELETE_FILE_POS, typeManager);
         List<IcebergColumnHandle> deleteColumns = ImmutableList.of(deleteFilePath, deleteFilePos);
         TupleDomain<IcebergColumnHandle> deleteDomain = TupleDomain.fromFixedValues(ImmutableMap.of(deleteFilePath, NullableValue.of(VARCHAR, targetPath)));
+        if (positionDeletesCache.isEnabled()) {
+            // cached deletes cover the whole data file, so they are read once and shared by all splits of the file
+            List<Roaring64Bitmap> cachedDeletes = new ArrayList<>();
+            for (DeleteFile deleteFile : positionDeleteFiles) {
+                if (shouldLoadPositionDeleteFile(deleteFile, startRowPosition, endRowPosition)) {
+                    TupleDomain<IcebergColumnHandle> fileDeleteDomain = deleteDomain;
+                    Roaring64Bitmap deletes = positionDeletesCache.get(deleteFile, dataFilePath, () -> {
+                        Roaring64Bitmap deletedRows = new Roaring64Bitmap();
+                        readPositionDeletes(deleteFile, deleteColumns, fileDeleteDomain, targetPath, deletePageSourceProvider, deletedRows);
+                        return deletedRows;
+                    });
+                    if (!deletes.isEmpty()) {
+                        cachedDeletes.add(deletes);
+                    }
+                }
+            }
+            return switch (cachedDeletes.size()) {
+                case 0 -> Optional.empty();
+                case 1 -> Optional.of(new PositionDeleteFilter(cachedDeletes.getFirst()));
+                default -> {
+                    Roaring64Bitmap deletedRows = new Roaring64Bitmap();
+                    cachedDeletes.forEach(deletedRows::or);
+                    yield Optional.of(new PositionDeleteFilter(deletedRows));
+                }
+            };
+        }
+
         if (startRowPosition.isPresent()) {
             Range positionRange = Range.range(deleteFilePos.getType(), startRowPosition.get(), true, endRowPosition.get(), true);
             TupleDomain<IcebergColumnHandle> positionDomain = TupleDomain.withColumnDomains(ImmutableMap.of(deleteFilePos, Domain.create(ValueSet.ofRanges(positionRange), false)));
@@ -141,12 +168,7 @@ public class DeleteManager
         LongBitmapDataProvider deletedRows = new Roaring64Bitmap();
         for (DeleteFile deleteFile : positionDeleteFiles) {
             if (shouldLoadPositionDeleteFile(deleteFile, startRowPosition, endRowPosition)) {
-                try (ConnectorPageSource pageSource = deletePageSourceProvider.openDeletes(deleteFile, deleteColumns, deleteDomain)) {
-                    readPositionDeletes(pageSource, targetPath, deletedRows);
-                }
-                catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
+                readPositionDeletes(deleteFile, deleteColumns, deleteDomain, targetPath, deletePageSourceProvider, deletedRows);
             }
         }
 
@@ -156,6 +178,22 @@ public class DeleteManager
         return Optional.of(new PositionDeleteFilter(deletedRows));
     }
 
+    private static void readPositionDeletes(
+            DeleteFile deleteFile,
+            List<IcebergColumnHandle> deleteColumns,
+            TupleDomain<IcebergColumnHandle> deleteDomain,
+            Slice targetPath,
+            DeletePageSourceProvider deletePageSourceProvider,
+            LongBitmapDataProvider deletedRows)
+    {
+        try (ConnectorPageSource pageSource = deletePageSourceProvider.openDeletes(deleteFile, deleteColumns, deleteDomain)) {
+            PositionDeleteFilter.readPositionDeletes(pageSource, targetPath, deletedRows);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private static boolean shouldLoadPositionDeleteFile(DeleteFile deleteFile, Optional<Long> startRowPosition, Optional<Long> endRowPosition)
     {
         if (startRowPosition.isEmpty()) {
@@ -186,7 +224,7 @@ public class DeleteManager
                     .collect(toImmutableList());
 
             // each file can have a different set of columns for the equality delete, so we need to create a new builder for each set of columns
-            EqualityDeleteFilterBuilder builder = equalityDeleteFiltersBySchema.computeIfAbsent(fieldIds, _ -> EqualityDeleteFilter.builder(schemaFromHandles(deleteColumns)));
+            EqualityDeleteFilterBuilder builder = equalityDeleteFiltersBySchema.computeIfAbsent(fieldIds, _ -> EqualityDeleteFilter.builder(deleteColumns, typeManager.getTypeOperators()));
             deleteFilters.add(builder);
 
             ListenableFuture<?> loadFuture = builder.readEqualityDeletes(deleteFile, deleteColumns, deletePageSourceProvider);
@@ -20,14 +20,12 @@ import com.google.errorprone.annotations.ThreadSafe;
 import io.trino.plugin.iceberg.IcebergColumnHandle;
 import io.trino.plugin.iceberg.delete.DeleteManager.DeletePageSourceProvider;
 import io.trino.spi.TrinoException;
+import io.trino.spi.block.Block;
 import io.trino.spi.connector.ConnectorPageSource;
 import io.trino.spi.connector.SourcePage;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.type.Type;
-import org.apache.iceberg.Schema;
-import org.apache.iceberg.types.Types.StructType;
-import org.apache.iceberg.util.StructLikeWrapper;
-import org.apache.iceberg.util.StructProjection;
+import io.trino.spi.type.TypeOperators;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -36,67 +34,104 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.trino.plugin.iceberg.IcebergErrorCode.ICEBERG_CANNOT_OPEN_SPLIT;
-import static io.trino.plugin.iceberg.IcebergUtil.structTypeFromHandles;
 import static java.util.Objects.requireNonNull;
 
 public final class EqualityDeleteFilter
         implements DeleteFilter
 {
-    private final Schema deleteSchema;
-    private final Map<StructLikeWrapper, DataSequenceNumber> deletedRows;
+    private final List<Integer> deleteFieldIds;
+    private final EqualityDeleteSet deletedRows;
 
-    private EqualityDeleteFilter(Schema deleteSchema, Map<StructLikeWrapper, DataSequenceNumber> deletedRows)
+    private EqualityDeleteFilter(List<Integer> deleteFieldIds, EqualityDeleteSet deletedRows)
     {
-        this.deleteSchema = requireNonNull(deleteSchema, "deleteSchema is null");
+        this.deleteFieldIds = requireNonNull(deleteFieldIds, "deleteFieldIds is null");
         this.deletedRows = requireNonNull(deletedRows, "deletedRows is null");
     }
 
     @Override
     public RowPredicate createPredicate(List<IcebergColumnHandle> columns, long splitDataSequenceNumber)
     {
-        StructType fileStructType = structTypeFromHandles(columns);
-        StructType deleteStructType = deleteSchema.asStruct();
-        if (deleteSchema.columns().stream().anyMatch(column -> fileStructType.field(column.fieldId()) == null)) {
-            throw new TrinoException(ICEBERG_CANNOT_OPEN_SPLIT, "columns list doesn't contain all equality delete columns");
+        List<Type> deleteTypes = deletedRows.getTypes();
+        int[] channels = new int[deleteFieldIds.size()];
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = channel(columns, deleteFieldIds.get(i));
+            if (channels[i] < 0) {
+                throw new TrinoException(ICEBERG_CANNOT_OPEN_SPLIT, "columns list doesn't contain all equality delete columns");
+            }
+            Type type = columns.get(channels[i]).getType();
+            if (!type.equals(deleteTypes.get(i))) {
+                throw new TrinoException(ICEBERG_CANNOT_OPEN_SPLIT, "Type of column %s does not match the type of the equality delete column: %s".formatted(columns.get(channels[i]).getName(), deleteTypes.get(i)));
+            }
         }
 
-        StructLikeWrapper structLikeWrapper = StructLikeWrapper.forType(deleteStructType);
-        StructProjection projection = StructProjection.create(fileStructType, deleteStructType);
-        Type[] types = columns.stream()
-                .map(IcebergColumnHandle::getType)
-                .toArray(Type[]::new);
-
-        return (page, position) -> {
-            StructProjection row = projection.wrap(new LazyTrinoRow(types, page, position));
-            DataSequenceNumber maxDeleteVersion = deletedRows.get(structLikeWrapper.set(row));
-            // clear reference to avoid memory leak
-            structLikeWrapper.set(null);
-            return maxDeleteVersion == null || maxDeleteVersion.dataSequenceNumber() <= splitDataSequenceNumber;
+        return new RowPredicate()
+        {
+            @Override
+            public boolean test(SourcePage page, int position)
+            {
+                return filterPositions(page, new int[] {position}, 1) == 1;
+            }
+
+            @Override
+            public int filterPositions(SourcePage page, int[] positions, int positionCount)
+            {
+                Block[] blocks = new Block[channels.length];
+                for (int i = 0; i < channels.length; i++) {
+                    blocks[i] = page.getBlock(channels[i]);
+                }
+                long[] deleteSequenceNumbers = new long[positionCount];
+                deletedRows.getSequenceNumbers(blocks, positions, positionCount, deleteSequenceNumbers);
+
+                int retainedCount = 0;
+                for (int i = 0; i < positionCount; i++) {
+                    positions[retainedCount] = positions[i];
+                    // rows are only deleted by deletes with a higher data sequence number than the data file
+                    retainedCount += deleteSequenceNumbers[i] <= splitDataSequenceNumber ? 1 : 0;
+                }
+                return retainedCount;
+            }
         };
     }
 
-    public static EqualityDeleteFilterBuilder builder(Schema deleteSchema)
+    private static int channel(List<IcebergColumnHandle> columns, int fieldId)
     {
-        return new EqualityDeleteFilterBuilder(deleteSchema);
+        for (int channel = 0; channel < columns.size(); channel++) {
+            if (columns.get(channel).getId() == fieldId) {
+                return channel;
+            }
+        }
+        return -1;
+    }
+
+    public static EqualityDeleteFilterBuilder builder(List<IcebergColumnHandle> deleteColumns, TypeOperators typeOperators)
+    {
+        return new EqualityDeleteFilterBuilder(deleteColumns, typeOperators);
     }
 
     @ThreadSafe
     public static class EqualityDeleteFilterBuilder
     {
-        private final Schema deleteSchema;
-        private final Map<StructLikeWrapper, DataSequenceNumber> deletedRows;
+        private final List<Integer> deleteFieldIds;
+        private final EqualityDeleteSet deletedRows;
         private final Map<String, ListenableFutureTask<?>> loadingFiles = new ConcurrentHashMap<>();
 
-        private EqualityDeleteFilterBuilder(Schema deleteSchema)
+        private EqualityDeleteFilterBuilder(List<IcebergColumnHandle> deleteColumns, TypeOperators typeOperators)
         {
-            this.deleteSchema = requireNonNull(deleteSchema, "deleteSchema is null");
-            this.deletedRows = new ConcurrentHashMap<>();
+            this.deleteFieldIds = deleteColumns.stream()
+                    .map(IcebergColumnHandle::getId)
+                    .collect(toImmutableList());
+            this.deletedRows = new EqualityDeleteSet(
+                    deleteColumns.stream()
+                            .map(IcebergColumnHandle::getType)
+                            .collect(toImmutableList()),
+                    typeOperators);
         }
 
         public ListenableFuture<?> readEqualityDeletes(DeleteFile deleteFile, List<IcebergColumnHandle> deleteColumns, DeletePageSourceProvider deletePageSourceProvider)
         {
-            verify(deleteColumns.size() == deleteSchema.columns().size(), "delete columns size doesn't match delete schema size");
+            verify(deleteColumns.size() == deleteFieldIds.size(), "delete columns size doesn't match delete schema size");
 
             // ensure only one thread loads the file
             ListenableFutureTask<?> futureTask = loadingFiles.computeIfAbsent(
@@ -108,28 +143,18 @@ public final class EqualityDeleteFilter
 
         private void readEqualityDeletesInternal(DeleteFile deleteFile, List<IcebergColumnHandle> deleteColumns, DeletePageSourceProvider deletePageSourceProvider)
         {
-            DataSequenceNumber sequenceNumber = new DataSequenceNumber(deleteFile.dataSequenceNumber());
             try (ConnectorPageSource pageSource = deletePageSourceProvider.openDeletes(deleteFile, deleteColumns, TupleDomain.all())) {
-                Type[] types = deleteColumns.stream()
-                        .map(IcebergColumnHandle::getType)
-                        .toArray(Type[]::new);
-
-                StructLikeWrapper wrapper = StructLikeWrapper.forType(deleteSchema.asStruct());
                 while (!pageSource.isFinished()) {
                     SourcePage page = pageSource.getNextSourcePage();
                     if (page == null) {
                         continue;
                     }
 
-                    for (int position = 0; position < page.getPositionCount(); position++) {
-                        TrinoRow row = new TrinoRow(types, page, position);
-                        deletedRows.merge(wrapper.copyFor(row), sequenceNumber, (existing, newValue) -> {
-                            if (existing.dataSequenceNumber() > newValue.dataSequenceNumber()) {
-                                return existing;
-                            }
-                            return newValue;
-                        });
+                    Block[] blocks = new Block[deleteColumns.size()];
+                    for (int channel = 0; channel < blocks.length; channel++) {
+                        blocks[channel] = page.getBlock(channel);
                     }
+                    deletedRows.add(blocks, deleteFile.dataSequenceNumber());
                 }
             }
             catch (IOException e) {
@@ -143,9 +168,7 @@ public final class EqualityDeleteFilter
          */
         public EqualityDeleteFilter build()
         {
-            return new EqualityDeleteFilter(deleteSchema, deletedRows);
+            return new EqualityDeleteFilter(deleteFieldIds, deletedRows);
         }
     }
-
-    private record DataSequenceNumber(long dataSequenceNumber) {}
 }
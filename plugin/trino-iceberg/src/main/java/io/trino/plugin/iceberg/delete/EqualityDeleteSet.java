@@ -0,0 +1,298 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.base.Throwables;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.trino.spi.block.Block;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION;
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION_NOT_NULL;
+import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.trino.spi.function.InvocationConvention.simpleConvention;
+import static java.lang.Math.multiplyExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Open addressing hash set of the rows of equality delete files, holding the highest data
+ * sequence number of each row. Rows are kept in the blocks they were read in, compacted to
+ * the rows not seen before, and the hash table only stores the hash, the address and the
+ * sequence number of each row. Data pages are hashed a column at a time before probing.
+ */
+@ThreadSafe
+final class EqualityDeleteSet
+{
+    public static final long NOT_DELETED = Long.MIN_VALUE;
+
+    private static final long NULL_HASH = 0;
+    private static final long EMPTY_ADDRESS = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_PENDING_PAGE = -1;
+
+    private final Type[] types;
+    private final MethodHandle[] hashOperators;
+    private final MethodHandle[] identicalOperators;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @GuardedBy("lock")
+    private final List<Block[]> pages = new ArrayList<>();
+    @GuardedBy("lock")
+    private long[] addresses;
+    @GuardedBy("lock")
+    private long[] hashes;
+    @GuardedBy("lock")
+    private long[] sequenceNumbers;
+    @GuardedBy("lock")
+    private int mask;
+    @GuardedBy("lock")
+    private int size;
+
+    // page being added, whose rows are addressed by the index of their position in pendingPositions
+    @GuardedBy("lock")
+    private int pendingPage = NO_PENDING_PAGE;
+    @GuardedBy("lock")
+    private Block[] pendingBlocks;
+    @GuardedBy("lock")
+    private int[] pendingPositions;
+
+    public EqualityDeleteSet(List<Type> types, TypeOperators typeOperators)
+    {
+        this.types = requireNonNull(types, "types is null").toArray(Type[]::new);
+        this.hashOperators = new MethodHandle[this.types.length];
+        this.identicalOperators = new MethodHandle[this.types.length];
+        for (int i = 0; i < this.types.length; i++) {
+            hashOperators[i] = typeOperators.getXxHash64Operator(this.types[i], simpleConvention(FAIL_ON_NULL, BLOCK_POSITION_NOT_NULL));
+            identicalOperators[i] = typeOperators.getIdenticalOperator(this.types[i], simpleConvention(FAIL_ON_NULL, BLOCK_POSITION, BLOCK_POSITION));
+        }
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public List<Type> getTypes()
+    {
+        return List.of(types);
+    }
+
+    public int size()
+    {
+        lock.readLock().lock();
+        try {
+            return size;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds all rows of the blocks, or raises the sequence number of rows already present.
+     */
+    public void add(Block[] blocks, long sequenceNumber)
+    {
+        checkArgument(blocks.length == types.length, "Expected %s blocks, but got %s", types.length, blocks.length);
+        int positionCount = blocks[0].getPositionCount();
+        if (positionCount == 0) {
+            return;
+        }
+        int[] positions = new int[positionCount];
+        Arrays.setAll(positions, position -> position);
+        long[] rowHashes = new long[positionCount];
+        hash(blocks, positions, positionCount, rowHashes);
+
+        int newPositionCount = 0;
+        lock.writeLock().lock();
+        try {
+            pendingPage = pages.size();
+            pendingBlocks = blocks;
+            pendingPositions = new int[positionCount];
+            for (int position = 0; position < positionCount; position++) {
+                long hash = rowHashes[position];
+                int slot = find(blocks, position, hash);
+                if (addresses[slot] != EMPTY_ADDRESS) {
+                    sequenceNumbers[slot] = Math.max(sequenceNumbers[slot], sequenceNumber);
+                    continue;
+                }
+                pendingPositions[newPositionCount] = position;
+                addresses[slot] = address(pendingPage, newPositionCount);
+                hashes[slot] = hash;
+                sequenceNumbers[slot] = sequenceNumber;
+                newPositionCount++;
+                size++;
+                if (size > addresses.length / 4 * 3) {
+                    rehash();
+                }
+            }
+        }
+        finally {
+            // rows added before a failure are already referenced by the hash table
+            if (newPositionCount > 0) {
+                Block[] compacted = new Block[blocks.length];
+                for (int channel = 0; channel < blocks.length; channel++) {
+                    compacted[channel] = newPositionCount == positionCount ? blocks[channel] : blocks[channel].copyPositions(pendingPositions, 0, newPositionCount);
+                }
+                pages.add(compacted);
+            }
+            pendingPage = NO_PENDING_PAGE;
+            pendingBlocks = null;
+            pendingPositions = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest sequence number of the delete of each row, or {@link #NOT_DELETED}.
+     *
+     * @param blocks blocks of the data columns matching the types of this set
+     * @param positions positions of the rows to look up
+     */
+    public void getSequenceNumbers(Block[] blocks, int[] positions, int positionCount, long[] result)
+    {
+        checkArgument(blocks.length == types.length, "Expected %s blocks, but got %s", types.length, blocks.length);
+        long[] rowHashes = new long[positionCount];
+        hash(blocks, positions, positionCount, rowHashes);
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < positionCount; i++) {
+                int slot = find(blocks, positions[i], rowHashes[i]);
+                result[i] = addresses[slot] == EMPTY_ADDRESS ? NOT_DELETED : sequenceNumbers[slot];
+            }
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void hash(Block[] blocks, int[] positions, int positionCount, long[] result)
+    {
+        for (int channel = 0; channel < blocks.length; channel++) {
+            Block block = blocks[channel];
+            MethodHandle hashOperator = hashOperators[channel];
+            for (int i = 0; i < positionCount; i++) {
+                int position = positions[i];
+                long hash = block.isNull(position) ? NULL_HASH : invokeHash(hashOperator, block, position);
+                result[i] = channel == 0 ? hash : result[i] * 31 + hash;
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private int find(Block[] blocks, int position, long hash)
+    {
+        int slot = slot(hash);
+        while (addresses[slot] != EMPTY_ADDRESS) {
+            if (hashes[slot] == hash && identical(addresses[slot], blocks, position)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    @GuardedBy("lock")
+    private boolean identical(long address, Block[] blocks, int position)
+    {
+        int page = (int) (address >>> 32);
+        int rowPosition = (int) address;
+        Block[] rowBlocks;
+        if (page == pendingPage) {
+            rowBlocks = pendingBlocks;
+            rowPosition = pendingPositions[rowPosition];
+        }
+        else {
+            rowBlocks = pages.get(page);
+        }
+        for (int channel = 0; channel < blocks.length; channel++) {
+            if (!invokeIdentical(identicalOperators[channel], rowBlocks[channel], rowPosition, blocks[channel], position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @GuardedBy("lock")
+    private void rehash()
+    {
+        long[] oldAddresses = addresses;
+        long[] oldHashes = hashes;
+        long[] oldSequenceNumbers = sequenceNumbers;
+        allocate(multiplyExact(oldAddresses.length, 2));
+        for (int oldSlot = 0; oldSlot < oldAddresses.length; oldSlot++) {
+            if (oldAddresses[oldSlot] == EMPTY_ADDRESS) {
+                continue;
+            }
+            int slot = slot(oldHashes[oldSlot]);
+            while (addresses[slot] != EMPTY_ADDRESS) {
+                slot = (slot + 1) & mask;
+            }
+            addresses[slot] = oldAddresses[oldSlot];
+            hashes[slot] = oldHashes[oldSlot];
+            sequenceNumbers[slot] = oldSequenceNumbers[oldSlot];
+        }
+    }
+
+    @GuardedBy("lock")
+    private void allocate(int capacity)
+    {
+        addresses = new long[capacity];
+        Arrays.fill(addresses, EMPTY_ADDRESS);
+        hashes = new long[capacity];
+        sequenceNumbers = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    @GuardedBy("lock")
+    private int slot(long hash)
+    {
+        // the combined hash of several columns has weak low bits
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static long address(int page, int position)
+    {
+        return ((long) page << 32) | position;
+    }
+
+    private static long invokeHash(MethodHandle hashOperator, Block block, int position)
+    {
+        try {
+            return (long) hashOperator.invokeExact(block, position);
+        }
+        catch (Throwable throwable) {
+            Throwables.throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    private static boolean invokeIdentical(MethodHandle identicalOperator, Block left, int leftPosition, Block right, int rightPosition)
+    {
+        try {
+            return (boolean) identicalOperator.invokeExact(left, leftPosition, right, rightPosition);
+        }
+        catch (Throwable throwable) {
+            Throwables.throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+}
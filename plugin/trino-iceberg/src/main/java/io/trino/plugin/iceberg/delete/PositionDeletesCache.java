@@ -0,0 +1,119 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.Weigher;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+import io.airlift.units.DataSize;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.plugin.iceberg.IcebergConfig;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.function.Supplier;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
+import static io.airlift.slice.SizeOf.instanceSize;
+import static io.trino.cache.CacheUtils.uncheckedCacheGet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Worker-wide cache of the rows a position delete file deletes from a single data file.
+ * A data file is usually read by many splits, and without the cache each of them reads
+ * the same delete files again. Concurrent loads of the same entry are coalesced.
+ * <p>
+ * Delete files are never modified, so the path and size identify the content.
+ */
+public class PositionDeletesCache
+{
+    private final boolean enabled;
+    private final Cache<CacheKey, Roaring64Bitmap> cache;
+
+    @Inject
+    public PositionDeletesCache(IcebergConfig config)
+    {
+        this(config.getPositionDeletesCacheSize());
+    }
+
+    public PositionDeletesCache(DataSize maxRetainedSize)
+    {
+        this.enabled = maxRetainedSize.toBytes() > 0;
+        this.cache = EvictableCacheBuilder.newBuilder()
+                .weigher((Weigher<CacheKey, Roaring64Bitmap>) (key, value) -> Ints.saturatedCast(key.getRetainedSizeInBytes() + value.getLongSizeInBytes()))
+                .maximumWeight(maxRetainedSize.toBytes())
+                .shareNothingWhenDisabled()
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Returns all positions of the data file deleted by the delete file. The returned bitmap
+     * is shared with other readers and must not be modified.
+     */
+    public Roaring64Bitmap get(DeleteFile deleteFile, String dataFilePath, Supplier<Roaring64Bitmap> loader)
+    {
+        requireNonNull(loader, "loader is null");
+        try {
+            return uncheckedCacheGet(cache, new CacheKey(deleteFile.path(), deleteFile.fileSizeInBytes(), dataFilePath), () -> {
+                Roaring64Bitmap deletedRows = loader.get();
+                deletedRows.runOptimize();
+                return deletedRows;
+            });
+        }
+        catch (UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.invalidateAll();
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return new CacheStatsMBean(cache);
+    }
+
+    private record CacheKey(String deleteFilePath, long deleteFileSize, String dataFilePath)
+    {
+        private static final int INSTANCE_SIZE = instanceSize(CacheKey.class);
+
+        private CacheKey
+        {
+            requireNonNull(deleteFilePath, "deleteFilePath is null");
+            requireNonNull(dataFilePath, "dataFilePath is null");
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE + estimatedSizeOf(deleteFilePath) + estimatedSizeOf(dataFilePath);
+        }
+    }
+}
@@ -16,6 +16,8 @@ package io.trino.plugin.iceberg.delete;
 import com.google.errorprone.annotations.ThreadSafe;
 import io.trino.spi.connector.SourcePage;
 
+import java.util.Arrays;
+
 import static java.util.Objects.requireNonNull;
 
 @ThreadSafe
@@ -23,23 +25,49 @@ public interface RowPredicate
 {
     boolean test(SourcePage page, int position);
 
+    /**
+     * Retains the positions of the rows matching this predicate at the start of {@code positions},
+     * keeping their order, and returns their count.
+     */
+    default int filterPositions(SourcePage page, int[] positions, int positionCount)
+    {
+        int retainedCount = 0;
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            if (test(page, position)) {
+                positions[retainedCount] = position;
+                retainedCount++;
+            }
+        }
+        return retainedCount;
+    }
+
     default RowPredicate and(RowPredicate other)
     {
         requireNonNull(other, "other is null");
-        return (page, position) -> test(page, position) && other.test(page, position);
+        RowPredicate self = this;
+        return new RowPredicate()
+        {
+            @Override
+            public boolean test(SourcePage page, int position)
+            {
+                return self.test(page, position) && other.test(page, position);
+            }
+
+            @Override
+            public int filterPositions(SourcePage page, int[] positions, int positionCount)
+            {
+                return other.filterPositions(page, positions, self.filterPositions(page, positions, positionCount));
+            }
+        };
     }
 
     default void applyFilter(SourcePage page)
     {
         int positionCount = page.getPositionCount();
         int[] retained = new int[positionCount];
-        int retainedCount = 0;
-        for (int position = 0; position < positionCount; position++) {
-            if (test(page, position)) {
-                retained[retainedCount] = position;
-                retainedCount++;
-            }
-        }
+        Arrays.setAll(retained, position -> position);
+        int retainedCount = filterPositions(page, retained, positionCount);
         if (retainedCount != positionCount) {
             page.selectPositions(retained, 0, retainedCount);
         }
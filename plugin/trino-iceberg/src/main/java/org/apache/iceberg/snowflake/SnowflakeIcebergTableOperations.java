@@ -14,6 +14,7 @@
 package org.apache.iceberg.snowflake;
 
 import io.trino.plugin.iceberg.catalog.AbstractIcebergTableOperations;
+import io.trino.plugin.iceberg.catalog.TableMetadataCache;
 import io.trino.plugin.iceberg.catalog.snowflake.TrinoSnowflakeCatalog;
 import io.trino.spi.TrinoException;
 import io.trino.spi.connector.ConnectorSession;
@@ -37,6 +38,7 @@ public class SnowflakeIcebergTableOperations
     public SnowflakeIcebergTableOperations(
             TrinoSnowflakeCatalog trinoSnowflakeCatalog,
             FileIO fileIo,
+            TableMetadataCache tableMetadataCache,
             ConnectorSession session,
             String snowflakeDatabase,
             String database,
@@ -44,7 +46,7 @@ public class SnowflakeIcebergTableOperations
             Optional<String> owner,
             Optional<String> location)
     {
-        super(fileIo, session, database, table, owner, location);
+        super(fileIo, tableMetadataCache, session, database, table, owner, location);
         TableIdentifier tableIdentifier = TableIdentifier.of(Namespace.of(snowflakeDatabase, database), table);
         this.icebergSnowflakeTableOperations = requireNonNull((SnowflakeTableOperations) trinoSnowflakeCatalog.getSnowflakeCatalog().newTableOps(tableIdentifier), "snowflakeTableOperations is null");
     }
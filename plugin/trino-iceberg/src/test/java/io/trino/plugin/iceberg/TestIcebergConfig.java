@@ -81,7 +81,9 @@ public class TestIcebergConfig
                 .setObjectStoreLayoutEnabled(false)
                 .setMetadataParallelism(8)
                 .setBucketExecutionEnabled(true)
-                .setFileBasedConflictDetectionEnabled(true));
+                .setFileBasedConflictDetectionEnabled(true)
+                .setPositionDeletesCacheSize(DataSize.of(64, MEGABYTE))
+                .setTableMetadataCacheSize(DataSize.of(64, MEGABYTE)));
     }
 
     @Test
@@ -124,6 +126,8 @@ public class TestIcebergConfig
                 .put("iceberg.metadata.parallelism", "10")
                 .put("iceberg.bucket-execution", "false")
                 .put("iceberg.file-based-conflict-detection", "false")
+                .put("iceberg.position-deletes.cache-size", "16MB")
+                .put("iceberg.table-metadata.cache-size", "128MB")
                 .buildOrThrow();
 
         IcebergConfig expected = new IcebergConfig()
@@ -163,7 +167,9 @@ public class TestIcebergConfig
                 .setObjectStoreLayoutEnabled(true)
                 .setMetadataParallelism(10)
                 .setBucketExecutionEnabled(false)
-                .setFileBasedConflictDetectionEnabled(false);
+                .setFileBasedConflictDetectionEnabled(false)
+                .setPositionDeletesCacheSize(DataSize.of(16, MEGABYTE))
+                .setTableMetadataCacheSize(DataSize.of(128, MEGABYTE));
 
         assertFullMapping(properties, expected);
     }
@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.catalog;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.types.Types;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static org.apache.iceberg.TableMetadata.newTableMetadata;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTableMetadataCache
+{
+    private static final Schema SCHEMA = new Schema(Types.NestedField.required(1, "id", Types.LongType.get()));
+
+    @Test
+    public void testCacheKey()
+    {
+        TableMetadataCache cache = new TableMetadataCache(DataSize.of(1, MEGABYTE));
+        AtomicInteger loads = new AtomicInteger();
+
+        TableMetadata metadata = cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location));
+        assertThat(metadata.location()).isEqualTo("local:///table/metadata/00001.metadata.json");
+        assertThat(cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location))).isSameAs(metadata);
+        assertThat(loads.get()).isEqualTo(1);
+
+        // a new version of the table is loaded separately
+        assertThat(cache.get("local:///table/metadata/00002.metadata.json", location -> load(loads, location)).location())
+                .isEqualTo("local:///table/metadata/00002.metadata.json");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getCacheStats().size()).isEqualTo(2);
+
+        cache.flushCache();
+        cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location));
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testLoadFailure()
+    {
+        TableMetadataCache cache = new TableMetadataCache(DataSize.of(1, MEGABYTE));
+        assertThatThrownBy(() -> cache.get("local:///table/metadata/00001.metadata.json", _ -> {
+            throw new UncheckedIOException(new IOException("read failed"));
+        }))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("read failed");
+
+        // failures are not cached
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRetainedSize()
+    {
+        TableMetadata metadata = newTableMetadata(SCHEMA, PartitionSpec.unpartitioned(), "local:///table", ImmutableMap.of());
+        long retainedSize = TableMetadataCache.getRetainedSizeInBytes(metadata);
+        assertThat(retainedSize).isPositive();
+
+        // metadata larger than the cache is not retained
+        TableMetadataCache cache = new TableMetadataCache(DataSize.ofBytes(retainedSize / 2));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location));
+        cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        TableMetadataCache cache = new TableMetadataCache(DataSize.ofBytes(0));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location));
+        cache.get("local:///table/metadata/00001.metadata.json", location -> load(loads, location));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private static TableMetadata load(AtomicInteger loads, String location)
+    {
+        loads.incrementAndGet();
+        // the table location stands in for the metadata file location, which is only set when reading a file
+        return newTableMetadata(SCHEMA, PartitionSpec.unpartitioned(), location, ImmutableMap.of());
+    }
+}
@@ -17,6 +17,8 @@ import io.trino.filesystem.Location;
 import io.trino.filesystem.TrinoFileSystemFactory;
 import io.trino.filesystem.local.LocalFileSystemFactory;
 import io.trino.metastore.HiveMetastore;
+import io.trino.plugin.iceberg.IcebergConfig;
+import io.trino.plugin.iceberg.catalog.TableMetadataCache;
 import io.trino.plugin.iceberg.fileio.ForwardingFileIo;
 import org.apache.iceberg.io.InputFile;
 import org.junit.jupiter.api.Test;
@@ -56,6 +58,7 @@ public class TestAbstractIcebergTableOperations
                         throw new UncheckedIOException(new IOException());
                     }
                 },
+                new TableMetadataCache(new IcebergConfig()),
                 createPerTransactionCache(metastore, 1000),
                 SESSION,
                 "test-database",
@@ -25,6 +25,7 @@ import io.trino.plugin.iceberg.IcebergConfig;
 import io.trino.plugin.iceberg.IcebergMetadata;
 import io.trino.plugin.iceberg.TableStatisticsWriter;
 import io.trino.plugin.iceberg.catalog.BaseTrinoCatalogTest;
+import io.trino.plugin.iceberg.catalog.TableMetadataCache;
 import io.trino.plugin.iceberg.catalog.TrinoCatalog;
 import io.trino.spi.catalog.CatalogName;
 import io.trino.spi.connector.CatalogHandle;
@@ -87,7 +88,8 @@ public class TestTrinoGlueCatalog
                         catalogConfig,
                         HDFS_FILE_SYSTEM_FACTORY,
                         new GlueMetastoreStats(),
-                        glueClient),
+                        glueClient,
+                        new TableMetadataCache(new IcebergConfig())),
                 "test",
                 glueClient,
                 new GlueMetastoreStats(),
@@ -225,7 +227,8 @@ public class TestTrinoGlueCatalog
                         catalogConfig,
                         fileSystemFactory,
                         new GlueMetastoreStats(),
-                        glueClient),
+                        glueClient,
+                        new TableMetadataCache(new IcebergConfig())),
                 "test",
                 glueClient,
                 new GlueMetastoreStats(),
@@ -35,8 +35,10 @@ import io.trino.plugin.hive.metastore.thrift.BridgingHiveMetastore;
 import io.trino.plugin.hive.metastore.thrift.ThriftMetastore;
 import io.trino.plugin.hive.metastore.thrift.ThriftMetastoreConfig;
 import io.trino.plugin.hive.metastore.thrift.ThriftMetastoreFactory;
+import io.trino.plugin.iceberg.IcebergConfig;
 import io.trino.plugin.iceberg.IcebergSchemaProperties;
 import io.trino.plugin.iceberg.catalog.BaseTrinoCatalogTest;
+import io.trino.plugin.iceberg.catalog.TableMetadataCache;
 import io.trino.plugin.iceberg.catalog.TrinoCatalog;
 import io.trino.spi.catalog.CatalogName;
 import io.trino.spi.connector.CatalogSchemaTableName;
@@ -162,7 +164,8 @@ public class TestTrinoHiveCatalogWithHiveMetastore
                                 return thriftMetastore;
                             }
                         },
-                        new IcebergHiveCatalogConfig()),
+                        new IcebergHiveCatalogConfig(),
+                        new TableMetadataCache(new IcebergConfig())),
                 useUniqueTableLocations,
                 false,
                 false,
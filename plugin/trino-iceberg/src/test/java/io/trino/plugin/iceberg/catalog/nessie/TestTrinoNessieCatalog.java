@@ -18,9 +18,11 @@ import io.trino.filesystem.TrinoFileSystemFactory;
 import io.trino.filesystem.hdfs.HdfsFileSystemFactory;
 import io.trino.plugin.hive.NodeVersion;
 import io.trino.plugin.iceberg.CommitTaskData;
+import io.trino.plugin.iceberg.IcebergConfig;
 import io.trino.plugin.iceberg.IcebergMetadata;
 import io.trino.plugin.iceberg.TableStatisticsWriter;
 import io.trino.plugin.iceberg.catalog.BaseTrinoCatalogTest;
+import io.trino.plugin.iceberg.catalog.TableMetadataCache;
 import io.trino.plugin.iceberg.catalog.TrinoCatalog;
 import io.trino.plugin.iceberg.containers.NessieContainer;
 import io.trino.spi.catalog.CatalogName;
@@ -104,7 +106,7 @@ public class TestTrinoNessieCatalog
                 new CatalogName("catalog_name"),
                 new TestingTypeManager(),
                 fileSystemFactory,
-                new IcebergNessieTableOperationsProvider(fileSystemFactory, nessieClient),
+                new IcebergNessieTableOperationsProvider(fileSystemFactory, nessieClient, new TableMetadataCache(new IcebergConfig())),
                 nessieClient,
                 tmpDirectory.toAbsolutePath().toString(),
                 useUniqueTableLocations);
@@ -128,7 +130,7 @@ public class TestTrinoNessieCatalog
                 new CatalogName("catalog_name"),
                 new TestingTypeManager(),
                 fileSystemFactory,
-                new IcebergNessieTableOperationsProvider(fileSystemFactory, nessieClient),
+                new IcebergNessieTableOperationsProvider(fileSystemFactory, nessieClient, new TableMetadataCache(new IcebergConfig())),
                 nessieClient,
                 icebergNessieCatalogConfig.getDefaultWarehouseDir(),
                 false);
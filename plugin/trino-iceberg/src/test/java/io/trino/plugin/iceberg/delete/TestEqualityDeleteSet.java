@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.block.DictionaryBlock;
+import io.trino.spi.type.TypeOperators;
+import org.junit.jupiter.api.Test;
+
+import static io.trino.plugin.iceberg.delete.EqualityDeleteSet.NOT_DELETED;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestEqualityDeleteSet
+{
+    private static final TypeOperators TYPE_OPERATORS = new TypeOperators();
+
+    @Test
+    public void testMultipleColumns()
+    {
+        EqualityDeleteSet deleteSet = new EqualityDeleteSet(ImmutableList.of(BIGINT, VARCHAR), TYPE_OPERATORS);
+        deleteSet.add(new Block[] {bigints(1L, 2L, null), varchars("a", "b", "c")}, 5);
+
+        assertThat(sequenceNumbers(deleteSet, new Block[] {
+                bigints(1L, 1L, 2L, null, null, 3L),
+                varchars("a", "b", "b", "c", null, "c")}))
+                .containsExactly(5, NOT_DELETED, 5, 5, NOT_DELETED, NOT_DELETED);
+    }
+
+    @Test
+    public void testHighestSequenceNumber()
+    {
+        EqualityDeleteSet deleteSet = new EqualityDeleteSet(ImmutableList.of(BIGINT), TYPE_OPERATORS);
+        deleteSet.add(new Block[] {bigints(1L, 2L, 1L)}, 3);
+        deleteSet.add(new Block[] {bigints(2L, 3L)}, 7);
+        deleteSet.add(new Block[] {bigints(3L, 4L)}, 4);
+
+        assertThat(deleteSet.size()).isEqualTo(4);
+        assertThat(sequenceNumbers(deleteSet, new Block[] {bigints(1L, 2L, 3L, 4L, 5L)}))
+                .containsExactly(3, 7, 7, 4, NOT_DELETED);
+    }
+
+    @Test
+    public void testManyRows()
+    {
+        EqualityDeleteSet deleteSet = new EqualityDeleteSet(ImmutableList.of(BIGINT, VARCHAR), TYPE_OPERATORS);
+        int rows = 100_000;
+        int pageSize = 1000;
+        for (int start = 0; start < rows; start += pageSize) {
+            BlockBuilder ids = BIGINT.createFixedSizeBlockBuilder(pageSize);
+            BlockBuilder names = VARCHAR.createBlockBuilder(null, pageSize);
+            for (int i = start; i < start + pageSize; i++) {
+                BIGINT.writeLong(ids, i);
+                VARCHAR.writeString(names, "name" + (i % 10));
+            }
+            deleteSet.add(new Block[] {ids.build(), names.build()}, start);
+        }
+        assertThat(deleteSet.size()).isEqualTo(rows);
+
+        // probe through a dictionary, as produced by readers of dictionary encoded columns
+        BlockBuilder ids = BIGINT.createFixedSizeBlockBuilder(4);
+        BIGINT.writeLong(ids, 0);
+        BIGINT.writeLong(ids, 54_321);
+        BIGINT.writeLong(ids, 99_999);
+        BIGINT.writeLong(ids, rows);
+        Block idDictionary = DictionaryBlock.create(5, ids.build(), new int[] {0, 1, 2, 3, 1});
+        assertThat(sequenceNumbers(deleteSet, new Block[] {idDictionary, varchars("name0", "name1", "name9", "name0", "name2")}))
+                .containsExactly(0, 54_000, 99_000, NOT_DELETED, NOT_DELETED);
+    }
+
+    @Test
+    public void testSelectedPositions()
+    {
+        EqualityDeleteSet deleteSet = new EqualityDeleteSet(ImmutableList.of(BIGINT), TYPE_OPERATORS);
+        deleteSet.add(new Block[] {bigints(1L, 3L, 5L)}, 2);
+
+        long[] result = new long[2];
+        deleteSet.getSequenceNumbers(new Block[] {bigints(0L, 1L, 2L, 3L)}, new int[] {1, 2}, 2, result);
+        assertThat(result).containsExactly(2, NOT_DELETED);
+    }
+
+    private static long[] sequenceNumbers(EqualityDeleteSet deleteSet, Block[] blocks)
+    {
+        int positionCount = blocks[0].getPositionCount();
+        int[] positions = new int[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            positions[i] = i;
+        }
+        long[] result = new long[positionCount];
+        deleteSet.getSequenceNumbers(blocks, positions, positionCount, result);
+        return result;
+    }
+
+    private static Block bigints(Long... values)
+    {
+        BlockBuilder builder = BIGINT.createFixedSizeBlockBuilder(values.length);
+        for (Long value : values) {
+            if (value == null) {
+                builder.appendNull();
+            }
+            else {
+                BIGINT.writeLong(builder, value);
+            }
+        }
+        return builder.build();
+    }
+
+    private static Block varchars(String... values)
+    {
+        BlockBuilder builder = VARCHAR.createBlockBuilder(null, values.length);
+        for (String value : values) {
+            if (value == null) {
+                builder.appendNull();
+            }
+            else {
+                VARCHAR.writeString(builder, value);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg.delete;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.apache.iceberg.FileContent.POSITION_DELETES;
+import static org.apache.iceberg.FileFormat.PARQUET;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestPositionDeletesCache
+{
+    @Test
+    public void testCacheKey()
+    {
+        PositionDeletesCache cache = new PositionDeletesCache(DataSize.of(1, MEGABYTE));
+        AtomicInteger loads = new AtomicInteger();
+
+        Roaring64Bitmap deletes = cache.get(deleteFile("delete-1", 100), "data-1", () -> load(loads, 1, 5));
+        assertThat(deletes.contains(1)).isTrue();
+        assertThat(deletes.contains(5)).isTrue();
+        assertThat(deletes.contains(2)).isFalse();
+        assertThat(cache.get(deleteFile("delete-1", 100), "data-1", () -> load(loads, 2))).isSameAs(deletes);
+        assertThat(loads.get()).isEqualTo(1);
+
+        // a different data file, or a different delete file, is loaded separately
+        assertThat(cache.get(deleteFile("delete-1", 100), "data-2", () -> load(loads, 2)).contains(2)).isTrue();
+        assertThat(cache.get(deleteFile("delete-1", 200), "data-1", () -> load(loads, 3)).contains(3)).isTrue();
+        assertThat(cache.get(deleteFile("delete-2", 100), "data-1", () -> load(loads, 4)).contains(4)).isTrue();
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testConcurrentLoads()
+            throws Exception
+    {
+        PositionDeletesCache cache = new PositionDeletesCache(DataSize.of(1, MEGABYTE));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+
+        ExecutorService executor = newFixedThreadPool(4);
+        try {
+            List<Future<Roaring64Bitmap>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> cache.get(deleteFile("delete", 100), "data", () -> {
+                loadStarted.countDown();
+                try {
+                    finishLoad.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+                return load(loads, 7);
+            })));
+            loadStarted.await();
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> cache.get(deleteFile("delete", 100), "data", () -> load(loads, 8))));
+            }
+            finishLoad.countDown();
+
+            for (Future<Roaring64Bitmap> future : futures) {
+                assertThat(future.get().contains(7)).isTrue();
+            }
+            assertThat(loads.get()).isEqualTo(1);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadFailure()
+    {
+        PositionDeletesCache cache = new PositionDeletesCache(DataSize.of(1, MEGABYTE));
+        assertThatThrownBy(() -> cache.get(deleteFile("delete", 100), "data", () -> {
+            throw new IllegalStateException("read failed");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("read failed");
+
+        // failures are not cached
+        assertThat(cache.get(deleteFile("delete", 100), "data", () -> load(new AtomicInteger(), 1)).contains(1)).isTrue();
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        PositionDeletesCache cache = new PositionDeletesCache(DataSize.ofBytes(0));
+        assertThat(cache.isEnabled()).isFalse();
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(deleteFile("delete", 100), "data", () -> load(loads, 1));
+        cache.get(deleteFile("delete", 100), "data", () -> load(loads, 1));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private static Roaring64Bitmap load(AtomicInteger loads, long... positions)
+    {
+        loads.incrementAndGet();
+        return Roaring64Bitmap.bitmapOf(positions);
+    }
+
+    private static DeleteFile deleteFile(String path, long fileSizeInBytes)
+    {
+        return new DeleteFile(POSITION_DELETES, path, PARQUET, 10, fileSizeInBytes, ImmutableList.of(), Optional.empty(), Optional.empty(), 1);
+    }
+}